@@ -0,0 +1,123 @@
+package uk.co.blackpepper.bowman;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Answers every request with a canned JSON body registered for its URI, or a 404, so that the
+ * benchmarks exercise the whole <code>RestTemplate</code> path without a network.
+ */
+final class CannedHttpRequestFactory implements ClientHttpRequestFactory {
+
+  private static final class CannedRequest extends AbstractClientHttpRequest {
+
+    private final URI uri;
+
+    private final HttpMethod method;
+
+    private final byte[] body;
+
+    CannedRequest(URI uri, HttpMethod method, byte[] body) {
+      this.uri = uri;
+      this.method = method;
+      this.body = body;
+    }
+
+    @Override
+    public String getMethodValue() {
+      return method.name();
+    }
+
+    @Override
+    public URI getURI() {
+      return uri;
+    }
+
+    @Override
+    protected OutputStream getBodyInternal(HttpHeaders headers) {
+      return new ByteArrayOutputStream();
+    }
+
+    @Override
+    protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+      return new CannedResponse(body);
+    }
+  }
+
+  private static final class CannedResponse implements ClientHttpResponse {
+
+    private final byte[] body;
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    CannedResponse(byte[] body) {
+      this.body = body;
+      if (body != null) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+      }
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+      return body == null ? HttpStatus.NOT_FOUND : HttpStatus.OK;
+    }
+
+    @Override
+    public int getRawStatusCode() {
+      return getStatusCode().value();
+    }
+
+    @Override
+    public String getStatusText() {
+      return getStatusCode().getReasonPhrase();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+      return new ByteArrayInputStream(body == null ? new byte[0] : body);
+    }
+
+    @Override
+    public void close() {
+      // nothing to release
+    }
+  }
+
+  private final Map<URI, byte[]> bodies = new HashMap<>();
+
+  /**
+   * Answer GET requests for <code>uri</code> with <code>body</code>.
+   *
+   * @param uri the request URI
+   * @param body the JSON response body
+   * @return this factory
+   */
+  CannedHttpRequestFactory with(URI uri, byte[] body) {
+    bodies.put(uri, body);
+    return this;
+  }
+
+  @Override
+  public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+    return new CannedRequest(uri, httpMethod, bodies.get(uri));
+  }
+}
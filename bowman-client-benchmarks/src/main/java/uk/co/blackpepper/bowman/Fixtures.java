@@ -0,0 +1,92 @@
+package uk.co.blackpepper.bowman;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.List;
+import org.datrunk.naked.entities.CollectionDTO;
+import org.datrunk.naked.entities.User;
+import org.datrunk.naked.entities.random.Randomizer;
+import org.datrunk.naked.entities.random.UserRandomizer;
+
+/** Test data shared by the benchmarks. */
+final class Fixtures {
+
+  private static final int DISTINCT_USERS = 1000;
+
+  private Fixtures() {}
+
+  /**
+   * Create <code>count</code> random users with ids <code>1..count</code>.
+   *
+   * @param count the number of users
+   * @return the users
+   */
+  static List<User> users(int count) {
+    try {
+      List<User> users = new UserRandomizer(count).getAll();
+      for (int i = 0; i < users.size(); i++) {
+        users.get(i).setId(i + 1);
+      }
+      return users;
+    } catch (Randomizer.Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static CollectionDTO<User> userBatch(int count) {
+    return CollectionDTO.create(users(count));
+  }
+
+  /**
+   * Encode <code>count</code> users with ids <code>1..count</code> as a Spring Data REST collection
+   * resource, each user carrying its own <code>_links</code>. Names are drawn from a pool of at
+   * most {@value #DISTINCT_USERS} random users, which is as many as the randomizer reliably
+   * produces.
+   *
+   * @param count the number of users
+   * @param mapper used to write the users
+   * @return the JSON body
+   */
+  static byte[] halUsers(int count, ObjectMapper mapper) {
+    ObjectNode body = mapper.createObjectNode();
+    ArrayNode users = body.putObject("_embedded").putArray("users");
+    List<User> pool = users(Math.min(count, DISTINCT_USERS));
+    for (int id = 1; id <= count; id++) {
+      users.add(halUserNode(pool.get((id - 1) % pool.size()), id, mapper));
+    }
+    body.putObject("_links").putObject("self").put("href", "http://localhost/users");
+
+    return write(body, mapper);
+  }
+
+  /**
+   * Encode a random user with id <code>id</code> as a Spring Data REST item resource.
+   *
+   * @param id the user id
+   * @param mapper used to write the user
+   * @return the JSON body
+   */
+  static byte[] halUser(int id, ObjectMapper mapper) {
+    return write(halUserNode(users(1).get(0), id, mapper), mapper);
+  }
+
+  private static ObjectNode halUserNode(User user, int id, ObjectMapper mapper) {
+    ObjectNode node = mapper.valueToTree(user);
+    node.put("id", id);
+    String self = "http://localhost/users/" + id;
+    ObjectNode links = node.putObject("_links");
+    links.putObject("self").put("href", self);
+    links.putObject("user").put("href", self);
+    return node;
+  }
+
+  static byte[] write(ObjectNode body, ObjectMapper mapper) {
+    try {
+      return mapper.writeValueAsBytes(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package uk.co.blackpepper.bowman;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.cfg.HandlerInstantiator;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import com.fasterxml.jackson.databind.jsontype.TypeResolverBuilder;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.datrunk.naked.entities.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Cost of reading a HAL collection of users into <code>
+ * CollectionModel&lt;EntityModel&lt;User&gt;&gt;
+ * </code>. <code>streaming</code> is the path <code>RestOperations.getResources</code> takes;
+ * <code>tree</code> is the previous one, which read the body into an <code>ObjectNode</code> and
+ * converted every resource twice more to separate its links from its content. The size of the body
+ * is reported as the <code>bytes</code> secondary result. Run with the GC profiler to compare
+ * allocation rates:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar HalDeserializationBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HalDeserializationBenchmark {
+
+  /** The tree-based deserialization that {@link ResourceDeserializer} used to do. */
+  @SuppressWarnings("serial")
+  private static class TreeResourceDeserializer extends ResourceDeserializer {
+
+    TreeResourceDeserializer(Class<?> type, Configuration configuration) {
+      super(type, new DefaultTypeResolver(), configuration);
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(
+        DeserializationContext ctxt, BeanProperty property) {
+      Class<?> resourceContentType =
+          ctxt.getContextualType().getBindings().getTypeParameters().get(0).getRawClass();
+
+      return new TreeResourceDeserializer(resourceContentType, getConfiguration());
+    }
+
+    @Override
+    public EntityModel<?> deserialize(JsonParser p, DeserializationContext ctxt)
+        throws IOException {
+      ObjectNode node = p.readValueAs(ObjectNode.class);
+
+      ObjectMapper mapper = (ObjectMapper) p.getCodec();
+
+      RepresentationModel<?> resource = mapper.convertValue(node, RepresentationModel.class);
+      Links links = Links.of(resource.getLinks());
+
+      Object content = mapper.convertValue(node, getResourceDeserializationType(links));
+      return EntityModel.of(content, links);
+    }
+  }
+
+  private static class SingleDeserializerInstantiator extends HandlerInstantiator {
+
+    private final ResourceDeserializer deserializer;
+
+    SingleDeserializerInstantiator(ResourceDeserializer deserializer) {
+      this.deserializer = deserializer;
+    }
+
+    @Override
+    public JsonDeserializer<?> deserializerInstance(
+        DeserializationConfig config, Annotated annotated, Class<?> deserClass) {
+      return deserClass == ResourceDeserializer.class ? deserializer : null;
+    }
+
+    @Override
+    public KeyDeserializer keyDeserializerInstance(
+        DeserializationConfig config, Annotated annotated, Class<?> keyDeserClass) {
+      return null;
+    }
+
+    @Override
+    public JsonSerializer<?> serializerInstance(
+        SerializationConfig config, Annotated annotated, Class<?> serClass) {
+      return null;
+    }
+
+    @Override
+    public TypeResolverBuilder<?> typeResolverBuilderInstance(
+        MapperConfig<?> config, Annotated annotated, Class<?> builderClass) {
+      return null;
+    }
+
+    @Override
+    public TypeIdResolver typeIdResolverInstance(
+        MapperConfig<?> config, Annotated annotated, Class<?> resolverClass) {
+      return null;
+    }
+  }
+
+  @Param({"1000", "10000"})
+  public int size;
+
+  private ObjectMapper streamingMapper;
+
+  private ObjectMapper treeMapper;
+
+  private JavaType collectionType;
+
+  private byte[] body;
+
+  @Setup
+  public void setUp() throws IOException {
+    Configuration configuration = Configuration.build();
+    streamingMapper =
+        new DefaultObjectMapperFactory()
+            .create(
+                new SingleDeserializerInstantiator(
+                    new ResourceDeserializer(
+                        Object.class, new DefaultTypeResolver(), configuration)));
+    treeMapper =
+        new DefaultObjectMapperFactory()
+            .create(
+                new SingleDeserializerInstantiator(
+                    new TreeResourceDeserializer(Object.class, configuration)));
+
+    JavaType resourceType =
+        streamingMapper.getTypeFactory().constructParametricType(EntityModel.class, User.class);
+    collectionType =
+        streamingMapper
+            .getTypeFactory()
+            .constructParametricType(CollectionModel.class, resourceType);
+
+    body = Fixtures.halUsers(size, streamingMapper);
+  }
+
+  @Benchmark
+  public CollectionModel<EntityModel<User>> streaming(PayloadSize payload) throws IOException {
+    payload.record(body.length);
+    return streamingMapper.readValue(body, collectionType);
+  }
+
+  @Benchmark
+  public CollectionModel<EntityModel<User>> tree(PayloadSize payload) throws IOException {
+    payload.record(body.length);
+    ObjectNode node = treeMapper.readValue(body, ObjectNode.class);
+    return treeMapper.convertValue(node, collectionType);
+  }
+}
@@ -0,0 +1,240 @@
+package uk.co.blackpepper.bowman;
+
+import com.google.common.collect.ImmutableSet;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.commons.lang3.builder.MyEqualsBuilder;
+import org.datrunk.naked.entities.IdClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link IdClass#hashCode} and {@link IdClass#equals} for an entity with a dozen
+ * properties, saved (with an id) and unsaved (without one). Unsaved entities hash and compare every
+ * getter through reflection, which is what every new entity does until it is persisted. <code>
+ * hashSet</code> adds {@value #SIZE} entities to a <code>HashSet</code> and looks each of them up
+ * again, as the randomizers do; <code>reflectionEquals</code> and <code>reflectionEqualsRecursive
+ * </code> call {@link MyEqualsBuilder} directly on equal entities. <code>scannedHashCodeOf</code>
+ * is the previous hash of an unsaved entity, which looked its getters up on every call. Run with
+ * the GC profiler to see what each call allocates:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar IdClassEqualityBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdClassEqualityBenchmark {
+
+  private static final int SIZE = 1000;
+
+  /** An entity as wide as a typical domain entity. */
+  public static class Customer extends IdClass<Integer> {
+
+    private Integer id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private String phone;
+
+    private String street;
+
+    private String city;
+
+    private String postcode;
+
+    private String country;
+
+    private Integer age;
+
+    private Boolean active;
+
+    private Double score;
+
+    private LocalDate created;
+
+    Customer(int seed, Integer id) {
+      this.id = id;
+      firstName = "first" + seed;
+      lastName = "last" + seed;
+      email = "customer" + seed + "@example.com";
+      phone = "+44 20 7946 " + seed;
+      street = seed + " High Street";
+      city = "London";
+      postcode = "SW1A 1AA";
+      country = "UK";
+      age = 20 + seed % 50;
+      active = seed % 2 == 0;
+      score = seed / 10.0;
+      created = LocalDate.of(2020, 1, 1).plusDays(seed);
+    }
+
+    @Override
+    public Integer getId() {
+      return id;
+    }
+
+    @Override
+    public void setId(Integer id) {
+      this.id = id;
+    }
+
+    public String getFirstName() {
+      return firstName;
+    }
+
+    public String getLastName() {
+      return lastName;
+    }
+
+    public String getEmail() {
+      return email;
+    }
+
+    public String getPhone() {
+      return phone;
+    }
+
+    public String getStreet() {
+      return street;
+    }
+
+    public String getCity() {
+      return city;
+    }
+
+    public String getPostcode() {
+      return postcode;
+    }
+
+    public String getCountry() {
+      return country;
+    }
+
+    public Integer getAge() {
+      return age;
+    }
+
+    public Boolean getActive() {
+      return active;
+    }
+
+    public Double getScore() {
+      return score;
+    }
+
+    public LocalDate getCreated() {
+      return created;
+    }
+  }
+
+  @Param({"true", "false"})
+  public boolean saved;
+
+  private Customer customer;
+
+  private Customer equalCustomer;
+
+  private Customer otherCustomer;
+
+  private List<Customer> customers;
+
+  @Setup
+  public void setUp() {
+    customer = new Customer(1, saved ? 1 : null);
+    equalCustomer = new Customer(1, saved ? 1 : null);
+    otherCustomer = new Customer(2, saved ? 2 : null);
+    customers =
+        IntStream.range(0, SIZE)
+            .mapToObj(seed -> new Customer(seed, saved ? seed : null))
+            .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public int hashCodeOf() {
+    return customer.hashCode();
+  }
+
+  /** The getter scan that {@link IdClass#hashCode} did on every call without an id. */
+  @Benchmark
+  public int scannedHashCodeOf() throws ReflectiveOperationException {
+    int result = System.identityHashCode(customer);
+    for (Method method : customer.getClass().getDeclaredMethods()) {
+      int modifiers = method.getModifiers();
+      if (method.getName().startsWith("get")
+          && method.getParameterCount() == 0
+          && !method.getReturnType().equals(Void.TYPE)
+          && !ImmutableSet.of("getId", "getUri", "getTypeId").contains(method.getName())
+          && !Modifier.isTransient(modifiers)
+          && (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers))) {
+        Object value = method.invoke(customer);
+        if (value != null) {
+          result = 31 * result + value.hashCode();
+        }
+      }
+    }
+    return result;
+  }
+
+  @Benchmark
+  public boolean equalsEqual() {
+    return customer.equals(equalCustomer);
+  }
+
+  @Benchmark
+  public boolean equalsOther() {
+    return customer.equals(otherCustomer);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public int hashSet() {
+    Set<Customer> set = new HashSet<>();
+    set.addAll(customers);
+    int found = 0;
+    for (Customer each : customers) {
+      if (set.contains(each)) {
+        found++;
+      }
+    }
+    return found;
+  }
+
+  @Benchmark
+  public boolean reflectionEquals()
+      throws IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+    return MyEqualsBuilder.reflectionEquals(customer, equalCustomer, "getId", "getUri");
+  }
+
+  @Benchmark
+  public boolean reflectionEqualsRecursive()
+      throws IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+    return MyEqualsBuilder.reflectionEquals(
+        customer, equalCustomer, IdClass.class, true, "getId", "getUri");
+  }
+}
@@ -0,0 +1,118 @@
+package uk.co.blackpepper.bowman;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.datrunk.naked.entities.bowman.annotation.LinkedResource;
+import org.datrunk.naked.entities.bowman.annotation.ResourceId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Cost of serializing an entity whose linked associations are written as URIs by {@link
+ * JacksonClientModule}, which reads the id of every associated entity. <code>serialize</code> is
+ * the whole write; <code>cachedIds</code> and <code>scannedIds</code> isolate the id reads, with
+ * and without the per-class accessor cache in <code>ReflectionSupport</code>.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar LinkedAssociationSerializationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinkedAssociationSerializationBenchmark {
+
+  /** An entity linked to many others. */
+  public static class Node {
+
+    private final URI id;
+
+    private final String name;
+
+    private final List<Node> children = new ArrayList<>();
+
+    Node(URI id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    @ResourceId
+    public URI getId() {
+      return id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    @LinkedResource
+    public List<Node> getChildren() {
+      return children;
+    }
+  }
+
+  @Param({"10", "1000"})
+  public int associations;
+
+  private ObjectMapper mapper;
+
+  private Node node;
+
+  @Setup
+  public void setUp() {
+    mapper = new DefaultObjectMapperFactory().create(null);
+    node = new Node(URI.create("http://localhost/nodes/0"), "root");
+    for (int i = 1; i <= associations; i++) {
+      node.getChildren().add(new Node(URI.create("http://localhost/nodes/" + i), "child" + i));
+    }
+  }
+
+  @Benchmark
+  public String serialize() throws JsonProcessingException {
+    return mapper.writeValueAsString(node);
+  }
+
+  @Benchmark
+  public int cachedIds() {
+    int hash = 0;
+    for (Node child : node.getChildren()) {
+      hash += ReflectionSupport.getId(child).hashCode();
+    }
+    return hash;
+  }
+
+  /** The lookup that <code>ReflectionSupport.getId</code> did on every call. */
+  @Benchmark
+  public int scannedIds() {
+    int hash = 0;
+    for (Node child : node.getChildren()) {
+      Method accessor = null;
+      for (Method method : ReflectionUtils.getAllDeclaredMethods(child.getClass())) {
+        if (method.getAnnotation(ResourceId.class) != null) {
+          accessor = method;
+          break;
+        }
+      }
+      hash += ReflectionUtils.invokeMethod(accessor, child).hashCode();
+    }
+    return hash;
+  }
+}
@@ -0,0 +1,145 @@
+package uk.co.blackpepper.bowman;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.datrunk.naked.entities.bowman.annotation.LinkedResource;
+import org.datrunk.naked.entities.bowman.annotation.ResourceId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+
+/**
+ * Cost of resolving the {@link LinkedResource} methods of a fresh proxy: a single linked parent and
+ * a collection of 100 linked children, each fetched through a {@link RestOperations} whose
+ * responses are canned by a {@link CannedHttpRequestFactory}. Compares the proxy engines.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar LinkedResourceBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinkedResourceBenchmark {
+
+  /** An entity with a linked parent and linked children. */
+  public static class Node {
+
+    private URI id;
+
+    private String name;
+
+    private Node parent;
+
+    private List<Node> children = new ArrayList<>();
+
+    @ResourceId
+    public URI getId() {
+      return id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    @LinkedResource
+    public Node getParent() {
+      return parent;
+    }
+
+    @LinkedResource
+    public List<Node> getChildren() {
+      return children;
+    }
+  }
+
+  private static final int CHILDREN = 100;
+
+  private static final String ROOT = "http://localhost/nodes/0";
+
+  @Param({"javassist", "bytecode"})
+  public String engine;
+
+  private ClientProxyFactory proxyFactory;
+
+  private RestOperations restOperations;
+
+  private EntityModel<Node> resource;
+
+  @Setup
+  public void setUp() {
+    ObjectMapper mapper = new DefaultObjectMapperFactory().create(null);
+    CannedHttpRequestFactory requestFactory =
+        new CannedHttpRequestFactory()
+            .with(URI.create(ROOT + "/parent"), Fixtures.write(halNode(mapper, -1), mapper))
+            .with(URI.create(ROOT + "/children"), Fixtures.write(halNodes(mapper), mapper));
+
+    proxyFactory =
+        "javassist".equals(engine)
+            ? new JavassistClientProxyFactory()
+            : new BytecodeClientProxyFactory();
+    restOperations =
+        new RestOperationsFactory(
+                Configuration.builder().setClientHttpRequestFactory(requestFactory).build(),
+                proxyFactory)
+            .create();
+
+    Node root = new Node();
+    root.setName("root");
+    resource =
+        EntityModel.of(
+            root,
+            Link.of(ROOT, IanaLinkRelations.SELF),
+            Link.of(ROOT + "/parent", "parent"),
+            Link.of(ROOT + "/children", "children"));
+  }
+
+  @Benchmark
+  public Node parent() {
+    return proxyFactory.create(resource, restOperations).getParent();
+  }
+
+  @Benchmark
+  public List<Node> children() {
+    return proxyFactory.create(resource, restOperations).getChildren();
+  }
+
+  private static ObjectNode halNode(ObjectMapper mapper, int id) {
+    ObjectNode node = mapper.createObjectNode().put("name", "node" + id);
+    node.putObject("_links").putObject("self").put("href", "http://localhost/nodes/" + id);
+    return node;
+  }
+
+  private static ObjectNode halNodes(ObjectMapper mapper) {
+    ObjectNode body = mapper.createObjectNode();
+    ArrayNode nodes = body.putObject("_embedded").putArray("nodes");
+    for (int id = 1; id <= CHILDREN; id++) {
+      nodes.add(halNode(mapper, id));
+    }
+    body.putObject("_links").putObject("self").put("href", ROOT + "/children");
+    return body;
+  }
+}
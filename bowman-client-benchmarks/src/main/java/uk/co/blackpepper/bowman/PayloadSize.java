@@ -0,0 +1,37 @@
+package uk.co.blackpepper.bowman;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+/**
+ * Reports the size of the payload a benchmark reads or writes as its <code>bytes</code> secondary
+ * result. JMH sums event counters over the measurement iterations, so the size is only recorded in
+ * the first of them.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class PayloadSize {
+
+  public long bytes;
+
+  private int measurements;
+
+  private boolean recording;
+
+  @Setup(Level.Iteration)
+  public void startIteration(IterationParams iteration) {
+    recording = iteration.getType() == IterationType.MEASUREMENT && measurements++ == 0;
+    bytes = 0;
+  }
+
+  void record(int length) {
+    if (recording) {
+      bytes = length;
+    }
+  }
+}
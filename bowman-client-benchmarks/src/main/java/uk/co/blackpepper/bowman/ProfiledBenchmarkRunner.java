@@ -0,0 +1,33 @@
+package uk.co.blackpepper.bowman;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so that every result comes with its allocation rate (
+ * <code>gc.alloc.rate.norm</code>, in bytes per operation) next to its time. Each argument is a
+ * regular expression selecting benchmarks; with no arguments, all of them run.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar uk.co.blackpepper.bowman.ProfiledBenchmarkRunner [regex...]
+ * </pre>
+ */
+public final class ProfiledBenchmarkRunner {
+
+  private ProfiledBenchmarkRunner() {}
+
+  public static void main(String[] args) throws RunnerException {
+    ChainedOptionsBuilder options = new OptionsBuilder().addProfiler(GCProfiler.class);
+    if (args.length == 0) {
+      options.include(ProfiledBenchmarkRunner.class.getPackage().getName() + "\\..*Benchmark");
+    }
+    for (String include : args) {
+      options.include(include);
+    }
+
+    new Runner(options.build()).run();
+  }
+}
@@ -0,0 +1,74 @@
+package uk.co.blackpepper.bowman;
+
+import static java.util.Arrays.asList;
+
+import java.util.concurrent.TimeUnit;
+import javassist.util.proxy.Proxy;
+import javassist.util.proxy.ProxyFactory;
+import org.datrunk.naked.entities.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+
+/**
+ * Proxies per second created by {@link JavassistClientProxyFactory}. <code>cachedClass</code> is
+ * the factory as it is; <code>classPerInstance</code> is the previous behaviour, which asked
+ * Javassist for the proxy class of every instance.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ProxyCreationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProxyCreationBenchmark {
+
+  private JavassistClientProxyFactory proxyFactory;
+
+  private EntityModel<User> resource;
+
+  @Setup
+  public void setUp() {
+    proxyFactory = new JavassistClientProxyFactory();
+    resource =
+        EntityModel.of(
+            Fixtures.users(1).get(0), Link.of("http://localhost/users/1", IanaLinkRelations.SELF));
+  }
+
+  @Benchmark
+  public User cachedClass() {
+    return proxyFactory.create(resource, null);
+  }
+
+  @Benchmark
+  public Object classPerInstance() throws ReflectiveOperationException {
+    MethodHandlerChain handlerChain =
+        new MethodHandlerChain(
+            asList(
+                new ResourceIdMethodHandler(resource),
+                new LinkedResourceMethodHandler(resource, null, proxyFactory),
+                new SimplePropertyMethodHandler<>(resource)));
+
+    ProxyFactory factory = new ProxyFactory();
+    factory.setSuperclass(User.class);
+    factory.setFilter(handlerChain);
+
+    Object proxy = factory.createClass().getConstructor().newInstance();
+    ((Proxy) proxy).setHandler(handlerChain);
+    return proxy;
+  }
+}
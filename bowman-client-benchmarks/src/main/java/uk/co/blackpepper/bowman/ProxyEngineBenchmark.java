@@ -0,0 +1,81 @@
+package uk.co.blackpepper.bowman;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.datrunk.naked.entities.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+
+/**
+ * Compares the proxy engines. <code>javassist</code> is {@link JavassistClientProxyFactory}, which
+ * sends every call through its handler chain and invokes property methods on the content
+ * reflectively; <code>bytecode</code> is {@link BytecodeClientProxyFactory}, whose generated
+ * subclasses call property methods on the content directly. <code>create</code> is the cost of a
+ * proxy, <code>readProperties</code> and <code>writeProperties</code> the cost of its simple
+ * property methods.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ProxyEngineBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProxyEngineBenchmark {
+
+  @Param({"javassist", "bytecode"})
+  public String engine;
+
+  private ClientProxyFactory proxyFactory;
+
+  private EntityModel<User> resource;
+
+  private User proxy;
+
+  @Setup
+  public void setUp() {
+    proxyFactory =
+        "javassist".equals(engine)
+            ? new JavassistClientProxyFactory()
+            : new BytecodeClientProxyFactory();
+    resource =
+        EntityModel.of(
+            Fixtures.users(1).get(0), Link.of("http://localhost/users/1", IanaLinkRelations.SELF));
+    proxy = proxyFactory.create(resource, null);
+  }
+
+  @Benchmark
+  public User create() {
+    return proxyFactory.create(resource, null);
+  }
+
+  @Benchmark
+  public int readProperties() {
+    return Objects.hashCode(proxy.getFirstName())
+        + Objects.hashCode(proxy.getLastName())
+        + Objects.hashCode(proxy.getRole())
+        + Objects.hashCode(proxy.getId());
+  }
+
+  @Benchmark
+  public User writeProperties() {
+    proxy.setFirstName("first");
+    proxy.setLastName("last");
+    return proxy;
+  }
+}
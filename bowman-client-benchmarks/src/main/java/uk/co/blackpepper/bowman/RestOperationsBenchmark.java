@@ -0,0 +1,68 @@
+package uk.co.blackpepper.bowman;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import org.datrunk.naked.entities.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+
+/**
+ * Cost of reading a user and a collection of 1000 users through {@link RestOperations}, from the
+ * <code>
+ * RestTemplate</code> exchange to the bound resources. Responses are canned by a {@link
+ * CannedHttpRequestFactory}, so no time is spent on the network.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar RestOperationsBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestOperationsBenchmark {
+
+  private static final URI USER = URI.create("http://localhost/users/1");
+
+  private static final URI USERS = URI.create("http://localhost/users");
+
+  private static final int SIZE = 1000;
+
+  private RestOperations restOperations;
+
+  @Setup
+  public void setUp() {
+    ObjectMapperFactory mapperFactory = new DefaultObjectMapperFactory();
+    CannedHttpRequestFactory requestFactory =
+        new CannedHttpRequestFactory()
+            .with(USER, Fixtures.halUser(1, mapperFactory.create(null)))
+            .with(USERS, Fixtures.halUsers(SIZE, mapperFactory.create(null)));
+
+    Configuration configuration =
+        Configuration.builder().setClientHttpRequestFactory(requestFactory).build();
+    restOperations =
+        new RestOperationsFactory(configuration, new JavassistClientProxyFactory()).create();
+  }
+
+  @Benchmark
+  public EntityModel<User> getResource() {
+    return restOperations.getResource(USER, User.class);
+  }
+
+  @Benchmark
+  public CollectionModel<EntityModel<User>> getResources() {
+    return restOperations.getResources(USERS, User.class);
+  }
+}
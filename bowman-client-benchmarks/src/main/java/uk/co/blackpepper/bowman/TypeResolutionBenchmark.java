@@ -0,0 +1,148 @@
+package uk.co.blackpepper.bowman;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.datrunk.naked.entities.bowman.annotation.RemoteResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.web.util.UriComponentsBuilder;
+import uk.co.blackpepper.bowman.annotation.ResourceTypeInfo;
+
+/**
+ * Cost of resolving the subtypes of a polymorphic collection of 1000 resources from their self
+ * links. <code>cached</code> is {@link DefaultTypeResolver}; <code>uncached</code> is what it did
+ * before, looking up the annotations and building the base URI of every subtype for every resource.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar TypeResolutionBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeResolutionBenchmark {
+
+  @ResourceTypeInfo(
+      subtypes = {Car.class, Van.class, Truck.class, Bus.class, Bike.class, Tram.class})
+  public static class Vehicle {
+    // no members
+  }
+
+  @RemoteResource("/cars")
+  public static class Car extends Vehicle {
+    // no members
+  }
+
+  @RemoteResource("/vans")
+  public static class Van extends Vehicle {
+    // no members
+  }
+
+  @RemoteResource("/trucks")
+  public static class Truck extends Vehicle {
+    // no members
+  }
+
+  @RemoteResource("/buses")
+  public static class Bus extends Vehicle {
+    // no members
+  }
+
+  @RemoteResource("/bikes")
+  public static class Bike extends Vehicle {
+    // no members
+  }
+
+  @RemoteResource("/trams")
+  public static class Tram extends Vehicle {
+    // no members
+  }
+
+  private static final String[] PATHS = {"cars", "vans", "trucks", "buses", "bikes", "trams"};
+
+  private static final int SIZE = 1000;
+
+  private Configuration configuration;
+
+  private DefaultTypeResolver resolver;
+
+  private List<Links> resources;
+
+  @Setup
+  public void setUp() {
+    configuration = Configuration.builder().setBaseUri("http://localhost:8080/api").build();
+    resolver = new DefaultTypeResolver();
+    resources = new ArrayList<>(SIZE);
+    for (int index = 0; index < SIZE; index++) {
+      resources.add(
+          Links.of(
+              Link.of(
+                  "http://localhost:8080/api/" + PATHS[index % PATHS.length] + "/" + index,
+                  IanaLinkRelations.SELF)));
+    }
+  }
+
+  @Benchmark
+  public int cached() {
+    int hash = 0;
+    for (Links links : resources) {
+      hash += resolver.resolveType(Vehicle.class, links, configuration).hashCode();
+    }
+    return hash;
+  }
+
+  @Benchmark
+  public int uncached() {
+    int hash = 0;
+    for (Links links : resources) {
+      hash += resolveUncached(Vehicle.class, links, configuration).hashCode();
+    }
+    return hash;
+  }
+
+  /** The resolution that <code>DefaultTypeResolver</code> and its delegate did for every call. */
+  private static Class<?> resolveUncached(
+      Class<?> declaredType, Links resourceLinks, Configuration configuration) {
+    ResourceTypeInfo info = AnnotationUtils.findAnnotation(declaredType, ResourceTypeInfo.class);
+    if (info.typeResolver() != ResourceTypeInfo.NullTypeResolver.class) {
+      return BeanUtils.instantiateClass(info.typeResolver())
+          .resolveType(declaredType, resourceLinks, configuration);
+    }
+
+    String self = resourceLinks.getRequiredLink(IanaLinkRelations.SELF).getHref();
+    for (Class<?> candidateClass : info.subtypes()) {
+      RemoteResource candidateClassInfo =
+          AnnotationUtils.findAnnotation(candidateClass, RemoteResource.class);
+      String resourceBaseUriString =
+          UriComponentsBuilder.fromUri(configuration.getBaseUri())
+              .path(candidateClassInfo.value())
+              .toUriString();
+      String selfLinkUriString =
+          UriComponentsBuilder.fromUriString(self).build().getHost() != null
+              ? self
+              : UriComponentsBuilder.fromUri(configuration.getBaseUri()).path(self).toUriString();
+
+      if (selfLinkUriString.startsWith(resourceBaseUriString + "/")) {
+        return candidateClass;
+      }
+    }
+    return declaredType;
+  }
+}
@@ -0,0 +1,91 @@
+package uk.co.blackpepper.bowman;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.datrunk.naked.entities.CollectionDTO;
+import org.datrunk.naked.entities.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encode and decode cost of a <code>CollectionDTO&lt;User&gt;</code> batch, as sent by <code>
+ * CEClient.saveAll</code>, for each {@link WireFormat}. The encoded size of the batch is reported
+ * as the <code>bytes</code> secondary result.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar WireFormatBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+  @Param({"JSON", "SMILE", "CBOR"})
+  public WireFormat format;
+
+  @Param({"100", "1000"})
+  public int size;
+
+  private ObjectMapper mapper;
+
+  private JsonFactory factory;
+
+  private JavaType batchType;
+
+  private CollectionDTO<User> batch;
+
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws IOException {
+    mapper = new DefaultObjectMapperFactory().create(null);
+    factory = format == WireFormat.JSON ? mapper.getFactory() : format.createFactory();
+    batchType = mapper.getTypeFactory().constructParametricType(CollectionDTO.class, User.class);
+    batch = Fixtures.userBatch(size);
+    encoded = write();
+  }
+
+  @Benchmark
+  public byte[] encode(PayloadSize payload) throws IOException {
+    byte[] bytes = write();
+    payload.record(bytes.length);
+    return bytes;
+  }
+
+  @Benchmark
+  public CollectionDTO<User> decode(PayloadSize payload) throws IOException {
+    payload.record(encoded.length);
+    try (JsonParser parser = factory.createParser(encoded)) {
+      parser.setCodec(mapper);
+      return mapper.readValue(parser, batchType);
+    }
+  }
+
+  private byte[] write() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+    try (JsonGenerator generator = factory.createGenerator(out)) {
+      generator.setCodec(mapper);
+      mapper.writerFor(batchType).writeValue(generator, batch);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,29 @@
+package uk.co.blackpepper.bowman.processor;
+
+/**
+ * Names of the sdn-entities types that generated sources refer to. They are kept as strings so that
+ * the processor has no runtime dependencies.
+ */
+final class Names {
+
+  private static final String BOWMAN = "org.datrunk.naked.entities.bowman.";
+
+  static final String REMOTE_RESOURCE = BOWMAN + "annotation.RemoteResource";
+
+  static final String LINKED_RESOURCE = BOWMAN + "annotation.LinkedResource";
+
+  static final String RESOURCE_ID = BOWMAN + "annotation.ResourceId";
+
+  static final String GENERATED_PROXY = BOWMAN + "proxy.GeneratedProxy";
+
+  static final String GENERATED_PROXY_TYPE = BOWMAN + "proxy.GeneratedProxyType";
+
+  static final String LINK_DESCRIPTOR = BOWMAN + "proxy.LinkDescriptor";
+
+  static final String PROXY_LINK_RESOLVER = BOWMAN + "proxy.ProxyLinkResolver";
+
+  /** Mirrors {@code GeneratedProxyType.CLASS_SUFFIX}. */
+  static final String CLASS_SUFFIX = "_BowmanProxy";
+
+  private Names() {}
+}
@@ -0,0 +1,179 @@
+package uk.co.blackpepper.bowman.processor;
+
+import java.util.List;
+
+/** Everything needed to write the source of one generated proxy. */
+final class ProxyModel {
+
+  enum MethodKind {
+    /** Bean property accessor, delegated to the proxied content. */
+    PROPERTY,
+    /** {@code @ResourceId} method, answered from the self link. */
+    RESOURCE_ID,
+    /** {@code @LinkedResource} method. */
+    LINK,
+    /** Setter of a {@code @LinkedResource} getter, replacing the memoized link. */
+    LINK_SETTER
+  }
+
+  static final class ProxyMethod {
+
+    private final MethodKind kind;
+
+    private final String modifiers;
+
+    private final String name;
+
+    private final String returnType;
+
+    private final List<String> parameterTypes;
+
+    private final List<String> thrownTypes;
+
+    private final int linkIndex;
+
+    ProxyMethod(
+        MethodKind kind,
+        String modifiers,
+        String name,
+        String returnType,
+        List<String> parameterTypes,
+        List<String> thrownTypes,
+        int linkIndex) {
+      this.kind = kind;
+      this.modifiers = modifiers;
+      this.name = name;
+      this.returnType = returnType;
+      this.parameterTypes = parameterTypes;
+      this.thrownTypes = thrownTypes;
+      this.linkIndex = linkIndex;
+    }
+
+    MethodKind getKind() {
+      return kind;
+    }
+
+    String getModifiers() {
+      return modifiers;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    String getReturnType() {
+      return returnType;
+    }
+
+    List<String> getParameterTypes() {
+      return parameterTypes;
+    }
+
+    List<String> getThrownTypes() {
+      return thrownTypes;
+    }
+
+    int getLinkIndex() {
+      return linkIndex;
+    }
+  }
+
+  static final class Link {
+
+    private final String methodName;
+
+    private final String rel;
+
+    private final boolean optional;
+
+    private final String type;
+
+    private final String elementType;
+
+    Link(String methodName, String rel, boolean optional, String type, String elementType) {
+      this.methodName = methodName;
+      this.rel = rel;
+      this.optional = optional;
+      this.type = type;
+      this.elementType = elementType;
+    }
+
+    String getMethodName() {
+      return methodName;
+    }
+
+    String getRel() {
+      return rel;
+    }
+
+    boolean isOptional() {
+      return optional;
+    }
+
+    /** @return the erased source name of the method's return type */
+    String getType() {
+      return type;
+    }
+
+    /** @return the erased source name of the collection element type, or {@code null} */
+    String getElementType() {
+      return elementType;
+    }
+  }
+
+  private final String packageName;
+
+  private final String proxyName;
+
+  private final String entityName;
+
+  private final List<String> propertyNames;
+
+  private final List<Link> links;
+
+  private final List<ProxyMethod> methods;
+
+  ProxyModel(
+      String packageName,
+      String proxyName,
+      String entityName,
+      List<String> propertyNames,
+      List<Link> links,
+      List<ProxyMethod> methods) {
+    this.packageName = packageName;
+    this.proxyName = proxyName;
+    this.entityName = entityName;
+    this.propertyNames = propertyNames;
+    this.links = links;
+    this.methods = methods;
+  }
+
+  String getPackageName() {
+    return packageName;
+  }
+
+  String getProxyName() {
+    return proxyName;
+  }
+
+  String getQualifiedProxyName() {
+    return packageName.isEmpty() ? proxyName : packageName + "." + proxyName;
+  }
+
+  /** @return the canonical name of the entity */
+  String getEntityName() {
+    return entityName;
+  }
+
+  List<String> getPropertyNames() {
+    return propertyNames;
+  }
+
+  List<Link> getLinks() {
+    return links;
+  }
+
+  List<ProxyMethod> getMethods() {
+    return methods;
+  }
+}
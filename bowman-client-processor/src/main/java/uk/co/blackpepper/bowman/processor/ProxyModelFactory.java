@@ -0,0 +1,437 @@
+package uk.co.blackpepper.bowman.processor;
+
+import java.beans.Introspector;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import uk.co.blackpepper.bowman.processor.ProxyModel.Link;
+import uk.co.blackpepper.bowman.processor.ProxyModel.MethodKind;
+import uk.co.blackpepper.bowman.processor.ProxyModel.ProxyMethod;
+
+/**
+ * Builds a {@link ProxyModel} from an entity, applying the same rules as the runtime handlers:
+ * {@code @ResourceId} first, then {@code @LinkedResource} getters and the setters paired with them,
+ * then the remaining bean properties as {@link java.beans.Introspector} would find them.
+ */
+class ProxyModelFactory {
+
+  private static final class Member {
+
+    private final ExecutableElement element;
+
+    private final ExecutableType type;
+
+    Member(ExecutableElement element, ExecutableType type) {
+      this.element = element;
+      this.type = type;
+    }
+
+    String getName() {
+      return element.getSimpleName().toString();
+    }
+
+    TypeMirror getReturnType() {
+      return type.getReturnType();
+    }
+
+    List<? extends TypeMirror> getParameterTypes() {
+      return type.getParameterTypes();
+    }
+
+    boolean isPublic() {
+      return element.getModifiers().contains(Modifier.PUBLIC);
+    }
+  }
+
+  private final Elements elements;
+
+  private final Types types;
+
+  ProxyModelFactory(ProcessingEnvironment processingEnv) {
+    elements = processingEnv.getElementUtils();
+    types = processingEnv.getTypeUtils();
+  }
+
+  ProxyModel create(TypeElement entity) throws UnsupportedEntityException {
+    checkSubclassable(entity);
+
+    DeclaredType entityType = (DeclaredType) entity.asType();
+    List<Member> members = getOverridableMethods(entity, entityType);
+
+    Map<String, Member> readMethods = new HashMap<>();
+    for (Member member : members) {
+      String property = getReadProperty(member);
+      if (property != null
+          && (!readMethods.containsKey(property) || member.getName().startsWith("is"))) {
+        readMethods.put(property, member);
+      }
+    }
+
+    List<Link> links = new ArrayList<>();
+    Map<String, Integer> linkIndexes = new HashMap<>();
+    for (Member member : members) {
+      if (!hasAnnotation(member, Names.RESOURCE_ID)
+          && getPairedReadMethod(member, readMethods) == null
+          && hasAnnotation(member, Names.LINKED_RESOURCE)) {
+        linkIndexes.put(member.getName(), links.size());
+        links.add(createLink(member));
+      }
+    }
+
+    Set<String> propertyNames = new TreeSet<>();
+    List<ProxyMethod> methods = new ArrayList<>();
+    for (Member member : members) {
+      String writeProperty = getWriteProperty(member, readMethods);
+      String readProperty = getReadProperty(member);
+      Member getter = getPairedReadMethod(member, readMethods);
+
+      if (hasAnnotation(member, Names.RESOURCE_ID)) {
+        checkResourceIdType(member);
+        methods.add(createMethod(MethodKind.RESOURCE_ID, member, -1));
+      } else if (getter != null) {
+        if (hasAnnotation(getter, Names.LINKED_RESOURCE)) {
+          int linkIndex = linkIndexes.get(getter.getName());
+          methods.add(createMethod(MethodKind.LINK_SETTER, member, linkIndex));
+        } else {
+          propertyNames.add(writeProperty);
+          methods.add(createMethod(MethodKind.PROPERTY, member, -1));
+        }
+      } else if (hasAnnotation(member, Names.LINKED_RESOURCE)) {
+        methods.add(createMethod(MethodKind.LINK, member, linkIndexes.get(member.getName())));
+      } else if (writeProperty != null) {
+        propertyNames.add(writeProperty);
+        methods.add(createMethod(MethodKind.PROPERTY, member, -1));
+      } else if (readProperty != null && readMethods.get(readProperty) == member) {
+        propertyNames.add(readProperty);
+        methods.add(createMethod(MethodKind.PROPERTY, member, -1));
+      }
+    }
+
+    String packageName = getPackage(entity).getQualifiedName().toString();
+    String entityName = entity.getQualifiedName().toString();
+    String flatName =
+        packageName.isEmpty() ? entityName : entityName.substring(packageName.length() + 1);
+    return new ProxyModel(
+        packageName,
+        flatName.replace('.', '_') + Names.CLASS_SUFFIX,
+        entityName,
+        new ArrayList<>(propertyNames),
+        links,
+        methods);
+  }
+
+  private void checkSubclassable(TypeElement entity) throws UnsupportedEntityException {
+    if (entity.getKind() != ElementKind.CLASS) {
+      throw new UnsupportedEntityException("not a class");
+    }
+    if (entity.getModifiers().contains(Modifier.FINAL)) {
+      throw new UnsupportedEntityException("class is final");
+    }
+    if (entity.getModifiers().contains(Modifier.ABSTRACT)) {
+      throw new UnsupportedEntityException("class is abstract");
+    }
+    if (!entity.getTypeParameters().isEmpty()) {
+      throw new UnsupportedEntityException("class is generic");
+    }
+
+    for (Element type = entity; type instanceof TypeElement; type = type.getEnclosingElement()) {
+      if (type.getModifiers().contains(Modifier.PRIVATE)) {
+        throw new UnsupportedEntityException("class is not accessible from its package");
+      }
+      if (((TypeElement) type).getNestingKind() == NestingKind.MEMBER
+          && !type.getModifiers().contains(Modifier.STATIC)) {
+        throw new UnsupportedEntityException("class is an inner class");
+      }
+      if (((TypeElement) type).getNestingKind().isNested()
+          && ((TypeElement) type).getNestingKind() != NestingKind.MEMBER) {
+        throw new UnsupportedEntityException("class is local or anonymous");
+      }
+    }
+
+    boolean constructible =
+        entity.getEnclosedElements().stream()
+            .filter(element -> element.getKind() == ElementKind.CONSTRUCTOR)
+            .map(ExecutableElement.class::cast)
+            .anyMatch(
+                constructor ->
+                    constructor.getParameters().isEmpty()
+                        && !constructor.getModifiers().contains(Modifier.PRIVATE));
+    if (!constructible) {
+      throw new UnsupportedEntityException("no accessible no-args constructor");
+    }
+  }
+
+  private List<Member> getOverridableMethods(TypeElement entity, DeclaredType entityType)
+      throws UnsupportedEntityException {
+    Map<String, Member> members = new LinkedHashMap<>();
+
+    TypeMirror current = entity.asType();
+    while (current.getKind() == TypeKind.DECLARED) {
+      TypeElement type = (TypeElement) ((DeclaredType) current).asElement();
+      if (type.getQualifiedName().contentEquals(Object.class.getName())) {
+        break;
+      }
+
+      for (Element element : type.getEnclosedElements()) {
+        if (element.getKind() != ElementKind.METHOD) {
+          continue;
+        }
+        ExecutableElement method = (ExecutableElement) element;
+        ExecutableType methodType = (ExecutableType) types.asMemberOf(entityType, method);
+        String key = method.getSimpleName() + erasedParameters(methodType);
+        if (!members.containsKey(key)) {
+          members.put(key, new Member(method, methodType));
+        }
+      }
+
+      current = type.getSuperclass();
+    }
+
+    List<Member> result = new ArrayList<>();
+    for (Member member : members.values()) {
+      Set<Modifier> modifiers = member.element.getModifiers();
+      if (modifiers.contains(Modifier.PRIVATE)
+          || modifiers.contains(Modifier.STATIC)
+          || modifiers.contains(Modifier.FINAL)) {
+        continue;
+      }
+      if (!member.element.getTypeParameters().isEmpty()) {
+        if (hasAnnotation(member, Names.RESOURCE_ID)
+            || hasAnnotation(member, Names.LINKED_RESOURCE)) {
+          throw new UnsupportedEntityException(
+              String.format("annotated method %s is generic", member.getName()));
+        }
+        continue;
+      }
+      result.add(member);
+    }
+    return result;
+  }
+
+  private String erasedParameters(ExecutableType methodType) {
+    List<String> parameters = new ArrayList<>();
+    for (TypeMirror parameter : methodType.getParameterTypes()) {
+      parameters.add(types.erasure(parameter).toString());
+    }
+    return parameters.stream().collect(Collectors.joining(",", "(", ")"));
+  }
+
+  private static String getReadProperty(Member member) {
+    String name = member.getName();
+    if (!member.isPublic() || !member.getParameterTypes().isEmpty()) {
+      return null;
+    }
+
+    TypeKind returnKind = member.getReturnType().getKind();
+    if (name.length() > 3 && name.startsWith("get") && returnKind != TypeKind.VOID) {
+      return Introspector.decapitalize(name.substring(3));
+    }
+    if (name.length() > 2 && name.startsWith("is") && returnKind == TypeKind.BOOLEAN) {
+      return Introspector.decapitalize(name.substring(2));
+    }
+    return null;
+  }
+
+  private String getWriteProperty(Member member, Map<String, Member> readMethods) {
+    String name = member.getName();
+    if (!member.isPublic()
+        || member.getParameterTypes().size() != 1
+        || member.getReturnType().getKind() != TypeKind.VOID
+        || name.length() <= 3
+        || !name.startsWith("set")) {
+      return null;
+    }
+
+    String property = Introspector.decapitalize(name.substring(3));
+    Member getter = readMethods.get(property);
+    if (getter != null
+        && !types.isSameType(getter.getReturnType(), member.getParameterTypes().get(0))) {
+      return null;
+    }
+    return property;
+  }
+
+  /** @return the getter paired with {@code member} when it is a property setter */
+  private Member getPairedReadMethod(Member member, Map<String, Member> readMethods) {
+    String property = getWriteProperty(member, readMethods);
+    return property == null ? null : readMethods.get(property);
+  }
+
+  private void checkResourceIdType(Member member) throws UnsupportedEntityException {
+    TypeMirror uri = elements.getTypeElement("java.net.URI").asType();
+    if (member.getReturnType().getKind() != TypeKind.VOID
+        && !types.isAssignable(uri, member.getReturnType())) {
+      throw new UnsupportedEntityException(
+          String.format("@ResourceId method %s doesn't return a URI", member.getName()));
+    }
+  }
+
+  private Link createLink(Member member) throws UnsupportedEntityException {
+    AnnotationMirror annotation = getAnnotation(member, Names.LINKED_RESOURCE);
+    String rel = (String) getValue(annotation, "rel");
+    boolean optional = (Boolean) getValue(annotation, "optionalLink");
+    if (rel.isEmpty()) {
+      rel = toLinkName(member.getName());
+    }
+
+    TypeMirror returnType = member.getReturnType();
+    if (returnType.getKind() == TypeKind.VOID) {
+      throw new UnsupportedEntityException(
+          String.format("@LinkedResource method %s returns void", member.getName()));
+    }
+
+    String elementType = null;
+    TypeMirror collection = types.erasure(elements.getTypeElement("java.util.Collection").asType());
+    if (types.isAssignable(types.erasure(returnType), collection)) {
+      List<? extends TypeMirror> arguments =
+          returnType.getKind() == TypeKind.DECLARED
+              ? ((DeclaredType) returnType).getTypeArguments()
+              : Collections.emptyList();
+      if (arguments.isEmpty() || arguments.get(0).getKind() != TypeKind.DECLARED) {
+        throw new UnsupportedEntityException(
+            String.format(
+                "@LinkedResource method %s doesn't declare its element class", member.getName()));
+      }
+      elementType = toSource(types.erasure(arguments.get(0)));
+    }
+
+    return new Link(
+        member.getName(), rel, optional, toSource(types.erasure(returnType)), elementType);
+  }
+
+  private ProxyMethod createMethod(MethodKind kind, Member member, int linkIndex)
+      throws UnsupportedEntityException {
+    Set<Modifier> modifiers = member.element.getModifiers();
+    String visibility =
+        modifiers.contains(Modifier.PUBLIC)
+            ? "public"
+            : modifiers.contains(Modifier.PROTECTED) ? "protected" : "";
+
+    List<String> parameterTypes = new ArrayList<>();
+    for (TypeMirror parameter : member.getParameterTypes()) {
+      parameterTypes.add(toSource(parameter));
+    }
+    List<String> thrownTypes = new ArrayList<>();
+    for (TypeMirror thrown : member.type.getThrownTypes()) {
+      thrownTypes.add(toSource(thrown));
+    }
+
+    return new ProxyMethod(
+        kind,
+        visibility,
+        member.getName(),
+        toSource(member.getReturnType()),
+        parameterTypes,
+        thrownTypes,
+        linkIndex);
+  }
+
+  /** @return the source form of {@code type}, without type annotations */
+  private String toSource(TypeMirror type) throws UnsupportedEntityException {
+    switch (type.getKind()) {
+      case BOOLEAN:
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG:
+      case CHAR:
+      case FLOAT:
+      case DOUBLE:
+      case VOID:
+        return type.getKind().name().toLowerCase();
+      case ARRAY:
+        return toSource(((ArrayType) type).getComponentType()) + "[]";
+      case DECLARED:
+        DeclaredType declared = (DeclaredType) type;
+        StringBuilder source =
+            new StringBuilder(((TypeElement) declared.asElement()).getQualifiedName());
+        if (!declared.getTypeArguments().isEmpty()) {
+          List<String> arguments = new ArrayList<>();
+          for (TypeMirror argument : declared.getTypeArguments()) {
+            arguments.add(toSource(argument));
+          }
+          source.append(arguments.stream().collect(Collectors.joining(", ", "<", ">")));
+        }
+        return source.toString();
+      case WILDCARD:
+        WildcardType wildcard = (WildcardType) type;
+        if (wildcard.getExtendsBound() != null) {
+          return "? extends " + toSource(wildcard.getExtendsBound());
+        }
+        if (wildcard.getSuperBound() != null) {
+          return "? super " + toSource(wildcard.getSuperBound());
+        }
+        return "?";
+      default:
+        throw new UnsupportedEntityException(String.format("unsupported type %s", type));
+    }
+  }
+
+  private static boolean hasAnnotation(Member member, String annotationName) {
+    return getAnnotation(member, annotationName) != null;
+  }
+
+  private static AnnotationMirror getAnnotation(Member member, String annotationName) {
+    for (AnnotationMirror annotation : member.element.getAnnotationMirrors()) {
+      TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+      if (type.getQualifiedName().contentEquals(annotationName)) {
+        return annotation;
+      }
+    }
+    return null;
+  }
+
+  private Object getValue(AnnotationMirror annotation, String name) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+        elements.getElementValuesWithDefaults(annotation).entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return entry.getValue().getValue();
+      }
+    }
+    throw new IllegalStateException(String.format("%s has no value %s", annotation, name));
+  }
+
+  private static PackageElement getPackage(Element element) {
+    while (!(element instanceof PackageElement)) {
+      element = element.getEnclosingElement();
+    }
+    return (PackageElement) element;
+  }
+
+  /** Mirrors {@code uk.co.blackpepper.bowman.HalSupport#toLinkName}. */
+  private static String toLinkName(String methodName) {
+    if (methodName.startsWith("is")) {
+      methodName = methodName.substring(2);
+    } else if (methodName.startsWith("get")) {
+      methodName = methodName.substring(3);
+    } else {
+      return methodName;
+    }
+
+    return Introspector.decapitalize(methodName);
+  }
+}
@@ -0,0 +1,165 @@
+package uk.co.blackpepper.bowman.processor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import uk.co.blackpepper.bowman.processor.ProxyModel.Link;
+import uk.co.blackpepper.bowman.processor.ProxyModel.MethodKind;
+import uk.co.blackpepper.bowman.processor.ProxyModel.ProxyMethod;
+
+/** Writes the Java source of a generated proxy. */
+class ProxySourceWriter {
+
+  private static final Map<String, String> BOXED_TYPES = new HashMap<>();
+
+  static {
+    BOXED_TYPES.put("boolean", "java.lang.Boolean");
+    BOXED_TYPES.put("byte", "java.lang.Byte");
+    BOXED_TYPES.put("short", "java.lang.Short");
+    BOXED_TYPES.put("int", "java.lang.Integer");
+    BOXED_TYPES.put("long", "java.lang.Long");
+    BOXED_TYPES.put("char", "java.lang.Character");
+    BOXED_TYPES.put("float", "java.lang.Float");
+    BOXED_TYPES.put("double", "java.lang.Double");
+  }
+
+  private final ProxyModel model;
+
+  private final StringBuilder source = new StringBuilder();
+
+  ProxySourceWriter(ProxyModel model) {
+    this.model = model;
+  }
+
+  String write() {
+    String entity = model.getEntityName();
+    String proxy = model.getProxyName();
+
+    if (!model.getPackageName().isEmpty()) {
+      line("package %s;", model.getPackageName());
+      line("");
+    }
+    line("// Generated by %s. Do not edit.", RemoteResourceProcessor.class.getName());
+    line("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+    line("public final class %s extends %s", proxy, entity);
+    line("    implements %s<%s> {", Names.GENERATED_PROXY, entity);
+    line("");
+    line("  public static final %s<%s> %s =", Names.GENERATED_PROXY_TYPE, entity, "TYPE");
+    line("      new %s<>(", Names.GENERATED_PROXY_TYPE);
+    line("          %s.class,", entity);
+    line("          %s::new,", proxy);
+    line("          java.util.Arrays.<String>asList(%s),", quoteAll(model.getPropertyNames()));
+    line("          java.util.Arrays.<%s>asList(", Names.LINK_DESCRIPTOR);
+    List<Link> links = model.getLinks();
+    for (int index = 0; index < links.size(); index++) {
+      Link link = links.get(index);
+      line(
+          "              new %s(%s, %s, %s, %s.class, %s)%s",
+          Names.LINK_DESCRIPTOR,
+          quote(link.getMethodName()),
+          quote(link.getRel()),
+          link.isOptional(),
+          link.getType(),
+          link.getElementType() == null ? "null" : link.getElementType() + ".class",
+          index < links.size() - 1 ? "," : "");
+    }
+    line("          ));");
+    line("");
+    line("  private %s proxyContent;", entity);
+    line("");
+    line("  private %s proxyLinks;", Names.PROXY_LINK_RESOLVER);
+    line("");
+    line("  public %s() {}", proxy);
+    line("");
+    line("  @Override");
+    line("  public void bindProxy(%s content, %s links) {", entity, Names.PROXY_LINK_RESOLVER);
+    line("    this.proxyContent = content;");
+    line("    this.proxyLinks = links;");
+    line("  }");
+
+    for (ProxyMethod method : model.getMethods()) {
+      line("");
+      writeMethod(method);
+    }
+    line("}");
+    return source.toString();
+  }
+
+  private void writeMethod(ProxyMethod method) {
+    List<String> parameters = new ArrayList<>();
+    List<String> arguments = new ArrayList<>();
+    for (int index = 0; index < method.getParameterTypes().size(); index++) {
+      parameters.add(String.format("%s a%d", method.getParameterTypes().get(index), index));
+      arguments.add("a" + index);
+    }
+    String argumentList = String.join(", ", arguments);
+    String throwsClause =
+        method.getThrownTypes().isEmpty()
+            ? ""
+            : " throws " + String.join(", ", method.getThrownTypes());
+    String modifiers = method.getModifiers().isEmpty() ? "" : method.getModifiers() + " ";
+    boolean isVoid = "void".equals(method.getReturnType());
+
+    line("  @Override");
+    line(
+        "  %s%s %s(%s)%s {",
+        modifiers,
+        method.getReturnType(),
+        method.getName(),
+        String.join(", ", parameters),
+        throwsClause);
+
+    String call;
+    switch (method.getKind()) {
+      case PROPERTY:
+        call = String.format("proxyContent.%s(%s)", method.getName(), argumentList);
+        break;
+      case RESOURCE_ID:
+        call = "proxyLinks.resourceId(this)";
+        break;
+      case LINK:
+        Link link = model.getLinks().get(method.getLinkIndex());
+        String original =
+            link.getElementType() == null
+                ? "null"
+                : String.format("() -> super.%s(%s)", method.getName(), argumentList);
+        call =
+            String.format(
+                "proxyLinks.resolveLink(this, %d, new Object[] {%s}, %s)",
+                method.getLinkIndex(), argumentList, original);
+        break;
+      case LINK_SETTER:
+        call = String.format("proxyLinks.setLink(%d, a0)", method.getLinkIndex());
+        break;
+      default:
+        throw new IllegalStateException("unknown method kind " + method.getKind());
+    }
+
+    if (isVoid) {
+      line("    %s;", call);
+    } else if (method.getKind() == MethodKind.PROPERTY) {
+      line("    return %s;", call);
+    } else {
+      line("    return (%s) %s;", box(method.getReturnType()), call);
+    }
+    line("  }");
+  }
+
+  private void line(String format, Object... args) {
+    source.append(String.format(format, args)).append('\n');
+  }
+
+  private static String box(String type) {
+    return BOXED_TYPES.getOrDefault(type, type);
+  }
+
+  private static String quoteAll(List<String> values) {
+    return values.stream().map(ProxySourceWriter::quote).collect(Collectors.joining(", "));
+  }
+
+  private static String quote(String value) {
+    return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+  }
+}
@@ -0,0 +1,80 @@
+package uk.co.blackpepper.bowman.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates a {@code <Entity>_BowmanProxy} subclass for every {@code @RemoteResource} class. The
+ * generated class delegates bean properties to the deserialized entity without reflection and
+ * carries its {@code @LinkedResource} metadata in a static table, so the client neither introspects
+ * the entity nor defines a Javassist class for it at runtime.
+ *
+ * <p>Entities that cannot be subclassed from source (final, abstract, generic, or without an
+ * accessible no-args constructor) are reported with a note and left to the Javassist proxy factory.
+ *
+ * <p>When the entities use Lombok, Lombok must precede this processor on the processor path so that
+ * generated accessors are visible.
+ */
+@SupportedAnnotationTypes(Names.REMOTE_RESOURCE)
+public class RemoteResourceProcessor extends AbstractProcessor {
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (element instanceof TypeElement) {
+          generate((TypeElement) element);
+        }
+      }
+    }
+
+    return false;
+  }
+
+  private void generate(TypeElement entity) {
+    ProxyModel model;
+    try {
+      model = new ProxyModelFactory(processingEnv).create(entity);
+    } catch (UnsupportedEntityException exception) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Kind.NOTE,
+              String.format(
+                  "No bowman proxy generated for %s: %s; the Javassist proxy will be used",
+                  entity.getQualifiedName(), exception.getMessage()),
+              entity);
+      return;
+    }
+
+    try {
+      JavaFileObject file =
+          processingEnv.getFiler().createSourceFile(model.getQualifiedProxyName(), entity);
+      try (Writer writer = file.openWriter()) {
+        writer.write(new ProxySourceWriter(model).write());
+      }
+    } catch (IOException exception) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Kind.ERROR,
+              String.format(
+                  "Couldn't write %s: %s", model.getQualifiedProxyName(), exception.getMessage()),
+              entity);
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package uk.co.blackpepper.bowman.processor;
+
+/** Thrown when an entity cannot be proxied by a generated subclass. */
+class UnsupportedEntityException extends Exception {
+
+  private static final long serialVersionUID = 2465209337584386542L;
+
+  UnsupportedEntityException(String message) {
+    super(message);
+  }
+}
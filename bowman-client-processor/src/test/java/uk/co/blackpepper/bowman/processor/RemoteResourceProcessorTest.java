@@ -0,0 +1,238 @@
+package uk.co.blackpepper.bowman.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import org.datrunk.naked.entities.bowman.proxy.GeneratedProxy;
+import org.datrunk.naked.entities.bowman.proxy.GeneratedProxyType;
+import org.datrunk.naked.entities.bowman.proxy.LinkDescriptor;
+import org.datrunk.naked.entities.bowman.proxy.ProxyLinkResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RemoteResourceProcessorTest {
+
+  private static final String ENTITY =
+      String.join(
+          "\n",
+          "package com.example;",
+          "import java.net.URI;",
+          "import java.util.ArrayList;",
+          "import java.util.List;",
+          "import java.util.Set;",
+          "import org.datrunk.naked.entities.bowman.annotation.LinkedResource;",
+          "import org.datrunk.naked.entities.bowman.annotation.RemoteResource;",
+          "import org.datrunk.naked.entities.bowman.annotation.ResourceId;",
+          "@RemoteResource(\"/entities\")",
+          "public class Entity {",
+          "  private URI id;",
+          "  private String name;",
+          "  private boolean active;",
+          "  private Entity parent;",
+          "  private List<Entity> children = new ArrayList<>();",
+          "  protected Entity() {}",
+          "  @ResourceId public URI getId() { return id; }",
+          "  public String getName() { return name; }",
+          "  public void setName(String name) { this.name = name; }",
+          "  public boolean isActive() { return active; }",
+          "  public void setActive(boolean active) { this.active = active; }",
+          "  @LinkedResource public Entity getParent() { return parent; }",
+          "  public void setParent(Entity parent) { this.parent = parent; }",
+          "  @LinkedResource(rel = \"kids\", optionalLink = true)",
+          "  public List<Entity> getChildren() { return children; }",
+          "  @LinkedResource public Set<Entity> related(String type) { return null; }",
+          "  public String describe() { return \"entity\"; }",
+          "  public static class Nested {",
+          "    public int getSize() { return 0; }",
+          "  }",
+          "}");
+
+  private static final String UNSUPPORTED =
+      String.join(
+          "\n",
+          "package com.example;",
+          "import org.datrunk.naked.entities.bowman.annotation.RemoteResource;",
+          "@RemoteResource(\"/finals\")",
+          "public final class FinalEntity {}");
+
+  private static class RecordingLinkResolver implements ProxyLinkResolver {
+
+    private final List<String> calls = new ArrayList<>();
+
+    private Object original;
+
+    @Override
+    public URI resourceId(Object self) {
+      calls.add("resourceId");
+      return URI.create("http://example.com/1");
+    }
+
+    @Override
+    public Object resolveLink(Object self, int index, Object[] args, Supplier<?> original) {
+      calls.add("resolveLink " + index + " " + Arrays.toString(args));
+      this.original = original == null ? null : original.get();
+      return index == 1 ? Collections.emptyList() : null;
+    }
+
+    @Override
+    public void setLink(int index, Object value) {
+      calls.add("setLink " + index);
+    }
+  }
+
+  @TempDir Path output;
+
+  private DiagnosticCollector<JavaFileObject> diagnostics;
+
+  @BeforeEach
+  public void setUp() {
+    diagnostics = new DiagnosticCollector<>();
+  }
+
+  @Test
+  public void generatesProxyTable() throws Exception {
+    ClassLoader classLoader = compile("com.example.Entity", ENTITY);
+
+    GeneratedProxyType<?> type = getProxyType(classLoader, "com.example.Entity_BowmanProxy");
+
+    assertThat(type.getEntityType().getName()).isEqualTo("com.example.Entity");
+    assertThat(type.getPropertyNames()).containsExactly("active", "name");
+    assertThat(type.getLinks())
+        .extracting(
+            LinkDescriptor::getMethodName,
+            LinkDescriptor::getRel,
+            LinkDescriptor::isOptional,
+            link -> link.getType().getSimpleName(),
+            link -> link.getElementType() == null ? null : link.getElementType().getSimpleName())
+        .containsExactly(
+            tuple("getParent", "parent", false, "Entity", null),
+            tuple("getChildren", "kids", true, "List", "Entity"),
+            tuple("related", "related", false, "Set", "Entity"));
+  }
+
+  @Test
+  public void generatedProxyDelegatesToContentAndResolver() throws Exception {
+    ClassLoader classLoader = compile("com.example.Entity", ENTITY);
+    GeneratedProxyType<?> type = getProxyType(classLoader, "com.example.Entity_BowmanProxy");
+    Class<?> entityClass = type.getEntityType();
+
+    Object content = newInstance(entityClass);
+    entityClass.getMethod("setName", String.class).invoke(content, "x");
+    Object proxy = type.newInstance();
+    RecordingLinkResolver links = new RecordingLinkResolver();
+    bind(proxy, content, links);
+
+    assertThat(entityClass.getMethod("getName").invoke(proxy)).isEqualTo("x");
+    entityClass.getMethod("setActive", boolean.class).invoke(proxy, true);
+    assertThat(entityClass.getMethod("isActive").invoke(content)).isEqualTo(true);
+    assertThat(entityClass.getMethod("getId").invoke(proxy))
+        .isEqualTo(URI.create("http://example.com/1"));
+    entityClass.getMethod("getParent").invoke(proxy);
+    entityClass.getMethod("setParent", entityClass).invoke(proxy, content);
+    entityClass.getMethod("getChildren").invoke(proxy);
+    assertThat(links.original).isInstanceOf(List.class);
+    entityClass.getMethod("related", String.class).invoke(proxy, "a");
+    assertThat(entityClass.getMethod("describe").invoke(proxy)).isEqualTo("entity");
+
+    assertThat(links.calls)
+        .containsExactly(
+            "resourceId", "resolveLink 0 []", "setLink 0", "resolveLink 1 []", "resolveLink 2 [a]");
+  }
+
+  @Test
+  public void skipsEntitiesThatCannotBeSubclassed() throws Exception {
+    compile("com.example.FinalEntity", UNSUPPORTED);
+
+    assertThat(output.resolve("com/example/FinalEntity_BowmanProxy.class")).doesNotExist();
+    assertThat(diagnostics.getDiagnostics())
+        .extracting(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+        .anyMatch(message -> message.contains("FinalEntity: class is final"));
+  }
+
+  private ClassLoader compile(String className, String source) throws IOException {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, Locale.ROOT, null);
+    fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singleton(output.toFile()));
+    fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singleton(output.toFile()));
+    fileManager.setLocation(StandardLocation.CLASS_PATH, getEntitiesClassPath());
+
+    JavaFileObject file =
+        new SimpleJavaFileObject(
+            URI.create("string:///" + className.replace('.', '/') + ".java"),
+            JavaFileObject.Kind.SOURCE) {
+          @Override
+          public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+          }
+        };
+
+    JavaCompiler.CompilationTask task =
+        compiler.getTask(
+            null, fileManager, diagnostics, null, null, Collections.singletonList(file));
+    task.setProcessors(Collections.singletonList(new RemoteResourceProcessor()));
+    boolean success = task.call();
+
+    assertThat(success)
+        .as(
+            diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(Object::toString)
+                .collect(Collectors.joining("\n")))
+        .isTrue();
+
+    return new URLClassLoader(
+        new URL[] {output.toUri().toURL()}, RemoteResourceProcessorTest.class.getClassLoader());
+  }
+
+  private static List<File> getEntitiesClassPath() {
+    try {
+      return Collections.singletonList(
+          new File(
+              GeneratedProxy.class.getProtectionDomain().getCodeSource().getLocation().toURI()));
+    } catch (URISyntaxException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  private static GeneratedProxyType<?> getProxyType(ClassLoader classLoader, String proxyName)
+      throws ReflectiveOperationException {
+    Class<?> proxyClass = classLoader.loadClass(proxyName);
+    return (GeneratedProxyType<?>) proxyClass.getField(GeneratedProxyType.TYPE_FIELD).get(null);
+  }
+
+  private static Object newInstance(Class<?> entityClass) throws ReflectiveOperationException {
+    Constructor<?> constructor = entityClass.getDeclaredConstructor();
+    constructor.setAccessible(true);
+    return constructor.newInstance();
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static void bind(Object proxy, Object content, ProxyLinkResolver links) {
+    ((GeneratedProxy) proxy).bindProxy(content, links);
+  }
+}
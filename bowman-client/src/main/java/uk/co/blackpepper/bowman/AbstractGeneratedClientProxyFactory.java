@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import java.net.URI;
+import java.util.Optional;
+import javassist.util.proxy.ProxyFactory;
+import org.datrunk.naked.entities.WithUri;
+import org.datrunk.naked.entities.bowman.proxy.GeneratedProxy;
+import org.datrunk.naked.entities.bowman.proxy.GeneratedProxyType;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+
+/**
+ * Creates proxies from {@link GeneratedProxy} subclasses of entity types, falling back to {@link
+ * JavassistClientProxyFactory} for entities without one. Subclasses only decide where the {@link
+ * GeneratedProxyType} of an entity type comes from.
+ */
+abstract class AbstractGeneratedClientProxyFactory implements ClientProxyFactory {
+
+  private final ClassValue<Optional<GeneratedProxyType<?>>> proxyTypes;
+
+  private final JavassistClientProxyFactory fallback = new JavassistClientProxyFactory();
+
+  /** @param proxyTypes the proxy type of each entity type, if it has one */
+  AbstractGeneratedClientProxyFactory(ClassValue<Optional<GeneratedProxyType<?>>> proxyTypes) {
+    this.proxyTypes = proxyTypes;
+  }
+
+  @Override
+  public <T> T create(EntityModel<T> resource, RestOperations restOperations) {
+    final T entity = resource.getContent();
+
+    GeneratedProxyType<T> proxyType = getProxyType(proxyTypes, entity.getClass());
+    if (proxyType == null) {
+      return fallback.create(resource, restOperations, this);
+    }
+
+    T proxy = proxyType.newInstance();
+    @SuppressWarnings("unchecked")
+    GeneratedProxy<T> generatedProxy = (GeneratedProxy<T>) proxy;
+    generatedProxy.bindProxy(
+        entity, new GeneratedProxyLinkResolver(resource, restOperations, this, proxyType));
+
+    Optional<Link> selfLink = resource.getLink(IanaLinkRelations.SELF);
+    URI selfUri = selfLink.map(link -> URI.create(link.getHref())).orElse(null);
+    if (entity instanceof WithUri) {
+      ((WithUri) entity).setUri(selfUri);
+    }
+    return proxy;
+  }
+
+  /**
+   * @param proxyTypes the proxy type of each entity type, if it has one
+   * @param entityType an entity class, or a proxy class of one
+   * @return the proxy type of the entity class, or <code>null</code>
+   */
+  @SuppressWarnings("unchecked")
+  static <T> GeneratedProxyType<T> getProxyType(
+      ClassValue<Optional<GeneratedProxyType<?>>> proxyTypes, Class<?> entityType) {
+    if (GeneratedProxy.class.isAssignableFrom(entityType)
+        || ProxyFactory.isProxyClass(entityType)) {
+      entityType = entityType.getSuperclass();
+    }
+    return (GeneratedProxyType<T>) proxyTypes.get(entityType).orElse(null);
+  }
+}
@@ -2,11 +2,7 @@ package uk.co.blackpepper.bowman;
 
 import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
-import java.util.Arrays;
-import javassist.util.proxy.ProxyFactory;
 
 abstract class AbstractPropertyAwareMethodHandler implements ConditionalMethodHandler {
 
@@ -14,42 +10,33 @@ abstract class AbstractPropertyAwareMethodHandler implements ConditionalMethodHa
     BeanInfo getBeanInfo(Class clazz) throws IntrospectionException;
   }
 
-  private final BeanInfo contentBeanInfo;
+  private final EntityTypeDescriptor descriptor;
 
   AbstractPropertyAwareMethodHandler(Class clazz) {
-    this(clazz, Introspector::getBeanInfo);
+    this(EntityTypeDescriptor.forType(clazz));
   }
 
   AbstractPropertyAwareMethodHandler(Class clazz, BeanInfoProvider beanInfoProvider) {
-    try {
-      contentBeanInfo = beanInfoProvider.getBeanInfo(getBeanType(clazz));
-    } catch (IntrospectionException exception) {
-      throw new ClientProxyException(
-          String.format("couldn't determine properties for %s", clazz.getName()), exception);
-    }
+    this(new EntityTypeDescriptor(clazz, beanInfoProvider));
+  }
+
+  AbstractPropertyAwareMethodHandler(EntityTypeDescriptor descriptor) {
+    this.descriptor = descriptor;
   }
 
   boolean isSetter(Method method) {
-    return Arrays.stream(getContentBeanInfo().getPropertyDescriptors())
-        .map(PropertyDescriptor::getWriteMethod)
-        .anyMatch(method::equals);
+    return descriptor.isSetter(method);
   }
 
   boolean isGetter(Method method) {
-    return Arrays.stream(getContentBeanInfo().getPropertyDescriptors())
-        .map(PropertyDescriptor::getReadMethod)
-        .anyMatch(method::equals);
+    return descriptor.isGetter(method);
   }
 
-  BeanInfo getContentBeanInfo() {
-    return contentBeanInfo;
+  Method getGetterFromSetter(Method setter) {
+    return descriptor.getGetterFromSetter(setter);
   }
 
-  private static Class getBeanType(Class clazz) {
-    if (!ProxyFactory.isProxyClass(clazz)) {
-      return clazz;
-    }
-
-    return clazz.getSuperclass();
+  EntityTypeDescriptor getDescriptor() {
+    return descriptor;
   }
 }
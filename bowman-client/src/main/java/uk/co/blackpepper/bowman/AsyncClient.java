@@ -0,0 +1,202 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import static uk.co.blackpepper.bowman.ReflectionSupport.getId;
+import static uk.co.blackpepper.bowman.ReflectionSupport.setId;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.datrunk.naked.entities.bowman.annotation.RemoteResource;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Asynchronous counterpart of {@link Client}. Requests are sent without blocking the caller and
+ * each method returns a <code>CompletableFuture</code> of the result the corresponding {@link
+ * Client} method returns.
+ *
+ * <p>Retrieved entities are the same proxies that {@link Client} creates: linked resources are
+ * still resolved lazily, and synchronously, when their accessors are first called.
+ *
+ * <p><code>AsyncClient</code>s are created via {@link ClientFactory#createAsync}.
+ *
+ * @param <T> the entity type for this client
+ */
+public class AsyncClient<T> {
+
+  private final Class<T> entityType;
+
+  private final URI baseUri;
+
+  private final ClientProxyFactory proxyFactory;
+
+  private final AsyncRestOperations asyncRestOperations;
+
+  private final RestOperations restOperations;
+
+  protected AsyncClient(
+      Class<T> entityType,
+      Configuration configuration,
+      AsyncRestOperations asyncRestOperations,
+      RestOperations restOperations,
+      ClientProxyFactory proxyFactory) {
+    this.entityType = entityType;
+    this.baseUri = getEntityBaseUri(entityType, configuration);
+    this.proxyFactory = proxyFactory;
+    this.asyncRestOperations = asyncRestOperations;
+    this.restOperations = restOperations;
+  }
+
+  /**
+   * GET a single entity from the entity's base resource.
+   *
+   * @return a future of the entity, or of null if not found
+   */
+  public CompletableFuture<T> get() {
+    return get(baseUri);
+  }
+
+  /**
+   * GET a single entity located at the given URI.
+   *
+   * @param uri the URI from which to retrieve the entity
+   * @return a future of the entity, or of null if not found
+   */
+  public CompletableFuture<T> get(URI uri) {
+    return asyncRestOperations
+        .getResource(uri, entityType)
+        .thenApply(resource -> resource == null ? null : proxy(resource));
+  }
+
+  /**
+   * GET a collection of entities from the entity's base resource.
+   *
+   * @return a future of the entities retrieved
+   */
+  public CompletableFuture<List<T>> getAll() {
+    return getAll(baseUri);
+  }
+
+  /**
+   * GET a collection of entities from the given URI.
+   *
+   * @param uri the URI from which to retrieve the entities
+   * @return a future of the entities retrieved
+   */
+  public CompletableFuture<List<T>> getAll(URI uri) {
+    return asyncRestOperations.getResources(uri, entityType).thenApply(this::proxyAll);
+  }
+
+  /**
+   * POST the given entity to the entity's base resource.
+   *
+   * <p>The entity will be updated with the URI ID the remote service has assigned it when the
+   * returned future completes.
+   *
+   * @param object the entity to submit
+   * @return a future of the URI ID of the newly created remote entity
+   */
+  public CompletableFuture<URI> post(T object) {
+    return asyncRestOperations
+        .postForId(baseUri, object)
+        .thenApply(
+            resourceUri -> {
+              setId(object, resourceUri);
+              return resourceUri;
+            });
+  }
+
+  /**
+   * PUT the given entity to its URI ID.
+   *
+   * @param object the entity to submit
+   * @return a future completed when the entity has been stored
+   */
+  public CompletableFuture<Void> put(T object) {
+    URI uri = getId(object);
+    return asyncRestOperations
+        .put(uri, object)
+        .whenComplete((ignored, failure) -> restOperations.invalidate(uri));
+  }
+
+  /**
+   * DELETE the entity at the given URI.
+   *
+   * @param uri a URI of the entity to delete
+   * @return a future completed when the entity has been deleted
+   */
+  public CompletableFuture<Void> delete(URI uri) {
+    return asyncRestOperations
+        .delete(uri)
+        .whenComplete((ignored, failure) -> restOperations.invalidate(uri));
+  }
+
+  /**
+   * PATCH (partial update) of the entity at the given URI.
+   *
+   * @param uri a URI of the entity to update
+   * @param patch any type that can be serialized to a set of changes, for example a Map
+   * @return a future of the patched entity, or of null if no response content was returned
+   */
+  public CompletableFuture<T> patch(URI uri, Object patch) {
+    return asyncRestOperations
+        .patchForResource(uri, patch, entityType)
+        .whenComplete((ignored, failure) -> restOperations.invalidate(uri))
+        .thenApply(resource -> resource == null ? null : proxy(resource));
+  }
+
+  protected URI getBaseUri() {
+    return baseUri;
+  }
+
+  protected Class<T> getEntityType() {
+    return entityType;
+  }
+
+  protected AsyncRestOperations getAsyncRestOperations() {
+    return asyncRestOperations;
+  }
+
+  protected RestOperations getRestOperations() {
+    return restOperations;
+  }
+
+  protected ClientProxyFactory getProxyFactory() {
+    return proxyFactory;
+  }
+
+  protected T proxy(EntityModel<T> resource) {
+    return proxyFactory.create(resource, restOperations);
+  }
+
+  protected List<T> proxyAll(CollectionModel<EntityModel<T>> resources) {
+    List<T> result = new ArrayList<>();
+    for (EntityModel<T> resource : resources) {
+      result.add(proxy(resource));
+    }
+    return result;
+  }
+
+  private static URI getEntityBaseUri(Class<?> entityType, Configuration configuration) {
+    String path = entityType.getAnnotation(RemoteResource.class).value();
+
+    return UriComponentsBuilder.fromUri(configuration.getBaseUri()).path(path).build().toUri();
+  }
+}
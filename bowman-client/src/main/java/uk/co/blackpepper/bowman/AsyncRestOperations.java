@@ -0,0 +1,576 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.protocol.ResponseContentEncoding;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.util.EntityUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.core.ResolvableType;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.AbstractClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResponseErrorHandler;
+
+/**
+ * Non-blocking counterpart of {@link RestOperations}, built on Apache HttpAsyncClient. Every method
+ * returns immediately with a {@link CompletableFuture}; at most {@link
+ * Configuration#getMaxConcurrentRequests()} requests are in flight at once and the rest wait
+ * without holding a thread.
+ *
+ * <p>Requests are encoded with the configuration's {@link WireFormat} and compressed as configured,
+ * like the synchronous <code>RestTemplate</code>. Responses are decoded by the same HttpClient
+ * content decoder the synchronous client uses, bound straight to the target type, and checked by
+ * the <code>RestTemplate</code>'s error handler, so error responses complete the future with the
+ * exception the synchronous client would throw. A 404 again means <code>null</code> or an empty
+ * collection for GETs.
+ *
+ * <p>Reads go through the {@link ResourceCache} and {@link RevalidationCache} of the synchronous
+ * operations, like their synchronous counterparts, except that concurrent reads missing the
+ * resource cache each send their own request.
+ *
+ * <p>Connections are pooled according to the configuration's connection settings; note that the
+ * pool also bounds concurrency when it is smaller than {@link
+ * Configuration#getMaxConcurrentRequests()}.
+ *
+ * <p>Futures are completed on the HTTP client's I/O threads, so dependent stages should not block.
+ * Use the <code>*Async</code> methods of <code>CompletableFuture</code> for blocking work.
+ */
+public class AsyncRestOperations implements Closeable {
+  private static Logger LOGGER = LogManager.getLogger();
+
+  /** Decodes <code>gzip</code> and <code>deflate</code> bodies, as it does for HttpClient. */
+  private static final HttpResponseInterceptor CONTENT_DECODER = new ResponseContentEncoding();
+
+  /**
+   * A buffered response, readable once, exposed to the <code>RestTemplate</code>'s error handler.
+   */
+  private static final class Response extends AbstractClientHttpResponse {
+
+    private final int status;
+
+    private final String reason;
+
+    private final HttpHeaders headers;
+
+    private final HttpEntity entity;
+
+    Response(HttpResponse response) {
+      this.status = response.getStatusLine().getStatusCode();
+      this.reason = response.getStatusLine().getReasonPhrase();
+      this.headers = new HttpHeaders();
+      for (Header header : response.getAllHeaders()) {
+        headers.add(header.getName(), header.getValue());
+      }
+      this.entity = response.getEntity();
+    }
+
+    boolean hasBody() {
+      return entity != null && entity.getContentLength() != 0;
+    }
+
+    @Override
+    public int getRawStatusCode() {
+      return status;
+    }
+
+    @Override
+    public String getStatusText() {
+      return reason;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      return entity == null ? StreamUtils.emptyInput() : entity.getContent();
+    }
+
+    @Override
+    public void close() {
+      EntityUtils.consumeQuietly(entity);
+    }
+  }
+
+  private final CloseableHttpAsyncClient httpClient;
+
+  private final ObjectMapper objectMapper;
+
+  private final ResponseErrorHandler errorHandler;
+
+  private final WireFormat wireFormat;
+
+  private final JsonFactory wireFormatFactory;
+
+  private final boolean requestCompression;
+
+  private final int requestCompressionThreshold;
+
+  private final ResourceCache resourceCache;
+
+  private final RevalidationCache revalidationCache;
+
+  private final ConcurrencyLimiter limiter;
+
+  private final PoolingNHttpClientConnectionManager connectionPool;
+
+  private final ScheduledExecutorService evictor;
+
+  /**
+   * @param httpClient a started HTTP client; it is closed by {@link #close()}
+   * @param restOperations the synchronous operations, whose mapper, error handler and caches are
+   *     shared so that responses are deserialized, errors reported and resources cached identically
+   * @param configuration the client configuration
+   */
+  public AsyncRestOperations(
+      CloseableHttpAsyncClient httpClient,
+      RestOperations restOperations,
+      Configuration configuration) {
+    this(httpClient, null, restOperations, configuration);
+  }
+
+  private AsyncRestOperations(
+      CloseableHttpAsyncClient httpClient,
+      PoolingNHttpClientConnectionManager connectionPool,
+      RestOperations restOperations,
+      Configuration configuration) {
+    this.httpClient = httpClient;
+    this.connectionPool = connectionPool;
+    this.evictor =
+        connectionPool == null || configuration.getIdleConnectionEviction() <= 0
+            ? null
+            : startEvictor(connectionPool, configuration.getIdleConnectionEviction());
+    this.objectMapper = restOperations.getObjectMapper();
+    this.errorHandler = restOperations.getRestTemplate().getErrorHandler();
+    this.wireFormat = configuration.getWireFormat();
+    this.wireFormatFactory = wireFormat.createFactory();
+    this.requestCompression = configuration.isRequestCompression();
+    this.requestCompressionThreshold = configuration.getRequestCompressionThreshold();
+    this.resourceCache = restOperations.getResourceCache();
+    this.revalidationCache = restOperations.getRevalidationCache();
+    this.limiter = new ConcurrencyLimiter(configuration.getMaxConcurrentRequests());
+  }
+
+  /**
+   * Create and start an HTTP client with the configuration's connection pool settings, and wrap it.
+   *
+   * @param configuration the client configuration
+   * @param restOperations the synchronous operations, whose mapper, error handler and caches are
+   *     shared
+   * @return the created operations
+   */
+  public static AsyncRestOperations create(
+      Configuration configuration, RestOperations restOperations) {
+    PoolingNHttpClientConnectionManager connectionPool =
+        PooledHttpClients.createAsyncConnectionManager(configuration);
+    CloseableHttpAsyncClient httpClient =
+        PooledHttpClients.createAsyncClientBuilder(configuration, connectionPool).build();
+    httpClient.start();
+    return new AsyncRestOperations(httpClient, connectionPool, restOperations, configuration);
+  }
+
+  public <T> CompletableFuture<EntityModel<T>> getResource(URI uri, Class<T> entityType) {
+    Type targetType = ResolvableType.forClassWithGenerics(EntityModel.class, entityType).getType();
+
+    if (resourceCache == null) {
+      return revalidationCache == null
+          ? getStreamed(uri, targetType, null)
+          : getRevalidated(uri, targetType, null, ResourceCopier::copy);
+    }
+
+    ObjectNode cached = resourceCache.getIfPresent(uri);
+    CompletableFuture<ObjectNode> node =
+        cached == null ? getCachedResourceNode(uri) : CompletableFuture.completedFuture(cached);
+
+    return node.thenApply(
+        loaded ->
+            loaded == null
+                ? null
+                : objectMapper.convertValue(loaded, objectMapper.constructType(targetType)));
+  }
+
+  public <T> CompletableFuture<CollectionModel<EntityModel<T>>> getResources(
+      URI uri, Class<T> entityType) {
+    Type targetType =
+        ResolvableType.forClassWithGenerics(
+                CollectionModel.class,
+                ResolvableType.forClassWithGenerics(EntityModel.class, entityType))
+            .getType();
+    CollectionModel<EntityModel<T>> notFound = CollectionModel.wrap(Collections.<T>emptyList());
+
+    return revalidationCache == null
+        ? getStreamed(uri, targetType, notFound)
+        : getRevalidated(uri, targetType, notFound, ResourceCopier::copy);
+  }
+
+  public CompletableFuture<URI> postForId(URI uri, Object object) {
+    return execute(HttpMethod.POST, uri, object)
+        .thenApply(
+            response -> {
+              URI location = checkStatus(HttpMethod.POST, uri, response).headers.getLocation();
+              response.close();
+              return location == null ? null : uri.resolve(location);
+            });
+  }
+
+  /**
+   * POST a body and read the collection resource that is returned.
+   *
+   * @param uri the target URI
+   * @param object the body
+   * @param entityType the entity type of the returned collection
+   * @return the returned collection, an empty collection if the target is not found, or <code>null
+   *     </code> if the response has no body
+   */
+  public <T> CompletableFuture<CollectionModel<EntityModel<T>>> postForResources(
+      URI uri, Object object, Class<T> entityType) {
+    JavaType innerType =
+        objectMapper.getTypeFactory().constructParametricType(EntityModel.class, entityType);
+    JavaType targetType =
+        objectMapper.getTypeFactory().constructParametricType(CollectionModel.class, innerType);
+
+    return execute(HttpMethod.POST, uri, object)
+        .thenApply(
+            response -> {
+              if (response.status == HttpStatus.NOT_FOUND.value()) {
+                response.close();
+                return CollectionModel.wrap(Collections.<T>emptyList());
+              }
+              return read(checkStatus(HttpMethod.POST, uri, response), targetType);
+            });
+  }
+
+  public CompletableFuture<Void> put(URI uri, Object object) {
+    return execute(HttpMethod.PUT, uri, object)
+        .thenApply(
+            response -> {
+              checkStatus(HttpMethod.PUT, uri, response).close();
+              return null;
+            });
+  }
+
+  public CompletableFuture<Void> delete(URI uri) {
+    return execute(HttpMethod.DELETE, uri, null)
+        .thenApply(
+            response -> {
+              checkStatus(HttpMethod.DELETE, uri, response).close();
+              return null;
+            });
+  }
+
+  public <T> CompletableFuture<EntityModel<T>> patchForResource(
+      URI uri, Object patch, Class<T> entityType) {
+    JavaType targetType =
+        objectMapper.getTypeFactory().constructParametricType(EntityModel.class, entityType);
+
+    return execute(HttpMethod.PATCH, uri, patch)
+        .thenApply(response -> read(checkStatus(HttpMethod.PATCH, uri, response), targetType));
+  }
+
+  public ObjectMapper getObjectMapper() {
+    return objectMapper;
+  }
+
+  /** @return the number of requests sent and not yet answered */
+  public int getInFlightRequests() {
+    return limiter.getInFlight();
+  }
+
+  /**
+   * Get the connection pool of the HTTP client, for monitoring.
+   *
+   * @return the pool, or <code>null</code> if the HTTP client was supplied by the caller
+   * @see ConnectionPoolMetrics
+   */
+  public ConnPoolControl<HttpRoute> getConnectionPool() {
+    return connectionPool;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (evictor != null) {
+      evictor.shutdownNow();
+    }
+    httpClient.close();
+  }
+
+  private static ScheduledExecutorService startEvictor(
+      PoolingNHttpClientConnectionManager connectionPool, long idleTime) {
+    ScheduledExecutorService evictor =
+        Executors.newSingleThreadScheduledExecutor(
+            task -> {
+              Thread thread = new Thread(task, "bowman-async-connection-evictor");
+              thread.setDaemon(true);
+              return thread;
+            });
+    evictor.scheduleWithFixedDelay(
+        () -> {
+          connectionPool.closeExpiredConnections();
+          connectionPool.closeIdleConnections(idleTime, TimeUnit.MILLISECONDS);
+        },
+        idleTime,
+        idleTime,
+        TimeUnit.MILLISECONDS);
+    return evictor;
+  }
+
+  /** Fetch a resource document that the resource cache misses, and cache it if it is found. */
+  private CompletableFuture<ObjectNode> getCachedResourceNode(URI uri) {
+    CompletableFuture<ObjectNode> node =
+        revalidationCache == null
+            ? getStreamed(uri, ObjectNode.class, null)
+            : getRevalidated(uri, ObjectNode.class, null, UnaryOperator.identity());
+
+    return node.thenApply(
+        loaded -> {
+          if (loaded != null) {
+            resourceCache.put(uri, loaded);
+          }
+          return loaded;
+        });
+  }
+
+  /** GET a resource and bind it to the target type straight from the response body. */
+  private <R> CompletableFuture<R> getStreamed(URI uri, Type targetType, R notFound) {
+    return execute(HttpMethod.GET, uri, null)
+        .thenApply(
+            response -> {
+              if (response.status == HttpStatus.NOT_FOUND.value()) {
+                response.close();
+                return notFound;
+              }
+              return read(
+                  checkStatus(HttpMethod.GET, uri, response),
+                  objectMapper.constructType(targetType));
+            });
+  }
+
+  /**
+   * Read a resource with a conditional request if its validators are known, as {@link
+   * RestOperations} does.
+   *
+   * @param copier copies the remembered resource for each caller
+   */
+  private <R> CompletableFuture<R> getRevalidated(
+      URI uri, Type targetType, R notFound, UnaryOperator<R> copier) {
+    RevalidationCache.Validated previous = revalidationCache.get(uri, targetType);
+
+    HttpHeaders headers = new HttpHeaders();
+    if (previous != null) {
+      if (previous.getEtag() != null) {
+        headers.setIfNoneMatch(previous.getEtag());
+      }
+      if (previous.getLastModified() >= 0) {
+        headers.setIfModifiedSince(previous.getLastModified());
+      }
+    }
+
+    return execute(HttpMethod.GET, uri, null, headers)
+        .thenApply(
+            response -> {
+              if (response.status == HttpStatus.NOT_MODIFIED.value() && previous != null) {
+                response.close();
+                @SuppressWarnings("unchecked")
+                R resource = (R) previous.getResource();
+                return copier.apply(resource);
+              }
+
+              R resource;
+              if (response.status == HttpStatus.NOT_FOUND.value()) {
+                response.close();
+                resource = null;
+              } else {
+                resource =
+                    read(
+                        checkStatus(HttpMethod.GET, uri, response),
+                        objectMapper.constructType(targetType));
+              }
+              if (resource == null) {
+                revalidationCache.invalidate(uri);
+                return notFound;
+              }
+
+              String etag = response.headers.getETag();
+              long lastModified = response.headers.getLastModified();
+              if (etag != null || lastModified >= 0) {
+                revalidationCache.put(
+                    uri,
+                    new RevalidationCache.Validated(
+                        etag, lastModified, targetType, copier.apply(resource)));
+              } else {
+                revalidationCache.invalidate(uri);
+              }
+
+              return resource;
+            });
+  }
+
+  private CompletableFuture<Response> execute(HttpMethod method, URI uri, Object body) {
+    return execute(method, uri, body, HttpHeaders.EMPTY);
+  }
+
+  private CompletableFuture<Response> execute(
+      HttpMethod method, URI uri, Object body, HttpHeaders headers) {
+    RequestBuilder request = RequestBuilder.create(method.name()).setUri(uri);
+    headers.forEach((name, values) -> values.forEach(value -> request.addHeader(name, value)));
+    if (wireFormat == WireFormat.JSON) {
+      request.setHeader(HttpHeaders.ACCEPT, MediaTypes.HAL_JSON_VALUE);
+    } else {
+      request.setHeader(
+          HttpHeaders.ACCEPT,
+          MediaType.toString(Arrays.asList(wireFormat.getMediaType(), MediaTypes.HAL_JSON)));
+    }
+    request.setHeader(HttpHeaders.ACCEPT_ENCODING, GzipClientHttpRequestInterceptor.GZIP);
+
+    if (body != null) {
+      byte[] bytes;
+      try {
+        bytes = write(body);
+        request.setHeader(HttpHeaders.CONTENT_TYPE, wireFormat.getMediaType().toString());
+        if (requestCompression && bytes.length > 0 && bytes.length >= requestCompressionThreshold) {
+          bytes = GzipClientHttpRequestInterceptor.compress(bytes);
+          request.setHeader(HttpHeaders.CONTENT_ENCODING, GzipClientHttpRequestInterceptor.GZIP);
+        }
+      } catch (IOException exception) {
+        CompletableFuture<Response> failed = new CompletableFuture<>();
+        failed.completeExceptionally(exception);
+        return failed;
+      }
+      request.setEntity(new ByteArrayEntity(bytes));
+    }
+
+    return limiter.submit(() -> send(request, method, uri));
+  }
+
+  private CompletableFuture<Response> send(RequestBuilder request, HttpMethod method, URI uri) {
+    CompletableFuture<Response> result = new CompletableFuture<>();
+    LOGGER.debug("{} {} (async)", method, uri);
+
+    httpClient.execute(
+        request.build(),
+        new FutureCallback<HttpResponse>() {
+          @Override
+          public void completed(HttpResponse response) {
+            try {
+              CONTENT_DECODER.process(response, HttpClientContext.create());
+              result.complete(new Response(response));
+            } catch (HttpException | IOException | RuntimeException exception) {
+              result.completeExceptionally(exception);
+            }
+          }
+
+          @Override
+          public void failed(Exception exception) {
+            result.completeExceptionally(exception);
+          }
+
+          @Override
+          public void cancelled() {
+            result.cancel(false);
+          }
+        });
+
+    return result;
+  }
+
+  private Response checkStatus(HttpMethod method, URI uri, Response response) {
+    try {
+      if (errorHandler.hasError(response)) {
+        errorHandler.handleError(uri, method, response);
+      }
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    } finally {
+      if (response.getRawStatusCode() >= 400) {
+        response.close();
+      }
+    }
+    return response;
+  }
+
+  private byte[] write(Object body) throws IOException {
+    if (wireFormatFactory == null) {
+      return objectMapper.writeValueAsBytes(body);
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    objectMapper.writeValue(wireFormatFactory.createGenerator(bytes), body);
+    return bytes.toByteArray();
+  }
+
+  /** Bind the response body to the target type without building an intermediate tree. */
+  private <R> R read(Response response, JavaType targetType) {
+    if (!response.hasBody()) {
+      response.close();
+      return null;
+    }
+
+    MediaType contentType = response.headers.getContentType();
+    try (InputStream body = response.getBody()) {
+      if (wireFormatFactory != null
+          && contentType != null
+          && contentType.isCompatibleWith(wireFormat.getMediaType())) {
+        JsonParser parser = wireFormatFactory.createParser(body);
+        parser.setCodec(objectMapper);
+        return objectMapper.readValue(parser, targetType);
+      }
+      return objectMapper.readValue(body, targetType);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import java.beans.Introspector;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.CtMethod;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+import javassist.util.proxy.ProxyFactory;
+import org.datrunk.naked.entities.bowman.annotation.LinkedResource;
+import org.datrunk.naked.entities.bowman.annotation.ResourceId;
+import org.datrunk.naked.entities.bowman.proxy.GeneratedProxy;
+import org.datrunk.naked.entities.bowman.proxy.GeneratedProxyType;
+import org.datrunk.naked.entities.bowman.proxy.LinkDescriptor;
+import org.datrunk.naked.entities.bowman.proxy.ProxyLinkResolver;
+
+/**
+ * Creates proxies from subclasses that it generates at runtime, the same as those that {@code
+ * bowman-client-processor} generates at compile time. Property getters and setters of a generated
+ * subclass call the content object directly; only {@link ResourceId} and {@link LinkedResource}
+ * methods go through a {@link ProxyLinkResolver}, and no other method is overridden.
+ *
+ * <p>The subclass of an entity type is generated on first use. Entity types that can't be
+ * subclassed, such as final classes or classes without a non-private no-args constructor, are
+ * proxied by {@link JavassistClientProxyFactory} instead.
+ */
+public class BytecodeClientProxyFactory extends AbstractGeneratedClientProxyFactory {
+
+  /** Appended to the entity class name to name its generated subclass. */
+  static final String CLASS_SUFFIX = "_BowmanBytecodeProxy";
+
+  /** Appended to the proxy class name and link index to name a collection link's supplier. */
+  private static final String ORIGINAL_SUFFIX = "_Original";
+
+  /** Prefixes the package-private method through which a supplier calls the entity's own getter. */
+  private static final String ORIGINAL_METHOD_PREFIX = "proxyOriginal";
+
+  private static final ClassValue<Optional<GeneratedProxyType<?>>> PROXY_TYPES =
+      new ClassValue<Optional<GeneratedProxyType<?>>>() {
+        @Override
+        protected Optional<GeneratedProxyType<?>> computeValue(Class<?> entityType) {
+          return generateProxyType(entityType);
+        }
+      };
+
+  public BytecodeClientProxyFactory() {
+    super(PROXY_TYPES);
+  }
+
+  /**
+   * @param entityType an entity class, or a proxy class of one
+   * @return whether a subclass can be generated for {@code entityType}
+   */
+  public static boolean isSupported(Class<?> entityType) {
+    return getProxyType(PROXY_TYPES, entityType) != null;
+  }
+
+  private static Optional<GeneratedProxyType<?>> generateProxyType(Class<?> entityType) {
+    if (!canSubclass(entityType)) {
+      return Optional.empty();
+    }
+
+    EntityTypeDescriptor descriptor = EntityTypeDescriptor.forType(entityType);
+    List<Method> methods = getOverridableMethods(entityType);
+
+    List<Method> linkMethods = new ArrayList<>();
+    List<LinkDescriptor> links = new ArrayList<>();
+    for (Method method : methods) {
+      if (!method.isAnnotationPresent(ResourceId.class)
+          && getLinkedGetter(descriptor, method) == null
+          && method.isAnnotationPresent(LinkedResource.class)) {
+        LinkDescriptor link = createLinkDescriptor(descriptor, method);
+        if (link == null) {
+          return Optional.empty();
+        }
+        linkMethods.add(method);
+        links.add(link);
+      }
+    }
+
+    try {
+      ClassPool pool = new ClassPool(true);
+      pool.insertClassPath(new LoaderClassPath(entityType.getClassLoader()));
+
+      CtClass proxyClass =
+          pool.makeClass(
+              entityType.getName().replace('$', '_') + CLASS_SUFFIX,
+              pool.get(entityType.getName()));
+      proxyClass.addInterface(pool.get(GeneratedProxy.class.getName()));
+
+      CtField content = new CtField(pool.get(entityType.getName()), "proxyContent", proxyClass);
+      content.setModifiers(Modifier.PRIVATE);
+      proxyClass.addField(content);
+      CtField proxyLinks =
+          new CtField(pool.get(ProxyLinkResolver.class.getName()), "proxyLinks", proxyClass);
+      proxyLinks.setModifiers(Modifier.PRIVATE);
+      proxyClass.addField(proxyLinks);
+
+      proxyClass.addConstructor(CtNewConstructor.defaultConstructor(proxyClass));
+      proxyClass.addMethod(
+          CtNewMethod.make(
+              String.format(
+                  "public void bindProxy(Object content, %s links) {"
+                      + " proxyContent = (%s) content; proxyLinks = links; }",
+                  ProxyLinkResolver.class.getName(), entityType.getName()),
+              proxyClass));
+
+      List<CtClass> originalClasses = new ArrayList<>();
+      for (int index = 0; index < linkMethods.size(); index++) {
+        if (links.get(index).isCollection()) {
+          originalClasses.add(addOriginalSupplier(pool, proxyClass, linkMethods.get(index), index));
+        }
+      }
+
+      Set<String> propertyNames = new TreeSet<>();
+      for (Method method : methods) {
+        String body = createMethodBody(descriptor, method, linkMethods, links, proxyClass);
+        if (body == null) {
+          continue;
+        }
+        if (descriptor.isGetter(method) || descriptor.isSetter(method)) {
+          propertyNames.add(getPropertyName(method));
+        }
+
+        CtMethod override =
+            new CtMethod(
+                pool.get(method.getReturnType().getTypeName()),
+                method.getName(),
+                toCtClasses(pool, method.getParameterTypes()),
+                proxyClass);
+        override.setModifiers(method.getModifiers() & (Modifier.PUBLIC | Modifier.PROTECTED));
+        override.setBody(body);
+        proxyClass.addMethod(override);
+      }
+
+      Class<?> generatedClass = proxyClass.toClass(entityType);
+      proxyClass.detach();
+      for (CtClass originalClass : originalClasses) {
+        originalClass.toClass(entityType);
+        originalClass.detach();
+      }
+
+      return Optional.of(createProxyType(entityType, generatedClass, propertyNames, links));
+    } catch (NotFoundException | CannotCompileException | ReflectiveOperationException exception) {
+      throw new ClientProxyException(
+          "couldn't generate proxy class for " + entityType.getName(), exception);
+    }
+  }
+
+  private static boolean canSubclass(Class<?> entityType) {
+    int modifiers = entityType.getModifiers();
+    if (entityType.isInterface()
+        || entityType.isArray()
+        || entityType.isPrimitive()
+        || Modifier.isFinal(modifiers)
+        || Modifier.isAbstract(modifiers)
+        || (entityType.isMemberClass() && !Modifier.isStatic(modifiers))
+        || GeneratedProxy.class.isAssignableFrom(entityType)
+        || ProxyFactory.isProxyClass(entityType)) {
+      return false;
+    }
+
+    ClassLoader classLoader = entityType.getClassLoader();
+    if (classLoader == null || !isVisible(GeneratedProxy.class, classLoader)) {
+      return false;
+    }
+
+    try {
+      Constructor<?> constructor = entityType.getDeclaredConstructor();
+      return !Modifier.isPrivate(constructor.getModifiers());
+    } catch (NoSuchMethodException exception) {
+      return false;
+    }
+  }
+
+  private static boolean isVisible(Class<?> type, ClassLoader classLoader) {
+    try {
+      return Class.forName(type.getName(), false, classLoader) == type;
+    } catch (ClassNotFoundException exception) {
+      return false;
+    }
+  }
+
+  /**
+   * The methods a subclass in the entity's package can override, the most specific declaration of
+   * each signature first.
+   */
+  private static List<Method> getOverridableMethods(Class<?> entityType) {
+    Map<String, Method> methodsBySignature = new LinkedHashMap<>();
+    for (Class<?> type = entityType; type != Object.class; type = type.getSuperclass()) {
+      for (Method method : type.getDeclaredMethods()) {
+        addMethod(methodsBySignature, method);
+      }
+    }
+    for (Method method : entityType.getMethods()) {
+      addMethod(methodsBySignature, method);
+    }
+
+    List<Method> methods = new ArrayList<>();
+    for (Method method : methodsBySignature.values()) {
+      int modifiers = method.getModifiers();
+      if (!Modifier.isFinal(modifiers)
+          && (Modifier.isPublic(modifiers)
+              || Modifier.isProtected(modifiers)
+              || Objects.equals(
+                  method.getDeclaringClass().getPackage(), entityType.getPackage()))) {
+        methods.add(method);
+      }
+    }
+    return methods;
+  }
+
+  private static void addMethod(Map<String, Method> methodsBySignature, Method method) {
+    int modifiers = method.getModifiers();
+    if (Modifier.isStatic(modifiers)
+        || Modifier.isPrivate(modifiers)
+        || method.isBridge()
+        || method.isSynthetic()) {
+      return;
+    }
+
+    methodsBySignature.putIfAbsent(
+        method.getName() + Arrays.toString(method.getParameterTypes()), method);
+  }
+
+  /**
+   * @return the {@link LinkedResource} getter of a setter, or <code>null</code> if {@code method}
+   *     isn't the setter of a linked resource
+   */
+  private static Method getLinkedGetter(EntityTypeDescriptor descriptor, Method method) {
+    if (!descriptor.isSetter(method)) {
+      return null;
+    }
+
+    Method getter = descriptor.getGetterFromSetter(method);
+    return getter != null && getter.isAnnotationPresent(LinkedResource.class) ? getter : null;
+  }
+
+  /** @return the link of {@code method}, or <code>null</code> if it can't be resolved */
+  private static LinkDescriptor createLinkDescriptor(
+      EntityTypeDescriptor descriptor, Method method) {
+    if (Collection.class.isAssignableFrom(method.getReturnType())
+        && EntityTypeDescriptor.getLinkedEntityType(method) == null) {
+      return null;
+    }
+
+    return descriptor.getLink(method);
+  }
+
+  /**
+   * @return the body of the override of {@code method}, or <code>null</code> if it isn't overridden
+   */
+  private static String createMethodBody(
+      EntityTypeDescriptor descriptor,
+      Method method,
+      List<Method> linkMethods,
+      List<LinkDescriptor> links,
+      CtClass proxyClass) {
+    String call;
+    if (method.isAnnotationPresent(ResourceId.class)) {
+      call = "proxyLinks.resourceId(this)";
+    } else if (getLinkedGetter(descriptor, method) != null) {
+      int index = linkMethods.indexOf(getLinkedGetter(descriptor, method));
+      if (index < 0) {
+        return null;
+      }
+      call = String.format("proxyLinks.setLink(%d, ($w) $1)", index);
+    } else if (method.isAnnotationPresent(LinkedResource.class)) {
+      int index = linkMethods.indexOf(method);
+      String original =
+          links.get(index).isCollection()
+              ? String.format("new %s(this, $args)", getOriginalClassName(proxyClass, index))
+              : "null";
+      call = String.format("proxyLinks.resolveLink(this, %d, $args, %s)", index, original);
+    } else if (descriptor.isGetter(method) || descriptor.isSetter(method)) {
+      call = String.format("proxyContent.%s($$)", method.getName());
+    } else {
+      return null;
+    }
+
+    return method.getReturnType() == void.class
+        ? String.format("{ %s; }", call)
+        : String.format("{ return ($r) %s; }", call);
+  }
+
+  /**
+   * Adds the supplier through which the resolver reads the collection that a collection link method
+   * of the entity itself returns, like the lambda a compile-time proxy passes. The proxy gets a
+   * package-private method that calls the entity's method, so that no interface is added to the
+   * proxy.
+   *
+   * @return the supplier class, to be loaded once the proxy class is
+   */
+  private static CtClass addOriginalSupplier(
+      ClassPool pool, CtClass proxyClass, Method method, int index)
+      throws NotFoundException, CannotCompileException {
+    List<String> arguments = new ArrayList<>();
+    Class<?>[] parameterTypes = method.getParameterTypes();
+    for (int argument = 0; argument < parameterTypes.length; argument++) {
+      arguments.add(toArgument(parameterTypes[argument], argument));
+    }
+    proxyClass.addMethod(
+        CtNewMethod.make(
+            String.format(
+                "Object %s%d(Object[] a) { return super.%s(%s); }",
+                ORIGINAL_METHOD_PREFIX, index, method.getName(), String.join(", ", arguments)),
+            proxyClass));
+
+    CtClass originalClass = pool.makeClass(getOriginalClassName(proxyClass, index));
+    originalClass.setModifiers(Modifier.FINAL);
+    originalClass.addInterface(pool.get(Supplier.class.getName()));
+    originalClass.addField(
+        CtField.make("private final " + proxyClass.getName() + " proxy;", originalClass));
+    originalClass.addField(CtField.make("private final Object[] args;", originalClass));
+    originalClass.addConstructor(
+        CtNewConstructor.make(
+            String.format(
+                "%s(%s proxy, Object[] args) { this.proxy = proxy; this.args = args; }",
+                originalClass.getSimpleName(), proxyClass.getName()),
+            originalClass));
+    originalClass.addMethod(
+        CtNewMethod.make(
+            String.format(
+                "public Object get() { return proxy.%s%d(args); }", ORIGINAL_METHOD_PREFIX, index),
+            originalClass));
+    return originalClass;
+  }
+
+  private static String getOriginalClassName(CtClass proxyClass, int index) {
+    return proxyClass.getName() + ORIGINAL_SUFFIX + index;
+  }
+
+  private static String toArgument(Class<?> type, int index) {
+    if (!type.isPrimitive()) {
+      return String.format("(%s) a[%d]", type.getTypeName(), index);
+    }
+
+    String boxed = MethodType.methodType(type).wrap().returnType().getName();
+    return String.format("((%s) a[%d]).%sValue()", boxed, index, type.getName());
+  }
+
+  private static CtClass[] toCtClasses(ClassPool pool, Class<?>[] types) throws NotFoundException {
+    CtClass[] ctClasses = new CtClass[types.length];
+    for (int index = 0; index < types.length; index++) {
+      ctClasses[index] = pool.get(types[index].getTypeName());
+    }
+    return ctClasses;
+  }
+
+  private static String getPropertyName(Method method) {
+    String name = method.getName();
+    int prefix = name.startsWith("is") ? 2 : 3;
+    return Introspector.decapitalize(name.substring(prefix));
+  }
+
+  private static <T> GeneratedProxyType<T> createProxyType(
+      Class<T> entityType,
+      Class<?> generatedClass,
+      Collection<String> propertyNames,
+      List<LinkDescriptor> links)
+      throws ReflectiveOperationException {
+    MethodHandle constructor =
+        MethodHandles.publicLookup()
+            .findConstructor(generatedClass, MethodType.methodType(void.class));
+
+    Supplier<T> instantiator =
+        () -> {
+          try {
+            @SuppressWarnings("unchecked")
+            T proxy = (T) constructor.invoke();
+            return proxy;
+          } catch (Throwable exception) {
+            throw new ClientProxyException(
+                "couldn't create proxy instance of " + generatedClass, exception);
+          }
+        };
+
+    return new GeneratedProxyType<>(
+        entityType, instantiator, new ArrayList<>(propertyNames), links);
+  }
+}
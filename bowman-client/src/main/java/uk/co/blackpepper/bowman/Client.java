@@ -21,6 +21,13 @@ import static uk.co.blackpepper.bowman.ReflectionSupport.setId;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.datrunk.naked.entities.bowman.annotation.RemoteResource;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
@@ -48,15 +55,31 @@ public class Client<T> {
 
   private final RestOperations restOperations;
 
+  private final Supplier<AsyncRestOperations> asyncRestOperations;
+
   protected Client(
       Class<T> entityType,
       Configuration configuration,
       RestOperations restOperations,
       ClientProxyFactory proxyFactory) {
+    this(entityType, configuration, restOperations, null, proxyFactory);
+  }
+
+  /**
+   * @param asyncRestOperations supplies the non-blocking operations that {@link #prefetch} fetches
+   *     linked resources with concurrently, or <code>null</code> to fetch them one at a time
+   */
+  protected Client(
+      Class<T> entityType,
+      Configuration configuration,
+      RestOperations restOperations,
+      Supplier<AsyncRestOperations> asyncRestOperations,
+      ClientProxyFactory proxyFactory) {
     this.entityType = entityType;
     this.baseUri = getEntityBaseUri(entityType, configuration);
     this.proxyFactory = proxyFactory;
     this.restOperations = restOperations;
+    this.asyncRestOperations = asyncRestOperations;
   }
 
   /**
@@ -113,6 +136,95 @@ public class Client<T> {
     return result;
   }
 
+  /**
+   * Lazily stream every entity of the entity's base resource, following <code>next</code> links
+   * page by page.
+   *
+   * @return the entities, one page in memory at a time
+   * @see #stream(URI, Executor)
+   */
+  public Stream<T> stream() {
+    return stream(baseUri);
+  }
+
+  /**
+   * Lazily stream every entity of the collection at the given URI, following <code>next</code>
+   * links page by page.
+   *
+   * @param uri the URI of the first page
+   * @return the entities, one page in memory at a time
+   * @see #stream(URI, Executor)
+   */
+  public Stream<T> stream(URI uri) {
+    return stream(uri, null);
+  }
+
+  /**
+   * Lazily stream every entity of the collection at the given URI, following <code>next</code>
+   * links page by page. Pages are only requested as the stream is consumed, so short-circuiting
+   * operations such as <code>limit</code> or <code>findFirst</code> stop further requests. Close
+   * the stream when it is not consumed to the end to discard a page being prefetched.
+   *
+   * @param uri the URI of the first page
+   * @param prefetchExecutor fetches the next page while the current one is consumed, or <code>null
+   *     </code> to fetch pages on the consuming thread
+   * @return the entities, at most two pages in memory at a time
+   */
+  public Stream<T> stream(URI uri, Executor prefetchExecutor) {
+    PageIterator<T> iterator = iterate(uri, prefetchExecutor);
+
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(iterator::close);
+  }
+
+  /**
+   * Iterate lazily over every entity of the collection at the given URI, following <code>next
+   * </code> links page by page.
+   *
+   * @param uri the URI of the first page
+   * @param prefetchExecutor fetches the next page while the current one is consumed, or <code>null
+   *     </code> to fetch pages on the consuming thread
+   * @return an iterator to close if it is not consumed to the end
+   */
+  public PageIterator<T> iterate(URI uri, Executor prefetchExecutor) {
+    return new PageIterator<>(
+        uri,
+        pageUri -> restOperations.getResources(pageUri, entityType),
+        resource -> proxyFactory.create(resource, restOperations),
+        prefetchExecutor);
+  }
+
+  /**
+   * Resolve a linked resource of each of the given entities up front, fetching every distinct
+   * linked resource once rather than once per entity when it is first accessed.
+   *
+   * <p>For example, after <code>client.prefetch(users, User::getRole)</code>, <code>getRole()
+   * </code> returns without a request on each of the users. The getter must only call a {@link
+   * org.datrunk.naked.entities.bowman.annotation.LinkedResource} method: while links are being
+   * collected such methods return <code>null</code>. Links that were already resolved are left as
+   * they are.
+   *
+   * <p>Clients created by a {@link ClientFactory} fetch the linked resources concurrently, within
+   * {@link Configuration#getMaxConcurrentRequests()}, so per-owner association links such as <code>
+   * /users/1/role</code> cost one round trip in all rather than one per entity.
+   *
+   * @param entities entities returned by this client
+   * @param getter the linked resource getter to resolve
+   * @return the number of linked resources fetched
+   */
+  public int prefetch(Iterable<? extends T> entities, Function<? super T, ?> getter) {
+    LinkPrefetch prefetch = new LinkPrefetch();
+    prefetch.record(() -> entities.forEach(getter::apply));
+
+    int size = prefetch.size();
+    prefetch.fetch(
+        restOperations, size > 1 && asyncRestOperations != null ? asyncRestOperations.get() : null);
+    return size;
+  }
+
   /**
    * POST the given entity to the entity's base resource (determined by the class's {@link
    * uk.co.blackpepper.bowman.annotation.RemoteResource} annotation).
@@ -179,4 +291,8 @@ public class Client<T> {
   protected ClientProxyFactory getProxyFactory() {
     return proxyFactory;
   }
+
+  protected Supplier<AsyncRestOperations> getAsyncRestOperations() {
+    return asyncRestOperations;
+  }
 }
@@ -15,6 +15,8 @@
  */
 package uk.co.blackpepper.bowman;
 
+import java.io.IOException;
+
 /**
  * Factory class for creating {@link Client}s.
  *
@@ -22,23 +24,28 @@ package uk.co.blackpepper.bowman;
  *
  * @author Ryan Pickett
  */
-public class ClientFactory {
+public class ClientFactory implements AutoCloseable {
 
   private final Configuration configuration;
 
   private final ClientProxyFactory proxyFactory;
 
+  private final RestOperationsFactory restOperationsFactory;
+
   private final RestOperations restOperations;
 
+  private AsyncRestOperations asyncRestOperations;
+
   ClientFactory(Configuration configuration) {
-    this(configuration, new JavassistClientProxyFactory());
+    this(configuration, configuration.getClientProxyFactory());
   }
 
   ClientFactory(Configuration configuration, ClientProxyFactory proxyFactory) {
     this.configuration = configuration;
 
     this.proxyFactory = proxyFactory;
-    this.restOperations = new RestOperationsFactory(configuration, proxyFactory).create();
+    this.restOperationsFactory = new RestOperationsFactory(configuration, proxyFactory);
+    this.restOperations = restOperationsFactory.create();
   }
 
   /**
@@ -49,6 +56,43 @@ public class ClientFactory {
    * @return the created client
    */
   public <T> Client<T> create(Class<T> entityType) {
-    return new Client<>(entityType, configuration, restOperations, proxyFactory);
+    return new Client<>(
+        entityType, configuration, restOperations, this::getAsyncRestOperations, proxyFactory);
+  }
+
+  /**
+   * Create an <code>AsyncClient</code> for the given annotated entity type. All asynchronous
+   * clients of this factory share one non-blocking HTTP client, which is started on first use.
+   *
+   * @param <T> the entity type of the required client
+   * @param entityType the entity type of the required client
+   * @return the created client
+   */
+  public <T> AsyncClient<T> createAsync(Class<T> entityType) {
+    return new AsyncClient<>(
+        entityType, configuration, getAsyncRestOperations(), restOperations, proxyFactory);
+  }
+
+  /**
+   * Shut down the pooled HTTP client of this factory's clients, and the non-blocking one if any
+   * asynchronous client has been created.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      if (asyncRestOperations != null) {
+        asyncRestOperations.close();
+        asyncRestOperations = null;
+      }
+    } finally {
+      restOperationsFactory.close();
+    }
+  }
+
+  private synchronized AsyncRestOperations getAsyncRestOperations() {
+    if (asyncRestOperations == null) {
+      asyncRestOperations = AsyncRestOperations.create(configuration, restOperations);
+    }
+    return asyncRestOperations;
   }
 }
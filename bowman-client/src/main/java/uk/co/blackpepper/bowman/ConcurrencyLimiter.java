@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the number of asynchronous operations in flight without blocking the caller: operations
+ * submitted while every permit is taken wait in a queue and start as earlier ones complete.
+ */
+class ConcurrencyLimiter {
+
+  private final int maxConcurrency;
+
+  private final Semaphore permits;
+
+  private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+  ConcurrencyLimiter(int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+    }
+    this.maxConcurrency = maxConcurrency;
+    this.permits = new Semaphore(maxConcurrency);
+  }
+
+  <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> operation) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+
+    waiting.add(
+        () -> {
+          CompletableFuture<T> started;
+          try {
+            started = operation.get();
+          } catch (RuntimeException exception) {
+            release();
+            result.completeExceptionally(exception);
+            return;
+          }
+
+          started.whenComplete(
+              (value, exception) -> {
+                release();
+                if (exception != null) {
+                  result.completeExceptionally(exception);
+                } else {
+                  result.complete(value);
+                }
+              });
+        });
+    drain();
+
+    return result;
+  }
+
+  int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /** @return the number of operations started and not yet completed */
+  int getInFlight() {
+    return maxConcurrency - permits.availablePermits();
+  }
+
+  private void release() {
+    permits.release();
+    drain();
+  }
+
+  private void drain() {
+    while (!waiting.isEmpty() && permits.tryAcquire()) {
+      Runnable next = waiting.poll();
+      if (next == null) {
+        permits.release();
+        continue;
+      }
+      next.run();
+    }
+  }
+}
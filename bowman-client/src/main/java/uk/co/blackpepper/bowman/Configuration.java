@@ -17,7 +17,6 @@ package uk.co.blackpepper.bowman;
 
 import java.net.URI;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 
 /**
  * Class encapsulating the user-provided configuration of a HAL {@link ClientFactory}.
@@ -39,8 +38,35 @@ public final class Configuration {
 
     private ObjectMapperConfigurer objectMapperConfigurer;
 
-    private ClientHttpRequestFactory clientHttpRequestFactory =
-        new HttpComponentsClientHttpRequestFactory();
+    private ClientHttpRequestFactory clientHttpRequestFactory;
+
+    private WireFormat wireFormat = WireFormat.JSON;
+
+    private boolean requestCompression;
+
+    private int requestCompressionThreshold = DEFAULT_REQUEST_COMPRESSION_THRESHOLD;
+
+    private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+
+    private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+
+    private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+    private long keepAlive = DEFAULT_KEEP_ALIVE;
+
+    private long idleConnectionEviction;
+
+    private int connectTimeout = -1;
+
+    private int socketTimeout = -1;
+
+    private long resourceCacheMaximumSize;
+
+    private long resourceCacheExpireAfterWrite;
+
+    private long revalidationCacheMaximumSize;
+
+    private ClientProxyFactory clientProxyFactory;
 
     private Builder() {}
 
@@ -101,6 +127,11 @@ public final class Configuration {
      * org.springframework.http.client.HttpComponentsClientHttpRequestFactory}, and any wrapping
      * implementations delegating to this.
      *
+     * <p>By default each {@link RestOperationsFactory} creates a <code>
+     * HttpComponentsClientHttpRequestFactory</code> from the connection pool settings of this
+     * builder, and closes it with the factory. Those settings are ignored for a factory set here,
+     * whose lifecycle stays with the caller.
+     *
      * @param clientHttpRequestFactory the <code>ClientHttpRequestFactory</code>
      * @return this builder
      */
@@ -120,8 +151,202 @@ public final class Configuration {
       this.objectMapperConfigurer = objectMapperConfigurer;
       return this;
     }
+
+    /**
+     * Set the {@link WireFormat} used to encode request and response bodies for the created
+     * configuration. Defaults to {@link WireFormat#JSON}; the binary formats require support on the
+     * server.
+     *
+     * @param wireFormat the <code>WireFormat</code>
+     * @return this builder
+     */
+    public Builder setWireFormat(WireFormat wireFormat) {
+      this.wireFormat = wireFormat;
+      return this;
+    }
+
+    /**
+     * Enable or disable gzip compression of request bodies for the created configuration. When
+     * enabled, bodies of at least {@link #setRequestCompressionThreshold(int) the threshold size}
+     * are compressed and sent with a <code>Content-Encoding: gzip</code> header, so the server must
+     * be able to decompress request bodies.
+     *
+     * @param requestCompression <code>true</code> to compress request bodies
+     * @return this builder
+     */
+    public Builder setRequestCompression(boolean requestCompression) {
+      this.requestCompression = requestCompression;
+      return this;
+    }
+
+    /**
+     * Set the minimum size in bytes of a request body before it is compressed. Defaults to {@value
+     * Configuration#DEFAULT_REQUEST_COMPRESSION_THRESHOLD}.
+     *
+     * @param requestCompressionThreshold the minimum body size to compress
+     * @return this builder
+     */
+    public Builder setRequestCompressionThreshold(int requestCompressionThreshold) {
+      this.requestCompressionThreshold = requestCompressionThreshold;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of requests that asynchronous clients send concurrently. Further
+     * requests are queued until a response arrives. Defaults to {@value
+     * Configuration#DEFAULT_MAX_CONCURRENT_REQUESTS}.
+     *
+     * @param maxConcurrentRequests the maximum number of requests in flight
+     * @return this builder
+     */
+    public Builder setMaxConcurrentRequests(int maxConcurrentRequests) {
+      this.maxConcurrentRequests = maxConcurrentRequests;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of pooled connections, across all routes. Defaults to {@value
+     * Configuration#DEFAULT_MAX_CONNECTIONS}.
+     *
+     * @param maxConnections the maximum number of connections
+     * @return this builder
+     */
+    public Builder setMaxConnections(int maxConnections) {
+      this.maxConnections = maxConnections;
+      return this;
+    }
+
+    /**
+     * Set the maximum number of pooled connections to a single host. Defaults to {@value
+     * Configuration#DEFAULT_MAX_CONNECTIONS_PER_ROUTE}.
+     *
+     * @param maxConnectionsPerRoute the maximum number of connections per route
+     * @return this builder
+     */
+    public Builder setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+      this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+      return this;
+    }
+
+    /**
+     * Set how long in milliseconds an idle connection may be kept alive for reuse. A shorter
+     * timeout sent by the server in a <code>Keep-Alive</code> header takes precedence; 0 or less
+     * defers entirely to the server. Defaults to {@value Configuration#DEFAULT_KEEP_ALIVE}.
+     *
+     * @param keepAlive the keep-alive duration in milliseconds
+     * @return this builder
+     */
+    public Builder setKeepAlive(long keepAlive) {
+      this.keepAlive = keepAlive;
+      return this;
+    }
+
+    /**
+     * Set how long in milliseconds a connection may sit idle in the pool before a background thread
+     * closes it. Defaults to 0, which disables the background thread.
+     *
+     * @param idleConnectionEviction the maximum idle time in milliseconds
+     * @return this builder
+     */
+    public Builder setIdleConnectionEviction(long idleConnectionEviction) {
+      this.idleConnectionEviction = idleConnectionEviction;
+      return this;
+    }
+
+    /**
+     * Set the connect timeout in milliseconds. 0 means no timeout; the default of -1 uses the
+     * system default.
+     *
+     * @param connectTimeout the connect timeout in milliseconds
+     * @return this builder
+     */
+    public Builder setConnectTimeout(int connectTimeout) {
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    /**
+     * Set the socket (read) timeout in milliseconds. 0 means no timeout; the default of -1 uses the
+     * system default.
+     *
+     * @param socketTimeout the socket timeout in milliseconds
+     * @return this builder
+     */
+    public Builder setSocketTimeout(int socketTimeout) {
+      this.socketTimeout = socketTimeout;
+      return this;
+    }
+
+    /**
+     * Enable the client-side {@link ResourceCache} of single resources, holding at most this many
+     * resources. Defaults to 0, which disables the cache.
+     *
+     * @param resourceCacheMaximumSize the maximum number of cached resources
+     * @return this builder
+     */
+    public Builder setResourceCacheMaximumSize(long resourceCacheMaximumSize) {
+      this.resourceCacheMaximumSize = resourceCacheMaximumSize;
+      return this;
+    }
+
+    /**
+     * Set how long in milliseconds a resource stays in the {@link ResourceCache}. Defaults to 0,
+     * which keeps resources until they are evicted for size or invalidated.
+     *
+     * @param resourceCacheExpireAfterWrite the time to live in milliseconds
+     * @return this builder
+     */
+    public Builder setResourceCacheExpireAfterWrite(long resourceCacheExpireAfterWrite) {
+      this.resourceCacheExpireAfterWrite = resourceCacheExpireAfterWrite;
+      return this;
+    }
+
+    /**
+     * Send conditional requests when rereading resources, remembering the validators of at most
+     * this many resources in a {@link RevalidationCache}. Defaults to 0, which disables conditional
+     * requests.
+     *
+     * @param revalidationCacheMaximumSize the maximum number of remembered resources
+     * @return this builder
+     */
+    public Builder setRevalidationCacheMaximumSize(long revalidationCacheMaximumSize) {
+      this.revalidationCacheMaximumSize = revalidationCacheMaximumSize;
+      return this;
+    }
+
+    /**
+     * Set the <code>ClientProxyFactory</code> that creates the entity proxies returned by clients
+     * of the created configuration. Defaults to a {@link GeneratedClientProxyFactory}; a {@link
+     * BytecodeClientProxyFactory} generates the equivalent proxy classes at runtime for entities
+     * that weren't processed at compile time.
+     *
+     * @param clientProxyFactory the <code>ClientProxyFactory</code>
+     * @return this builder
+     */
+    public Builder setClientProxyFactory(ClientProxyFactory clientProxyFactory) {
+      this.clientProxyFactory = clientProxyFactory;
+      return this;
+    }
   }
 
+  /** Request bodies smaller than this are not worth the cost of compressing. */
+  public static final int DEFAULT_REQUEST_COMPRESSION_THRESHOLD = 1024;
+
+  /** Default bound on the requests an asynchronous client has in flight. */
+  public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 64;
+
+  /** Default bound on pooled connections across all routes. */
+  public static final int DEFAULT_MAX_CONNECTIONS = 200;
+
+  /**
+   * Default bound on pooled connections to one host. Clients usually talk to a single host, so this
+   * is much larger than HttpClient's default of 2.
+   */
+  public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 50;
+
+  /** Default keep-alive in milliseconds, well below common server idle timeouts. */
+  public static final long DEFAULT_KEEP_ALIVE = 15000;
+
   private final URI baseUri;
 
   private final RestTemplateConfigurer restTemplateConfigurer;
@@ -130,11 +355,56 @@ public final class Configuration {
 
   private final ObjectMapperConfigurer objectMapperConfigurer;
 
+  private final WireFormat wireFormat;
+
+  private final boolean requestCompression;
+
+  private final int requestCompressionThreshold;
+
+  private final int maxConcurrentRequests;
+
+  private final int maxConnections;
+
+  private final int maxConnectionsPerRoute;
+
+  private final long keepAlive;
+
+  private final long idleConnectionEviction;
+
+  private final int connectTimeout;
+
+  private final int socketTimeout;
+
+  private final long resourceCacheMaximumSize;
+
+  private final long resourceCacheExpireAfterWrite;
+
+  private final long revalidationCacheMaximumSize;
+
+  private final ClientProxyFactory clientProxyFactory;
+
   private Configuration(Builder builder) {
     baseUri = builder.baseUri;
     restTemplateConfigurer = builder.restTemplateConfigurer;
-    clientHttpRequestFactory = builder.clientHttpRequestFactory;
     objectMapperConfigurer = builder.objectMapperConfigurer;
+    wireFormat = builder.wireFormat;
+    requestCompression = builder.requestCompression;
+    requestCompressionThreshold = builder.requestCompressionThreshold;
+    maxConcurrentRequests = builder.maxConcurrentRequests;
+    maxConnections = builder.maxConnections;
+    maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+    keepAlive = builder.keepAlive;
+    idleConnectionEviction = builder.idleConnectionEviction;
+    connectTimeout = builder.connectTimeout;
+    socketTimeout = builder.socketTimeout;
+    resourceCacheMaximumSize = builder.resourceCacheMaximumSize;
+    resourceCacheExpireAfterWrite = builder.resourceCacheExpireAfterWrite;
+    revalidationCacheMaximumSize = builder.revalidationCacheMaximumSize;
+    clientProxyFactory =
+        builder.clientProxyFactory != null
+            ? builder.clientProxyFactory
+            : new GeneratedClientProxyFactory();
+    clientHttpRequestFactory = builder.clientHttpRequestFactory;
   }
 
   /**
@@ -183,9 +453,10 @@ public final class Configuration {
   }
 
   /**
-   * Get the <code>ClientHttpRequestFactory</code> for this configuration.
+   * Get the custom <code>ClientHttpRequestFactory</code> for this configuration.
    *
-   * @return the configuration's <code>ClientHttpRequestFactory</code>.
+   * @return the configuration's <code>ClientHttpRequestFactory</code>, or <code>null</code> if
+   *     clients use a pooled one built from the connection pool settings.
    */
   public ClientHttpRequestFactory getClientHttpRequestFactory() {
     return clientHttpRequestFactory;
@@ -199,4 +470,132 @@ public final class Configuration {
   public ObjectMapperConfigurer getObjectMapperConfigurer() {
     return objectMapperConfigurer;
   }
+
+  /**
+   * Get the <code>WireFormat</code> for this configuration.
+   *
+   * @return the configuration's <code>WireFormat</code>.
+   */
+  public WireFormat getWireFormat() {
+    return wireFormat;
+  }
+
+  /**
+   * Get whether request bodies are compressed for this configuration.
+   *
+   * @return <code>true</code> if request bodies are gzip compressed.
+   */
+  public boolean isRequestCompression() {
+    return requestCompression;
+  }
+
+  /**
+   * Get the minimum request body size in bytes that is compressed for this configuration.
+   *
+   * @return the configuration's request compression threshold.
+   */
+  public int getRequestCompressionThreshold() {
+    return requestCompressionThreshold;
+  }
+
+  /**
+   * Get the maximum number of concurrent requests of asynchronous clients for this configuration.
+   *
+   * @return the configuration's maximum number of requests in flight.
+   */
+  public int getMaxConcurrentRequests() {
+    return maxConcurrentRequests;
+  }
+
+  /**
+   * Get the maximum number of pooled connections for this configuration.
+   *
+   * @return the configuration's maximum number of connections.
+   */
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  /**
+   * Get the maximum number of pooled connections per route for this configuration.
+   *
+   * @return the configuration's maximum number of connections per route.
+   */
+  public int getMaxConnectionsPerRoute() {
+    return maxConnectionsPerRoute;
+  }
+
+  /**
+   * Get the connection keep-alive in milliseconds for this configuration.
+   *
+   * @return the configuration's keep-alive.
+   */
+  public long getKeepAlive() {
+    return keepAlive;
+  }
+
+  /**
+   * Get the idle time in milliseconds after which pooled connections are closed for this
+   * configuration.
+   *
+   * @return the configuration's idle connection eviction time, or 0 if disabled.
+   */
+  public long getIdleConnectionEviction() {
+    return idleConnectionEviction;
+  }
+
+  /**
+   * Get the connect timeout in milliseconds for this configuration.
+   *
+   * @return the configuration's connect timeout.
+   */
+  public int getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  /**
+   * Get the socket timeout in milliseconds for this configuration.
+   *
+   * @return the configuration's socket timeout.
+   */
+  public int getSocketTimeout() {
+    return socketTimeout;
+  }
+
+  /**
+   * Get the maximum size of the resource cache for this configuration.
+   *
+   * @return the configuration's maximum number of cached resources, or 0 if caching is disabled.
+   */
+  public long getResourceCacheMaximumSize() {
+    return resourceCacheMaximumSize;
+  }
+
+  /**
+   * Get the time to live in milliseconds of cached resources for this configuration.
+   *
+   * @return the configuration's resource cache expiry, or 0 for none.
+   */
+  public long getResourceCacheExpireAfterWrite() {
+    return resourceCacheExpireAfterWrite;
+  }
+
+  /**
+   * Get the maximum size of the revalidation cache for this configuration.
+   *
+   * @return the configuration's maximum number of remembered validators, or 0 if conditional
+   *     requests are disabled.
+   */
+  public long getRevalidationCacheMaximumSize() {
+    return revalidationCacheMaximumSize;
+  }
+
+  /**
+   * Get the <code>ClientProxyFactory</code> for this configuration.
+   *
+   * @return the configuration's <code>ClientProxyFactory</code>.
+   */
+  public ClientProxyFactory getClientProxyFactory() {
+    return clientProxyFactory;
+  }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * Micrometer gauges for the connection pools of bowman clients:
+ *
+ * <ul>
+ *   <li><code>bowman.http.pool.leased</code> - connections in use
+ *   <li><code>bowman.http.pool.available</code> - idle connections
+ *   <li><code>bowman.http.pool.pending</code> - requests waiting for a connection
+ *   <li><code>bowman.http.pool.max</code> - the pool size
+ * </ul>
+ *
+ * <p>Each gauge is tagged with the <code>pool</code> name it was registered under. Pools are looked
+ * up on every sample, so a pool that is created lazily reports <code>NaN</code> until it exists.
+ *
+ * <p>Requires <code>micrometer-core</code>, an optional dependency of bowman.
+ */
+public class ConnectionPoolMetrics implements MeterBinder {
+
+  private final Map<String, Supplier<? extends ConnPoolControl<?>>> pools = new LinkedHashMap<>();
+
+  private final Iterable<Tag> tags;
+
+  public ConnectionPoolMetrics() {
+    this(Tags.empty());
+  }
+
+  /** @param tags tags added to every gauge */
+  public ConnectionPoolMetrics(Iterable<Tag> tags) {
+    this.tags = tags;
+  }
+
+  /**
+   * Add a pool to monitor.
+   *
+   * @param name the value of the <code>pool</code> tag
+   * @param pool supplies the pool, or <code>null</code> while it doesn't exist
+   * @return this binder
+   */
+  public ConnectionPoolMetrics pool(String name, Supplier<? extends ConnPoolControl<?>> pool) {
+    pools.put(name, pool);
+    return this;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    pools.forEach(
+        (name, pool) -> {
+          Tags poolTags = Tags.concat(tags, "pool", name);
+          gauge(
+              registry,
+              "leased",
+              "Pooled connections in use",
+              poolTags,
+              pool,
+              PoolStats::getLeased);
+          gauge(
+              registry,
+              "available",
+              "Idle pooled connections",
+              poolTags,
+              pool,
+              PoolStats::getAvailable);
+          gauge(
+              registry,
+              "pending",
+              "Requests waiting for a pooled connection",
+              poolTags,
+              pool,
+              PoolStats::getPending);
+          gauge(registry, "max", "Maximum pooled connections", poolTags, pool, PoolStats::getMax);
+        });
+  }
+
+  private static void gauge(
+      MeterRegistry registry,
+      String name,
+      String description,
+      Tags tags,
+      Supplier<? extends ConnPoolControl<?>> pool,
+      ToIntFunction<PoolStats> stat) {
+    Gauge.builder(
+            "bowman.http.pool." + name,
+            pool,
+            supplier -> {
+              ConnPoolControl<?> control = supplier.get();
+              return control == null ? Double.NaN : stat.applyAsInt(control.getTotalStats());
+            })
+        .description(description)
+        .tags(tags)
+        .register(registry);
+  }
+}
@@ -1,5 +1,6 @@
 package uk.co.blackpepper.bowman;
 
+import java.util.Optional;
 import org.springframework.beans.BeanUtils;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.hateoas.Links;
@@ -7,14 +8,36 @@ import uk.co.blackpepper.bowman.annotation.ResourceTypeInfo;
 
 class DefaultTypeResolver implements TypeResolver {
 
+  /**
+   * The resolver named by the {@link ResourceTypeInfo} of each declared type, or none if the type
+   * isn't annotated. Types with an invalid annotation aren't cached, so they fail on every call.
+   */
+  private static final ClassValue<Optional<TypeResolver>> DELEGATE_TYPE_RESOLVERS =
+      new ClassValue<Optional<TypeResolver>>() {
+        @Override
+        protected Optional<TypeResolver> computeValue(Class<?> declaredType) {
+          return Optional.ofNullable(createDelegateTypeResolver(declaredType));
+        }
+      };
+
   @Override
   public <T> Class<? extends T> resolveType(
       Class<T> declaredType, Links resourceLinks, Configuration configuration) {
 
+    TypeResolver delegateTypeResolver = DELEGATE_TYPE_RESOLVERS.get(declaredType).orElse(null);
+
+    if (delegateTypeResolver == null) {
+      return declaredType;
+    }
+
+    return delegateTypeResolver.resolveType(declaredType, resourceLinks, configuration);
+  }
+
+  private static TypeResolver createDelegateTypeResolver(Class<?> declaredType) {
     ResourceTypeInfo info = AnnotationUtils.findAnnotation(declaredType, ResourceTypeInfo.class);
 
     if (info == null) {
-      return declaredType;
+      return null;
     }
 
     boolean customTypeResolverIsSpecified =
@@ -24,11 +47,8 @@ class DefaultTypeResolver implements TypeResolver {
       throw new ClientProxyException("one of subtypes or typeResolver must be specified");
     }
 
-    TypeResolver delegateTypeResolver =
-        customTypeResolverIsSpecified
-            ? BeanUtils.instantiateClass(info.typeResolver())
-            : new SelfLinkTypeResolver(info.subtypes());
-
-    return delegateTypeResolver.resolveType(declaredType, resourceLinks, configuration);
+    return customTypeResolverIsSpecified
+        ? BeanUtils.instantiateClass(info.typeResolver())
+        : new SelfLinkTypeResolver(info.subtypes());
   }
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javassist.util.proxy.ProxyFactory;
+import org.datrunk.naked.entities.bowman.proxy.LinkDescriptor;
+import uk.co.blackpepper.bowman.AbstractPropertyAwareMethodHandler.BeanInfoProvider;
+
+/**
+ * What the proxy method handlers know about an entity type: its property accessors, with each
+ * setter paired to its getter, the link attributes of its linked resource methods, and the
+ * collaborators that resolve links. One descriptor is shared by every proxy of a type, so that a
+ * proxy holds only its resource and the linked resources it has resolved.
+ */
+final class EntityTypeDescriptor {
+
+  private static final PropertyValueFactory DEFAULT_PROPERTY_VALUE_FACTORY =
+      new DefaultPropertyValueFactory();
+
+  private static final MethodLinkAttributesResolver DEFAULT_LINK_ATTRIBUTES_RESOLVER =
+      new MethodLinkAttributesResolver();
+
+  private static final MethodLinkUriResolver DEFAULT_LINK_URI_RESOLVER =
+      new MethodLinkUriResolver();
+
+  private static final ClassValue<EntityTypeDescriptor> DESCRIPTORS =
+      new ClassValue<EntityTypeDescriptor>() {
+        @Override
+        protected EntityTypeDescriptor computeValue(Class<?> beanType) {
+          return new EntityTypeDescriptor(beanType, Introspector::getBeanInfo);
+        }
+      };
+
+  private final Class<?> beanType;
+
+  private final Set<Method> getters;
+
+  private final Map<Method, Method> gettersBySetter;
+
+  private final PropertyValueFactory propertyValueFactory;
+
+  private final MethodLinkAttributesResolver methodLinkAttributesResolver;
+
+  private final MethodLinkUriResolver methodLinkUriResolver;
+
+  private final ConcurrentMap<Method, MethodLinkAttributes> linkAttributes =
+      new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<Method, LinkDescriptor> links = new ConcurrentHashMap<>();
+
+  EntityTypeDescriptor(Class<?> type, BeanInfoProvider beanInfoProvider) {
+    this(
+        type,
+        beanInfoProvider,
+        DEFAULT_PROPERTY_VALUE_FACTORY,
+        DEFAULT_LINK_ATTRIBUTES_RESOLVER,
+        DEFAULT_LINK_URI_RESOLVER);
+  }
+
+  EntityTypeDescriptor(
+      Class<?> type,
+      BeanInfoProvider beanInfoProvider,
+      PropertyValueFactory propertyValueFactory,
+      MethodLinkAttributesResolver methodLinkAttributesResolver,
+      MethodLinkUriResolver methodLinkUriResolver) {
+    this.beanType = getBeanType(type);
+    this.propertyValueFactory = propertyValueFactory;
+    this.methodLinkAttributesResolver = methodLinkAttributesResolver;
+    this.methodLinkUriResolver = methodLinkUriResolver;
+
+    BeanInfo beanInfo;
+    try {
+      beanInfo = beanInfoProvider.getBeanInfo(beanType);
+    } catch (IntrospectionException exception) {
+      throw new ClientProxyException(
+          String.format("couldn't determine properties for %s", type.getName()), exception);
+    }
+
+    Set<Method> readMethods = new HashSet<>();
+    Map<Method, Method> readMethodsByWriteMethod = new HashMap<>();
+    for (PropertyDescriptor descriptor : beanInfo.getPropertyDescriptors()) {
+      if (descriptor.getReadMethod() != null) {
+        readMethods.add(descriptor.getReadMethod());
+      }
+      if (descriptor.getWriteMethod() != null) {
+        readMethodsByWriteMethod.putIfAbsent(
+            descriptor.getWriteMethod(), descriptor.getReadMethod());
+      }
+    }
+    this.getters = Collections.unmodifiableSet(readMethods);
+    this.gettersBySetter = Collections.unmodifiableMap(readMethodsByWriteMethod);
+  }
+
+  /**
+   * @param type an entity type, or a Javassist proxy of one
+   * @return the shared descriptor of the entity type
+   */
+  static EntityTypeDescriptor forType(Class<?> type) {
+    return DESCRIPTORS.get(getBeanType(type));
+  }
+
+  Class<?> getBeanType() {
+    return beanType;
+  }
+
+  boolean isGetter(Method method) {
+    return getters.contains(method);
+  }
+
+  boolean isSetter(Method method) {
+    return gettersBySetter.containsKey(method);
+  }
+
+  /**
+   * @param setter a property's write method
+   * @return the property's read method, or <code>null</code> if it has none or <code>setter</code>
+   *     isn't a write method
+   */
+  Method getGetterFromSetter(Method setter) {
+    return gettersBySetter.get(setter);
+  }
+
+  /**
+   * @param method a linked resource method
+   * @return its link attributes, resolved on first use
+   */
+  MethodLinkAttributes getLinkAttributes(Method method) {
+    MethodLinkAttributes attributes = linkAttributes.get(method);
+
+    if (attributes == null) {
+      attributes = methodLinkAttributesResolver.resolveForMethod(method);
+      linkAttributes.putIfAbsent(method, attributes);
+    }
+
+    return attributes;
+  }
+
+  /**
+   * @param method a linked resource method
+   * @return the link it resolves, described as for generated proxies, created on first use
+   * @throws ClientProxyException if the method returns a collection of an unknown entity type
+   */
+  LinkDescriptor getLink(Method method) {
+    LinkDescriptor link = links.get(method);
+
+    if (link == null) {
+      MethodLinkAttributes attributes = getLinkAttributes(method);
+      Class<?> elementType = null;
+      if (Collection.class.isAssignableFrom(method.getReturnType())) {
+        elementType = getLinkedEntityType(method);
+        if (elementType == null) {
+          throw new ClientProxyException("couldn't determine linked entity type of " + method);
+        }
+      }
+
+      link =
+          new LinkDescriptor(
+              method.getName(),
+              attributes.getLinkName(),
+              attributes.isOptional(),
+              method.getReturnType(),
+              elementType);
+      links.putIfAbsent(method, link);
+    }
+
+    return link;
+  }
+
+  /**
+   * @param method a method returning a collection
+   * @return the element type of the collection, or <code>null</code> if it isn't a class
+   */
+  static Class<?> getLinkedEntityType(Method method) {
+    Type genericType = method.getGenericReturnType();
+    if (!(genericType instanceof ParameterizedType)) {
+      return null;
+    }
+
+    Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+    return argument instanceof Class ? (Class<?>) argument : null;
+  }
+
+  MethodLinkUriResolver getMethodLinkUriResolver() {
+    return methodLinkUriResolver;
+  }
+
+  PropertyValueFactory getPropertyValueFactory() {
+    return propertyValueFactory;
+  }
+
+  private static Class<?> getBeanType(Class<?> type) {
+    if (!ProxyFactory.isProxyClass(type)) {
+      return type;
+    }
+
+    return type.getSuperclass();
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import java.lang.reflect.Field;
+import java.util.Optional;
+import org.datrunk.naked.entities.bowman.proxy.GeneratedProxy;
+import org.datrunk.naked.entities.bowman.proxy.GeneratedProxyType;
+
+/**
+ * Creates proxies from the classes that {@code bowman-client-processor} generates at compile time,
+ * falling back to {@link JavassistClientProxyFactory} for entities without one. Linked resources
+ * are proxied by this factory too, whichever way their parent was proxied.
+ */
+public class GeneratedClientProxyFactory extends AbstractGeneratedClientProxyFactory {
+
+  private static final ClassValue<Optional<GeneratedProxyType<?>>> PROXY_TYPES =
+      new ClassValue<Optional<GeneratedProxyType<?>>>() {
+        @Override
+        protected Optional<GeneratedProxyType<?>> computeValue(Class<?> entityType) {
+          return findProxyType(entityType);
+        }
+      };
+
+  public GeneratedClientProxyFactory() {
+    super(PROXY_TYPES);
+  }
+
+  /**
+   * @param entityType an entity class, or a proxy class of one
+   * @return whether a generated proxy class is available for {@code entityType}
+   */
+  public static boolean isGenerated(Class<?> entityType) {
+    return getProxyType(PROXY_TYPES, entityType) != null;
+  }
+
+  private static Optional<GeneratedProxyType<?>> findProxyType(Class<?> entityType) {
+    Class<?> proxyClass;
+    try {
+      proxyClass =
+          Class.forName(
+              GeneratedProxyType.proxyClassName(entityType), true, entityType.getClassLoader());
+    } catch (ClassNotFoundException exception) {
+      return Optional.empty();
+    }
+
+    if (proxyClass.getSuperclass() != entityType
+        || !GeneratedProxy.class.isAssignableFrom(proxyClass)) {
+      return Optional.empty();
+    }
+
+    try {
+      Field field = proxyClass.getField(GeneratedProxyType.TYPE_FIELD);
+      return Optional.of((GeneratedProxyType<?>) field.get(null));
+    } catch (ReflectiveOperationException exception) {
+      throw new ClientProxyException(
+          String.format("couldn't read %s.%s", proxyClass.getName(), GeneratedProxyType.TYPE_FIELD),
+          exception);
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import java.net.URI;
+import java.util.List;
+import java.util.function.Supplier;
+import org.datrunk.naked.entities.WithUri;
+import org.datrunk.naked.entities.bowman.proxy.GeneratedProxyType;
+import org.datrunk.naked.entities.bowman.proxy.LinkDescriptor;
+import org.datrunk.naked.entities.bowman.proxy.ProxyLinkResolver;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+
+/**
+ * The {@link ProxyLinkResolver} bound to each generated proxy. It resolves links with the same
+ * {@link LinkedResourceResolver} as {@link LinkedResourceMethodHandler}, but from the generated
+ * link table instead of reflecting on the invoked method.
+ */
+class GeneratedProxyLinkResolver implements ProxyLinkResolver {
+
+  private static final PropertyValueFactory DEFAULT_PROPERTY_VALUE_FACTORY =
+      new DefaultPropertyValueFactory();
+
+  private static final MethodLinkUriResolver DEFAULT_LINK_URI_RESOLVER =
+      new MethodLinkUriResolver();
+
+  private final EntityModel<?> resource;
+
+  private final LinkedResourceResolver linkedResourceResolver;
+
+  private final List<LinkDescriptor> links;
+
+  private final Object[] linkedResourceResults;
+
+  private final boolean[] resolved;
+
+  GeneratedProxyLinkResolver(
+      EntityModel<?> resource,
+      RestOperations restOperations,
+      ClientProxyFactory proxyFactory,
+      GeneratedProxyType<?> proxyType) {
+    this(
+        resource,
+        restOperations,
+        proxyFactory,
+        proxyType,
+        DEFAULT_PROPERTY_VALUE_FACTORY,
+        DEFAULT_LINK_URI_RESOLVER);
+  }
+
+  GeneratedProxyLinkResolver(
+      EntityModel<?> resource,
+      RestOperations restOperations,
+      ClientProxyFactory proxyFactory,
+      GeneratedProxyType<?> proxyType,
+      PropertyValueFactory propertyValueFactory,
+      MethodLinkUriResolver methodLinkUriResolver) {
+    this.resource = resource;
+    this.linkedResourceResolver =
+        new LinkedResourceResolver(
+            resource, restOperations, proxyFactory, propertyValueFactory, methodLinkUriResolver);
+    this.links = proxyType.getLinks();
+    this.linkedResourceResults = new Object[links.size()];
+    this.resolved = new boolean[links.size()];
+  }
+
+  @Override
+  public URI resourceId(Object self) {
+    URI selfLink =
+        resource
+            .getLink(IanaLinkRelations.SELF)
+            .map(link -> URI.create(link.getHref()))
+            .orElse(null);
+    if (self instanceof WithUri) {
+      ((WithUri) self).setUri(selfLink);
+    }
+    return selfLink;
+  }
+
+  @Override
+  public Object resolveLink(Object self, int index, Object[] args, Supplier<?> original) {
+    if (!resolved[index]) {
+      LinkDescriptor link = links.get(index);
+      LinkPrefetch prefetch = LinkPrefetch.current();
+
+      if (prefetch != null
+          && linkedResourceResolver.prefetch(
+              prefetch, link, args, original, value -> setLink(index, value))) {
+        return null;
+      }
+
+      setLink(index, linkedResourceResolver.resolve(link, args, original));
+    }
+
+    return linkedResourceResults[index];
+  }
+
+  @Override
+  public void setLink(int index, Object value) {
+    linkedResourceResults[index] = value;
+    resolved[index] = true;
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import static java.util.Arrays.asList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+/**
+ * Compresses request bodies with gzip and advertises this with a <code>Content-Encoding</code>
+ * header. Bodies smaller than the configured threshold, or which already carry a content encoding,
+ * are sent unchanged.
+ */
+class GzipClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+  private static Logger LOGGER = LogManager.getLogger();
+
+  static final String GZIP = "gzip";
+
+  private final int threshold;
+
+  GzipClientHttpRequestInterceptor(int threshold) {
+    this.threshold = threshold;
+  }
+
+  @Override
+  public ClientHttpResponse intercept(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+    if (body.length == 0
+        || body.length < threshold
+        || request.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+      return execution.execute(request, body);
+    }
+
+    byte[] compressed = compress(body);
+    LOGGER.debug(
+        "{} {}: compressed request body from {} to {} bytes",
+        request.getMethodValue(),
+        request.getURI(),
+        body.length,
+        compressed.length);
+
+    HttpRequestWrapper wrapped = new HttpRequestWrapper(request);
+    wrapped.getHeaders().put(HttpHeaders.CONTENT_ENCODING, asList(GZIP));
+    wrapped.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+    return execution.execute(wrapped, compressed);
+  }
+
+  int getThreshold() {
+    return threshold;
+  }
+
+  static byte[] compress(byte[] body) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(body.length / 8, 64));
+    try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(body);
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -20,7 +20,10 @@ import static java.util.Arrays.asList;
 import java.lang.reflect.Constructor;
 import java.net.URI;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javassist.util.proxy.Proxy;
 import javassist.util.proxy.ProxyFactory;
 import org.datrunk.naked.entities.WithUri;
@@ -30,20 +33,66 @@ import org.springframework.hateoas.Link;
 
 public class JavassistClientProxyFactory implements ClientProxyFactory {
 
+  /**
+   * The proxy class of an entity type and handler filter, and the dispatch table its chains share.
+   */
+  private static final class ProxyClass {
+
+    private final MethodHandlerChain.DispatchTable dispatchTable =
+        new MethodHandlerChain.DispatchTable();
+
+    private volatile Constructor<?> constructor;
+
+    Constructor<?> getConstructor(Class<?> entityType, MethodHandlerChain filter) {
+      Constructor<?> result = constructor;
+      if (result == null) {
+        synchronized (this) {
+          result = constructor;
+          if (result == null) {
+            result = createProxyClass(entityType, filter);
+            constructor = result;
+          }
+        }
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Proxy classes by entity type and handler filter. Defining a class is far more expensive than
+   * instantiating one, so each proxy class is created once and only the handler is set per
+   * instance.
+   */
+  private static final ClassValue<ConcurrentMap<List<Class<?>>, ProxyClass>> PROXY_CLASSES =
+      new ClassValue<ConcurrentMap<List<Class<?>>, ProxyClass>>() {
+        @Override
+        protected ConcurrentMap<List<Class<?>>, ProxyClass> computeValue(Class<?> entityType) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   @Override
   public <T> T create(EntityModel<T> resource, RestOperations restOperations) {
+    return create(resource, restOperations, this);
+  }
+
+  <T> T create(
+      EntityModel<T> resource,
+      RestOperations restOperations,
+      ClientProxyFactory linkedProxyFactory) {
     final T entity = resource.getContent();
     @SuppressWarnings("unchecked")
     Class<T> entityType = (Class<T>) entity.getClass();
 
-    MethodHandlerChain handlerChain =
-        new MethodHandlerChain(
-            asList(
-                new ResourceIdMethodHandler(resource),
-                new LinkedResourceMethodHandler(resource, restOperations, this),
-                new SimplePropertyMethodHandler<>(resource)));
+    EntityTypeDescriptor descriptor = EntityTypeDescriptor.forType(entityType);
+    List<ConditionalMethodHandler> handlers =
+        asList(
+            new ResourceIdMethodHandler(resource),
+            new LinkedResourceMethodHandler(
+                resource, restOperations, linkedProxyFactory, descriptor),
+            new SimplePropertyMethodHandler<>(resource, descriptor));
 
-    T proxy = createProxyInstance(entityType, handlerChain);
+    T proxy = createProxyInstance(entityType, handlers);
     //  Links links = resource.getLinks();
     Optional<Link> selfLink = resource.getLink(IanaLinkRelations.SELF);
     URI selfUri = selfLink.map(link -> URI.create(link.getHref())).orElse(null);
@@ -53,7 +102,20 @@ public class JavassistClientProxyFactory implements ClientProxyFactory {
     return proxy;
   }
 
-  private static <T> T createProxyInstance(Class<T> entityType, MethodHandlerChain handlerChain) {
+  private static <T> T createProxyInstance(
+      Class<T> entityType, List<ConditionalMethodHandler> handlers) {
+    ProxyClass proxyClass =
+        PROXY_CLASSES
+            .get(entityType)
+            .computeIfAbsent(MethodHandlerChain.getFilterKey(handlers), key -> new ProxyClass());
+    MethodHandlerChain handlerChain = new MethodHandlerChain(handlers, proxyClass.dispatchTable);
+
+    T proxy = instantiateClass(proxyClass.getConstructor(entityType, handlerChain));
+    ((Proxy) proxy).setHandler(handlerChain);
+    return proxy;
+  }
+
+  private static Constructor<?> createProxyClass(Class<?> entityType, MethodHandlerChain filter) {
     ProxyFactory factory = new ProxyFactory();
     if (ProxyFactory.isProxyClass(entityType)) {
       factory.setInterfaces(getNonProxyInterfaces(entityType));
@@ -61,12 +123,14 @@ public class JavassistClientProxyFactory implements ClientProxyFactory {
     } else {
       factory.setSuperclass(entityType);
     }
-    factory.setFilter(handlerChain);
+    factory.setFilter(filter);
 
     Class<?> clazz = factory.createClass();
-    T proxy = instantiateClass(clazz);
-    ((Proxy) proxy).setHandler(handlerChain);
-    return proxy;
+    try {
+      return clazz.getConstructor();
+    } catch (NoSuchMethodException exception) {
+      throw new ClientProxyException("couldn't create proxy instance of " + clazz, exception);
+    }
   }
 
   private static Class<?>[] getNonProxyInterfaces(Class<?> entityType) {
@@ -75,14 +139,14 @@ public class JavassistClientProxyFactory implements ClientProxyFactory {
         .toArray(Class[]::new);
   }
 
-  private static <T> T instantiateClass(Class<?> clazz) {
+  private static <T> T instantiateClass(Constructor<?> constructor) {
     try {
-      Constructor<?> constructor = clazz.getConstructor();
       @SuppressWarnings("unchecked")
       T proxy = (T) constructor.newInstance();
       return proxy;
     } catch (Exception exception) {
-      throw new ClientProxyException("couldn't create proxy instance of " + clazz, exception);
+      throw new ClientProxyException(
+          "couldn't create proxy instance of " + constructor.getDeclaringClass(), exception);
     }
   }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Collects the linked resources that proxies would fetch one at a time, so that {@link
+ * Client#prefetch} can fetch each distinct resource once and hand every proxy that links to it its
+ * own copy of the result. When an {@link AsyncRestOperations} is available the resources are
+ * fetched concurrently, so that per-owner links, which don't dedupe, cost one round trip rather
+ * than one per owner.
+ *
+ * <p>While a prefetch is {@link #record recording} on the current thread, linked resource getters
+ * that have not been resolved yet register their link here and return <code>null</code> instead of
+ * fetching it.
+ */
+final class LinkPrefetch {
+
+  private static final ThreadLocal<LinkPrefetch> CURRENT = new ThreadLocal<>();
+
+  private static final class Key {
+
+    private final URI uri;
+
+    private final Class<?> type;
+
+    private final boolean collection;
+
+    Key(URI uri, Class<?> type, boolean collection) {
+      this.uri = uri;
+      this.type = type;
+      this.collection = collection;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (!(object instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) object;
+      return uri.equals(other.uri) && type.equals(other.type) && collection == other.collection;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(uri, type, collection);
+    }
+  }
+
+  private final Map<Key, List<Consumer<Object>>> requests = new LinkedHashMap<>();
+
+  /** @return the prefetch recording on the current thread, or <code>null</code> */
+  static LinkPrefetch current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Run the given action with this prefetch recording on the current thread.
+   *
+   * @param action invokes linked resource getters on proxies
+   */
+  void record(Runnable action) {
+    LinkPrefetch previous = CURRENT.get();
+    CURRENT.set(this);
+    try {
+      action.run();
+    } finally {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Register a linked resource to fetch.
+   *
+   * @param uri the link
+   * @param type the linked entity type, or the element type of a collection
+   * @param collection whether the link is to a collection resource
+   * @param onFetched receives the {@link org.springframework.hateoas.EntityModel} or {@link
+   *     org.springframework.hateoas.CollectionModel} fetched
+   */
+  void add(URI uri, Class<?> type, boolean collection, Consumer<Object> onFetched) {
+    requests
+        .computeIfAbsent(new Key(uri, type, collection), key -> new ArrayList<>())
+        .add(onFetched);
+  }
+
+  /** @return the number of distinct resources registered */
+  int size() {
+    return requests.size();
+  }
+
+  /**
+   * Fetch every registered resource once and hand it to the proxies linking to it.
+   *
+   * @param restOperations used to fetch the resources one at a time
+   * @param asyncRestOperations used to fetch the resources concurrently, or <code>null</code>
+   */
+  void fetch(RestOperations restOperations, AsyncRestOperations asyncRestOperations) {
+    if (asyncRestOperations != null && requests.size() > 1) {
+      fetchConcurrently(asyncRestOperations);
+      return;
+    }
+    for (Map.Entry<Key, List<Consumer<Object>>> request : requests.entrySet()) {
+      Key key = request.getKey();
+      Object fetched =
+          key.collection
+              ? restOperations.getResources(key.uri, key.type)
+              : restOperations.getResource(key.uri, key.type);
+      deliver(fetched, request.getValue());
+    }
+    requests.clear();
+  }
+
+  private void fetchConcurrently(AsyncRestOperations asyncRestOperations) {
+    Map<Key, CompletableFuture<?>> fetches = new LinkedHashMap<>();
+    for (Key key : requests.keySet()) {
+      fetches.put(
+          key,
+          key.collection
+              ? asyncRestOperations.getResources(key.uri, key.type)
+              : asyncRestOperations.getResource(key.uri, key.type));
+    }
+    try {
+      CompletableFuture.allOf(fetches.values().toArray(new CompletableFuture<?>[0])).join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) exception.getCause();
+      }
+      throw exception;
+    }
+    for (Map.Entry<Key, List<Consumer<Object>>> request : requests.entrySet()) {
+      Object fetched = fetches.get(request.getKey()).join();
+      deliver(fetched, request.getValue());
+    }
+    requests.clear();
+  }
+
+  /** The first proxy gets the fetched resource and the others copies, so that none share one. */
+  private static void deliver(Object fetched, List<Consumer<Object>> consumers) {
+    for (int i = 0; i < consumers.size(); i++) {
+      consumers.get(i).accept(i == 0 ? fetched : ResourceCopier.copy(fetched));
+    }
+  }
+}
@@ -1,16 +1,13 @@
 package uk.co.blackpepper.bowman;
 
+import java.beans.Introspector;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
-import java.net.URI;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 import org.datrunk.naked.entities.bowman.annotation.LinkedResource;
-import org.springframework.hateoas.CollectionModel;
+import org.datrunk.naked.entities.bowman.proxy.LinkDescriptor;
 import org.springframework.hateoas.EntityModel;
 
 class LinkedResourceMethodHandler extends AbstractPropertyAwareMethodHandler {
@@ -34,13 +31,9 @@ class LinkedResourceMethodHandler extends AbstractPropertyAwareMethodHandler {
 
   private final ClientProxyFactory proxyFactory;
 
-  private final PropertyValueFactory propertyValueFactory;
+  private Map<String, LinkedResourceResult> linkedResourceResults;
 
-  private final MethodLinkAttributesResolver methodLinkAttributesResolver;
-
-  private final MethodLinkUriResolver methodLinkUriResolver;
-
-  private final Map<String, LinkedResourceResult> linkedResourceResults = new HashMap<>();
+  private LinkedResourceResolver linkedResourceResolver;
 
   LinkedResourceMethodHandler(
       EntityModel resource, RestOperations restOperations, ClientProxyFactory proxyFactory) {
@@ -48,27 +41,38 @@ class LinkedResourceMethodHandler extends AbstractPropertyAwareMethodHandler {
         resource,
         restOperations,
         proxyFactory,
-        new DefaultPropertyValueFactory(),
-        new MethodLinkAttributesResolver(),
-        new MethodLinkUriResolver());
+        EntityTypeDescriptor.forType(resource.getContent().getClass()));
   }
 
   LinkedResourceMethodHandler(
       EntityModel resource,
       RestOperations restOperations,
       ClientProxyFactory proxyFactory,
-      PropertyValueFactory propertyValueFactory,
-      MethodLinkAttributesResolver methodLinkAttributesResolver,
-      MethodLinkUriResolver methodLinkUriResolver) {
-
-    super(resource.getContent().getClass());
+      EntityTypeDescriptor descriptor) {
+    super(descriptor);
 
     this.resource = resource;
     this.restOperations = restOperations;
     this.proxyFactory = proxyFactory;
-    this.propertyValueFactory = propertyValueFactory;
-    this.methodLinkAttributesResolver = methodLinkAttributesResolver;
-    this.methodLinkUriResolver = methodLinkUriResolver;
+  }
+
+  LinkedResourceMethodHandler(
+      EntityModel resource,
+      RestOperations restOperations,
+      ClientProxyFactory proxyFactory,
+      PropertyValueFactory propertyValueFactory,
+      MethodLinkAttributesResolver methodLinkAttributesResolver,
+      MethodLinkUriResolver methodLinkUriResolver) {
+    this(
+        resource,
+        restOperations,
+        proxyFactory,
+        new EntityTypeDescriptor(
+            resource.getContent().getClass(),
+            Introspector::getBeanInfo,
+            propertyValueFactory,
+            methodLinkAttributesResolver,
+            methodLinkUriResolver));
   }
 
   @Override
@@ -96,115 +100,61 @@ class LinkedResourceMethodHandler extends AbstractPropertyAwareMethodHandler {
 
   private void invokeSetterMethod(Method method, Object[] args) {
     final String getterName = getGetterFromSetter(method).getName();
-    linkedResourceResults.put(getterName, new LinkedResourceResult(args[0]));
-  }
-
-  private Method getGetterFromSetter(Method method) {
-    return Arrays.stream(getContentBeanInfo().getPropertyDescriptors())
-        .filter(pd -> method.equals(pd.getWriteMethod()))
-        .collect(Collectors.toList())
-        .get(0)
-        .getReadMethod();
+    getLinkedResourceResults().put(getterName, new LinkedResourceResult(args[0]));
   }
 
-  private Object invokeAnnotatedMethod(Object self, Method method, Method proceed, Object[] args)
-      throws InvocationTargetException, IllegalAccessException {
-    LinkedResourceResult result = linkedResourceResults.get(method.getName());
+  private Object invokeAnnotatedMethod(Object self, Method method, Method proceed, Object[] args) {
+    LinkedResourceResult result =
+        linkedResourceResults == null ? null : linkedResourceResults.get(method.getName());
 
     if (result == null) {
-      Object resultValue = resolveLinkedResource(self, method, proceed, args);
-
-      result = new LinkedResourceResult(resultValue);
+      LinkDescriptor link = getDescriptor().getLink(method);
+      Supplier<?> original = proceed == null ? null : () -> invokeOriginal(self, proceed, args);
+      LinkPrefetch prefetch = LinkPrefetch.current();
+
+      if (prefetch != null
+          && getLinkedResourceResolver()
+              .prefetch(prefetch, link, args, original, value -> remember(method, value))) {
+        return null;
+      }
 
-      linkedResourceResults.put(method.getName(), result);
+      Object resultValue = getLinkedResourceResolver().resolve(link, args, original);
+      remember(method, resultValue);
+      return resultValue;
     }
 
     return result.getValue();
   }
 
-  private Object resolveLinkedResource(Object self, Method method, Method proceed, Object[] args)
-      throws IllegalAccessException, InvocationTargetException {
-
-    boolean isCollection = Collection.class.isAssignableFrom(method.getReturnType());
-
-    MethodLinkAttributes attribs = methodLinkAttributesResolver.resolveForMethod(method);
-
-    URI associationResource;
-
+  private static Object invokeOriginal(Object self, Method proceed, Object[] args) {
     try {
-      associationResource =
-          methodLinkUriResolver.resolveForMethod(resource, attribs.getLinkName(), args);
-    } catch (NoSuchLinkException exception) {
-      if (attribs.isOptional()) {
-        return isCollection ? createCollectionForMethod(method) : null;
-      }
-
-      throw exception;
+      return proceed.invoke(self, args);
+    } catch (IllegalAccessException | InvocationTargetException exception) {
+      throw new ClientProxyException("couldn't invoke " + proceed, exception);
     }
-
-    if (isCollection) {
-      Class<?> linkedEntityType =
-          (Class<?>)
-              ((ParameterizedType) method.getGenericReturnType()).getActualTypeArguments()[0];
-
-      if (proceed == null) {
-        return resolveCollectionLinkedResource(
-            getLinkedResources(associationResource, linkedEntityType), method);
-      } else {
-        return resolveCollectionLinkedResource(
-            getLinkedResources(associationResource, linkedEntityType), self, proceed);
-      }
-    }
-
-    return resolveSingleLinkedResource(associationResource, method.getReturnType());
   }
 
-  private <F> F resolveSingleLinkedResource(URI associationResource, Class<F> linkedEntityType) {
-    EntityModel<F> linkedResource =
-        restOperations.getResource(associationResource, linkedEntityType);
-
-    if (linkedResource == null) {
-      return null;
-    }
-
-    return proxyFactory.create(linkedResource, restOperations);
+  private void remember(Method method, Object value) {
+    getLinkedResourceResults().put(method.getName(), new LinkedResourceResult(value));
   }
 
-  private <F> Collection<F> resolveCollectionLinkedResource(
-      CollectionModel<EntityModel<F>> resources, Object contextEntity, Method originalMethod)
-      throws IllegalAccessException, InvocationTargetException {
-
-    @SuppressWarnings("unchecked")
-    Collection<F> collection = (Collection<F>) originalMethod.invoke(contextEntity);
-
-    if (collection == null) {
-      collection = createCollectionForMethod(originalMethod);
-    } else {
-      collection.clear();
+  private Map<String, LinkedResourceResult> getLinkedResourceResults() {
+    if (linkedResourceResults == null) {
+      linkedResourceResults = new HashMap<>();
     }
-    return updateCollectionWithLinkedResources(collection, resources);
-  }
-
-  private <F> Collection<F> resolveCollectionLinkedResource(
-      CollectionModel<EntityModel<F>> resources, Method method) {
-    return updateCollectionWithLinkedResources(createCollectionForMethod(method), resources);
+    return linkedResourceResults;
   }
 
-  private <F> Collection<F> updateCollectionWithLinkedResources(
-      Collection<F> collection, CollectionModel<EntityModel<F>> resources) {
-    for (EntityModel<F> fResource : resources) {
-      collection.add(proxyFactory.create(fResource, restOperations));
+  private LinkedResourceResolver getLinkedResourceResolver() {
+    if (linkedResourceResolver == null) {
+      linkedResourceResolver =
+          new LinkedResourceResolver(
+              resource,
+              restOperations,
+              proxyFactory,
+              getDescriptor().getPropertyValueFactory(),
+              getDescriptor().getMethodLinkUriResolver());
     }
-
-    return collection;
-  }
-
-  private <F> CollectionModel<EntityModel<F>> getLinkedResources(
-      URI associationResource, Class<F> linkedEntityType) {
-    return restOperations.getResources(associationResource, linkedEntityType);
-  }
-
-  private <F> Collection<F> createCollectionForMethod(Method method) {
-    return propertyValueFactory.createCollection(method.getReturnType());
+    return linkedResourceResolver;
   }
 }
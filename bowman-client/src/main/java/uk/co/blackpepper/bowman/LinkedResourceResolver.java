@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.datrunk.naked.entities.bowman.proxy.LinkDescriptor;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+
+/**
+ * Resolves the linked resources of one resource. It is shared by {@link
+ * LinkedResourceMethodHandler}, which describes the invoked method, and {@link
+ * GeneratedProxyLinkResolver}, which reads the generated link table; both remember the results
+ * themselves.
+ */
+class LinkedResourceResolver {
+
+  private final EntityModel<?> resource;
+
+  private final RestOperations restOperations;
+
+  private final ClientProxyFactory proxyFactory;
+
+  private final PropertyValueFactory propertyValueFactory;
+
+  private final MethodLinkUriResolver methodLinkUriResolver;
+
+  LinkedResourceResolver(
+      EntityModel<?> resource,
+      RestOperations restOperations,
+      ClientProxyFactory proxyFactory,
+      PropertyValueFactory propertyValueFactory,
+      MethodLinkUriResolver methodLinkUriResolver) {
+    this.resource = resource;
+    this.restOperations = restOperations;
+    this.proxyFactory = proxyFactory;
+    this.propertyValueFactory = propertyValueFactory;
+    this.methodLinkUriResolver = methodLinkUriResolver;
+  }
+
+  /**
+   * @param link the link to resolve
+   * @param args the arguments of the link method, used to expand templated links
+   * @param original supplies the collection the entity's own method returns, which collection links
+   *     fill instead of a new collection; <code>null</code> if there is none
+   * @return the linked resource, or collection of linked resources
+   */
+  Object resolve(LinkDescriptor link, Object[] args, Supplier<?> original) {
+    URI associationResource;
+
+    try {
+      associationResource = methodLinkUriResolver.resolveForMethod(resource, link.getRel(), args);
+    } catch (NoSuchLinkException exception) {
+      if (link.isOptional()) {
+        return link.isCollection() ? createCollection(link) : null;
+      }
+
+      throw exception;
+    }
+
+    if (link.isCollection()) {
+      return resolveCollection(
+          restOperations.getResources(associationResource, link.getElementType()), link, original);
+    }
+
+    return resolveSingle(associationResource, link.getType());
+  }
+
+  /**
+   * Register the link with a {@link LinkPrefetch} instead of fetching it, unless it needs no
+   * request.
+   *
+   * @param resolved receives the linked resource once the prefetch has fetched it
+   * @return whether the link was registered
+   */
+  @SuppressWarnings("unchecked")
+  boolean prefetch(
+      LinkPrefetch prefetch,
+      LinkDescriptor link,
+      Object[] args,
+      Supplier<?> original,
+      Consumer<Object> resolved) {
+    URI associationResource;
+
+    try {
+      associationResource = methodLinkUriResolver.resolveForMethod(resource, link.getRel(), args);
+    } catch (NoSuchLinkException exception) {
+      return false;
+    }
+
+    if (link.isCollection()) {
+      prefetch.add(
+          associationResource,
+          link.getElementType(),
+          true,
+          fetched ->
+              resolved.accept(
+                  resolveCollection(
+                      (CollectionModel<EntityModel<Object>>) fetched, link, original)));
+    } else {
+      prefetch.add(
+          associationResource,
+          link.getType(),
+          false,
+          fetched ->
+              resolved.accept(
+                  fetched == null
+                      ? null
+                      : proxyFactory.create((EntityModel<?>) fetched, restOperations)));
+    }
+
+    return true;
+  }
+
+  private <F> F resolveSingle(URI associationResource, Class<F> linkedEntityType) {
+    EntityModel<F> linkedResource =
+        restOperations.getResource(associationResource, linkedEntityType);
+
+    if (linkedResource == null) {
+      return null;
+    }
+
+    return proxyFactory.create(linkedResource, restOperations);
+  }
+
+  private <F> Collection<F> resolveCollection(
+      CollectionModel<EntityModel<F>> resources, LinkDescriptor link, Supplier<?> original) {
+    @SuppressWarnings("unchecked")
+    Collection<F> collection = original == null ? null : (Collection<F>) original.get();
+
+    if (collection == null) {
+      collection = createCollection(link);
+    } else {
+      collection.clear();
+    }
+
+    for (EntityModel<F> fResource : resources) {
+      collection.add(proxyFactory.create(fResource, restOperations));
+    }
+
+    return collection;
+  }
+
+  private <F> Collection<F> createCollection(LinkDescriptor link) {
+    return propertyValueFactory.createCollection(link.getType());
+  }
+}
@@ -1,34 +1,89 @@
 package uk.co.blackpepper.bowman;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 import javassist.util.proxy.MethodFilter;
 import javassist.util.proxy.MethodHandler;
 
+/**
+ * Dispatches each intercepted method to the first handler that supports it. Which handler that is
+ * gets decided once per method and remembered in a {@link DispatchTable}, which chains of the same
+ * handler types over the same entity type share.
+ */
 class MethodHandlerChain implements MethodHandler, MethodFilter {
 
-  private List<ConditionalMethodHandler> delegateHandlers;
+  /** The index of the handler for each method seen so far, or {@link #UNHANDLED}. */
+  static final class DispatchTable {
+
+    private static final int UNHANDLED = -1;
+
+    private final ConcurrentMap<Method, Integer> handlerIndexes = new ConcurrentHashMap<>();
+  }
+
+  private final ConditionalMethodHandler[] delegateHandlers;
+
+  private final DispatchTable dispatchTable;
 
   MethodHandlerChain(List<ConditionalMethodHandler> delegateHandlers) {
-    this.delegateHandlers = new ArrayList<>(delegateHandlers);
+    this(delegateHandlers, new DispatchTable());
+  }
+
+  MethodHandlerChain(List<ConditionalMethodHandler> delegateHandlers, DispatchTable dispatchTable) {
+    this.delegateHandlers = delegateHandlers.toArray(new ConditionalMethodHandler[0]);
+    this.dispatchTable = dispatchTable;
+  }
+
+  /**
+   * Identifies which methods a chain of the given handlers handles: the handlers' {@link
+   * ConditionalMethodHandler#supports} depend on the method and the content type alone, so chains
+   * of the same handler types filter and dispatch a proxied type identically.
+   *
+   * @param delegateHandlers the handlers of a chain
+   * @return the handler types, in order
+   */
+  static List<Class<?>> getFilterKey(List<ConditionalMethodHandler> delegateHandlers) {
+    return delegateHandlers.stream().map(Object::getClass).collect(Collectors.toList());
   }
 
   @Override
   public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args)
       throws Throwable {
-    for (ConditionalMethodHandler handler : delegateHandlers) {
-      if (handler.supports(thisMethod)) {
-        return handler.invoke(self, thisMethod, proceed, args);
-      }
+    int index = getHandlerIndex(thisMethod);
+
+    if (index == DispatchTable.UNHANDLED) {
+      throw new IllegalStateException(
+          String.format("invoke called for non-handled method %s", thisMethod));
     }
 
-    throw new IllegalStateException(
-        String.format("invoke called for non-handled method %s", thisMethod));
+    return delegateHandlers[index].invoke(self, thisMethod, proceed, args);
   }
 
   @Override
   public boolean isHandled(Method method) {
-    return delegateHandlers.stream().anyMatch(h -> h.supports(method));
+    return getHandlerIndex(method) != DispatchTable.UNHANDLED;
+  }
+
+  private int getHandlerIndex(Method method) {
+    Integer index = dispatchTable.handlerIndexes.get(method);
+
+    if (index == null) {
+      index = findHandlerIndex(method);
+      dispatchTable.handlerIndexes.putIfAbsent(method, index);
+    }
+
+    return index;
+  }
+
+  private int findHandlerIndex(Method method) {
+    for (int index = 0; index < delegateHandlers.length; index++) {
+      if (delegateHandlers[index].supports(method)) {
+        return index;
+      }
+    }
+
+    return DispatchTable.UNHANDLED;
   }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+
+/**
+ * Iterates over every entity of a paged collection resource, following its HAL <code>next</code>
+ * links one page at a time. Created by {@link Client#iterate}.
+ *
+ * <p>At most the current page, and the next one when prefetching, are held in memory. With a
+ * prefetch executor the next page is requested as soon as the current one arrives, so that it
+ * downloads while the current page is consumed. {@link #close() Closing} the iterator stops it
+ * early and discards a page still being prefetched.
+ *
+ * @param <T> the entity type
+ */
+public class PageIterator<T> implements Iterator<T>, AutoCloseable {
+
+  private final Function<URI, CollectionModel<EntityModel<T>>> pageFetcher;
+
+  private final Function<EntityModel<T>, T> proxyFactory;
+
+  private final Executor prefetchExecutor;
+
+  private Iterator<EntityModel<T>> page = Collections.emptyIterator();
+
+  private URI next;
+
+  private CompletableFuture<CollectionModel<EntityModel<T>>> prefetched;
+
+  private int pages;
+
+  private boolean closed;
+
+  PageIterator(
+      URI first,
+      Function<URI, CollectionModel<EntityModel<T>>> pageFetcher,
+      Function<EntityModel<T>, T> proxyFactory,
+      Executor prefetchExecutor) {
+    this.next = first;
+    this.pageFetcher = pageFetcher;
+    this.proxyFactory = proxyFactory;
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!page.hasNext()) {
+      if (closed || next == null) {
+        return false;
+      }
+      advance();
+    }
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return proxyFactory.apply(page.next());
+  }
+
+  /** @return the number of pages retrieved so far */
+  public int getPages() {
+    return pages;
+  }
+
+  /** Stop iterating, discarding the current page and any page being prefetched. */
+  @Override
+  public void close() {
+    closed = true;
+    page = Collections.emptyIterator();
+    if (prefetched != null) {
+      prefetched.cancel(false);
+      prefetched = null;
+    }
+  }
+
+  private void advance() {
+    CollectionModel<EntityModel<T>> resources;
+    if (prefetched != null) {
+      resources = join(prefetched);
+      prefetched = null;
+    } else {
+      resources = pageFetcher.apply(next);
+    }
+    pages++;
+
+    if (resources == null) {
+      next = null;
+      return;
+    }
+
+    next =
+        resources
+            .getLink(IanaLinkRelations.NEXT)
+            .map(link -> URI.create(link.expand().getHref()))
+            .orElse(null);
+    page = resources.getContent().iterator();
+
+    if (prefetchExecutor != null && next != null) {
+      URI uri = next;
+      prefetched = CompletableFuture.supplyAsync(() -> pageFetcher.apply(uri), prefetchExecutor);
+    }
+  }
+
+  private static <R> R join(CompletableFuture<R> future) {
+    try {
+      return future.join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) exception.getCause();
+      }
+      throw exception;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+
+/** Creates the pooled HTTP clients described by a {@link Configuration}. */
+final class PooledHttpClients {
+
+  private PooledHttpClients() {}
+
+  static PoolingHttpClientConnectionManager createConnectionManager(Configuration configuration) {
+    PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager();
+    manager.setMaxTotal(configuration.getMaxConnections());
+    manager.setDefaultMaxPerRoute(configuration.getMaxConnectionsPerRoute());
+    return manager;
+  }
+
+  static CloseableHttpClient createHttpClient(
+      Configuration configuration, PoolingHttpClientConnectionManager manager) {
+    HttpClientBuilder builder =
+        HttpClientBuilder.create()
+            .useSystemProperties()
+            .setConnectionManager(manager)
+            .setKeepAliveStrategy(keepAliveStrategy(configuration))
+            .setDefaultRequestConfig(requestConfig(configuration));
+
+    if (configuration.getIdleConnectionEviction() > 0) {
+      builder
+          .evictExpiredConnections()
+          .evictIdleConnections(configuration.getIdleConnectionEviction(), TimeUnit.MILLISECONDS);
+    }
+
+    return builder.build();
+  }
+
+  static PoolingNHttpClientConnectionManager createAsyncConnectionManager(
+      Configuration configuration) {
+    IOReactorConfig.Builder reactorConfig = IOReactorConfig.custom();
+    if (configuration.getConnectTimeout() >= 0) {
+      reactorConfig.setConnectTimeout(configuration.getConnectTimeout());
+    }
+    if (configuration.getSocketTimeout() >= 0) {
+      reactorConfig.setSoTimeout(configuration.getSocketTimeout());
+    }
+
+    PoolingNHttpClientConnectionManager manager;
+    try {
+      manager =
+          new PoolingNHttpClientConnectionManager(
+              new DefaultConnectingIOReactor(reactorConfig.build()));
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+    manager.setMaxTotal(configuration.getMaxConnections());
+    manager.setDefaultMaxPerRoute(configuration.getMaxConnectionsPerRoute());
+    return manager;
+  }
+
+  static HttpAsyncClientBuilder createAsyncClientBuilder(
+      Configuration configuration, PoolingNHttpClientConnectionManager manager) {
+    return HttpAsyncClientBuilder.create()
+        .setConnectionManager(manager)
+        .setKeepAliveStrategy(keepAliveStrategy(configuration))
+        .setDefaultRequestConfig(requestConfig(configuration));
+  }
+
+  private static RequestConfig requestConfig(Configuration configuration) {
+    return RequestConfig.custom()
+        .setConnectTimeout(configuration.getConnectTimeout())
+        .setSocketTimeout(configuration.getSocketTimeout())
+        .build();
+  }
+
+  /** Honours a shorter server Keep-Alive timeout, but never keeps connections longer than ours. */
+  private static ConnectionKeepAliveStrategy keepAliveStrategy(Configuration configuration) {
+    long keepAlive = configuration.getKeepAlive();
+    if (keepAlive <= 0) {
+      return DefaultConnectionKeepAliveStrategy.INSTANCE;
+    }
+
+    return (response, context) -> {
+      long server =
+          DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+      return server > 0 && server < keepAlive ? server : keepAlive;
+    };
+  }
+}
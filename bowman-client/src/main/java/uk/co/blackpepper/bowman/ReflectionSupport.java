@@ -15,8 +15,12 @@
  */
 package uk.co.blackpepper.bowman;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
 import java.net.URI;
 import org.datrunk.naked.entities.bowman.annotation.ResourceId;
 import org.springframework.util.ReflectionUtils;
@@ -25,33 +29,125 @@ final class ReflectionSupport {
 
   private static final Class<ResourceId> ID_ACCESSOR_ANNOTATION = ResourceId.class;
 
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private static final MethodType SETTER_TYPE =
+      MethodType.methodType(void.class, Object.class, Object.class);
+
+  /** The id accessor of a class and the field behind it, looked up once per class. */
+  private static final class IdAccessors {
+
+    private final Class<?> clazz;
+
+    private final Method accessor;
+
+    private final MethodHandle getter;
+
+    private volatile MethodHandle setter;
+
+    IdAccessors(Class<?> clazz) {
+      this.clazz = clazz;
+      this.accessor = findIdAccessor(clazz);
+      this.getter = accessor == null ? null : unreflectGetter(accessor);
+    }
+
+    MethodHandle getGetter() {
+      if (getter == null) {
+        throw noIdAccessor(clazz);
+      }
+      return getter;
+    }
+
+    MethodHandle getSetter() {
+      MethodHandle result = setter;
+      if (result == null) {
+        result = unreflectSetter(clazz, getIdField());
+        setter = result;
+      }
+      return result;
+    }
+
+    private Field getIdField() {
+      if (accessor == null) {
+        throw noIdAccessor(clazz);
+      }
+
+      String name = HalSupport.toLinkName(accessor.getName());
+      Field field = ReflectionUtils.findField(clazz, name);
+      if (field == null) {
+        throw new IllegalArgumentException(
+            String.format("No field %s found for %s", name, clazz.getName()));
+      }
+      return field;
+    }
+  }
+
+  private static final ClassValue<IdAccessors> ID_ACCESSORS =
+      new ClassValue<IdAccessors>() {
+        @Override
+        protected IdAccessors computeValue(Class<?> clazz) {
+          return new IdAccessors(clazz);
+        }
+      };
+
   private ReflectionSupport() {}
 
   public static URI getId(Object object) {
-    Method accessor = getIdAccessor(object.getClass());
-    return (URI) ReflectionUtils.invokeMethod(accessor, object);
+    MethodHandle getter = ID_ACCESSORS.get(object.getClass()).getGetter();
+    try {
+      return (URI) (Object) getter.invokeExact(object);
+    } catch (RuntimeException | Error exception) {
+      throw exception;
+    } catch (Throwable exception) {
+      throw new UndeclaredThrowableException(exception);
+    }
   }
 
   public static void setId(Object value, URI uri) {
-    Field idField = getIdField(value.getClass());
-    idField.setAccessible(true);
-    ReflectionUtils.setField(idField, value, uri);
+    MethodHandle setter = ID_ACCESSORS.get(value.getClass()).getSetter();
+    try {
+      setter.invokeExact(value, (Object) uri);
+    } catch (RuntimeException | Error exception) {
+      throw exception;
+    } catch (Throwable exception) {
+      throw new UndeclaredThrowableException(exception);
+    }
   }
 
-  private static Method getIdAccessor(Class<?> clazz) {
+  private static Method findIdAccessor(Class<?> clazz) {
     for (Method method : ReflectionUtils.getAllDeclaredMethods(clazz)) {
       if (method.getAnnotation(ID_ACCESSOR_ANNOTATION) != null) {
         return method;
       }
     }
 
-    throw new IllegalArgumentException(
-        String.format(
-            "No @%s found for %s", ID_ACCESSOR_ANNOTATION.getSimpleName(), clazz.getName()));
+    return null;
   }
 
-  private static Field getIdField(Class<?> clazz) {
-    Method idAccessor = getIdAccessor(clazz);
-    return ReflectionUtils.findField(clazz, HalSupport.toLinkName(idAccessor.getName()));
+  private static MethodHandle unreflectGetter(Method accessor) {
+    try {
+      ReflectionUtils.makeAccessible(accessor);
+      return LOOKUP.unreflect(accessor).asType(GETTER_TYPE);
+    } catch (IllegalAccessException exception) {
+      throw new IllegalStateException("Couldn't access " + accessor, exception);
+    }
+  }
+
+  private static MethodHandle unreflectSetter(Class<?> clazz, Field field) {
+    try {
+      field.setAccessible(true);
+      return LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+    } catch (IllegalAccessException exception) {
+      throw new IllegalStateException(
+          String.format("Couldn't set %s on %s", field.getName(), clazz.getName()), exception);
+    }
+  }
+
+  private static IllegalArgumentException noIdAccessor(Class<?> clazz) {
+    return new IllegalArgumentException(
+        String.format(
+            "No @%s found for %s", ID_ACCESSOR_ANNOTATION.getSimpleName(), clazz.getName()));
   }
 }
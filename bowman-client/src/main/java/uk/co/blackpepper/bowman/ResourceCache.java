@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.net.URI;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Client-side cache of single resources, keyed by URI. Enabled with {@link
+ * Configuration.Builder#setResourceCacheMaximumSize(long)}.
+ *
+ * <p>The raw response document is cached rather than the entity, so every read still builds a fresh
+ * proxy. Concurrent reads of a URI that is not cached share a single request. Resources that are
+ * not found are not cached.
+ *
+ * <p>A resource is invalidated when it is PUT, PATCHed or DELETEd through the same {@link
+ * RestOperations}; changes made by anyone else are only seen once the entry expires.
+ */
+public class ResourceCache {
+
+  private static final class NotFound extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    NotFound() {
+      super(null, null, false, false);
+    }
+  }
+
+  private static final NotFound NOT_FOUND = new NotFound();
+
+  private final Cache<URI, ObjectNode> cache;
+
+  /**
+   * @param maximumSize the maximum number of cached resources
+   * @param expireAfterWrite how long in milliseconds a resource is cached, or 0 for no limit
+   */
+  public ResourceCache(long maximumSize, long expireAfterWrite) {
+    CacheBuilder<Object, Object> builder =
+        CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats();
+    if (expireAfterWrite > 0) {
+      builder.expireAfterWrite(expireAfterWrite, TimeUnit.MILLISECONDS);
+    }
+    this.cache = builder.build();
+  }
+
+  /**
+   * Get the cached document for a URI, loading it if necessary.
+   *
+   * @param uri the resource URI
+   * @param loader fetches the document, returning <code>null</code> if it is not found
+   * @return the document, or <code>null</code> if it is not found
+   */
+  ObjectNode get(URI uri, Supplier<ObjectNode> loader) {
+    try {
+      return cache.get(
+          uri,
+          () -> {
+            ObjectNode node = loader.get();
+            if (node == null) {
+              throw NOT_FOUND;
+            }
+            return node;
+          });
+    } catch (UncheckedExecutionException exception) {
+      if (exception.getCause() == NOT_FOUND) {
+        return null;
+      }
+      throw (RuntimeException) exception.getCause();
+    } catch (ExecutionException exception) {
+      throw new IllegalStateException(exception.getCause());
+    }
+  }
+
+  ObjectNode getIfPresent(URI uri) {
+    return cache.getIfPresent(uri);
+  }
+
+  void put(URI uri, ObjectNode node) {
+    cache.put(uri, node);
+  }
+
+  /**
+   * Remove a resource from the cache.
+   *
+   * @param uri the resource URI
+   */
+  public void invalidate(URI uri) {
+    if (uri != null) {
+      cache.invalidate(uri);
+    }
+  }
+
+  /** Remove every resource from the cache. */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /** @return the number of cached resources */
+  public long size() {
+    return cache.size();
+  }
+
+  /** @return hit, miss, load and eviction counts since the cache was created */
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  Cache<URI, ObjectNode> getCache() {
+    return cache;
+  }
+}
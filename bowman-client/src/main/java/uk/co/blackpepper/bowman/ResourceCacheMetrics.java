@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+/**
+ * Micrometer binder publishing the standard <code>cache.*</code> metrics (gets tagged hit and miss,
+ * puts, evictions and size) of a {@link ResourceCache}.
+ *
+ * <p>Requires <code>micrometer-core</code>, an optional dependency of bowman.
+ */
+public class ResourceCacheMetrics implements MeterBinder {
+
+  private final ResourceCache cache;
+
+  private final String name;
+
+  private final Iterable<Tag> tags;
+
+  public ResourceCacheMetrics(ResourceCache cache, String name) {
+    this(cache, name, Tags.empty());
+  }
+
+  public ResourceCacheMetrics(ResourceCache cache, String name, Iterable<Tag> tags) {
+    this.cache = cache;
+    this.name = name;
+    this.tags = tags;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    new GuavaCacheMetrics<>(cache.getCache(), name, tags).bindTo(registry);
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.objenesis.SpringObjenesis;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Copies bound resources without going back to their documents, so that a remembered resource can
+ * be handed out more than once without callers sharing an entity.
+ *
+ * <p>Entities are copied field by field. Collections, maps and arrays held directly by an entity
+ * are copied too, since proxies fill linked collections in place; any other object an entity refers
+ * to, such as an inline association, is shared.
+ */
+final class ResourceCopier {
+
+  private static final SpringObjenesis OBJENESIS = new SpringObjenesis();
+
+  private static final ClassValue<Field[]> FIELDS =
+      new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+          List<Field> fields = new ArrayList<>();
+          for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+              if (!Modifier.isStatic(field.getModifiers())) {
+                ReflectionUtils.makeAccessible(field);
+                fields.add(field);
+              }
+            }
+          }
+          return fields.toArray(new Field[0]);
+        }
+      };
+
+  private ResourceCopier() {}
+
+  /**
+   * @param resource an {@link EntityModel}, {@link CollectionModel} or {@link PagedModel}
+   * @return a copy of the resource whose entities are copies of the resource's entities
+   */
+  @SuppressWarnings("unchecked")
+  static <R> R copy(R resource) {
+    if (resource instanceof EntityModel) {
+      EntityModel<?> model = (EntityModel<?>) resource;
+      return (R) EntityModel.of(copyEntity(model.getContent()), model.getLinks());
+    }
+
+    if (resource instanceof CollectionModel) {
+      CollectionModel<?> model = (CollectionModel<?>) resource;
+      List<Object> content = new ArrayList<>(model.getContent().size());
+      for (Object element : model.getContent()) {
+        content.add(copy(element));
+      }
+
+      if (resource instanceof PagedModel) {
+        return (R)
+            PagedModel.of(content, ((PagedModel<?>) resource).getMetadata(), model.getLinks());
+      }
+
+      return (R) CollectionModel.of(content, model.getLinks());
+    }
+
+    return resource;
+  }
+
+  private static Object copyEntity(Object entity) {
+    if (entity == null || entity.getClass().getName().startsWith("java.")) {
+      return copyValue(entity);
+    }
+
+    Object copy = OBJENESIS.newInstance(entity.getClass());
+    for (Field field : FIELDS.get(entity.getClass())) {
+      try {
+        field.set(copy, copyValue(field.get(entity)));
+      } catch (IllegalAccessException exception) {
+        throw new ClientProxyException("couldn't copy resource", exception);
+      }
+    }
+
+    return copy;
+  }
+
+  private static Object copyValue(Object value) {
+    if (value == null) {
+      return null;
+    }
+
+    if (value.getClass().isArray()) {
+      int length = Array.getLength(value);
+      Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+      System.arraycopy(value, 0, copy, 0, length);
+      return copy;
+    }
+
+    if ((value instanceof Collection || value instanceof Map) && value instanceof Cloneable) {
+      Method clone = ReflectionUtils.findMethod(value.getClass(), "clone");
+      if (clone != null
+          && Modifier.isPublic(clone.getModifiers())
+          && Modifier.isPublic(clone.getDeclaringClass().getModifiers())) {
+        return ReflectionUtils.invokeMethod(clone, value);
+      }
+    }
+
+    return value;
+  }
+}
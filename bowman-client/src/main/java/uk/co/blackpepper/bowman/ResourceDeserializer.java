@@ -1,25 +1,50 @@
 package uk.co.blackpepper.bowman;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import java.io.IOException;
 import java.lang.reflect.Modifier;
 import javassist.util.proxy.ProxyFactory;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Links;
-import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
 
+/**
+ * Reads a HAL resource into an {@link EntityModel} in a single pass: <code>_links</code> is parsed
+ * as it goes by, and the remaining fields are buffered as tokens and then bound to the content type
+ * that the links resolve to.
+ */
 class ResourceDeserializer extends StdDeserializer<EntityModel<?>>
     implements ContextualDeserializer {
 
   private static final long serialVersionUID = -7290132544264448620L;
 
+  private static final String LINKS_FIELD = "_links";
+
+  private static final Jackson2HalModule.HalLinkListDeserializer LINKS_DESERIALIZER =
+      new Jackson2HalModule.HalLinkListDeserializer();
+
+  /** Javassist subclasses of the interface and abstract types that content is bound to. */
+  private static final ClassValue<Class<?>> DESERIALIZATION_TYPES =
+      new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(Class<?> type) {
+          ProxyFactory factory = new ProxyFactory();
+          if (type.isInterface()) {
+            factory.setInterfaces(new Class[] {type});
+          } else {
+            factory.setSuperclass(type);
+          }
+          return factory.createClass();
+        }
+      };
+
   private final TypeResolver typeResolver;
 
   private final Configuration configuration;
@@ -40,15 +65,39 @@ class ResourceDeserializer extends StdDeserializer<EntityModel<?>>
 
   @Override
   public EntityModel<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-    ObjectNode node = p.readValueAs(ObjectNode.class);
+    JsonToken token = p.currentToken();
+    if (token == JsonToken.START_OBJECT) {
+      token = p.nextToken();
+    } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+      return (EntityModel<?>) ctxt.handleUnexpectedToken(EntityModel.class, p);
+    }
 
-    ObjectMapper mapper = (ObjectMapper) p.getCodec();
+    Links links = Links.NONE;
+    TokenBuffer content = new TokenBuffer(p, ctxt);
+    content.writeStartObject();
+
+    for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+      String name = p.getCurrentName();
+      p.nextToken();
+
+      if (LINKS_FIELD.equals(name)) {
+        links =
+            p.currentToken() == JsonToken.VALUE_NULL
+                ? Links.NONE
+                : Links.of(LINKS_DESERIALIZER.deserialize(p, ctxt));
+      } else {
+        content.writeFieldName(name);
+        content.copyCurrentStructure(p);
+      }
+    }
 
-    RepresentationModel resource = mapper.convertValue(node, RepresentationModel.class);
-    Links links = Links.of(resource.getLinks());
+    content.writeEndObject();
 
-    Object content = mapper.convertValue(node, getResourceDeserializationType(links));
-    return EntityModel.of(content, links);
+    try (JsonParser contentParser = content.asParser(p.getCodec())) {
+      contentParser.nextToken();
+      Object value = ctxt.readValue(contentParser, getResourceDeserializationType(links));
+      return EntityModel.of(value, links);
+    }
   }
 
   TypeResolver getTypeResolver() {
@@ -59,17 +108,12 @@ class ResourceDeserializer extends StdDeserializer<EntityModel<?>>
     return configuration;
   }
 
-  private Class<?> getResourceDeserializationType(Links links) {
+  Class<?> getResourceDeserializationType(Links links) {
     Class<?> resourceContentType = typeResolver.resolveType(handledType(), links, configuration);
 
-    if (resourceContentType.isInterface()) {
-      ProxyFactory factory = new ProxyFactory();
-      factory.setInterfaces(new Class[] {resourceContentType});
-      resourceContentType = factory.createClass();
-    } else if (Modifier.isAbstract(resourceContentType.getModifiers())) {
-      ProxyFactory factory = new ProxyFactory();
-      factory.setSuperclass(resourceContentType);
-      resourceContentType = factory.createClass();
+    if (resourceContentType.isInterface()
+        || Modifier.isAbstract(resourceContentType.getModifiers())) {
+      return DESERIALIZATION_TYPES.get(resourceContentType);
     }
 
     return resourceContentType;
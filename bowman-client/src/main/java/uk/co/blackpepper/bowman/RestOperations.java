@@ -18,11 +18,20 @@ package uk.co.blackpepper.bowman;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.Collections;
+import java.util.function.UnaryOperator;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
@@ -32,16 +41,100 @@ public class RestOperations {
 
   private final ObjectMapper objectMapper;
 
+  private final ResourceCache resourceCache;
+
+  private final RevalidationCache revalidationCache;
+
   public RestOperations(RestTemplate restTemplate, ObjectMapper objectMapper) {
+    this(restTemplate, objectMapper, null);
+  }
+
+  public RestOperations(
+      RestTemplate restTemplate, ObjectMapper objectMapper, ResourceCache resourceCache) {
+    this(restTemplate, objectMapper, resourceCache, null);
+  }
+
+  public RestOperations(
+      RestTemplate restTemplate,
+      ObjectMapper objectMapper,
+      ResourceCache resourceCache,
+      RevalidationCache revalidationCache) {
     this.restTemplate = restTemplate;
     this.objectMapper = objectMapper;
+    this.resourceCache = resourceCache;
+    this.revalidationCache = revalidationCache;
   }
 
   public <T> EntityModel<T> getResource(URI uri, Class<T> entityType) {
-    ObjectNode node;
+    ResolvableType targetType = ResolvableType.forClassWithGenerics(EntityModel.class, entityType);
+
+    if (resourceCache == null) {
+      return revalidationCache == null
+          ? getStreamed(uri, targetType, null)
+          : getRevalidated(uri, targetType.getType(), null, ResourceCopier::copy);
+    }
+
+    ObjectNode node =
+        resourceCache.get(
+            uri,
+            () ->
+                revalidationCache == null
+                    ? getResourceNode(uri)
+                    : getRevalidated(uri, ObjectNode.class, null, UnaryOperator.identity()));
+
+    if (node == null) {
+      return null;
+    }
+
+    return objectMapper.convertValue(node, objectMapper.constructType(targetType.getType()));
+  }
+
+  public <T> CollectionModel<EntityModel<T>> getResources(URI uri, Class<T> entityType) {
+    ResolvableType targetType =
+        ResolvableType.forClassWithGenerics(
+            CollectionModel.class,
+            ResolvableType.forClassWithGenerics(EntityModel.class, entityType));
+
+    return getCollection(uri, targetType, CollectionModel.wrap(Collections.<T>emptyList()));
+  }
 
+  /**
+   * GET a page of a paged collection resource, keeping its <code>page</code> metadata.
+   *
+   * @param uri the page URI
+   * @param entityType the entity type
+   * @param <T> the entity type
+   * @return the page, which has no metadata if the resource isn't paged
+   */
+  public <T> PagedModel<EntityModel<T>> getPagedResources(URI uri, Class<T> entityType) {
+    ResolvableType targetType =
+        ResolvableType.forClassWithGenerics(
+            PagedModel.class, ResolvableType.forClassWithGenerics(EntityModel.class, entityType));
+
+    return getCollection(uri, targetType, PagedModel.<EntityModel<T>>empty());
+  }
+
+  private <R> R getCollection(URI uri, ResolvableType targetType, R notFound) {
+    if (revalidationCache != null) {
+      return getRevalidated(uri, targetType.getType(), notFound, ResourceCopier::copy);
+    }
+
+    return getStreamed(uri, targetType, notFound);
+  }
+
+  /**
+   * GET a resource and bind it to the target type straight from the response body, without building
+   * an intermediate tree.
+   */
+  private <R> R getStreamed(URI uri, ResolvableType targetType, R notFound) {
+    ResponseEntity<R> response = exchange(uri, targetType.getType(), null);
+
+    return response == null ? notFound : response.getBody();
+  }
+
+  private ObjectNode getResourceNode(URI uri) {
     try {
-      node = restTemplate.getForObject(uri, ObjectNode.class);
+      return restTemplate.getForObject(uri, ObjectNode.class);
     } catch (HttpClientErrorException exception) {
       if (exception.getStatusCode() == HttpStatus.NOT_FOUND) {
         return null;
@@ -49,32 +142,69 @@ public class RestOperations {
 
       throw exception;
     }
+  }
 
-    JavaType targetType =
-        objectMapper.getTypeFactory().constructParametricType(EntityModel.class, entityType);
+  /**
+   * Read a resource with a conditional request if its validators are known. The response body is
+   * streamed as by {@link #getStreamed}; on <code>304 Not Modified</code> the remembered resource
+   * is copied instead, so that callers never share a resource.
+   *
+   * @param copier copies the remembered resource for each caller
+   */
+  private <R> R getRevalidated(URI uri, Type targetType, R notFound, UnaryOperator<R> copier) {
+    RevalidationCache.Validated previous = revalidationCache.get(uri, targetType);
 
-    return objectMapper.convertValue(node, targetType);
-  }
+    HttpHeaders headers = new HttpHeaders();
+    if (previous != null) {
+      if (previous.getEtag() != null) {
+        headers.setIfNoneMatch(previous.getEtag());
+      }
+      if (previous.getLastModified() >= 0) {
+        headers.setIfModifiedSince(previous.getLastModified());
+      }
+    }
 
-  public <T> CollectionModel<EntityModel<T>> getResources(URI uri, Class<T> entityType) {
-    ObjectNode node;
+    ResponseEntity<R> response = exchange(uri, targetType, new HttpEntity<>(headers));
+
+    if (response != null
+        && response.getStatusCode() == HttpStatus.NOT_MODIFIED
+        && previous != null) {
+      @SuppressWarnings("unchecked")
+      R resource = (R) previous.getResource();
+      return copier.apply(resource);
+    }
 
+    R resource = response == null ? null : response.getBody();
+    if (resource == null) {
+      revalidationCache.invalidate(uri);
+      return notFound;
+    }
+
+    String etag = response.getHeaders().getETag();
+    long lastModified = response.getHeaders().getLastModified();
+    if (etag != null || lastModified >= 0) {
+      revalidationCache.put(
+          uri,
+          new RevalidationCache.Validated(etag, lastModified, targetType, copier.apply(resource)));
+    } else {
+      revalidationCache.invalidate(uri);
+    }
+
+    return resource;
+  }
+
+  /** @return the response, or <code>null</code> if the resource is not found */
+  private <R> ResponseEntity<R> exchange(URI uri, Type targetType, HttpEntity<?> request) {
     try {
-      node = restTemplate.getForObject(uri, ObjectNode.class);
+      return restTemplate.exchange(
+          uri, HttpMethod.GET, request, ParameterizedTypeReference.<R>forType(targetType));
     } catch (HttpClientErrorException exception) {
       if (exception.getStatusCode() == HttpStatus.NOT_FOUND) {
-        return CollectionModel.wrap(Collections.<T>emptyList());
+        return null;
       }
 
       throw exception;
     }
-
-    JavaType innerType =
-        objectMapper.getTypeFactory().constructParametricType(EntityModel.class, entityType);
-    JavaType targetType =
-        objectMapper.getTypeFactory().constructParametricType(CollectionModel.class, innerType);
-
-    return objectMapper.convertValue(node, targetType);
   }
 
   public URI postForId(URI uri, Object object) {
@@ -82,17 +212,29 @@ public class RestOperations {
   }
 
   public void put(URI uri, Object object) {
-    restTemplate.put(uri, object);
+    try {
+      restTemplate.put(uri, object);
+    } finally {
+      invalidate(uri);
+    }
   }
 
   public void delete(URI uri) {
-    restTemplate.delete(uri);
+    try {
+      restTemplate.delete(uri);
+    } finally {
+      invalidate(uri);
+    }
   }
 
   public <T> EntityModel<T> patchForResource(URI uri, Object patch, Class<T> entityType) {
     ObjectNode node;
 
-    node = restTemplate.patchForObject(uri, patch, ObjectNode.class);
+    try {
+      node = restTemplate.patchForObject(uri, patch, ObjectNode.class);
+    } finally {
+      invalidate(uri);
+    }
     if (node == null) {
       return null;
     }
@@ -110,4 +252,28 @@ public class RestOperations {
   public ObjectMapper getObjectMapper() {
     return objectMapper;
   }
+
+  /** @return the resource cache, or <code>null</code> if caching is disabled */
+  public ResourceCache getResourceCache() {
+    return resourceCache;
+  }
+
+  /** @return the revalidation cache, or <code>null</code> if conditional requests are disabled */
+  public RevalidationCache getRevalidationCache() {
+    return revalidationCache;
+  }
+
+  /**
+   * Drop any cached copy of the resource at the given URI, so that the next read fetches it.
+   *
+   * @param uri the resource URI
+   */
+  public void invalidate(URI uri) {
+    if (resourceCache != null) {
+      resourceCache.invalidate(uri);
+    }
+    if (revalidationCache != null) {
+      revalidationCache.invalidate(uri);
+    }
+  }
 }
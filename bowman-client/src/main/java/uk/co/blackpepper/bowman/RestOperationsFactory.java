@@ -26,12 +26,25 @@ import com.fasterxml.jackson.databind.cfg.MapperConfig;
 import com.fasterxml.jackson.databind.introspect.Annotated;
 import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
 import com.fasterxml.jackson.databind.jsontype.TypeResolverBuilder;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.ConnPoolControl;
+import org.datrunk.naked.formats.JacksonBinaryHttpMessageConverter;
 import org.springframework.beans.BeanUtils;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-public class RestOperationsFactory {
+/**
+ * Creates the {@link RestOperations} used by clients. Unless the configuration supplies its own
+ * <code>ClientHttpRequestFactory</code>, the created operations share a pooled HTTP client that
+ * this factory creates on first use and shuts down when it is closed.
+ */
+public class RestOperationsFactory implements AutoCloseable {
 
   private static class RestOperationsInstantiation extends HandlerInstantiator {
 
@@ -41,13 +54,13 @@ public class RestOperationsFactory {
 
     RestOperationsInstantiation(
         Configuration configuration,
+        ClientHttpRequestFactory requestFactory,
         ClientProxyFactory proxyFactory,
         ObjectMapperFactory objectMapperFactory,
         RestTemplateFactory restTemplateFactory) {
 
       ObjectMapper objectMapper = objectMapperFactory.create(this);
-      RestTemplate restTemplate =
-          restTemplateFactory.create(configuration.getClientHttpRequestFactory(), objectMapper);
+      RestTemplate restTemplate = restTemplateFactory.create(requestFactory, objectMapper);
 
       if (configuration.getRestTemplateConfigurer() != null) {
         configuration.getRestTemplateConfigurer().configure(restTemplate);
@@ -57,7 +70,37 @@ public class RestOperationsFactory {
         configuration.getObjectMapperConfigurer().configure(objectMapper);
       }
 
-      restOperations = new RestOperations(restTemplate, objectMapper);
+      if (configuration.getWireFormat() != WireFormat.JSON) {
+        WireFormat wireFormat = configuration.getWireFormat();
+        restTemplate
+            .getMessageConverters()
+            .add(
+                0,
+                new JacksonBinaryHttpMessageConverter(
+                    objectMapper, wireFormat.createFactory(), wireFormat.getMediaType()));
+        restTemplate.getInterceptors().add(new WireFormatClientHttpRequestInterceptor(wireFormat));
+      }
+
+      if (configuration.isRequestCompression()) {
+        restTemplate
+            .getInterceptors()
+            .add(
+                new GzipClientHttpRequestInterceptor(
+                    configuration.getRequestCompressionThreshold()));
+      }
+
+      ResourceCache resourceCache =
+          configuration.getResourceCacheMaximumSize() > 0
+              ? new ResourceCache(
+                  configuration.getResourceCacheMaximumSize(),
+                  configuration.getResourceCacheExpireAfterWrite())
+              : null;
+      RevalidationCache revalidationCache =
+          configuration.getRevalidationCacheMaximumSize() > 0
+              ? new RevalidationCache(configuration.getRevalidationCacheMaximumSize())
+              : null;
+      restOperations =
+          new RestOperations(restTemplate, objectMapper, resourceCache, revalidationCache);
 
       handlerMap.put(
           ResourceDeserializer.class,
@@ -116,6 +159,12 @@ public class RestOperationsFactory {
 
   private final RestTemplateFactory restTemplateFactory;
 
+  private PoolingHttpClientConnectionManager connectionPool;
+
+  private CloseableHttpClient httpClient;
+
+  private ClientHttpRequestFactory pooledRequestFactory;
+
   RestOperationsFactory(Configuration configuration, ClientProxyFactory proxyFactory) {
     this(
         configuration,
@@ -137,7 +186,46 @@ public class RestOperationsFactory {
 
   public RestOperations create() {
     return new RestOperationsInstantiation(
-            configuration, proxyFactory, objectMapperFactory, restTemplateFactory)
+            configuration,
+            getClientHttpRequestFactory(),
+            proxyFactory,
+            objectMapperFactory,
+            restTemplateFactory)
         .getRestOperations();
   }
+
+  /**
+   * Get the connection pool behind the pooled <code>ClientHttpRequestFactory</code>, for
+   * monitoring.
+   *
+   * @return the pool, or <code>null</code> if no operations have been created yet or a custom
+   *     <code>ClientHttpRequestFactory</code> was configured.
+   * @see ConnectionPoolMetrics
+   */
+  public synchronized ConnPoolControl<HttpRoute> getConnectionPool() {
+    return connectionPool;
+  }
+
+  /** Shut down the pooled HTTP client, if one was created. */
+  @Override
+  public synchronized void close() throws IOException {
+    if (httpClient != null) {
+      httpClient.close();
+      httpClient = null;
+      connectionPool = null;
+      pooledRequestFactory = null;
+    }
+  }
+
+  private synchronized ClientHttpRequestFactory getClientHttpRequestFactory() {
+    if (configuration.getClientHttpRequestFactory() != null) {
+      return configuration.getClientHttpRequestFactory();
+    }
+    if (pooledRequestFactory == null) {
+      connectionPool = PooledHttpClients.createConnectionManager(configuration);
+      httpClient = PooledHttpClients.createHttpClient(configuration, connectionPool);
+      pooledRequestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+    return pooledRequestFactory;
+  }
 }
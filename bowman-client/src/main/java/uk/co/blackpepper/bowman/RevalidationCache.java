@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.lang.reflect.Type;
+import java.net.URI;
+
+/**
+ * Remembers the <code>ETag</code> and <code>Last-Modified</code> validators of resources read
+ * through {@link RestOperations}, together with the resource they were read into, so that rereading
+ * an unchanged resource costs a <code>304 Not Modified</code> instead of a full download. Enabled
+ * with {@link Configuration.Builder#setRevalidationCacheMaximumSize(long)}.
+ *
+ * <p>On a <code>304</code> a copy of the remembered resource is returned without deserializing
+ * anything, so each caller gets its own entity and local changes made to one read never show up in
+ * another. Responses without validators are not remembered.
+ */
+public class RevalidationCache {
+
+  static final class Validated {
+
+    private final String etag;
+
+    private final long lastModified;
+
+    private final Type type;
+
+    private final Object resource;
+
+    Validated(String etag, long lastModified, Type type, Object resource) {
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.type = type;
+      this.resource = resource;
+    }
+
+    String getEtag() {
+      return etag;
+    }
+
+    long getLastModified() {
+      return lastModified;
+    }
+
+    Object getResource() {
+      return resource;
+    }
+  }
+
+  private final Cache<URI, Validated> cache;
+
+  /** @param maximumSize the maximum number of remembered resources */
+  public RevalidationCache(long maximumSize) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+  }
+
+  /**
+   * Get the remembered resource for a URI.
+   *
+   * @param uri the resource URI
+   * @param type the type the resource is read into
+   * @return the validators and resource, or <code>null</code> if none were remembered for that type
+   */
+  Validated get(URI uri, Type type) {
+    Validated validated = cache.getIfPresent(uri);
+    return validated == null || !validated.type.equals(type) ? null : validated;
+  }
+
+  void put(URI uri, Validated validated) {
+    cache.put(uri, validated);
+  }
+
+  /**
+   * Forget a resource, so that the next read fetches it unconditionally.
+   *
+   * @param uri the resource URI
+   */
+  public void invalidate(URI uri) {
+    if (uri != null) {
+      cache.invalidate(uri);
+    }
+  }
+
+  /** Forget every resource. */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /** @return the number of remembered resources */
+  public long size() {
+    return cache.size();
+  }
+}
@@ -1,7 +1,12 @@
 package uk.co.blackpepper.bowman;
 
 import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.datrunk.naked.entities.bowman.annotation.RemoteResource;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.hateoas.IanaLinkRelations;
@@ -11,8 +16,74 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 class SelfLinkTypeResolver implements TypeResolver {
 
+  /**
+   * The base URIs of the subtypes' resources under one base URI, keyed by the prefix that a self
+   * link of each resource starts with. A self link is matched by looking up its own prefixes that
+   * end with a <code>/</code> and are as long as some subtype's prefix, instead of comparing it
+   * with every subtype.
+   */
+  private static final class SubtypePrefixes {
+
+    private final Map<String, Integer> subtypeIndexesByPrefix = new HashMap<>();
+
+    private final int[] prefixLengths;
+
+    /** The index of the first subtype without {@link RemoteResource}, or -1 if there is none. */
+    private final int unannotatedSubtypeIndex;
+
+    SubtypePrefixes(Class<?>[] subtypes, URI baseUri) {
+      TreeSet<Integer> lengths = new TreeSet<>();
+      int unannotatedIndex = -1;
+
+      for (int index = 0; index < subtypes.length; index++) {
+        RemoteResource candidateClassInfo =
+            AnnotationUtils.findAnnotation(subtypes[index], RemoteResource.class);
+
+        if (candidateClassInfo == null) {
+          if (unannotatedIndex < 0) {
+            unannotatedIndex = index;
+          }
+          continue;
+        }
+
+        String prefix =
+            UriComponentsBuilder.fromUri(baseUri).path(candidateClassInfo.value()).toUriString()
+                + "/";
+        subtypeIndexesByPrefix.putIfAbsent(prefix, index);
+        lengths.add(prefix.length());
+      }
+
+      this.prefixLengths = lengths.stream().mapToInt(Integer::intValue).toArray();
+      this.unannotatedSubtypeIndex = unannotatedIndex;
+    }
+
+    /** @return the index of the first subtype whose resources contain the link, or -1 */
+    int findSubtypeIndex(String selfLinkUriString) {
+      int result = -1;
+
+      for (int length : prefixLengths) {
+        if (length > selfLinkUriString.length()) {
+          break;
+        }
+        if (selfLinkUriString.charAt(length - 1) != '/') {
+          continue;
+        }
+
+        Integer index = subtypeIndexesByPrefix.get(selfLinkUriString.substring(0, length));
+        if (index != null && (result < 0 || index < result)) {
+          result = index;
+        }
+      }
+
+      return result;
+    }
+  }
+
   private Class<?>[] subtypes;
 
+  private final ConcurrentMap<URI, SubtypePrefixes> subtypePrefixesByBaseUri =
+      new ConcurrentHashMap<>();
+
   SelfLinkTypeResolver(Class<?>[] subtypes) {
     this.subtypes = subtypes;
   }
@@ -27,47 +98,62 @@ class SelfLinkTypeResolver implements TypeResolver {
       return declaredType;
     }
 
-    for (Class<?> candidateClass : subtypes) {
-      RemoteResource candidateClassInfo =
-          AnnotationUtils.findAnnotation(candidateClass, RemoteResource.class);
-
-      if (candidateClassInfo == null) {
-        throw new ClientProxyException(
-            String.format(
-                "%s is not annotated with @%s",
-                candidateClass.getName(), RemoteResource.class.getSimpleName()));
-      }
-
-      String resourcePath = candidateClassInfo.value();
+    SubtypePrefixes prefixes = getSubtypePrefixes(configuration.getBaseUri());
+
+    // Subtypes are tried in order, so a subtype without @RemoteResource fails the resolution
+    // unless an earlier subtype matches
+    int matchIndex =
+        prefixes.unannotatedSubtypeIndex == 0
+            ? -1
+            : prefixes.findSubtypeIndex(
+                toAbsoluteUriString(self.get().getHref(), configuration.getBaseUri()));
+
+    if (prefixes.unannotatedSubtypeIndex >= 0
+        && (matchIndex < 0 || prefixes.unannotatedSubtypeIndex < matchIndex)) {
+      throw new ClientProxyException(
+          String.format(
+              "%s is not annotated with @%s",
+              subtypes[prefixes.unannotatedSubtypeIndex].getName(),
+              RemoteResource.class.getSimpleName()));
+    }
 
-      String resourceBaseUriString =
-          UriComponentsBuilder.fromUri(configuration.getBaseUri()).path(resourcePath).toUriString();
+    if (matchIndex < 0) {
+      return declaredType;
+    }
 
-      String selfLinkUriString =
-          toAbsoluteUriString(self.get().getHref(), configuration.getBaseUri());
+    Class<?> candidateClass = subtypes[matchIndex];
 
-      if (selfLinkUriString.startsWith(resourceBaseUriString + "/")) {
-        if (!declaredType.isAssignableFrom(candidateClass)) {
-          throw new ClientProxyException(
-              String.format(
-                  "%s is not a subtype of %s", candidateClass.getName(), declaredType.getName()));
-        }
+    if (!declaredType.isAssignableFrom(candidateClass)) {
+      throw new ClientProxyException(
+          String.format(
+              "%s is not a subtype of %s", candidateClass.getName(), declaredType.getName()));
+    }
 
-        @SuppressWarnings("unchecked")
-        Class<? extends T> result = (Class<? extends T>) candidateClass;
+    @SuppressWarnings("unchecked")
+    Class<? extends T> result = (Class<? extends T>) candidateClass;
 
-        return result;
-      }
-    }
+    return result;
+  }
 
-    return declaredType;
+  private SubtypePrefixes getSubtypePrefixes(URI baseUri) {
+    return subtypePrefixesByBaseUri.computeIfAbsent(
+        baseUri, uri -> new SubtypePrefixes(subtypes, uri));
   }
 
   private static String toAbsoluteUriString(String uri, URI baseUri) {
-    if (UriComponentsBuilder.fromUriString(uri).build().getHost() != null) {
+    if (hasHost(uri)) {
       return uri;
     }
 
     return UriComponentsBuilder.fromUri(baseUri).path(uri).toUriString();
   }
+
+  private static boolean hasHost(String uri) {
+    // Absolute path references, the usual form of self links, are recognised without parsing
+    if (uri.startsWith("/") && !uri.startsWith("//")) {
+      return false;
+    }
+
+    return UriComponentsBuilder.fromUriString(uri).build().getHost() != null;
+  }
 }
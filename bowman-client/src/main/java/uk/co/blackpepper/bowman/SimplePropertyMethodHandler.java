@@ -6,11 +6,15 @@ import org.springframework.hateoas.EntityModel;
 
 class SimplePropertyMethodHandler<T> extends AbstractPropertyAwareMethodHandler {
 
-  private final T content;
+  private final EntityModel<T> resource;
 
   SimplePropertyMethodHandler(EntityModel<T> resource) {
-    super(resource.getContent().getClass());
-    this.content = resource.getContent();
+    this(resource, EntityTypeDescriptor.forType(resource.getContent().getClass()));
+  }
+
+  SimplePropertyMethodHandler(EntityModel<T> resource, EntityTypeDescriptor descriptor) {
+    super(descriptor);
+    this.resource = resource;
   }
 
   @Override
@@ -22,6 +26,6 @@ class SimplePropertyMethodHandler<T> extends AbstractPropertyAwareMethodHandler
   public Object invoke(Object self, Method method, Method proceed, Object[] args)
       throws InvocationTargetException, IllegalAccessException {
 
-    return method.invoke(content, args);
+    return method.invoke(resource.getContent(), args);
   }
 }
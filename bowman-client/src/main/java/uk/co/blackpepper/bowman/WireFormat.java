@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.function.Supplier;
+import org.datrunk.naked.formats.JacksonBinaryHttpMessageConverter;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+
+/**
+ * Encoding used for request and response bodies.
+ *
+ * <p>The binary formats carry the same HAL documents as {@link #JSON}, but are smaller and cheaper
+ * to parse and generate. The server must support the chosen format; responses fall back to JSON
+ * when it does not.
+ */
+public enum WireFormat {
+  /** HAL JSON, supported by every Spring Data REST server. */
+  JSON(MediaTypes.HAL_JSON, null),
+
+  /** Jackson's Smile binary JSON format. */
+  SMILE(JacksonBinaryHttpMessageConverter.SMILE, SmileFactory::new),
+
+  /** CBOR (RFC 8949). */
+  CBOR(JacksonBinaryHttpMessageConverter.CBOR, CBORFactory::new);
+
+  private final MediaType mediaType;
+
+  private final Supplier<JsonFactory> factory;
+
+  WireFormat(MediaType mediaType, Supplier<JsonFactory> factory) {
+    this.mediaType = mediaType;
+    this.factory = factory;
+  }
+
+  /**
+   * Get the media type sent in <code>Content-Type</code> and <code>Accept</code> headers for this
+   * format.
+   *
+   * @return the media type
+   */
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+
+  /**
+   * Create a Jackson factory for parsers and generators of this format.
+   *
+   * @return the factory, or <code>null</code> for {@link #JSON}, which uses the object mapper's own
+   */
+  public JsonFactory createFactory() {
+    return factory == null ? null : factory.get();
+  }
+}
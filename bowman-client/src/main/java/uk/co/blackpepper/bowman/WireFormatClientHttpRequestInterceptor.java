@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Black Pepper Software
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.blackpepper.bowman;
+
+import static java.util.Arrays.asList;
+
+import java.io.IOException;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+
+/**
+ * Negotiates a binary {@link WireFormat}: request bodies are labelled with the format's media type,
+ * and the format is preferred over HAL JSON in the <code>Accept</code> header so that servers which
+ * do not support it still answer.
+ */
+class WireFormatClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+  private final WireFormat wireFormat;
+
+  WireFormatClientHttpRequestInterceptor(WireFormat wireFormat) {
+    this.wireFormat = wireFormat;
+  }
+
+  @Override
+  public ClientHttpResponse intercept(
+      HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+    HttpRequestWrapper wrapped = new HttpRequestWrapper(request);
+    wrapped.getHeaders().setAccept(asList(wireFormat.getMediaType(), MediaTypes.HAL_JSON));
+    if (body.length > 0) {
+      wrapped.getHeaders().set(HttpHeaders.CONTENT_TYPE, wireFormat.getMediaType().toString());
+    }
+    return execution.execute(wrapped, body);
+  }
+
+  WireFormat getWireFormat() {
+    return wireFormat;
+  }
+}
@@ -0,0 +1,310 @@
+package uk.co.blackpepper.bowman;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javassist.util.proxy.ProxyFactory;
+import javassist.util.proxy.ProxyObject;
+import org.datrunk.naked.entities.bowman.annotation.LinkedResource;
+import org.datrunk.naked.entities.bowman.annotation.RemoteResource;
+import org.datrunk.naked.entities.bowman.annotation.ResourceId;
+import org.datrunk.naked.entities.bowman.proxy.GeneratedProxy;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+
+/** The behaviour that proxies of every {@link AbstractGeneratedClientProxyFactory} share. */
+public abstract class AbstractGeneratedClientProxyFactoryTest {
+
+  @RemoteResource("/entities")
+  public static class Entity {
+
+    private URI id;
+
+    private Entity linked;
+
+    private boolean active;
+
+    private String name;
+
+    private List<Entity> linkedCollection = new ArrayList<>();
+
+    @ResourceId
+    public URI getId() {
+      return id;
+    }
+
+    @LinkedResource
+    public Entity linked() {
+      return linked;
+    }
+
+    @LinkedResource(rel = "a:b", optionalLink = true)
+    public Entity getLinkedWithCustomRel() {
+      return linked;
+    }
+
+    public void setLinkedWithCustomRel(Entity linked) {
+      this.linked = linked;
+    }
+
+    @LinkedResource
+    public List<Entity> getLinkedCollection() {
+      return linkedCollection;
+    }
+
+    @LinkedResource
+    public Set<Entity> related(String type) {
+      return null;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+
+    public void setActive(boolean active) {
+      this.active = active;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String describe() {
+      return "entity " + name;
+    }
+  }
+
+  @RemoteResource("/abstracts")
+  public abstract static class AbstractEntity {
+
+    @LinkedResource
+    public abstract Entity linked();
+  }
+
+  protected AbstractGeneratedClientProxyFactory proxyFactory;
+
+  protected RestOperations restOperations;
+
+  private ExpectedException thrown = ExpectedException.none();
+
+  @Rule
+  public ExpectedException getThrown() {
+    return thrown;
+  }
+
+  @Before
+  public void setup() {
+    proxyFactory = createProxyFactory();
+
+    restOperations = mock(RestOperations.class);
+  }
+
+  protected abstract AbstractGeneratedClientProxyFactory createProxyFactory();
+
+  @Test
+  public void createReturnsGeneratedProxyWithId() {
+    EntityModel<Entity> resource =
+        EntityModel.of(new Entity(), Link.of("http://www.example.com/1", IanaLinkRelations.SELF));
+
+    Entity proxy = proxyFactory.create(resource, restOperations);
+
+    assertThat(proxy, is(instanceOf(GeneratedProxy.class)));
+    assertThat(proxy, is(not(instanceOf(ProxyObject.class))));
+    assertThat(proxy.getId(), is(URI.create("http://www.example.com/1")));
+  }
+
+  @Test
+  public void createReturnsProxyDelegatingProperties() {
+    Entity entity = new Entity();
+    entity.setActive(true);
+
+    Entity proxy = proxyFactory.create(EntityModel.of(entity), restOperations);
+    assertThat(proxy.isActive(), is(true));
+
+    proxy.setActive(false);
+    proxy.setName("x");
+
+    assertThat(entity.isActive(), is(false));
+    assertThat(entity.getName(), is("x"));
+  }
+
+  @Test
+  public void createReturnsProxyNotOverridingOtherMethods() {
+    Entity entity = new Entity();
+    entity.setName("x");
+
+    Entity proxy = proxyFactory.create(EntityModel.of(entity), restOperations);
+
+    assertThat(proxy.describe(), is("entity null"));
+  }
+
+  @Test
+  public void createReturnsProxyWithMemoizedLinkedResource() {
+    EntityModel<Entity> resource =
+        EntityModel.of(
+            new Entity(), Link.of("http://www.example.com/association/linked", "linked"));
+
+    when(restOperations.getResource(
+            URI.create("http://www.example.com/association/linked"), Entity.class))
+        .thenReturn(
+            EntityModel.of(
+                new Entity(), Link.of("http://www.example.com/1", IanaLinkRelations.SELF)));
+
+    Entity proxy = proxyFactory.create(resource, restOperations);
+
+    assertThat(proxy.linked().getId(), is(URI.create("http://www.example.com/1")));
+    assertThat(proxy.linked(), is(instanceOf(GeneratedProxy.class)));
+    verify(restOperations, times(1))
+        .getResource(URI.create("http://www.example.com/association/linked"), Entity.class);
+  }
+
+  @Test
+  public void prefetchFetchesEachDistinctLinkedResourceOnce() {
+    Entity first = proxyFactory.create(linkedTo("/shared"), restOperations);
+    Entity second = proxyFactory.create(linkedTo("/shared"), restOperations);
+    when(restOperations.getResource(URI.create("http://www.example.com/shared"), Entity.class))
+        .thenReturn(
+            EntityModel.of(
+                new Entity(), Link.of("http://www.example.com/1", IanaLinkRelations.SELF)));
+
+    Client<Entity> client =
+        new Client<>(Entity.class, Configuration.build(), restOperations, proxyFactory);
+    int fetched = client.prefetch(asList(first, second), Entity::linked);
+
+    assertThat(fetched, is(1));
+    assertThat(first.linked().getId(), is(URI.create("http://www.example.com/1")));
+    assertThat(second.linked(), is(instanceOf(GeneratedProxy.class)));
+    verify(restOperations, times(1))
+        .getResource(URI.create("http://www.example.com/shared"), Entity.class);
+  }
+
+  @Test
+  public void createWithLinkedResourceLinkNotPresentReturnsProxyThrowingException() {
+    Entity entity = proxyFactory.create(EntityModel.of(new Entity()), restOperations);
+
+    thrown.expect(NoSuchLinkException.class);
+    thrown.expect(hasProperty("linkName", is("linked")));
+
+    entity.linked();
+  }
+
+  @Test
+  public void createWithOptionalLinkNotPresentReturnsProxyReturningNull() {
+    Entity entity = proxyFactory.create(EntityModel.of(new Entity()), restOperations);
+
+    assertThat(entity.getLinkedWithCustomRel(), is(nullValue()));
+  }
+
+  @Test
+  public void createReturnsProxyWhoseLinkedResourceCanBeSet() {
+    Entity entity = proxyFactory.create(EntityModel.of(new Entity()), restOperations);
+    Entity linked = new Entity();
+
+    entity.setLinkedWithCustomRel(linked);
+
+    assertThat(entity.getLinkedWithCustomRel(), is(sameInstance(linked)));
+  }
+
+  @Test
+  public void createReturnsProxyFillingItsOwnCollectionWithLinkedResources() {
+    EntityModel<Entity> resource =
+        EntityModel.of(
+            new Entity(), Link.of("http://www.example.com/association/linked", "linkedCollection"));
+
+    when(restOperations.getResources(
+            URI.create("http://www.example.com/association/linked"), Entity.class))
+        .thenReturn(
+            CollectionModel.of(
+                asList(
+                    EntityModel.of(
+                        new Entity(),
+                        Link.of("http://www.example.com/1", IanaLinkRelations.SELF)))));
+
+    Entity proxy = proxyFactory.create(resource, restOperations);
+
+    assertThat(proxy.getLinkedCollection(), is(sameInstance(proxy.linkedCollection)));
+    assertThat(
+        proxy.getLinkedCollection().get(0).getId(), is(URI.create("http://www.example.com/1")));
+  }
+
+  @Test
+  public void createReturnsProxyResolvingTemplatedLink() {
+    EntityModel<Entity> resource =
+        EntityModel.of(
+            new Entity(), Link.of("http://www.example.com/association/related{?type}", "related"));
+
+    when(restOperations.getResources(
+            URI.create("http://www.example.com/association/related?type=a"), Entity.class))
+        .thenReturn(
+            CollectionModel.of(
+                asList(
+                    EntityModel.of(
+                        new Entity(),
+                        Link.of("http://www.example.com/1", IanaLinkRelations.SELF)))));
+
+    Entity proxy = proxyFactory.create(resource, restOperations);
+
+    assertThat(
+        proxy.related("a"),
+        contains(hasProperty("id", is(URI.create("http://www.example.com/1")))));
+  }
+
+  @Test
+  public void createWithAbstractEntityReturnsJavassistProxyLinkingToGeneratedProxies()
+      throws Exception {
+    ProxyFactory factory = new ProxyFactory();
+    factory.setSuperclass(AbstractEntity.class);
+    AbstractEntity content = (AbstractEntity) factory.createClass().newInstance();
+
+    when(restOperations.getResource(
+            URI.create("http://www.example.com/association/linked"), Entity.class))
+        .thenReturn(EntityModel.of(new Entity()));
+
+    AbstractEntity proxy =
+        proxyFactory.create(
+            EntityModel.of(content, Link.of("http://www.example.com/association/linked", "linked")),
+            restOperations);
+
+    assertThat(proxy, is(instanceOf(ProxyObject.class)));
+    assertThat(proxy.linked(), is(instanceOf(GeneratedProxy.class)));
+  }
+
+  @Test
+  public void createWithProxiedContentReturnsGeneratedProxyOfEntity() {
+    Entity generated = proxyFactory.create(EntityModel.of(new Entity()), restOperations);
+
+    Entity proxy = proxyFactory.create(EntityModel.of(generated), restOperations);
+
+    assertThat(proxy, is(instanceOf(GeneratedProxy.class)));
+    assertThat(proxy.getClass(), is(sameInstance(generated.getClass())));
+  }
+
+  private static EntityModel<Entity> linkedTo(String path) {
+    return EntityModel.of(new Entity(), Link.of("http://www.example.com" + path, "linked"));
+  }
+}
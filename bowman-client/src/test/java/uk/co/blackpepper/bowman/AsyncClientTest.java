@@ -0,0 +1,143 @@
+package uk.co.blackpepper.bowman;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import org.datrunk.naked.entities.bowman.annotation.RemoteResource;
+import org.datrunk.naked.entities.bowman.annotation.ResourceId;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+
+public class AsyncClientTest {
+
+  @RemoteResource("/entities")
+  public static class Entity {
+
+    private URI id;
+
+    Entity() {}
+
+    Entity(URI id) {
+      this.id = id;
+    }
+
+    @ResourceId
+    public URI getId() {
+      return id;
+    }
+  }
+
+  private static final String BASE_URI = "http://www.example.com";
+
+  private AsyncClient<Entity> client;
+
+  private AsyncRestOperations asyncRestOperations;
+
+  private RestOperations restOperations;
+
+  private ClientProxyFactory proxyFactory;
+
+  @Before
+  public void setup() {
+    asyncRestOperations = mock(AsyncRestOperations.class);
+    restOperations = mock(RestOperations.class);
+    proxyFactory = mock(ClientProxyFactory.class);
+
+    Configuration config = Configuration.builder().setBaseUri(BASE_URI).build();
+
+    client =
+        new AsyncClient<>(Entity.class, config, asyncRestOperations, restOperations, proxyFactory);
+  }
+
+  @Test
+  public void getReturnsProxyBoundToRestOperations() {
+    Entity expected = new Entity();
+
+    EntityModel<Entity> resource = EntityModel.of(new Entity());
+    when(asyncRestOperations.getResource(URI.create(BASE_URI + "/entities"), Entity.class))
+        .thenReturn(completedFuture(resource));
+    when(proxyFactory.create(resource, restOperations)).thenReturn(expected);
+
+    Entity proxy = client.get().join();
+
+    assertThat(proxy, is(expected));
+  }
+
+  @Test
+  public void getReturnsNullWhenNotFound() {
+    when(asyncRestOperations.getResource(URI.create(BASE_URI + "/entities/1"), Entity.class))
+        .thenReturn(completedFuture(null));
+
+    Entity proxy = client.get(URI.create(BASE_URI + "/entities/1")).join();
+
+    assertThat(proxy, is(nullValue()));
+  }
+
+  @Test
+  public void getAllReturnsProxies() {
+    Entity expected1 = new Entity();
+    Entity expected2 = new Entity();
+
+    EntityModel<Entity> resource1 = EntityModel.of(new Entity());
+    EntityModel<Entity> resource2 = EntityModel.of(new Entity());
+    when(asyncRestOperations.getResources(URI.create(BASE_URI + "/entities"), Entity.class))
+        .thenReturn(completedFuture(CollectionModel.of(asList(resource1, resource2))));
+    when(proxyFactory.create(resource1, restOperations)).thenReturn(expected1);
+    when(proxyFactory.create(resource2, restOperations)).thenReturn(expected2);
+
+    assertThat(client.getAll().join(), contains(expected1, expected2));
+  }
+
+  @Test
+  public void postSetsId() {
+    Entity entity = new Entity();
+    when(asyncRestOperations.postForId(URI.create(BASE_URI + "/entities"), entity))
+        .thenReturn(completedFuture(URI.create(BASE_URI + "/entities/1")));
+
+    URI uri = client.post(entity).join();
+
+    assertThat(uri, is(URI.create(BASE_URI + "/entities/1")));
+    assertThat(entity.getId(), is(URI.create(BASE_URI + "/entities/1")));
+  }
+
+  @Test
+  public void putInvokesAsyncRestOperations() {
+    Entity entity = new Entity(URI.create(BASE_URI + "/entities/1"));
+    when(asyncRestOperations.put(URI.create(BASE_URI + "/entities/1"), entity))
+        .thenReturn(completedFuture(null));
+
+    client.put(entity).join();
+
+    verify(asyncRestOperations).put(URI.create(BASE_URI + "/entities/1"), entity);
+  }
+
+  @Test
+  public void deleteInvokesAsyncRestOperationsAndInvalidatesCache() {
+    when(asyncRestOperations.delete(URI.create(BASE_URI + "/entities/1")))
+        .thenReturn(completedFuture(null));
+
+    client.delete(URI.create(BASE_URI + "/entities/1")).join();
+
+    verify(asyncRestOperations).delete(URI.create(BASE_URI + "/entities/1"));
+    verify(restOperations).invalidate(URI.create(BASE_URI + "/entities/1"));
+  }
+
+  @Test
+  public void patchReturnsNullWhenNoContent() {
+    when(asyncRestOperations.patchForResource(
+            URI.create(BASE_URI + "/entities/1"), "patch", Entity.class))
+        .thenReturn(completedFuture(null));
+
+    assertThat(client.patch(URI.create(BASE_URI + "/entities/1"), "patch").join(), is(nullValue()));
+  }
+}
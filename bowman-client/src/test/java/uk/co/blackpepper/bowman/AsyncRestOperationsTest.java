@@ -0,0 +1,339 @@
+package uk.co.blackpepper.bowman;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+public class AsyncRestOperationsTest {
+
+  public static class Entity {
+
+    private String field;
+
+    public String getField() {
+      return field;
+    }
+
+    public void setField(String field) {
+      this.field = field;
+    }
+  }
+
+  private HttpServer server;
+
+  private ExecutorService executor;
+
+  private URI baseUri;
+
+  private AsyncRestOperations operations;
+
+  private RestOperationsFactory restOperationsFactory;
+
+  @Before
+  public void setup() throws IOException {
+    executor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(executor);
+    server.start();
+    baseUri = URI.create("http://localhost:" + server.getAddress().getPort());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    if (operations != null) {
+      operations.close();
+    }
+    if (restOperationsFactory != null) {
+      restOperationsFactory.close();
+    }
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void getResourceReturnsResource() throws Exception {
+    respond(
+        "/entities/1", 200, "{\"field\":\"x\",\"_links\":{\"self\":{\"href\":\"/entities/1\"}}}");
+
+    EntityModel<Entity> resource =
+        operations(Configuration.builder())
+            .getResource(baseUri.resolve("/entities/1"), Entity.class)
+            .get(5, TimeUnit.SECONDS);
+
+    assertThat(resource.getContent().getField(), is("x"));
+    assertThat(resource.getRequiredLink("self").getHref(), is("/entities/1"));
+  }
+
+  @Test
+  public void getResourceDecodesCompressedResponses() throws Exception {
+    server.createContext(
+        "/entities/1",
+        exchange -> {
+          ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+          try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write("{\"field\":\"x\"}".getBytes(StandardCharsets.UTF_8));
+          }
+          exchange.getResponseHeaders().add("Content-Type", "application/hal+json");
+          exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+          exchange.sendResponseHeaders(200, bytes.size());
+          try (OutputStream out = exchange.getResponseBody()) {
+            bytes.writeTo(out);
+          }
+        });
+
+    EntityModel<Entity> resource =
+        operations(Configuration.builder())
+            .getResource(baseUri.resolve("/entities/1"), Entity.class)
+            .get(5, TimeUnit.SECONDS);
+
+    assertThat(resource.getContent().getField(), is("x"));
+  }
+
+  @Test
+  public void getResourceReturnsNullWhenNotFound() throws Exception {
+    respond("/entities/1", 404, "");
+
+    EntityModel<Entity> resource =
+        operations(Configuration.builder())
+            .getResource(baseUri.resolve("/entities/1"), Entity.class)
+            .get(5, TimeUnit.SECONDS);
+
+    assertThat(resource, is(nullValue()));
+  }
+
+  @Test
+  public void getResourcesReturnsResources() throws Exception {
+    respond(
+        "/entities",
+        200,
+        "{\"_embedded\":{\"entities\":[{\"field\":\"x\"},{\"field\":\"y\"}]},\"_links\":{}}");
+
+    CollectionModel<EntityModel<Entity>> resources =
+        operations(Configuration.builder())
+            .getResources(baseUri.resolve("/entities"), Entity.class)
+            .get(5, TimeUnit.SECONDS);
+
+    List<String> fields = new ArrayList<>();
+    resources.forEach(resource -> fields.add(resource.getContent().getField()));
+    assertThat(fields, contains("x", "y"));
+  }
+
+  @Test
+  public void getResourceReadsThroughResourceCache() throws Exception {
+    AtomicInteger requests = new AtomicInteger();
+    server.createContext(
+        "/entities/1",
+        exchange -> {
+          requests.incrementAndGet();
+          send(exchange, 200, "{\"field\":\"x\"}");
+        });
+    operations(Configuration.builder().setResourceCacheMaximumSize(10));
+    URI uri = baseUri.resolve("/entities/1");
+
+    operations.getResource(uri, Entity.class).get(5, TimeUnit.SECONDS);
+    EntityModel<Entity> resource =
+        operations.getResource(uri, Entity.class).get(5, TimeUnit.SECONDS);
+
+    assertThat(resource.getContent().getField(), is("x"));
+    assertThat(requests.get(), is(1));
+  }
+
+  @Test
+  public void getResourceRevalidatesAndCopiesResourceWhenNotModified() throws Exception {
+    List<String> conditions = Collections.synchronizedList(new ArrayList<>());
+    server.createContext(
+        "/entities/1",
+        exchange -> {
+          String condition = exchange.getRequestHeaders().getFirst("If-None-Match");
+          conditions.add(String.valueOf(condition));
+          exchange.getResponseHeaders().add("ETag", "\"1\"");
+          if (condition == null) {
+            send(exchange, 200, "{\"field\":\"x\"}");
+          } else {
+            send(exchange, 304, "");
+          }
+        });
+    operations(Configuration.builder().setRevalidationCacheMaximumSize(10));
+    URI uri = baseUri.resolve("/entities/1");
+
+    EntityModel<Entity> first = operations.getResource(uri, Entity.class).get(5, TimeUnit.SECONDS);
+    first.getContent().setField("changed");
+    EntityModel<Entity> second = operations.getResource(uri, Entity.class).get(5, TimeUnit.SECONDS);
+
+    assertThat(conditions, contains("null", "\"1\""));
+    assertThat(second.getContent().getField(), is("x"));
+  }
+
+  @Test
+  public void postForResourcesReturnsResources() throws Exception {
+    respond("/entities/batch", 200, "{\"_embedded\":{\"entities\":[{\"field\":\"x\"}]}}");
+
+    CollectionModel<EntityModel<Entity>> resources =
+        operations(Configuration.builder())
+            .postForResources(baseUri.resolve("/entities/batch"), new Entity(), Entity.class)
+            .get(5, TimeUnit.SECONDS);
+
+    assertThat(resources.getContent().iterator().next().getContent().getField(), is("x"));
+  }
+
+  @Test
+  public void postForResourcesReturnsEmptyCollectionWhenNotFound() throws Exception {
+    respond("/entities/batch", 404, "");
+
+    CollectionModel<EntityModel<Entity>> resources =
+        operations(Configuration.builder())
+            .postForResources(baseUri.resolve("/entities/batch"), new Entity(), Entity.class)
+            .get(5, TimeUnit.SECONDS);
+
+    assertThat(resources.getContent().isEmpty(), is(true));
+  }
+
+  @Test
+  public void postForIdReturnsLocation() throws Exception {
+    server.createContext(
+        "/entities",
+        exchange -> {
+          exchange.getResponseHeaders().add("Location", "/entities/2");
+          send(exchange, 201, "");
+        });
+
+    URI id =
+        operations(Configuration.builder())
+            .postForId(baseUri.resolve("/entities"), new Entity())
+            .get(5, TimeUnit.SECONDS);
+
+    assertThat(id, is(baseUri.resolve("/entities/2")));
+  }
+
+  @Test
+  public void postCompressesLargeBodies() throws Exception {
+    List<String> received = Collections.synchronizedList(new ArrayList<>());
+    server.createContext(
+        "/entities",
+        exchange -> {
+          received.add(exchange.getRequestHeaders().getFirst("Content-Encoding"));
+          received.add(
+              StreamUtils.copyToString(
+                  new GZIPInputStream(exchange.getRequestBody()), StandardCharsets.UTF_8));
+          send(exchange, 201, "");
+        });
+    Entity entity = new Entity();
+    entity.setField("x");
+
+    operations(
+            Configuration.builder().setRequestCompression(true).setRequestCompressionThreshold(1))
+        .postForId(baseUri.resolve("/entities"), entity)
+        .get(5, TimeUnit.SECONDS);
+
+    assertThat(received, contains("gzip", "{\"field\":\"x\"}"));
+  }
+
+  @Test
+  public void clientErrorCompletesExceptionally() throws Exception {
+    respond("/entities", 409, "");
+
+    CompletableFuture<URI> result =
+        operations(Configuration.builder()).postForId(baseUri.resolve("/entities"), new Entity());
+
+    Throwable failure = result.handle((value, exception) -> exception).get(5, TimeUnit.SECONDS);
+    assertThat(failure.getCause(), instanceOf(HttpClientErrorException.Conflict.class));
+  }
+
+  @Test
+  public void serverErrorCompletesWithErrorHandlerException() throws Exception {
+    respond("/entities/1", 503, "{\"message\":\"down\"}");
+
+    CompletableFuture<EntityModel<Entity>> result =
+        operations(Configuration.builder())
+            .getResource(baseUri.resolve("/entities/1"), Entity.class);
+
+    Throwable failure = result.handle((value, exception) -> exception).get(5, TimeUnit.SECONDS);
+    assertThat(failure.getCause(), instanceOf(HttpServerErrorException.ServiceUnavailable.class));
+    assertThat(
+        ((HttpServerErrorException) failure.getCause()).getResponseBodyAsString(),
+        is("{\"message\":\"down\"}"));
+  }
+
+  @Test
+  public void requestsAreLimitedToMaxConcurrentRequests() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger concurrent = new AtomicInteger();
+    AtomicInteger maxConcurrent = new AtomicInteger();
+    server.createContext(
+        "/entities",
+        exchange -> {
+          maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+          }
+          concurrent.decrementAndGet();
+          send(exchange, 200, "{}");
+        });
+    operations(Configuration.builder().setMaxConcurrentRequests(2));
+
+    List<CompletableFuture<Void>> results = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      results.add(operations.delete(baseUri.resolve("/entities")));
+    }
+    Thread.sleep(200);
+    assertThat(operations.getInFlightRequests(), is(2));
+    release.countDown();
+
+    CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+    assertThat(maxConcurrent.get(), is(2));
+  }
+
+  private AsyncRestOperations operations(Configuration.Builder builder) {
+    Configuration configuration = builder.setBaseUri(baseUri).build();
+    restOperationsFactory =
+        new RestOperationsFactory(configuration, new JavassistClientProxyFactory());
+    RestOperations restOperations = restOperationsFactory.create();
+    operations = AsyncRestOperations.create(configuration, restOperations);
+    return operations;
+  }
+
+  private void respond(String path, int status, String body) {
+    server.createContext(path, exchange -> send(exchange, status, body));
+  }
+
+  private static void send(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/hal+json");
+    exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
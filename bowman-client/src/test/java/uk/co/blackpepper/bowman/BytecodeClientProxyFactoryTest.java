@@ -0,0 +1,41 @@
+package uk.co.blackpepper.bowman;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.datrunk.naked.entities.bowman.proxy.GeneratedProxy;
+import org.junit.Test;
+import org.springframework.hateoas.EntityModel;
+
+public class BytecodeClientProxyFactoryTest extends AbstractGeneratedClientProxyFactoryTest {
+
+  public static final class FinalEntity {
+
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+  }
+
+  @Override
+  protected AbstractGeneratedClientProxyFactory createProxyFactory() {
+    return new BytecodeClientProxyFactory();
+  }
+
+  @Test
+  public void isSupportedReturnsWhetherSubclassCanBeGenerated() {
+    assertThat(BytecodeClientProxyFactory.isSupported(Entity.class), is(true));
+    assertThat(BytecodeClientProxyFactory.isSupported(FinalEntity.class), is(false));
+    assertThat(BytecodeClientProxyFactory.isSupported(AbstractEntity.class), is(false));
+  }
+
+  @Test
+  public void createReturnsProxyImplementingOnlyGeneratedProxy() {
+    Entity proxy = proxyFactory.create(EntityModel.of(new Entity()), restOperations);
+
+    assertThat(asList(proxy.getClass().getInterfaces()), contains(GeneratedProxy.class));
+  }
+}
@@ -20,19 +20,28 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import org.datrunk.naked.entities.bowman.annotation.RemoteResource;
 import org.datrunk.naked.entities.bowman.annotation.ResourceId;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 
 public class ClientTest {
 
@@ -162,6 +171,58 @@ public class ClientTest {
     assertThat(proxies, contains(expected));
   }
 
+  @Test
+  public void streamFollowsNextLinks() {
+    stubPages();
+
+    List<Entity> proxies = client.stream().collect(Collectors.toList());
+
+    assertThat(
+        proxies.stream().map(Entity::getId).collect(Collectors.toList()),
+        contains(
+            URI.create(BASE_URI + "/1"), URI.create(BASE_URI + "/2"), URI.create(BASE_URI + "/3")));
+  }
+
+  @Test
+  public void streamOnlyRequestsPagesThatAreConsumed() {
+    stubPages();
+
+    Optional<Entity> first = client.stream().findFirst();
+
+    assertThat(first.get().getId(), is(URI.create(BASE_URI + "/1")));
+    verify(restOperations, never())
+        .getResources(URI.create(BASE_URI + "/entities?page=1"), Entity.class);
+  }
+
+  @Test
+  public void iterateWithPrefetchExecutorRequestsNextPageAhead() {
+    stubPages();
+    List<Runnable> tasks = new ArrayList<>();
+
+    PageIterator<Entity> iterator = client.iterate(URI.create(BASE_URI + "/entities"), tasks::add);
+    iterator.next();
+
+    assertThat(tasks.size(), is(1));
+    tasks.get(0).run();
+    verify(restOperations).getResources(URI.create(BASE_URI + "/entities?page=1"), Entity.class);
+
+    iterator.next();
+    assertThat(iterator.next().getId(), is(URI.create(BASE_URI + "/3")));
+    assertThat(iterator.hasNext(), is(false));
+    assertThat(iterator.getPages(), is(2));
+  }
+
+  @Test
+  public void iterateStopsWhenClosed() {
+    stubPages();
+
+    PageIterator<Entity> iterator = client.iterate(URI.create(BASE_URI + "/entities"), null);
+    iterator.next();
+    iterator.close();
+
+    assertThat(iterator.hasNext(), is(false));
+  }
+
   @Test
   public void postReturnsId() {
     Entity entity = new Entity();
@@ -199,4 +260,20 @@ public class ClientTest {
 
     verify(restOperations).delete(URI.create("http://www.example.com/1"));
   }
+
+  private void stubPages() {
+    when(restOperations.getResources(URI.create(BASE_URI + "/entities"), Entity.class))
+        .thenReturn(
+            CollectionModel.of(
+                asList(resource("/1"), resource("/2")),
+                Link.of(BASE_URI + "/entities?page=1", IanaLinkRelations.NEXT)));
+    when(restOperations.getResources(URI.create(BASE_URI + "/entities?page=1"), Entity.class))
+        .thenReturn(CollectionModel.of(asList(resource("/3"))));
+    when(proxyFactory.create(any(), eq(restOperations)))
+        .then(invocation -> ((EntityModel<?>) invocation.getArgument(0)).getContent());
+  }
+
+  private static EntityModel<Entity> resource(String path) {
+    return EntityModel.of(new Entity(URI.create(BASE_URI + path)));
+  }
 }
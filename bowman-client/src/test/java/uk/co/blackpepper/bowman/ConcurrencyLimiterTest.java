@@ -0,0 +1,87 @@
+package uk.co.blackpepper.bowman;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Test;
+
+public class ConcurrencyLimiterTest {
+
+  @Test
+  public void submitStartsOperationsUpToLimit() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(2);
+    List<CompletableFuture<Integer>> started = new ArrayList<>();
+
+    for (int i = 0; i < 5; i++) {
+      limiter.submit(
+          () -> {
+            CompletableFuture<Integer> operation = new CompletableFuture<>();
+            started.add(operation);
+            return operation;
+          });
+    }
+
+    assertThat(started.size(), is(2));
+    assertThat(limiter.getInFlight(), is(2));
+  }
+
+  @Test
+  public void completionStartsWaitingOperation() throws Exception {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+    List<CompletableFuture<Integer>> started = new ArrayList<>();
+
+    CompletableFuture<Integer> first = limiter.submit(() -> track(started));
+    CompletableFuture<Integer> second = limiter.submit(() -> track(started));
+    assertThat(started.size(), is(1));
+
+    started.get(0).complete(1);
+
+    assertThat(first.get(), is(1));
+    assertThat(started.size(), is(2));
+    started.get(1).complete(2);
+    assertThat(second.get(), is(2));
+    assertThat(limiter.getInFlight(), is(0));
+  }
+
+  @Test
+  public void failedOperationReleasesPermit() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+
+    CompletableFuture<Integer> failed =
+        limiter.submit(
+            () -> {
+              throw new IllegalStateException("failed");
+            });
+    CompletableFuture<Integer> next = limiter.submit(() -> CompletableFuture.completedFuture(3));
+
+    assertThat(failed.isCompletedExceptionally(), is(true));
+    assertThat(next.join(), is(3));
+    assertThat(limiter.getInFlight(), is(0));
+  }
+
+  @Test
+  public void failureIsPropagated() throws Exception {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+    CompletableFuture<Integer> operation = new CompletableFuture<>();
+
+    CompletableFuture<Integer> result = limiter.submit(() -> operation);
+    operation.completeExceptionally(new IllegalStateException("failed"));
+
+    Throwable failure = result.handle((value, exception) -> exception).get();
+    assertThat(failure instanceof IllegalStateException, is(true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructorRejectsNonPositiveLimit() {
+    new ConcurrencyLimiter(0);
+  }
+
+  private static CompletableFuture<Integer> track(List<CompletableFuture<Integer>> started) {
+    CompletableFuture<Integer> operation = new CompletableFuture<>();
+    started.add(operation);
+    return operation;
+  }
+}
@@ -1,6 +1,8 @@
 package uk.co.blackpepper.bowman;
 
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 import java.net.URI;
@@ -21,4 +23,22 @@ public class ConfigurationTest {
 
     assertThat(client.getBaseUri(), is(URI.create("http://x.com/y")));
   }
+
+  @Test
+  public void requestFactoryDefaultsToPooledClientOfRestOperationsFactory() {
+    assertThat(Configuration.build().getClientHttpRequestFactory(), is(nullValue()));
+  }
+
+  @Test
+  public void clientProxyFactoryDefaultsToGeneratedProxies() {
+    assertThat(
+        Configuration.build().getClientProxyFactory(),
+        instanceOf(GeneratedClientProxyFactory.class));
+    assertThat(
+        Configuration.builder()
+            .setClientProxyFactory(new BytecodeClientProxyFactory())
+            .build()
+            .getClientProxyFactory(),
+        instanceOf(BytecodeClientProxyFactory.class));
+  }
 }
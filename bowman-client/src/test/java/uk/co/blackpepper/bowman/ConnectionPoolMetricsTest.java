@@ -0,0 +1,38 @@
+package uk.co.blackpepper.bowman;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.Test;
+
+public class ConnectionPoolMetricsTest {
+
+  @Test
+  public void bindToRegistersPoolGauges() {
+    PoolingHttpClientConnectionManager pool = new PoolingHttpClientConnectionManager();
+    pool.setMaxTotal(12);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    new ConnectionPoolMetrics().pool("sync", () -> pool).bindTo(registry);
+
+    assertThat(registry.get("bowman.http.pool.max").tag("pool", "sync").gauge().value(), is(12.0));
+    assertThat(registry.get("bowman.http.pool.leased").gauge().value(), is(0.0));
+    assertThat(registry.get("bowman.http.pool.available").gauge().value(), is(0.0));
+    assertThat(registry.get("bowman.http.pool.pending").gauge().value(), is(0.0));
+  }
+
+  @Test
+  public void gaugesReportNaNUntilPoolExists() {
+    AtomicReference<PoolingHttpClientConnectionManager> pool = new AtomicReference<>();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    new ConnectionPoolMetrics().pool("async", pool::get).bindTo(registry);
+
+    assertThat(Double.isNaN(registry.get("bowman.http.pool.max").gauge().value()), is(true));
+    pool.set(new PoolingHttpClientConnectionManager());
+    assertThat(registry.get("bowman.http.pool.max").gauge().value(), is(20.0));
+  }
+}
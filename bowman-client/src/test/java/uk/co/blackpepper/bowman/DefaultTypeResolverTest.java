@@ -46,6 +46,30 @@ public class DefaultTypeResolverTest {
     // no members
   }
 
+  @ResourceTypeInfo(
+      subtypes = {
+        TypeWithOverlappingSubtypesSubtype1.class,
+        TypeWithOverlappingSubtypesSubtype2.class,
+        TypeWithOverlappingSubtypesSubtype3.class
+      })
+  public static class TypeWithOverlappingSubtypes {
+    // no members
+  }
+
+  @RemoteResource("/a/b")
+  public static class TypeWithOverlappingSubtypesSubtype1 extends TypeWithOverlappingSubtypes {
+    // no members
+  }
+
+  @RemoteResource("/a")
+  public static class TypeWithOverlappingSubtypesSubtype2 extends TypeWithOverlappingSubtypes {
+    // no members
+  }
+
+  public static class TypeWithOverlappingSubtypesSubtype3 extends TypeWithOverlappingSubtypes {
+    // no members
+  }
+
   @ResourceTypeInfo(subtypes = TypeWithNonRemoteResourceSubtypeSubtype.class)
   public static class TypeWithNonRemoteResourceSubtype {
     // no members
@@ -173,6 +197,57 @@ public class DefaultTypeResolverTest {
     assertThat(type, Matchers.<Class<?>>equalTo(TypeWithSubtypesSubtype2.class));
   }
 
+  @Test
+  public void resolveTypeWithSubtypesAndDifferentBaseUrisReturnsSubtypeForEachBaseUri() {
+    Links links = Links.of(Link.of("http://y.com/1/1", IanaLinkRelations.SELF));
+
+    Class<?> typeForX =
+        resolver.resolveType(
+            TypeWithSubtypes.class,
+            links,
+            Configuration.builder().setBaseUri("http://x.com").build());
+    Class<?> typeForY =
+        resolver.resolveType(
+            TypeWithSubtypes.class,
+            links,
+            Configuration.builder().setBaseUri("http://y.com").build());
+
+    assertThat(typeForX, Matchers.<Class<?>>equalTo(TypeWithSubtypes.class));
+    assertThat(typeForY, Matchers.<Class<?>>equalTo(TypeWithSubtypesSubtype1.class));
+  }
+
+  @Test
+  public void resolveTypeWithOverlappingSubtypesReturnsFirstMatchingSubtype() {
+    Configuration config = Configuration.builder().setBaseUri("http://x.com").build();
+
+    Class<?> nested =
+        resolver.resolveType(
+            TypeWithOverlappingSubtypes.class,
+            Links.of(Link.of("http://x.com/a/b/1", IanaLinkRelations.SELF)),
+            config);
+    Class<?> outer =
+        resolver.resolveType(
+            TypeWithOverlappingSubtypes.class,
+            Links.of(Link.of("/a/1", IanaLinkRelations.SELF)),
+            config);
+
+    assertThat(nested, Matchers.<Class<?>>equalTo(TypeWithOverlappingSubtypesSubtype1.class));
+    assertThat(outer, Matchers.<Class<?>>equalTo(TypeWithOverlappingSubtypesSubtype2.class));
+  }
+
+  @Test
+  public void resolveTypeWithNonRemoteResourceSubtypeAfterNoMatchThrowsException() {
+    thrown.expect(ClientProxyException.class);
+    thrown.expectMessage(
+        TypeWithOverlappingSubtypesSubtype3.class.getName()
+            + " is not annotated with @RemoteResource");
+
+    resolver.resolveType(
+        TypeWithOverlappingSubtypes.class,
+        Links.of(Link.of("/c/1", IanaLinkRelations.SELF)),
+        Configuration.build());
+  }
+
   @Test
   public void resolveTypeWithNonRemoteResourceSubtypeThrowsException() {
     thrown.expect(ClientProxyException.class);
@@ -0,0 +1,123 @@
+package uk.co.blackpepper.bowman;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.util.ReflectionUtils.findMethod;
+
+import java.beans.Introspector;
+import java.lang.reflect.Method;
+import java.util.Set;
+import javassist.util.proxy.ProxyFactory;
+import org.datrunk.naked.entities.bowman.proxy.LinkDescriptor;
+import org.junit.Test;
+
+public class EntityTypeDescriptorTest {
+
+  @SuppressWarnings("unused")
+  public static class Entity {
+
+    public String getName() {
+      return null;
+    }
+
+    public void setName(String name) {}
+
+    public void setWriteOnly(String value) {}
+
+    public String describe() {
+      return null;
+    }
+
+    public Set<Entity> getChildren() {
+      return null;
+    }
+  }
+
+  @Test
+  public void forTypeReturnsSharedDescriptorForTypeAndItsProxies() {
+    ProxyFactory factory = new ProxyFactory();
+    factory.setSuperclass(Entity.class);
+
+    EntityTypeDescriptor descriptor = EntityTypeDescriptor.forType(Entity.class);
+
+    assertThat(EntityTypeDescriptor.forType(factory.createClass()), is(sameInstance(descriptor)));
+    assertThat(descriptor.getBeanType(), is(sameInstance(Entity.class)));
+  }
+
+  @Test
+  public void getGetterFromSetterReturnsPropertyGetter() {
+    EntityTypeDescriptor descriptor = EntityTypeDescriptor.forType(Entity.class);
+
+    Method setter = findMethod(Entity.class, "setName", String.class);
+
+    assertThat(descriptor.isSetter(setter), is(true));
+    assertThat(descriptor.getGetterFromSetter(setter), is(findMethod(Entity.class, "getName")));
+  }
+
+  @Test
+  public void getGetterFromSetterWithWriteOnlyPropertyReturnsNull() {
+    EntityTypeDescriptor descriptor = EntityTypeDescriptor.forType(Entity.class);
+
+    Method setter = findMethod(Entity.class, "setWriteOnly", String.class);
+
+    assertThat(descriptor.isSetter(setter), is(true));
+    assertThat(descriptor.getGetterFromSetter(setter), is(nullValue()));
+  }
+
+  @Test
+  public void isGetterWithNonPropertyMethodIsFalse() {
+    EntityTypeDescriptor descriptor = EntityTypeDescriptor.forType(Entity.class);
+
+    assertThat(descriptor.isGetter(findMethod(Entity.class, "describe")), is(false));
+    assertThat(descriptor.isGetter(findMethod(Entity.class, "getName")), is(true));
+  }
+
+  @Test
+  public void getLinkAttributesResolvesEachMethodOnce() {
+    MethodLinkAttributesResolver resolver = mock(MethodLinkAttributesResolver.class);
+    Method method = findMethod(Entity.class, "getName");
+    MethodLinkAttributes attributes = new MethodLinkAttributes("name", false);
+    when(resolver.resolveForMethod(method)).thenReturn(attributes);
+
+    EntityTypeDescriptor descriptor =
+        new EntityTypeDescriptor(
+            Entity.class,
+            Introspector::getBeanInfo,
+            new DefaultPropertyValueFactory(),
+            resolver,
+            new MethodLinkUriResolver());
+
+    descriptor.getLinkAttributes(method);
+
+    assertThat(descriptor.getLinkAttributes(method), is(sameInstance(attributes)));
+    verify(resolver).resolveForMethod(method);
+  }
+
+  @Test
+  public void getLinkDescribesCollectionLinkOnce() {
+    MethodLinkAttributesResolver resolver = mock(MethodLinkAttributesResolver.class);
+    Method method = findMethod(Entity.class, "getChildren");
+    when(resolver.resolveForMethod(method)).thenReturn(new MethodLinkAttributes("kids", true));
+
+    EntityTypeDescriptor descriptor =
+        new EntityTypeDescriptor(
+            Entity.class,
+            Introspector::getBeanInfo,
+            new DefaultPropertyValueFactory(),
+            resolver,
+            new MethodLinkUriResolver());
+
+    LinkDescriptor link = descriptor.getLink(method);
+
+    assertThat(link.getRel(), is("kids"));
+    assertThat(link.isOptional(), is(true));
+    assertThat(link.getType(), is(sameInstance(Set.class)));
+    assertThat(link.getElementType(), is(sameInstance(Entity.class)));
+    assertThat(descriptor.getLink(method), is(sameInstance(link)));
+  }
+}
@@ -0,0 +1,20 @@
+package uk.co.blackpepper.bowman;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class GeneratedClientProxyFactoryTest extends AbstractGeneratedClientProxyFactoryTest {
+
+  @Override
+  protected AbstractGeneratedClientProxyFactory createProxyFactory() {
+    return new GeneratedClientProxyFactory();
+  }
+
+  @Test
+  public void isGeneratedReturnsWhetherProxyClassWasGenerated() {
+    assertThat(GeneratedClientProxyFactory.isGenerated(Entity.class), is(true));
+    assertThat(GeneratedClientProxyFactory.isGenerated(AbstractEntity.class), is(false));
+  }
+}
@@ -0,0 +1,91 @@
+package uk.co.blackpepper.bowman;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.util.StreamUtils;
+
+public class GzipClientHttpRequestInterceptorTest {
+
+  private GzipClientHttpRequestInterceptor interceptor;
+
+  private HttpRequest request;
+
+  private ClientHttpRequestExecution execution;
+
+  @Before
+  public void setUp() {
+    interceptor = new GzipClientHttpRequestInterceptor(4);
+
+    request = mock(HttpRequest.class);
+    when(request.getHeaders()).thenReturn(new HttpHeaders());
+    when(request.getURI()).thenReturn(URI.create(""));
+
+    execution = mock(ClientHttpRequestExecution.class);
+  }
+
+  @Test
+  public void interceptCompressesBodyAndSetsContentEncoding() throws IOException {
+    byte[] body = new byte[64];
+    Arrays.fill(body, (byte) 'x');
+
+    interceptor.intercept(request, body, execution);
+
+    ArgumentCaptor<HttpRequest> finalRequest = ArgumentCaptor.forClass(HttpRequest.class);
+    ArgumentCaptor<byte[]> finalBody = ArgumentCaptor.forClass(byte[].class);
+    verify(execution).execute(finalRequest.capture(), finalBody.capture());
+
+    assertThat(
+        finalRequest.getValue().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), is("gzip"));
+    assertThat(
+        StreamUtils.copyToByteArray(
+            new GZIPInputStream(new ByteArrayInputStream(finalBody.getValue()))),
+        is(body));
+  }
+
+  @Test
+  public void interceptDoesNotCompressBodyBelowThreshold() throws IOException {
+    interceptor.intercept(request, new byte[] {1, 2, 3}, execution);
+
+    verify(execution).execute(eq(request), aryEq(new byte[] {1, 2, 3}));
+    assertThat(request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), is(nullValue()));
+  }
+
+  @Test
+  public void interceptDoesNotCompressAlreadyEncodedBody() throws IOException {
+    request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "deflate");
+
+    interceptor.intercept(request, new byte[64], execution);
+
+    verify(execution).execute(eq(request), aryEq(new byte[64]));
+    assertThat(request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), is("deflate"));
+  }
+
+  @Test
+  public void interceptDoesNotCompressEmptyBody() throws IOException {
+    interceptor = new GzipClientHttpRequestInterceptor(0);
+
+    interceptor.intercept(request, new byte[0], execution);
+
+    verify(execution).execute(eq(request), any());
+    assertThat(request.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), is(nullValue()));
+  }
+}
@@ -24,12 +24,21 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import javassist.util.proxy.ProxyFactory;
 import org.datrunk.naked.entities.bowman.annotation.LinkedResource;
 import org.datrunk.naked.entities.bowman.annotation.RemoteResource;
@@ -139,6 +148,24 @@ public class JavassistClientProxyFactoryTest {
     assertThat(proxy.getId(), is(URI.create("http://www.example.com/1")));
   }
 
+  @Test
+  public void createReusesProxyClassForEntityType() {
+    Entity first =
+        proxyFactory.create(
+            EntityModel.of(
+                new Entity(), Link.of("http://www.example.com/1", IanaLinkRelations.SELF)),
+            restOperations);
+    Entity second =
+        proxyFactory.create(
+            EntityModel.of(
+                new Entity(), Link.of("http://www.example.com/2", IanaLinkRelations.SELF)),
+            restOperations);
+
+    assertThat(second.getClass(), is(sameInstance(first.getClass())));
+    assertThat(first.getId(), is(URI.create("http://www.example.com/1")));
+    assertThat(second.getId(), is(URI.create("http://www.example.com/2")));
+  }
+
   @Test
   public void createReturnsProxyWithLinkedResource() {
     EntityModel<Entity> resource =
@@ -240,6 +267,136 @@ public class JavassistClientProxyFactoryTest {
         proxy.getNullLinkedCollection().get(0).getId(), is(URI.create("http://www.example.com/1")));
   }
 
+  @Test
+  public void prefetchFetchesEachDistinctLinkedResourceOnce() {
+    Entity first = proxyFactory.create(linkedTo("linked", "/shared"), restOperations);
+    Entity second = proxyFactory.create(linkedTo("linked", "/shared"), restOperations);
+    Entity third = proxyFactory.create(linkedTo("linked", "/other"), restOperations);
+    when(restOperations.getResource(URI.create("http://www.example.com/shared"), Entity.class))
+        .thenReturn(
+            EntityModel.of(
+                new Entity(), Link.of("http://www.example.com/1", IanaLinkRelations.SELF)));
+
+    int fetched = client().prefetch(asList(first, second, third), Entity::linked);
+
+    assertThat(fetched, is(2));
+    assertThat(first.linked().getId(), is(URI.create("http://www.example.com/1")));
+    assertThat(second.linked().getId(), is(URI.create("http://www.example.com/1")));
+    assertThat(third.linked(), is(nullValue()));
+    verify(restOperations, times(1))
+        .getResource(URI.create("http://www.example.com/shared"), Entity.class);
+    verify(restOperations, times(1))
+        .getResource(URI.create("http://www.example.com/other"), Entity.class);
+  }
+
+  @Test
+  public void prefetchGivesEachOwnerItsOwnLinkedResource() {
+    Entity first = proxyFactory.create(linkedTo("linked", "/shared"), restOperations);
+    Entity second = proxyFactory.create(linkedTo("linked", "/shared"), restOperations);
+    when(restOperations.getResource(URI.create("http://www.example.com/shared"), Entity.class))
+        .thenReturn(
+            EntityModel.of(
+                new Entity(), Link.of("http://www.example.com/1", IanaLinkRelations.SELF)));
+
+    client().prefetch(asList(first, second), Entity::linked);
+    first.linked().setActive(true);
+
+    assertThat(second.linked().isActive(), is(false));
+  }
+
+  @Test
+  public void prefetchFetchesPerOwnerLinksConcurrently() throws Exception {
+    AsyncRestOperations asyncRestOperations = mock(AsyncRestOperations.class);
+    List<CompletableFuture<EntityModel<Entity>>> inFlight = new CopyOnWriteArrayList<>();
+    when(asyncRestOperations.getResource(any(URI.class), eq(Entity.class)))
+        .thenAnswer(
+            invocation -> {
+              CompletableFuture<EntityModel<Entity>> response = new CompletableFuture<>();
+              inFlight.add(response);
+              return response;
+            });
+    List<Entity> owners =
+        asList(
+            proxyFactory.create(linkedTo("linked", "/1/linked"), restOperations),
+            proxyFactory.create(linkedTo("linked", "/2/linked"), restOperations),
+            proxyFactory.create(linkedTo("linked", "/3/linked"), restOperations));
+    Client<Entity> client =
+        new Client<>(
+            Entity.class,
+            Configuration.build(),
+            restOperations,
+            () -> asyncRestOperations,
+            proxyFactory);
+
+    CompletableFuture<Integer> fetched =
+        CompletableFuture.supplyAsync(() -> client.prefetch(owners, Entity::linked));
+
+    verify(asyncRestOperations, timeout(5000).times(3))
+        .getResource(any(URI.class), eq(Entity.class));
+    assertThat(fetched.isDone(), is(false));
+    inFlight.forEach(
+        response ->
+            response.complete(
+                EntityModel.of(
+                    new Entity(),
+                    Link.of("http://www.example.com/target", IanaLinkRelations.SELF))));
+    assertThat(fetched.get(5, TimeUnit.SECONDS), is(3));
+    assertThat(owners.get(2).linked().getId(), is(URI.create("http://www.example.com/target")));
+    verifyNoInteractions(restOperations);
+  }
+
+  @Test
+  public void prefetchResolvesLinkedCollections() {
+    Entity first = proxyFactory.create(linkedTo("linkedCollection", "/shared"), restOperations);
+    Entity second = proxyFactory.create(linkedTo("linkedCollection", "/shared"), restOperations);
+    when(restOperations.getResources(URI.create("http://www.example.com/shared"), Entity.class))
+        .thenReturn(
+            CollectionModel.of(
+                asList(
+                    EntityModel.of(
+                        new Entity(),
+                        Link.of("http://www.example.com/1", IanaLinkRelations.SELF)))));
+
+    client().prefetch(asList(first, second), Entity::getLinkedCollection);
+
+    assertThat(
+        first.getLinkedCollection().get(0).getId(), is(URI.create("http://www.example.com/1")));
+    assertThat(
+        second.getLinkedCollection().get(0).getId(), is(URI.create("http://www.example.com/1")));
+    verify(restOperations, times(1))
+        .getResources(URI.create("http://www.example.com/shared"), Entity.class);
+  }
+
+  @Test
+  public void prefetchGivesEachOwnerItsOwnLinkedCollection() {
+    Entity first = proxyFactory.create(linkedTo("linkedCollection", "/shared"), restOperations);
+    Entity second = proxyFactory.create(linkedTo("linkedCollection", "/shared"), restOperations);
+    when(restOperations.getResources(URI.create("http://www.example.com/shared"), Entity.class))
+        .thenReturn(
+            CollectionModel.of(
+                asList(
+                    EntityModel.of(
+                        new Entity(),
+                        Link.of("http://www.example.com/1", IanaLinkRelations.SELF)))));
+
+    client().prefetch(asList(first, second), Entity::getLinkedCollection);
+    first.getLinkedCollection().get(0).setActive(true);
+
+    assertThat(second.getLinkedCollection().get(0).isActive(), is(false));
+  }
+
+  @Test
+  public void prefetchSkipsResolvedLinks() {
+    Entity entity = proxyFactory.create(linkedTo("linked", "/shared"), restOperations);
+    entity.linked();
+
+    int fetched = client().prefetch(asList(entity), Entity::linked);
+
+    assertThat(fetched, is(0));
+    verify(restOperations, times(1))
+        .getResource(URI.create("http://www.example.com/shared"), Entity.class);
+  }
+
   @Test
   public void createReturnsProxyWithActive() {
     Entity entity = new Entity();
@@ -339,4 +496,12 @@ public class JavassistClientProxyFactoryTest {
     T result = (T) clazz.newInstance();
     return result;
   }
+
+  private Client<Entity> client() {
+    return new Client<>(Entity.class, Configuration.build(), restOperations, proxyFactory);
+  }
+
+  private static EntityModel<Entity> linkedTo(String rel, String path) {
+    return EntityModel.of(new Entity(), Link.of("http://www.example.com" + path, rel));
+  }
 }
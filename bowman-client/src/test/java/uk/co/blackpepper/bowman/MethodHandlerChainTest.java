@@ -6,8 +6,11 @@ import static java.util.Collections.singletonList;
 import static org.hamcrest.Matchers.arrayContaining;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
@@ -75,6 +78,37 @@ public class MethodHandlerChainTest {
     chain.invoke(new Object(), method, null, new Object[0]);
   }
 
+  @Test
+  public void invokeDecidesHandlerOncePerMethod() throws Throwable {
+    Method method = ResourceContent.class.getMethod("method1");
+    ConditionalMethodHandler handler = newHandlerSupportedFor(method);
+    MethodHandlerChain chain = new MethodHandlerChain(singletonList(handler));
+
+    chain.invoke(new Object(), method, null, new Object[0]);
+    chain.invoke(new Object(), method, null, new Object[0]);
+
+    verify(handler).supports(method);
+    verify(handler, times(2)).invoke(any(), eq(method), any(), any());
+  }
+
+  @Test
+  public void invokeUsesDecisionsOfChainSharingDispatchTable() throws Throwable {
+    Method method = ResourceContent.class.getMethod("method1");
+    MethodHandlerChain.DispatchTable dispatchTable = new MethodHandlerChain.DispatchTable();
+    new MethodHandlerChain(
+            asList(newHandlerUnsupportedFor(method), newHandlerSupportedFor(method)), dispatchTable)
+        .isHandled(method);
+    ConditionalMethodHandler first = mock(ConditionalMethodHandler.class);
+    ConditionalMethodHandler second = mock(ConditionalMethodHandler.class);
+
+    new MethodHandlerChain(asList(first, second), dispatchTable)
+        .invoke(new Object(), method, null, new Object[0]);
+
+    verify(first, never()).supports(any());
+    verify(second, never()).supports(any());
+    verify(second).invoke(any(), eq(method), any(), any());
+  }
+
   @Test
   public void isHandledWithNoDelegateSupportsIsFalse() throws Exception {
     Method method = ResourceContent.class.getMethod("method1");
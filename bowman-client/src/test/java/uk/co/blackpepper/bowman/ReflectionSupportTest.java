@@ -1,11 +1,46 @@
 package uk.co.blackpepper.bowman;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.net.URI;
+import org.datrunk.naked.entities.bowman.annotation.ResourceId;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 public class ReflectionSupportTest {
 
+  public static class Entity {
+
+    private URI id;
+
+    @ResourceId
+    public URI getId() {
+      return id;
+    }
+  }
+
+  public static class SubEntity extends Entity {
+    // inherits the id accessor
+  }
+
+  public static class ThrowingEntity {
+
+    @ResourceId
+    public URI getId() {
+      throw new UnsupportedOperationException("no id");
+    }
+  }
+
+  public static class FieldlessEntity {
+
+    @ResourceId
+    public URI getSelf() {
+      return null;
+    }
+  }
+
   private ExpectedException thrown = ExpectedException.none();
 
   @Rule
@@ -20,4 +55,29 @@ public class ReflectionSupportTest {
 
     ReflectionSupport.getId(new Object());
   }
+
+  @Test
+  public void setIdSetsFieldReadByIdAccessor() {
+    Entity entity = new SubEntity();
+
+    ReflectionSupport.setId(entity, URI.create("http://example.com/1"));
+
+    assertThat(ReflectionSupport.getId(entity), is(URI.create("http://example.com/1")));
+  }
+
+  @Test
+  public void getIdRethrowsAccessorException() {
+    thrown.expect(UnsupportedOperationException.class);
+    thrown.expectMessage("no id");
+
+    ReflectionSupport.getId(new ThrowingEntity());
+  }
+
+  @Test
+  public void setIdWhenNoIdField() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("No field self found for " + FieldlessEntity.class.getName());
+
+    ReflectionSupport.setId(new FieldlessEntity(), URI.create("http://example.com/1"));
+  }
 }
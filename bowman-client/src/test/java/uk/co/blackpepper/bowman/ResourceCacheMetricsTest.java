@@ -0,0 +1,26 @@
+package uk.co.blackpepper.bowman;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import org.junit.Test;
+
+public class ResourceCacheMetricsTest {
+
+  @Test
+  public void bindToRegistersHitAndMissCounts() {
+    ResourceCache cache = new ResourceCache(10, 0);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    new ResourceCacheMetrics(cache, "resources").bindTo(registry);
+
+    cache.get(URI.create("http://example.com/1"), JsonNodeFactory.instance::objectNode);
+    cache.get(URI.create("http://example.com/1"), JsonNodeFactory.instance::objectNode);
+
+    assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count(), is(1.0));
+    assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count(), is(1.0));
+    assertThat(registry.get("cache.size").gauge().value(), is(1.0));
+  }
+}
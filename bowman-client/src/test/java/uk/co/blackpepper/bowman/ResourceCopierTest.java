@@ -0,0 +1,72 @@
+package uk.co.blackpepper.bowman;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+
+public class ResourceCopierTest {
+
+  private static class Embedded {}
+
+  private static class Entity {
+    private final String name;
+
+    private List<String> tags = new ArrayList<>();
+
+    private int[] numbers;
+
+    private Embedded embedded = new Embedded();
+
+    Entity(String name) {
+      this.name = name;
+    }
+  }
+
+  @Test
+  public void copyCopiesEntityAndKeepsLinks() {
+    EntityModel<Entity> resource = EntityModel.of(new Entity("x"), Link.of("http://example.com/1"));
+
+    EntityModel<Entity> copy = ResourceCopier.copy(resource);
+
+    assertThat(copy.getContent(), is(not(sameInstance(resource.getContent()))));
+    assertThat(copy.getContent().name, is("x"));
+    assertThat(copy.getLinks(), is(resource.getLinks()));
+  }
+
+  @Test
+  public void copyCopiesCollectionsAndArraysButSharesOtherObjects() {
+    Entity entity = new Entity("x");
+    entity.tags.add("a");
+    entity.numbers = new int[] {1};
+
+    Entity copy = ResourceCopier.copy(EntityModel.of(entity)).getContent();
+    copy.tags.add("b");
+    copy.numbers[0] = 2;
+
+    assertThat(entity.tags, contains("a"));
+    assertThat(entity.numbers[0], is(1));
+    assertThat(copy.embedded, is(sameInstance(entity.embedded)));
+  }
+
+  @Test
+  public void copyCopiesEveryEntityOfCollection() {
+    EntityModel<Entity> element = EntityModel.of(new Entity("x"));
+
+    CollectionModel<EntityModel<Entity>> copy =
+        ResourceCopier.copy(CollectionModel.of(Collections.singletonList(element)));
+
+    EntityModel<Entity> copied = copy.getContent().iterator().next();
+    assertThat(copied.getContent(), is(not(sameInstance(element.getContent()))));
+    assertThat(copied.getContent().name, is("x"));
+  }
+}
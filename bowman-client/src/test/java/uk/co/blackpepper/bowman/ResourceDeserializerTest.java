@@ -118,6 +118,25 @@ public class ResourceDeserializerTest {
     assertThat("field", ((ResolvedType) resource.getContent()).getField(), is("x"));
   }
 
+  @Test
+  public void deserializeSplitsLinksFromContentInAnyPosition() throws Exception {
+    doReturn(ResolvedType.class).when(typeResolver).resolveType(any(), any(), any());
+
+    EntityModel<DeclaredType> resource =
+        mapper.readValue(
+            "{\"before\":{\"a\":[1,2]},\"_links\":{\"self\":{\"href\":\"http://x.com/1\"}},"
+                + "\"field\":\"x\"}",
+            new TypeReference<EntityModel<DeclaredType>>() {
+              /* generic type reference */
+            });
+
+    assertThat("field", ((ResolvedType) resource.getContent()).getField(), is("x"));
+    assertThat(
+        "links",
+        resource.getLinks(),
+        is(Links.of(Link.of("http://x.com/1", IanaLinkRelations.SELF))));
+  }
+
   @Test
   public void deserializeReturnsObjectOfResolvedInterfaceType() throws Exception {
     doReturn(ResolvedInterfaceType.class).when(typeResolver).resolveType(any(), any(), any());
@@ -133,6 +152,21 @@ public class ResourceDeserializerTest {
         ResolvedInterfaceType.class.isAssignableFrom(resource.getContent().getClass()), is(true));
   }
 
+  @Test
+  public void deserializeReusesProxyClassOfResolvedInterfaceType() throws Exception {
+    doReturn(ResolvedInterfaceType.class).when(typeResolver).resolveType(any(), any(), any());
+    TypeReference<EntityModel<DeclaredType>> type = new TypeReference<EntityModel<DeclaredType>>() {
+          /* generic type reference */
+        };
+
+    EntityModel<DeclaredType> first = mapper.readValue("{}", type);
+    EntityModel<DeclaredType> second = mapper.readValue("{}", type);
+
+    assertThat(
+        second.getContent().getClass(),
+        Matchers.<Class<?>>sameInstance(first.getContent().getClass()));
+  }
+
   @Test
   public void deserializeReturnsObjectOfResolvedAbstractClassType() throws Exception {
     doReturn(ResolvedAbstractClassType.class).when(typeResolver).resolveType(any(), any(), any());
@@ -18,9 +18,14 @@ package uk.co.blackpepper.bowman;
 import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,10 +45,15 @@ import com.fasterxml.jackson.databind.type.SimpleType;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import java.util.List;
 import java.util.function.BiFunction;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.datrunk.naked.formats.JacksonBinaryHttpMessageConverter;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.theories.ParameterSignature;
 import org.junit.experimental.theories.ParameterSupplier;
@@ -51,9 +61,12 @@ import org.junit.experimental.theories.ParametersSuppliedBy;
 import org.junit.experimental.theories.PotentialAssignment;
 import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
+import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @RunWith(Theories.class)
@@ -71,6 +84,13 @@ public class RestOperationsFactoryTest {
 
   private Configuration configuration;
 
+  private ExpectedException thrown = ExpectedException.none();
+
+  @Rule
+  public ExpectedException getThrown() {
+    return thrown;
+  }
+
   @Before
   public void setup() {
     restTemplateFactory = mock(RestTemplateFactory.class);
@@ -105,6 +125,52 @@ public class RestOperationsFactoryTest {
     assertThat(restOperations, is(aRestOperationsMatching(is(restTemplate), is(mapper))));
   }
 
+  @Test
+  public void createUsesPooledRequestFactoryWithConnectionPoolSettings() throws Exception {
+    Configuration pooled =
+        Configuration.builder().setMaxConnections(30).setMaxConnectionsPerRoute(7).build();
+
+    try (RestOperationsFactory pooledFactory =
+        new RestOperationsFactory(pooled, proxyFactory, mapperFactory, restTemplateFactory)) {
+      pooledFactory.create();
+      pooledFactory.create();
+
+      ArgumentCaptor<ClientHttpRequestFactory> requestFactories =
+          ArgumentCaptor.forClass(ClientHttpRequestFactory.class);
+      verify(restTemplateFactory, times(2)).create(requestFactories.capture(), any());
+      assertThat(
+          requestFactories.getValue(), instanceOf(HttpComponentsClientHttpRequestFactory.class));
+      assertThat(
+          requestFactories.getAllValues().get(0), is(sameInstance(requestFactories.getValue())));
+      assertThat(pooledFactory.getConnectionPool().getMaxTotal(), is(30));
+      assertThat(pooledFactory.getConnectionPool().getDefaultMaxPerRoute(), is(7));
+    }
+  }
+
+  @Test
+  public void closeShutsDownPooledClient() throws Exception {
+    RestOperationsFactory pooledFactory =
+        new RestOperationsFactory(
+            Configuration.build(), proxyFactory, mapperFactory, restTemplateFactory);
+    pooledFactory.create();
+    PoolingHttpClientConnectionManager pool =
+        (PoolingHttpClientConnectionManager) pooledFactory.getConnectionPool();
+
+    pooledFactory.close();
+
+    assertThat(pooledFactory.getConnectionPool(), is(nullValue()));
+    thrown.expect(IllegalStateException.class);
+    pool.requestConnection(new HttpRoute(new HttpHost("localhost")), null);
+  }
+
+  @Test
+  public void customRequestFactoryHasNoConnectionPool() {
+    factory.create();
+
+    verify(restTemplateFactory).create(eq(clientHttpRequestFactory), any());
+    assertThat(factory.getConnectionPool(), is(nullValue()));
+  }
+
   @Test
   public void
       createInstantiatesObjectMapperWithInlineAssociationDeserializerAwareHandlerInstantiator() {
@@ -196,6 +262,60 @@ public class RestOperationsFactoryTest {
     verify(objectMapperConfigurer).configure(objectMapper);
   }
 
+  @Test
+  public void createAddsCompressingInterceptorIfRequestCompressionEnabled() {
+    Configuration configuration =
+        Configuration.builder()
+            .setRequestCompression(true)
+            .setRequestCompressionThreshold(256)
+            .build();
+
+    RestTemplate restTemplate = new RestTemplate();
+    when(restTemplateFactory.create(any(), any())).thenReturn(restTemplate);
+
+    new RestOperationsFactory(configuration, proxyFactory, mapperFactory, restTemplateFactory)
+        .create();
+
+    assertThat(restTemplate.getInterceptors().size(), is(1));
+    assertThat(
+        restTemplate.getInterceptors().get(0), instanceOf(GzipClientHttpRequestInterceptor.class));
+    assertThat(
+        ((GzipClientHttpRequestInterceptor) restTemplate.getInterceptors().get(0)).getThreshold(),
+        is(256));
+  }
+
+  @Test
+  public void createAddsBinaryConverterAndInterceptorForBinaryWireFormat() {
+    Configuration configuration = Configuration.builder().setWireFormat(WireFormat.CBOR).build();
+
+    ObjectMapper mapper = new ObjectMapper();
+    RestTemplate restTemplate = new RestTemplate();
+    when(mapperFactory.create(any())).thenReturn(mapper);
+    when(restTemplateFactory.create(any(), any())).thenReturn(restTemplate);
+
+    new RestOperationsFactory(configuration, proxyFactory, mapperFactory, restTemplateFactory)
+        .create();
+
+    JacksonBinaryHttpMessageConverter converter =
+        (JacksonBinaryHttpMessageConverter) restTemplate.getMessageConverters().get(0);
+    assertThat(converter.getObjectMapper(), is(mapper));
+    assertThat(converter.getSupportedMediaTypes(), contains(MediaType.APPLICATION_CBOR));
+    assertThat(
+        ((WireFormatClientHttpRequestInterceptor) restTemplate.getInterceptors().get(0))
+            .getWireFormat(),
+        is(WireFormat.CBOR));
+  }
+
+  @Test
+  public void createDoesNotAddCompressingInterceptorByDefault() {
+    RestTemplate restTemplate = new RestTemplate();
+    when(restTemplateFactory.create(any(), any())).thenReturn(restTemplate);
+
+    factory.create();
+
+    assertThat(restTemplate.getInterceptors().isEmpty(), is(true));
+  }
+
   private static Matcher<RestOperations> aRestOperationsMatching(
       Matcher<RestTemplate> restTemplate, Matcher<ObjectMapper> mapper) {
     return new TypeSafeMatcher<RestOperations>() {
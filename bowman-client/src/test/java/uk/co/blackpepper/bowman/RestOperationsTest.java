@@ -16,13 +16,20 @@
 package uk.co.blackpepper.bowman;
 
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.I_AM_A_TEAPOT;
@@ -33,16 +40,30 @@ import com.fasterxml.jackson.databind.cfg.HandlerInstantiator;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
 import org.mockito.stubbing.Answer;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
@@ -64,6 +85,18 @@ public class RestOperationsTest {
     }
   }
 
+  public static class MutableEntity {
+    private String field;
+
+    public String getField() {
+      return field;
+    }
+
+    public void setField(String field) {
+      this.field = field;
+    }
+  }
+
   @Rule
   public ExpectedException getThrown() {
     return thrown;
@@ -85,8 +118,7 @@ public class RestOperationsTest {
 
   @Test
   public void getResourceReturnsResource() throws Exception {
-    when(restTemplate.getForObject(URI.create("http://example.com"), ObjectNode.class))
-        .thenReturn(createObjectNode("{\"field\":\"value\"}"));
+    stubGet(URI.create("http://example.com"), "{\"field\":\"value\"}");
 
     EntityModel<Entity> resource =
         restOperations.getResource(URI.create("http://example.com"), Entity.class);
@@ -96,8 +128,7 @@ public class RestOperationsTest {
 
   @Test
   public void getResourceOnNotFoundHttpClientExceptionReturnsNull() {
-    when(restTemplate.getForObject(URI.create("http://example.com"), ObjectNode.class))
-        .thenThrow(new HttpClientErrorException(NOT_FOUND));
+    stubGetThrows(URI.create("http://example.com"), new HttpClientErrorException(NOT_FOUND));
 
     EntityModel<Entity> resource =
         restOperations.getResource(URI.create("http://example.com"), Entity.class);
@@ -108,8 +139,7 @@ public class RestOperationsTest {
   @Test
   public void getResourceOnOtherHttpClientExceptionThrowsException() {
     HttpClientErrorException exception = new HttpClientErrorException(I_AM_A_TEAPOT);
-    when(restTemplate.getForObject(URI.create("http://example.com"), ObjectNode.class))
-        .thenThrow(exception);
+    stubGetThrows(URI.create("http://example.com"), exception);
 
     thrown.expect(is(exception));
 
@@ -118,8 +148,8 @@ public class RestOperationsTest {
 
   @Test
   public void getResourcesReturnsResources() throws Exception {
-    when(restTemplate.getForObject(URI.create("http://example.com"), ObjectNode.class))
-        .thenReturn(createObjectNode("{\"_embedded\":{\"entities\":[{\"field\":\"value\"}]}}"));
+    stubGet(
+        URI.create("http://example.com"), "{\"_embedded\":{\"entities\":[{\"field\":\"value\"}]}}");
 
     CollectionModel<EntityModel<Entity>> resources =
         restOperations.getResources(URI.create("http://example.com"), Entity.class);
@@ -129,8 +159,7 @@ public class RestOperationsTest {
 
   @Test
   public void getResourcesOnNotFoundHttpClientExceptionReturnsEmpty() {
-    when(restTemplate.getForObject(URI.create("http://example.com"), ObjectNode.class))
-        .thenThrow(new HttpClientErrorException(NOT_FOUND));
+    stubGetThrows(URI.create("http://example.com"), new HttpClientErrorException(NOT_FOUND));
 
     CollectionModel<EntityModel<Entity>> resources =
         restOperations.getResources(URI.create("http://example.com"), Entity.class);
@@ -141,14 +170,37 @@ public class RestOperationsTest {
   @Test
   public void getResourcesOnOtherHttpClientExceptionThrowsException() {
     HttpClientErrorException exception = new HttpClientErrorException(HttpStatus.I_AM_A_TEAPOT);
-    when(restTemplate.getForObject(URI.create("http://example.com"), ObjectNode.class))
-        .thenThrow(exception);
+    stubGetThrows(URI.create("http://example.com"), exception);
 
     thrown.expect(is(exception));
 
     restOperations.getResources(URI.create("http://example.com"), Entity.class);
   }
 
+  @Test
+  public void getPagedResourcesReturnsResourcesWithPageMetadata() throws Exception {
+    stubGet(
+        URI.create("http://example.com"),
+        "{\"_embedded\":{\"entities\":[{\"field\":\"value\"}]},"
+            + "\"page\":{\"size\":1,\"totalElements\":3,\"totalPages\":3,\"number\":0}}");
+
+    PagedModel<EntityModel<Entity>> resources =
+        restOperations.getPagedResources(URI.create("http://example.com"), Entity.class);
+
+    assertThat(resources.getContent().iterator().next().getContent().getField(), is("value"));
+    assertThat(resources.getMetadata().getTotalPages(), is(3L));
+  }
+
+  @Test
+  public void getPagedResourcesOnNotFoundHttpClientExceptionReturnsEmpty() {
+    stubGetThrows(URI.create("http://example.com"), new HttpClientErrorException(NOT_FOUND));
+
+    PagedModel<EntityModel<Entity>> resources =
+        restOperations.getPagedResources(URI.create("http://example.com"), Entity.class);
+
+    assertThat(resources.getContent(), is(empty()));
+  }
+
   @Test
   public void postForIdReturnsId() {
     Entity entity = new Entity();
@@ -215,6 +267,295 @@ public class RestOperationsTest {
     restOperations.patchForResource(URI.create("http://example.com"), patch, Entity.class);
   }
 
+  @Test
+  public void getResourceWithCacheFetchesOnce() throws Exception {
+    RestOperations cached = cachedRestOperations();
+    when(restTemplate.getForObject(URI.create("http://example.com/1"), ObjectNode.class))
+        .thenReturn(createObjectNode("{\"field\":\"value\"}"));
+
+    cached.getResource(URI.create("http://example.com/1"), Entity.class);
+    EntityModel<Entity> resource =
+        cached.getResource(URI.create("http://example.com/1"), Entity.class);
+
+    assertThat(resource.getContent().getField(), is("value"));
+    verify(restTemplate, times(1))
+        .getForObject(URI.create("http://example.com/1"), ObjectNode.class);
+    assertThat(cached.getResourceCache().getStats().hitCount(), is(1L));
+  }
+
+  @Test
+  public void getResourceWithCacheDoesNotCacheNotFound() {
+    RestOperations cached = cachedRestOperations();
+    when(restTemplate.getForObject(URI.create("http://example.com/1"), ObjectNode.class))
+        .thenThrow(new HttpClientErrorException(NOT_FOUND));
+
+    assertThat(
+        cached.getResource(URI.create("http://example.com/1"), Entity.class), is(nullValue()));
+    assertThat(
+        cached.getResource(URI.create("http://example.com/1"), Entity.class), is(nullValue()));
+
+    verify(restTemplate, times(2))
+        .getForObject(URI.create("http://example.com/1"), ObjectNode.class);
+  }
+
+  @Test
+  public void getResourceWithCacheRethrowsOtherExceptions() {
+    RestOperations cached = cachedRestOperations();
+    HttpClientErrorException exception = new HttpClientErrorException(I_AM_A_TEAPOT);
+    when(restTemplate.getForObject(URI.create("http://example.com/1"), ObjectNode.class))
+        .thenThrow(exception);
+
+    thrown.expect(is(exception));
+
+    cached.getResource(URI.create("http://example.com/1"), Entity.class);
+  }
+
+  @Test
+  public void getResourceWithCacheSharesConcurrentMisses() throws Exception {
+    RestOperations cached = cachedRestOperations();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ObjectNode node = createObjectNode("{\"field\":\"value\"}");
+    when(restTemplate.getForObject(URI.create("http://example.com/1"), ObjectNode.class))
+        .thenAnswer(
+            invocation -> {
+              loading.countDown();
+              release.await(5, TimeUnit.SECONDS);
+              return node;
+            });
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<EntityModel<Entity>>> results = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        results.add(
+            executor.submit(
+                () -> cached.getResource(URI.create("http://example.com/1"), Entity.class)));
+      }
+      loading.await(5, TimeUnit.SECONDS);
+      Thread.sleep(50);
+      release.countDown();
+
+      for (Future<EntityModel<Entity>> result : results) {
+        assertThat(result.get(5, TimeUnit.SECONDS).getContent().getField(), is("value"));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    verify(restTemplate, times(1))
+        .getForObject(URI.create("http://example.com/1"), ObjectNode.class);
+  }
+
+  @Test
+  public void writesInvalidateCachedResource() throws Exception {
+    RestOperations cached = cachedRestOperations();
+    when(restTemplate.getForObject(URI.create("http://example.com/1"), ObjectNode.class))
+        .thenReturn(createObjectNode("{\"field\":\"value\"}"));
+
+    cached.getResource(URI.create("http://example.com/1"), Entity.class);
+    cached.put(URI.create("http://example.com/1"), new Entity());
+    cached.getResource(URI.create("http://example.com/1"), Entity.class);
+    cached.patchForResource(URI.create("http://example.com/1"), new HashMap<>(), Entity.class);
+    cached.getResource(URI.create("http://example.com/1"), Entity.class);
+    cached.delete(URI.create("http://example.com/1"));
+    cached.getResource(URI.create("http://example.com/1"), Entity.class);
+
+    verify(restTemplate, times(4))
+        .getForObject(URI.create("http://example.com/1"), ObjectNode.class);
+  }
+
+  @Test
+  public void getResourceWithRevalidationCopiesResourceWhenNotModified() throws Exception {
+    RestOperations revalidating = revalidatingRestOperations();
+    URI uri = URI.create("http://example.com/1");
+    doAnswer(bind(ResponseEntity.ok().eTag("\"1\"").body("{\"field\":\"value\"}")))
+        .doReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build())
+        .when(restTemplate)
+        .exchange(eq(uri), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+
+    EntityModel<Entity> first = revalidating.getResource(uri, Entity.class);
+    EntityModel<Entity> second = revalidating.getResource(uri, Entity.class);
+
+    assertThat(second.getContent(), is(not(sameInstance(first.getContent()))));
+    assertThat(second.getContent().getField(), is("value"));
+    List<HttpHeaders> requests = captureExchangeHeaders(uri, 2);
+    assertThat(requests.get(0).getIfNoneMatch(), is(empty()));
+    assertThat(requests.get(1).getIfNoneMatch(), contains("\"1\""));
+  }
+
+  @Test
+  public void getResourcesWithRevalidationSendsIfModifiedSince() throws Exception {
+    RestOperations revalidating = revalidatingRestOperations();
+    URI uri = URI.create("http://example.com/");
+    doAnswer(
+            bind(
+                ResponseEntity.ok()
+                    .lastModified(1_000_000L)
+                    .body("{\"_embedded\":{\"entities\":[{\"field\":\"value\"}]}}")))
+        .doReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build())
+        .when(restTemplate)
+        .exchange(eq(uri), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+
+    CollectionModel<EntityModel<Entity>> first = revalidating.getResources(uri, Entity.class);
+    CollectionModel<EntityModel<Entity>> second = revalidating.getResources(uri, Entity.class);
+
+    assertThat(second, is(not(sameInstance(first))));
+    assertThat(
+        second.getContent().iterator().next().getContent(),
+        is(not(sameInstance(first.getContent().iterator().next().getContent()))));
+    assertThat(second.getContent().iterator().next().getContent().getField(), is("value"));
+    assertThat(captureExchangeHeaders(uri, 2).get(1).getIfModifiedSince(), is(1_000_000L));
+  }
+
+  @Test
+  public void getPagedResourcesWithRevalidationKeepsPageMetadataWhenNotModified() {
+    RestOperations revalidating = revalidatingRestOperations();
+    URI uri = URI.create("http://example.com/");
+    doAnswer(
+            bind(
+                ResponseEntity.ok()
+                    .eTag("\"1\"")
+                    .body(
+                        "{\"_embedded\":{\"entities\":[{\"field\":\"value\"}]},"
+                            + "\"page\":{\"size\":1,\"totalElements\":3,\"totalPages\":3,"
+                            + "\"number\":0}}")))
+        .doReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build())
+        .when(restTemplate)
+        .exchange(eq(uri), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+
+    revalidating.getPagedResources(uri, Entity.class);
+    PagedModel<EntityModel<Entity>> second = revalidating.getPagedResources(uri, Entity.class);
+
+    assertThat(second.getMetadata().getTotalElements(), is(3L));
+    assertThat(second.getContent().iterator().next().getContent().getField(), is("value"));
+  }
+
+  @Test
+  public void getResourceWithRevalidationDoesNotLeakProxyChangesWhenNotModified() throws Exception {
+    RestOperations revalidating = revalidatingRestOperations();
+    URI uri = URI.create("http://example.com/1");
+    doAnswer(bind(ResponseEntity.ok().eTag("\"1\"").body("{\"field\":\"value\"}")))
+        .doReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build())
+        .doReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build())
+        .when(restTemplate)
+        .exchange(eq(uri), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+    JavassistClientProxyFactory proxyFactory = new JavassistClientProxyFactory();
+
+    MutableEntity downloaded =
+        proxyFactory.create(revalidating.getResource(uri, MutableEntity.class), revalidating);
+    downloaded.setField("unsaved");
+    MutableEntity copied =
+        proxyFactory.create(revalidating.getResource(uri, MutableEntity.class), revalidating);
+    copied.setField("also unsaved");
+    MutableEntity reread =
+        proxyFactory.create(revalidating.getResource(uri, MutableEntity.class), revalidating);
+
+    assertThat(reread.getField(), is("value"));
+  }
+
+  @Test
+  public void getResourcesWithRevalidationOnNotFoundReturnsEmpty() {
+    URI uri = URI.create("http://example.com/");
+    doThrow(new HttpClientErrorException(NOT_FOUND))
+        .when(restTemplate)
+        .exchange(eq(uri), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+
+    CollectionModel<EntityModel<Entity>> resources =
+        revalidatingRestOperations().getResources(uri, Entity.class);
+
+    assertThat(resources.getContent(), is(empty()));
+  }
+
+  @Test
+  public void getResourceWithRevalidationDoesNotRememberResponsesWithoutValidators()
+      throws Exception {
+    RestOperations revalidating = revalidatingRestOperations();
+    URI uri = URI.create("http://example.com/1");
+    doAnswer(bind(ResponseEntity.ok().body("{\"field\":\"value\"}")))
+        .when(restTemplate)
+        .exchange(eq(uri), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+
+    revalidating.getResource(uri, Entity.class);
+    revalidating.getResource(uri, Entity.class);
+
+    assertThat(captureExchangeHeaders(uri, 2).get(1).getIfNoneMatch(), is(empty()));
+    assertThat(revalidating.getRevalidationCache().size(), is(0L));
+  }
+
+  @Test
+  public void writesForgetValidators() throws Exception {
+    RestOperations revalidating = revalidatingRestOperations();
+    URI uri = URI.create("http://example.com/1");
+    doAnswer(bind(ResponseEntity.ok().eTag("\"1\"").body("{\"field\":\"value\"}")))
+        .when(restTemplate)
+        .exchange(eq(uri), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+
+    revalidating.getResource(uri, Entity.class);
+    revalidating.put(uri, new Entity());
+    revalidating.getResource(uri, Entity.class);
+
+    assertThat(captureExchangeHeaders(uri, 2).get(1).getIfNoneMatch(), is(empty()));
+  }
+
+  @Test
+  public void getResourceWithCacheAndRevalidationRevalidatesOnMiss() throws Exception {
+    RestOperations both =
+        new RestOperations(
+            restTemplate, objectMapper, new ResourceCache(100, 0), new RevalidationCache(100));
+    URI uri = URI.create("http://example.com/1");
+    doAnswer(bind(ResponseEntity.ok().eTag("\"1\"").body("{\"field\":\"value\"}")))
+        .doReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build())
+        .when(restTemplate)
+        .exchange(eq(uri), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+
+    both.getResource(uri, Entity.class);
+    both.getResource(uri, Entity.class);
+    both.getResourceCache().invalidate(uri);
+    EntityModel<Entity> resource = both.getResource(uri, Entity.class);
+
+    assertThat(resource.getContent().getField(), is("value"));
+    List<HttpHeaders> requests = captureExchangeHeaders(uri, 2);
+    assertThat(requests.get(1).getIfNoneMatch(), contains("\"1\""));
+  }
+
+  @Test
+  public void getResourceWithCacheAndRevalidationSharesConcurrentMisses() throws Exception {
+    RestOperations both =
+        new RestOperations(
+            restTemplate, objectMapper, new ResourceCache(100, 0), new RevalidationCache(100));
+    URI uri = URI.create("http://example.com/1");
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Answer<ResponseEntity<?>> ok =
+        bind(ResponseEntity.ok().eTag("\"1\"").body("{\"field\":\"value\"}"));
+    doAnswer(
+            invocation -> {
+              loading.countDown();
+              release.await(5, TimeUnit.SECONDS);
+              return ok.answer(invocation);
+            })
+        .when(restTemplate)
+        .exchange(eq(uri), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<EntityModel<Entity>>> results = new ArrayList<>();
+      for (int i = 0; i < 4; i++) {
+        results.add(executor.submit(() -> both.getResource(uri, Entity.class)));
+      }
+      loading.await(5, TimeUnit.SECONDS);
+      Thread.sleep(50);
+      release.countDown();
+
+      for (Future<EntityModel<Entity>> result : results) {
+        assertThat(result.get(5, TimeUnit.SECONDS).getContent().getField(), is("value"));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    captureExchangeHeaders(uri, 1);
+  }
+
   private static ResourceDeserializer declaredTypeResourceDeserializer() {
     TypeResolver declaredTypeTypeResolver = mock(TypeResolver.class);
 
@@ -224,7 +565,58 @@ public class RestOperationsTest {
     return new ResourceDeserializer(Object.class, declaredTypeTypeResolver, Configuration.build());
   }
 
+  /** Answer a streamed GET by binding the JSON to whatever type the request asks for. */
+  private void stubGet(URI uri, String json) {
+    doAnswer(
+            invocation -> {
+              ParameterizedTypeReference<?> type = invocation.getArgument(3);
+              return ResponseEntity.ok(
+                  objectMapper.readValue(json, objectMapper.constructType(type.getType())));
+            })
+        .when(restTemplate)
+        .exchange(eq(uri), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+  }
+
+  /** Answer a conditional GET with the response, binding its JSON body to the requested type. */
+  private Answer<ResponseEntity<?>> bind(ResponseEntity<String> response) {
+    return invocation -> {
+      ParameterizedTypeReference<?> type = invocation.getArgument(3);
+      return ResponseEntity.status(response.getStatusCode())
+          .headers(response.getHeaders())
+          .body(
+              objectMapper.readValue(
+                  response.getBody(), objectMapper.constructType(type.getType())));
+    };
+  }
+
+  private void stubGetThrows(URI uri, Exception exception) {
+    doThrow(exception)
+        .when(restTemplate)
+        .exchange(eq(uri), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+  }
+
   private ObjectNode createObjectNode(String json) throws IOException {
     return objectMapper.readValue(json, ObjectNode.class);
   }
+
+  private RestOperations cachedRestOperations() {
+    return new RestOperations(restTemplate, objectMapper, new ResourceCache(100, 0));
+  }
+
+  private RestOperations revalidatingRestOperations() {
+    return new RestOperations(restTemplate, objectMapper, null, new RevalidationCache(100));
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private List<HttpHeaders> captureExchangeHeaders(URI uri, int times) {
+    ArgumentCaptor<HttpEntity> captor = ArgumentCaptor.forClass(HttpEntity.class);
+    verify(restTemplate, times(times))
+        .exchange(
+            eq(uri), eq(HttpMethod.GET), captor.capture(), any(ParameterizedTypeReference.class));
+    List<HttpHeaders> headers = new ArrayList<>();
+    for (HttpEntity entity : captor.getAllValues()) {
+      headers.add(entity.getHeaders());
+    }
+    return headers;
+  }
 }
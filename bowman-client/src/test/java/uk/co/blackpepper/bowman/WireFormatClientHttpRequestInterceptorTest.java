@@ -0,0 +1,66 @@
+package uk.co.blackpepper.bowman;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.URI;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+
+public class WireFormatClientHttpRequestInterceptorTest {
+
+  private WireFormatClientHttpRequestInterceptor interceptor;
+
+  private HttpRequest request;
+
+  private ClientHttpRequestExecution execution;
+
+  @Before
+  public void setUp() {
+    interceptor = new WireFormatClientHttpRequestInterceptor(WireFormat.SMILE);
+
+    request = mock(HttpRequest.class);
+    when(request.getHeaders()).thenReturn(new HttpHeaders());
+    when(request.getURI()).thenReturn(URI.create(""));
+
+    execution = mock(ClientHttpRequestExecution.class);
+  }
+
+  @Test
+  public void interceptPrefersWireFormatAndFallsBackToHalJson() throws IOException {
+    interceptor.intercept(request, new byte[] {1}, execution);
+
+    ArgumentCaptor<HttpRequest> finalRequest = ArgumentCaptor.forClass(HttpRequest.class);
+    verify(execution).execute(finalRequest.capture(), any());
+
+    HttpHeaders finalHeaders = finalRequest.getValue().getHeaders();
+    assertThat(
+        finalHeaders.getAccept(),
+        contains(
+            MediaType.valueOf("application/x-jackson-smile"),
+            MediaType.valueOf("application/hal+json")));
+    assertThat(finalHeaders.getContentType(), is(MediaType.valueOf("application/x-jackson-smile")));
+  }
+
+  @Test
+  public void interceptDoesNotSetContentTypeWithoutBody() throws IOException {
+    interceptor.intercept(request, new byte[0], execution);
+
+    ArgumentCaptor<HttpRequest> finalRequest = ArgumentCaptor.forClass(HttpRequest.class);
+    verify(execution).execute(finalRequest.capture(), any());
+
+    assertThat(finalRequest.getValue().getHeaders().getContentType(), is(nullValue()));
+  }
+}
@@ -0,0 +1,111 @@
+package org.datrunk.naked.formats;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.TypeUtils;
+
+/**
+ * Reads and writes a binary Jackson format (such as Smile or CBOR) using an existing, fully
+ * configured {@link ObjectMapper}.
+ *
+ * <p>Spring's {@code MappingJackson2SmileHttpMessageConverter} and {@code
+ * MappingJackson2CborHttpMessageConverter} need a mapper built on the binary {@link JsonFactory},
+ * which means duplicating every module, mixin and handler instantiator registered on the HAL
+ * mapper. This converter instead drives the existing mapper with parsers and generators from the
+ * given factory, so serialization is identical to the JSON converter apart from the encoding. Both
+ * the server and bowman-client use it, so they encode documents the same way.
+ */
+public class JacksonBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+  /** Media type used for the Smile binary JSON format. */
+  public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+  /** Media type used for CBOR (RFC 8949). */
+  public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+  private final ObjectMapper objectMapper;
+  private final JsonFactory factory;
+
+  public JacksonBinaryHttpMessageConverter(
+      ObjectMapper objectMapper, JsonFactory factory, MediaType... supportedMediaTypes) {
+    super(supportedMediaTypes);
+    this.objectMapper = objectMapper;
+    this.factory = factory;
+  }
+
+  public ObjectMapper getObjectMapper() {
+    return objectMapper;
+  }
+
+  public JsonFactory getFactory() {
+    return factory;
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return true;
+  }
+
+  @Override
+  public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+      throws IOException {
+    return readJavaType(getJavaType(type, contextClass), inputMessage);
+  }
+
+  @Override
+  protected Object readInternal(Class<? extends Object> clazz, HttpInputMessage inputMessage)
+      throws IOException {
+    return readJavaType(objectMapper.constructType(clazz), inputMessage);
+  }
+
+  @Override
+  protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+      throws IOException {
+    try (JsonGenerator generator =
+        factory.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+      generator.setCodec(objectMapper);
+      // As in Spring's converters, only containers are written as their declared type, so that
+      // the element type survives erasure; anything else is written as its runtime class.
+      JavaType javaType =
+          type != null && TypeUtils.isAssignable(type, object.getClass())
+              ? getJavaType(type, null)
+              : null;
+      if (javaType != null && javaType.isContainerType()) {
+        objectMapper.writerFor(javaType).writeValue(generator, object);
+      } else {
+        objectMapper.writeValue(generator, object);
+      }
+    } catch (IOException e) {
+      throw new HttpMessageNotWritableException("Could not write " + getSupportedMediaTypes(), e);
+    }
+  }
+
+  private Object readJavaType(JavaType javaType, HttpInputMessage inputMessage) throws IOException {
+    try (JsonParser parser = factory.createParser(inputMessage.getBody())) {
+      // Deserializers such as bowman's ResourceDeserializer cast the codec to ObjectMapper.
+      parser.setCodec(objectMapper);
+      return objectMapper.readValue(parser, javaType);
+    } catch (IOException e) {
+      throw new HttpMessageNotReadableException(
+          "Could not read " + getSupportedMediaTypes() + ": " + e.getMessage(), e, inputMessage);
+    }
+  }
+
+  private JavaType getJavaType(Type type, Class<?> contextClass) {
+    return objectMapper
+        .getTypeFactory()
+        .constructType(GenericTypeResolver.resolveType(type, contextClass));
+  }
+}
@@ -0,0 +1,74 @@
+package org.datrunk.naked.formats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+public class JacksonBinaryHttpMessageConverterTest {
+  public static class Base {
+    public String getBase() {
+      return "base";
+    }
+  }
+
+  public static class Sub extends Base {
+    public String getSub() {
+      return "sub";
+    }
+  }
+
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private final JacksonBinaryHttpMessageConverter converter =
+      new JacksonBinaryHttpMessageConverter(
+          mapper, new SmileFactory(), JacksonBinaryHttpMessageConverter.SMILE);
+
+  @Test
+  public void supportsOnlyItsMediaType() {
+    assertThat(converter.canRead(ObjectNode.class, JacksonBinaryHttpMessageConverter.SMILE))
+        .isTrue();
+    assertThat(converter.canWrite(Map.class, JacksonBinaryHttpMessageConverter.SMILE)).isTrue();
+    assertThat(converter.canRead(ObjectNode.class, MediaType.APPLICATION_JSON)).isFalse();
+  }
+
+  @Test
+  public void roundTripsThroughBinaryEncoding() throws IOException {
+    Map<String, String> value = Collections.singletonMap("name", "value");
+    MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+    converter.write(value, JacksonBinaryHttpMessageConverter.SMILE, output);
+
+    assertThat(output.getHeaders().getContentType())
+        .isEqualTo(JacksonBinaryHttpMessageConverter.SMILE);
+    byte[] body = output.getBodyAsBytes();
+    assertThat(body).isNotEqualTo(mapper.writeValueAsBytes(value));
+
+    Object read =
+        converter.read(
+            new ParameterizedTypeReference<Map<String, String>>() {}.getType(),
+            null,
+            new MockHttpInputMessage(body));
+    assertThat(read).isEqualTo(value);
+  }
+
+  @Test
+  public void writesRuntimeClassOfValueDeclaredAsSupertype() throws IOException {
+    MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+    converter.write(new Sub(), Base.class, JacksonBinaryHttpMessageConverter.SMILE, output);
+
+    JsonNode written = new ObjectMapper(new SmileFactory()).readTree(output.getBodyAsBytes());
+    assertThat(written.path("sub").asText()).isEqualTo("sub");
+  }
+}
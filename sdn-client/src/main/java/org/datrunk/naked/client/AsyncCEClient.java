@@ -0,0 +1,69 @@
+package org.datrunk.naked.client;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.log4j.Log4j2;
+import org.datrunk.naked.entities.CollectionDTO;
+import org.datrunk.naked.entities.WithId;
+import org.datrunk.naked.entities.WithUri;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.web.util.UriComponentsBuilder;
+import uk.co.blackpepper.bowman.AsyncClient;
+import uk.co.blackpepper.bowman.AsyncRestOperations;
+import uk.co.blackpepper.bowman.ClientProxyFactory;
+import uk.co.blackpepper.bowman.Configuration;
+import uk.co.blackpepper.bowman.RestOperations;
+
+/**
+ * Asynchronous counterpart of {@link CEClient}. Retrieved entities are the same proxies {@link
+ * CEClient} returns, so linked resources keep their lazy semantics.
+ *
+ * @param <T> the entity type for this client
+ */
+@Log4j2
+public class AsyncCEClient<T extends WithUri & WithId<?>> extends AsyncClient<T> {
+  protected final URI batchUri;
+
+  protected AsyncCEClient(
+      Class<T> entityType,
+      URI batchUri,
+      Configuration bowmanConfiguration,
+      AsyncRestOperations asyncRestOperations,
+      RestOperations restOperations,
+      ClientProxyFactory proxyFactory) {
+    super(entityType, bowmanConfiguration, asyncRestOperations, restOperations, proxyFactory);
+    this.batchUri = batchUri;
+    log.debug(
+        "AsyncCEClient<{}>: baseUri = [{}], batchUri = [{}]", entityType, getBaseUri(), batchUri);
+  }
+
+  public CompletableFuture<List<T>> findAll() {
+    URI uri =
+        UriComponentsBuilder.fromUri(getBaseUri()).pathSegment("search", "findAll").build().toUri();
+    log.trace("GET {}", uri);
+    return getAll(uri);
+  }
+
+  public CompletableFuture<T> search(String path, String name, Object val) {
+    URI uri =
+        UriComponentsBuilder.fromUri(getBaseUri())
+            .pathSegment("search", path)
+            .queryParam(name, val)
+            .build()
+            .toUri();
+    return get(uri);
+  }
+
+  /**
+   * POST the provided {@link CollectionDTO}-wrapped collection to {@link #batchUri}.
+   *
+   * @param wrapped the collection to persist
+   * @return a future of the persistent collection
+   * @see CEClient#saveAll(CollectionDTO)
+   */
+  public CompletableFuture<CollectionModel<EntityModel<T>>> saveAll(CollectionDTO<T> wrapped) {
+    return getAsyncRestOperations().postForResources(batchUri, wrapped, getEntityType());
+  }
+}
@@ -0,0 +1,89 @@
+package org.datrunk.naked.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.datrunk.naked.client.error.PipelinedFlushException;
+
+/**
+ * Sends batches with up to a fixed number of requests in flight and reassembles the results in
+ * batch order.
+ */
+class BatchPipeline {
+  private BatchPipeline() {}
+
+  /**
+   * Send the batches, keeping up to {@code depth} in flight, and wait for them all.
+   *
+   * @param batches the batches to send, in order
+   * @param depth the maximum number of batches in flight
+   * @param sender sends one batch and returns a future of the persisted entities
+   * @return the persisted entities of all batches, in batch order
+   * @throws PipelinedFlushException if a batch fails; later batches are not sent
+   */
+  static <T> List<T> run(
+      List<List<T>> batches, int depth, Function<List<T>, CompletableFuture<List<T>>> sender) {
+    if (depth < 1) {
+      throw new IllegalArgumentException("depth must be positive: " + depth);
+    }
+    Semaphore permits = new Semaphore(depth);
+    AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    List<CompletableFuture<List<T>>> sent = new ArrayList<>();
+
+    try {
+      for (List<T> batch : batches) {
+        permits.acquire();
+        if (firstFailure.get() != null) {
+          permits.release();
+          break;
+        }
+        CompletableFuture<List<T>> result;
+        try {
+          result = sender.apply(batch);
+        } catch (RuntimeException exception) {
+          result = new CompletableFuture<>();
+          result.completeExceptionally(exception);
+        }
+        sent.add(result);
+        result.whenComplete(
+            (persisted, failure) -> {
+              if (failure != null) {
+                firstFailure.compareAndSet(null, unwrap(failure));
+              }
+              permits.release();
+            });
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      firstFailure.compareAndSet(null, exception);
+    }
+
+    CompletableFuture.allOf(sent.toArray(new CompletableFuture<?>[0]))
+        .handle((ignored, failure) -> null)
+        .join();
+
+    List<T> persisted = new ArrayList<>();
+    for (int index = 0; index < sent.size(); index++) {
+      CompletableFuture<List<T>> result = sent.get(index);
+      if (result.isCompletedExceptionally()) {
+        Throwable failure = result.handle((value, exception) -> unwrap(exception)).join();
+        throw new PipelinedFlushException(index, batches.size(), persisted, failure);
+      }
+      persisted.addAll(result.join());
+    }
+    if (sent.size() < batches.size()) {
+      throw new PipelinedFlushException(sent.size(), batches.size(), persisted, firstFailure.get());
+    }
+    return persisted;
+  }
+
+  private static Throwable unwrap(Throwable failure) {
+    return failure instanceof CompletionException && failure.getCause() != null
+        ? failure.getCause()
+        : failure;
+  }
+}
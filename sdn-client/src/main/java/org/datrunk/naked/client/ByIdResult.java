@@ -0,0 +1,59 @@
+package org.datrunk.naked.client;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.Getter;
+
+/**
+ * The outcome of looking up entities by id with {@link RepoClient#getAll(java.util.Collection)}.
+ *
+ * @param <T> the entity type
+ * @param <ID> the id type
+ */
+@Getter
+public class ByIdResult<T, ID> {
+  /** The entities found, in the order their ids were requested. */
+  private final List<T> found;
+  /** The requested ids which don't exist, in the order they were requested. */
+  private final List<ID> missing;
+
+  ByIdResult(List<T> found, List<ID> missing) {
+    this.found = Collections.unmodifiableList(found);
+    this.missing = Collections.unmodifiableList(missing);
+  }
+
+  /** @return whether every requested id was found */
+  public boolean isComplete() {
+    return missing.isEmpty();
+  }
+
+  /**
+   * Match the entities returned by the server to the requested ids.
+   *
+   * @param requested the distinct ids, in request order
+   * @param entities the entities returned, in any order
+   * @param key the id of an entity, in the form of {@code String.valueOf(id)}
+   */
+  static <T, ID> ByIdResult<T, ID> of(
+      List<ID> requested, Iterable<T> entities, Function<T, String> key) {
+    Map<String, T> byKey = new HashMap<>();
+    for (T entity : entities) {
+      byKey.put(key.apply(entity), entity);
+    }
+    List<T> found = new ArrayList<>(requested.size());
+    List<ID> missing = new ArrayList<>();
+    for (ID id : requested) {
+      T entity = byKey.get(String.valueOf(id));
+      if (entity != null) {
+        found.add(entity);
+      } else {
+        missing.add(id);
+      }
+    }
+    return new ByIdResult<>(found, missing);
+  }
+}
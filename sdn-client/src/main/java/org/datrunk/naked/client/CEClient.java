@@ -18,25 +18,39 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.cfg.HandlerInstantiator;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lombok.extern.log4j.Log4j2;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.ConnPoolControl;
 import org.datrunk.naked.entities.CollectionDTO;
 import org.datrunk.naked.entities.WithId;
 import org.datrunk.naked.entities.WithUri;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.util.UriComponentsBuilder;
+import uk.co.blackpepper.bowman.AsyncRestOperations;
 import uk.co.blackpepper.bowman.Client;
 import uk.co.blackpepper.bowman.ClientProxyFactory;
 import uk.co.blackpepper.bowman.Configuration;
+import uk.co.blackpepper.bowman.ConnectionPoolMetrics;
 import uk.co.blackpepper.bowman.DefaultObjectMapperFactory;
 import uk.co.blackpepper.bowman.DefaultRestTemplateFactory;
-import uk.co.blackpepper.bowman.JavassistClientProxyFactory;
 import uk.co.blackpepper.bowman.ObjectMapperFactory;
+import uk.co.blackpepper.bowman.ResourceCache;
 import uk.co.blackpepper.bowman.RestOperations;
 import uk.co.blackpepper.bowman.RestOperationsFactory;
 import uk.co.blackpepper.bowman.RestTemplateFactory;
@@ -53,6 +67,16 @@ public class CEClient<T extends WithUri & WithId<?>> extends Client<T> {
       Configuration bowmanConfiguration,
       RestOperations restOperations,
       ClientProxyFactory proxyFactory) {
+    this(entityType, batchPath, bowmanConfiguration, restOperations, null, proxyFactory);
+  }
+
+  protected CEClient(
+      Class<T> entityType,
+      String batchPath,
+      Configuration bowmanConfiguration,
+      RestOperations restOperations,
+      Supplier<AsyncRestOperations> asyncRestOperations,
+      ClientProxyFactory proxyFactory) {
     this(
         entityType,
         UriComponentsBuilder.fromUri(bowmanConfiguration.getBaseUri())
@@ -61,6 +85,7 @@ public class CEClient<T extends WithUri & WithId<?>> extends Client<T> {
             .toUri(),
         bowmanConfiguration,
         restOperations,
+        asyncRestOperations,
         proxyFactory);
   }
 
@@ -69,8 +94,9 @@ public class CEClient<T extends WithUri & WithId<?>> extends Client<T> {
       URI batchUri,
       Configuration bowmanConfiguration,
       RestOperations restOperations,
+      Supplier<AsyncRestOperations> asyncRestOperations,
       ClientProxyFactory proxyFactory) {
-    super(entityType, bowmanConfiguration, restOperations, proxyFactory);
+    super(entityType, bowmanConfiguration, restOperations, asyncRestOperations, proxyFactory);
     this.bowmanConfiguration = bowmanConfiguration;
     this.batchUri = batchUri;
     this.entityType = entityType;
@@ -81,6 +107,10 @@ public class CEClient<T extends WithUri & WithId<?>> extends Client<T> {
     return bowmanConfiguration;
   }
 
+  ObjectMapper getObjectMapper() {
+    return getRestOperations().getObjectMapper();
+  }
+
   /**
    * Create a new <code>CEClient</code> for the given annotated entity type.
    *
@@ -90,7 +120,12 @@ public class CEClient<T extends WithUri & WithId<?>> extends Client<T> {
    */
   public <O extends WithUri & WithId<?>> CEClient<O> create(Class<O> entityType) {
     return new CEClient<>(
-        entityType, batchUri, getConfiguration(), getRestOperations(), getProxyFactory());
+        entityType,
+        batchUri,
+        getConfiguration(),
+        getRestOperations(),
+        getAsyncRestOperations(),
+        getProxyFactory());
   }
 
   //  @Override
@@ -123,6 +158,74 @@ public class CEClient<T extends WithUri & WithId<?>> extends Client<T> {
     return get(uri);
   }
 
+  /**
+   * GET one page of a paged collection resource.
+   *
+   * @param uri the page URI
+   * @return the page's entities, with its page metadata and links
+   */
+  public PagedModel<T> getPage(URI uri) {
+    RestOperations restOperations = getRestOperations();
+    PagedModel<EntityModel<T>> resources = restOperations.getPagedResources(uri, entityType);
+    List<T> entities = new ArrayList<>(resources.getContent().size());
+    for (EntityModel<T> resource : resources) {
+      entities.add(getProxyFactory().create(resource, restOperations));
+    }
+    return PagedModel.of(entities, resources.getMetadata(), resources.getLinks());
+  }
+
+  /**
+   * Stream every entity of a paged collection resource, fetching its pages concurrently. The first
+   * page is fetched on the calling thread; its <code>totalPages</code> determines the remaining
+   * pages, which are fetched and deserialized on the executor with up to {@code parallelism} pages
+   * in flight or waiting to be consumed. If the resource isn't paged, its <code>next</code> links
+   * are followed one page at a time.
+   *
+   * <p>The pages are only consistent if the collection doesn't change while it is read and has a
+   * stable order, for example <code>?sort=id</code>. Close the stream if it isn't consumed to the
+   * end.
+   *
+   * @param uri the URI of the first page; its <code>page</code> parameter is replaced for the
+   *     others
+   * @param parallelism the maximum number of pages fetched at once
+   * @param ordered whether entities are returned in page order, rather than as pages arrive
+   * @param executor fetches the pages
+   * @return the entities
+   */
+  public Stream<T> streamParallel(URI uri, int parallelism, boolean ordered, Executor executor) {
+    PagedModel<T> first = getPage(uri);
+    PagedModel.PageMetadata metadata = first.getMetadata();
+
+    if (metadata == null) {
+      Stream<T> rest =
+          first
+              .getNextLink()
+              .map(next -> stream(URI.create(next.expand().getHref())))
+              .orElseGet(Stream::empty);
+      return Stream.concat(first.getContent().stream(), rest);
+    }
+
+    ParallelPages<PagedModel<T>> pages =
+        new ParallelPages<>(
+            (int) metadata.getNumber() + 1,
+            (int) metadata.getTotalPages(),
+            number ->
+                getPage(
+                    UriComponentsBuilder.fromUri(uri)
+                        .replaceQueryParam("page", number)
+                        .build(true)
+                        .toUri()),
+            parallelism,
+            ordered,
+            executor);
+    Stream<PagedModel<T>> rest =
+        StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(pages, ordered ? Spliterator.ORDERED : 0),
+                false)
+            .onClose(pages::close);
+    return Stream.concat(Stream.of(first), rest).flatMap(page -> page.getContent().stream());
+  }
+
   @Override
   public void put(T entity) {
     getEntityUri(entity);
@@ -178,25 +281,40 @@ public class CEClient<T extends WithUri & WithId<?>> extends Client<T> {
   }
 
   @Component
-  public static class Factory {
+  public static class Factory implements AutoCloseable {
     private final Configuration configuration;
     private final ClientProxyFactory proxyFactory;
+    private final RestOperationsFactory restOperationsFactory;
     private final RestOperations restOperations;
     private final RestTemplateFactory restTemplateFactory = new DefaultRestTemplateFactory();
     private final ObjectMapperFactory objectMapperFactory = new MyObjectMapperFactory();
     private final ClientProperties properties;
+    private AsyncRestOperations asyncRestOperations;
 
     public Factory(final ClientProperties properties) {
       this.properties = properties;
       configuration =
           uk.co.blackpepper.bowman.Configuration.builder()
               .setBaseUri(properties.getLocation())
+              .setWireFormat(properties.getWireFormat())
+              .setRequestCompression(properties.isCompressRequests())
+              .setRequestCompressionThreshold(properties.getCompressionThreshold())
+              .setMaxConcurrentRequests(properties.getMaxConcurrentRequests())
+              .setMaxConnections(properties.getPool().getMaxTotal())
+              .setMaxConnectionsPerRoute(properties.getPool().getMaxPerRoute())
+              .setKeepAlive(properties.getPool().getKeepAliveMillis())
+              .setIdleConnectionEviction(properties.getPool().getIdleEvictionMillis())
+              .setConnectTimeout(properties.getPool().getConnectTimeoutMillis())
+              .setSocketTimeout(properties.getPool().getSocketTimeoutMillis())
+              .setResourceCacheMaximumSize(properties.getCacheMaxSize())
+              .setResourceCacheExpireAfterWrite(properties.getCacheTtlMillis())
+              .setRevalidationCacheMaximumSize(properties.getRevalidationMaxSize())
               .build();
-      proxyFactory = new JavassistClientProxyFactory();
-      restOperations =
+      proxyFactory = configuration.getClientProxyFactory();
+      restOperationsFactory =
           new RestOperationsFactory(
-                  configuration, proxyFactory, objectMapperFactory, restTemplateFactory)
-              .create();
+              configuration, proxyFactory, objectMapperFactory, restTemplateFactory);
+      restOperations = restOperationsFactory.create();
     }
 
     /**
@@ -208,7 +326,81 @@ public class CEClient<T extends WithUri & WithId<?>> extends Client<T> {
      */
     public <T extends WithUri & WithId<?>> CEClient<T> create(Class<T> entityType) {
       return new CEClient<>(
-          entityType, properties.getBatchPath(), configuration, restOperations, proxyFactory);
+          entityType,
+          properties.getBatchPath(),
+          configuration,
+          restOperations,
+          this::getAsyncRestOperations,
+          proxyFactory);
+    }
+
+    /**
+     * Create an {@link AsyncCEClient} for the given annotated entity type. The non-blocking HTTP
+     * client shared by all asynchronous clients is started on first use.
+     *
+     * @param <T> the entity type of the required client
+     * @param entityType the entity type of the required client
+     * @return the created client
+     */
+    public <T extends WithUri & WithId<?>> AsyncCEClient<T> createAsync(Class<T> entityType) {
+      URI batchUri =
+          UriComponentsBuilder.fromUri(configuration.getBaseUri())
+              .path(properties.getBatchPath())
+              .build()
+              .toUri();
+      return new AsyncCEClient<>(
+          entityType,
+          batchUri,
+          configuration,
+          getAsyncRestOperations(),
+          restOperations,
+          proxyFactory);
+    }
+
+    /**
+     * Create a Micrometer binder for the connection pools of this factory's clients, tagged <code>
+     * pool=sync</code> and <code>pool=async</code>. Register it as a bean to publish the metrics.
+     * Requires <code>micrometer-core</code> on the classpath.
+     *
+     * @return the binder
+     */
+    public ConnectionPoolMetrics getConnectionPoolMetrics() {
+      return new ConnectionPoolMetrics()
+          .pool("sync", restOperationsFactory::getConnectionPool)
+          .pool("async", this::getStartedAsyncPool);
+    }
+
+    /**
+     * Get the resource cache shared by this factory's clients. Publish its metrics by registering a
+     * {@link uk.co.blackpepper.bowman.ResourceCacheMetrics} bean.
+     *
+     * @return the cache, or <code>null</code> if caching is disabled
+     */
+    public ResourceCache getResourceCache() {
+      return restOperations.getResourceCache();
+    }
+
+    private synchronized ConnPoolControl<HttpRoute> getStartedAsyncPool() {
+      return asyncRestOperations == null ? null : asyncRestOperations.getConnectionPool();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      try {
+        if (asyncRestOperations != null) {
+          asyncRestOperations.close();
+          asyncRestOperations = null;
+        }
+      } finally {
+        restOperationsFactory.close();
+      }
+    }
+
+    private synchronized AsyncRestOperations getAsyncRestOperations() {
+      if (asyncRestOperations == null) {
+        asyncRestOperations = AsyncRestOperations.create(configuration, restOperations);
+      }
+      return asyncRestOperations;
     }
   }
 }
@@ -9,6 +9,8 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import uk.co.blackpepper.bowman.Configuration;
+import uk.co.blackpepper.bowman.WireFormat;
 
 @Data
 @EqualsAndHashCode(of = {"location"})
@@ -18,6 +20,33 @@ public abstract class ClientProperties {
   @Getter private String batchPath = "/batch";
   private List<String> retrySleepDurations = Lists.newArrayList();
   private OAuth oauth = null;
+  private WireFormat wireFormat = WireFormat.JSON;
+  private boolean compressRequests = false;
+  private int compressionThreshold = Configuration.DEFAULT_REQUEST_COMPRESSION_THRESHOLD;
+  private int maxConcurrentRequests = Configuration.DEFAULT_MAX_CONCURRENT_REQUESTS;
+  private WriteBehind writeBehind = new WriteBehind();
+  /** Batches {@link RepoClient#saveAll} keeps in flight; 1 sends the entities as one request. */
+  private int pipelineDepth = 1;
+  /** Entities per request when {@link #pipelineDepth} is greater than 1. */
+  private int pipelineBatchSize = 1000;
+
+  /** Ids per request in {@link RepoClient#getAll(java.util.Collection)}; bounds the URI length. */
+  private int idChunkSize = 200;
+  /** Entities per page in {@link RepoClient#stream()}; 0 uses the server's default page size. */
+  private int pageSize = 0;
+  /** Whether {@link RepoClient#stream()} fetches the next page while the current one is read. */
+  private boolean prefetchPages = false;
+
+  private Pool pool = new Pool();
+  /** Maximum number of resources in the client-side resource cache; 0 disables it. */
+  private long cacheMaxSize = 0;
+  /** Time to live of cached resources; 0 keeps them until evicted or invalidated. */
+  private long cacheTtlMillis = 0;
+  /**
+   * Maximum number of resources whose ETag / Last-Modified are remembered for conditional rereads;
+   * 0 disables conditional requests.
+   */
+  private long revalidationMaxSize = 0;
 
   @Data
   public static class OAuth {
@@ -26,6 +55,47 @@ public abstract class ClientProperties {
     private String secret;
   }
 
+  /**
+   * Settings of the pooled HTTP connections shared by the synchronous and asynchronous clients.
+   *
+   * @see Configuration.Builder
+   */
+  @Data
+  public static class Pool {
+    private int maxTotal = Configuration.DEFAULT_MAX_CONNECTIONS;
+    private int maxPerRoute = Configuration.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    private long keepAliveMillis = Configuration.DEFAULT_KEEP_ALIVE;
+    /** Close connections idle for this long; 0 disables the eviction thread. */
+    private long idleEvictionMillis = 0;
+    /** -1 uses the system default and 0 means no timeout. */
+    private int connectTimeoutMillis = -1;
+    /** -1 uses the system default and 0 means no timeout. */
+    private int socketTimeoutMillis = -1;
+  }
+
+  /**
+   * Settings of the background flusher used by {@link RepoClient#persistAsync}. A batch is sent as
+   * soon as any of the entity, byte or delay limits is reached.
+   *
+   * @see WriteBehindFlusher
+   */
+  @Data
+  public static class WriteBehind {
+    /** Route {@link RepoClient#persist} through the background flusher. */
+    private boolean enabled = false;
+    /** Send a batch once it holds this many entities. */
+    private int maxEntities = 1000;
+    /** Send a batch once its entities serialize to this many bytes; 0 disables the limit. */
+    private long maxBytes = 0;
+    /** Send a batch once its oldest entity has waited this many milliseconds. */
+    private long maxDelayMillis = 1000;
+    /** Maximum number of entities waiting to be batched. */
+    private int capacity = 10000;
+    /** What {@code persist} does when {@link #capacity} entities are already waiting. */
+    private WriteBehindFlusher.OverflowPolicy overflowPolicy =
+        WriteBehindFlusher.OverflowPolicy.BLOCK;
+  }
+
   public ClientProperties(String location) {
     this.location = location;
     this.retrySleepDurations = Lists.newArrayList("0");
@@ -0,0 +1,117 @@
+package org.datrunk.naked.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.IntFunction;
+
+/**
+ * Fetches a range of pages on an executor with up to a fixed number of requests in flight, and
+ * yields them in page order or in completion order. A new page is only requested once one has been
+ * consumed, so at most {@code parallelism} pages are held at a time.
+ *
+ * @param <R> the page type
+ */
+class ParallelPages<R> implements Iterator<R>, AutoCloseable {
+  private final IntFunction<R> fetcher;
+  private final int end;
+  private final int parallelism;
+  private final boolean ordered;
+  private final Executor executor;
+  private final Deque<CompletableFuture<R>> inFlight = new ArrayDeque<>();
+  private final BlockingQueue<CompletableFuture<R>> completed = new LinkedBlockingQueue<>();
+  private int nextPage;
+  private int outstanding;
+  private boolean closed;
+
+  /**
+   * @param first the first page to fetch
+   * @param end the page after the last one to fetch
+   * @param fetcher fetches and deserializes one page; called on the executor
+   * @param parallelism the maximum number of pages fetched or waiting to be consumed
+   * @param ordered whether pages are yielded in page order rather than as they arrive
+   * @param executor runs the fetcher
+   */
+  ParallelPages(
+      int first,
+      int end,
+      IntFunction<R> fetcher,
+      int parallelism,
+      boolean ordered,
+      Executor executor) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+    }
+    this.nextPage = first;
+    this.end = end;
+    this.fetcher = fetcher;
+    this.parallelism = parallelism;
+    this.ordered = ordered;
+    this.executor = executor;
+  }
+
+  @Override
+  public boolean hasNext() {
+    fill();
+    return outstanding > 0;
+  }
+
+  @Override
+  public R next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    CompletableFuture<R> page;
+    if (ordered) {
+      page = inFlight.poll();
+    } else {
+      try {
+        page = completed.take();
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        close();
+        throw new CompletionException(exception);
+      }
+      inFlight.remove(page);
+    }
+    outstanding--;
+    try {
+      return page.join();
+    } catch (CompletionException exception) {
+      close();
+      if (exception.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) exception.getCause();
+      }
+      throw exception;
+    }
+  }
+
+  /** Stop requesting pages and discard the ones in flight. */
+  @Override
+  public void close() {
+    closed = true;
+    inFlight.forEach(page -> page.cancel(false));
+    inFlight.clear();
+    completed.clear();
+    outstanding = 0;
+  }
+
+  private void fill() {
+    while (!closed && outstanding < parallelism && nextPage < end) {
+      int number = nextPage++;
+      CompletableFuture<R> page =
+          CompletableFuture.supplyAsync(() -> fetcher.apply(number), executor);
+      inFlight.add(page);
+      if (!ordered) {
+        page.whenComplete((result, failure) -> completed.add(page));
+      }
+      outstanding++;
+    }
+  }
+}
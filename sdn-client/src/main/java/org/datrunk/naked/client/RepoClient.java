@@ -7,15 +7,24 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
+import org.datrunk.naked.client.error.PipelinedFlushException;
 import org.datrunk.naked.entities.CollectionDTO;
 import org.datrunk.naked.entities.IdClass;
 import org.datrunk.naked.entities.bowman.annotation.RemoteResource;
@@ -36,12 +45,26 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @Log4j2
-public class RepoClient<T extends IdClass<ID>, ID> extends FunctionalClient {
+public class RepoClient<T extends IdClass<ID>, ID> extends FunctionalClient
+    implements AutoCloseable {
   protected final RestTemplate restTemplate;
   private final Class<T> entityClass;
   private final Class<ID> idClass;
   private final String path;
   @Getter private final CEClient<T> client;
+  private final CEClient.Factory clientFactory;
+  private volatile AsyncCEClient<T> asyncClient;
+  private final ClientProperties.WriteBehind writeBehindSettings;
+  private final int pipelineDepth;
+  private final int pipelineBatchSize;
+  private final int idChunkSize;
+  private final int pageSize;
+  private final boolean prefetchPages;
+  private ExecutorService pageExecutor;
+  private WriteBehindFlusher<T> writeBehind;
+  /** Results of the entities {@link #persist} handed to {@link #writeBehind}, oldest first. */
+  private final Deque<CompletableFuture<T>> writeBehindResults = new ArrayDeque<>();
+
   private final CollectionDTO<T> queue = CollectionDTO.create();
   @Getter @Setter private int maxSize = 1;
 
@@ -154,6 +177,13 @@ public class RepoClient<T extends IdClass<ID>, ID> extends FunctionalClient {
           }
         };
     this.path = path;
+    this.clientFactory = clientFactory;
+    this.writeBehindSettings = properties.getWriteBehind();
+    this.pipelineDepth = properties.getPipelineDepth();
+    this.pipelineBatchSize = properties.getPipelineBatchSize();
+    this.idChunkSize = properties.getIdChunkSize();
+    this.pageSize = properties.getPageSize();
+    this.prefetchPages = properties.isPrefetchPages();
     client = clientFactory.create(entityClass);
     this.naturalIdPath = naturalIdPath;
     this.naturalIdName = naturalIdName;
@@ -169,6 +199,25 @@ public class RepoClient<T extends IdClass<ID>, ID> extends FunctionalClient {
     return entityClass;
   }
 
+  /**
+   * Get the asynchronous counterpart of {@link #getClient()}, creating it on first use.
+   *
+   * @return the asynchronous client
+   */
+  public AsyncCEClient<T> getAsyncClient() {
+    AsyncCEClient<T> result = asyncClient;
+    if (result == null) {
+      synchronized (this) {
+        result = asyncClient;
+        if (result == null) {
+          result = clientFactory.createAsync(entityClass);
+          asyncClient = result;
+        }
+      }
+    }
+    return result;
+  }
+
   public T get(ID id) {
     URI uri = getBaseURIBuilder().path(id.toString()).build().toUri();
     return client.get(uri);
@@ -180,6 +229,94 @@ public class RepoClient<T extends IdClass<ID>, ID> extends FunctionalClient {
     return result;
   }
 
+  /**
+   * Get the entities with the given ids through the repository's <code>search/byIds</code>
+   * resource, sending {@link ClientProperties#getIdChunkSize()} ids per request. Duplicate ids are
+   * looked up once.
+   *
+   * @param ids the ids to look up
+   * @return the entities found, in request order, and the ids which don't exist
+   */
+  public ByIdResult<T, ID> getAll(Collection<ID> ids) {
+    List<ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+    List<T> entities = new ArrayList<>(distinct.size());
+    for (List<ID> chunk : Lists.partition(distinct, Math.max(1, idChunkSize))) {
+      URI uri =
+          getBaseURIBuilder()
+              .pathSegment("search", "byIds")
+              .queryParam("ids", chunk.toArray())
+              .build()
+              .toUri();
+      client.getAll(uri).forEach(entities::add);
+    }
+    return ByIdResult.of(distinct, entities, RepoClient::idKey);
+  }
+
+  /** The id of an entity as a string, taken from its URI when the server doesn't expose ids. */
+  private static String idKey(IdClass<?> entity) {
+    if (entity.getId() != null) {
+      return entity.getId().toString();
+    }
+    if (entity.getUri() == null) {
+      return null;
+    }
+    String path = entity.getUri().getPath();
+    return path.substring(path.lastIndexOf('/') + 1);
+  }
+
+  /**
+   * Lazily stream every entity of the repository, following the server's <code>next</code> links so
+   * that only the current page, and the next one when {@link ClientProperties#isPrefetchPages()} is
+   * set, are held in memory. Close the stream if it isn't consumed to the end.
+   *
+   * @return the entities, in the server's order
+   */
+  public Stream<T> stream() {
+    return client.stream(getPagedUri(), prefetchPages ? getPageExecutor() : null);
+  }
+
+  /**
+   * Stream every entity of the repository, fetching up to {@code parallelism} pages at once. See
+   * {@link CEClient#streamParallel}.
+   *
+   * @param parallelism the maximum number of pages fetched at once
+   * @param ordered whether entities are returned in page order, rather than as pages arrive
+   * @return the entities; close the stream if it isn't consumed to the end
+   */
+  public Stream<T> streamParallel(int parallelism, boolean ordered) {
+    return client.streamParallel(getPagedUri(), parallelism, ordered, getPageExecutor());
+  }
+
+  private URI getPagedUri() {
+    UriComponentsBuilder builder = getBaseURIBuilder();
+    if (pageSize > 0) {
+      builder.queryParam("size", pageSize);
+    }
+    return builder.build().toUri();
+  }
+
+  private synchronized ExecutorService getPageExecutor() {
+    if (pageExecutor == null) {
+      pageExecutor =
+          Executors.newCachedThreadPool(
+              runnable -> {
+                Thread thread = new Thread(runnable, "page-fetch-" + path);
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return pageExecutor;
+  }
+
+  public CompletableFuture<T> getAsync(ID id) {
+    URI uri = getBaseURIBuilder().path(id.toString()).build().toUri();
+    return getAsyncClient().get(uri);
+  }
+
+  public CompletableFuture<List<T>> getAllAsync() {
+    return getAsyncClient().getAll();
+  }
+
   public List<T> findAll() {
     List<T> result = new ArrayList<>();
     client.findAll().forEach(result::add);
@@ -286,6 +423,10 @@ public class RepoClient<T extends IdClass<ID>, ID> extends FunctionalClient {
     client.delete(entity.getUri());
   }
 
+  public CompletableFuture<Void> deleteAsync(T entity) {
+    return getAsyncClient().delete(entity.getUri());
+  }
+
   public void deleteAll(Collection<T> entities) {
     for (T entity : entities) delete(entity);
   }
@@ -294,11 +435,22 @@ public class RepoClient<T extends IdClass<ID>, ID> extends FunctionalClient {
    * Store the provided entity in an in-memory queue. Call {@link #flush} when the queue reaches its
    * configured maximum size.
    *
+   * <p>If write-behind is enabled, the entity is handed to {@link #persistAsync} instead, and the
+   * entities whose batches have been sent since the last call are returned. A failed batch is
+   * rethrown by the next call to this method, {@link #flush} or {@link #close}.
+   *
    * @param entity to persist
    * @return if {@link #flush} was called, a list of entities returned from the server after they
    *     were persisted. Otherwise, an empty list.
    */
   public List<T> persist(T entity) {
+    if (writeBehindSettings.isEnabled()) {
+      CompletableFuture<T> result = persistAsync(entity);
+      synchronized (writeBehindResults) {
+        writeBehindResults.add(result);
+      }
+      return takeWriteBehindResults(false);
+    }
     queue.add(entity);
     if (queue.size() >= maxSize) {
       return flush();
@@ -327,6 +479,100 @@ public class RepoClient<T extends IdClass<ID>, ID> extends FunctionalClient {
     return persist(Lists.asList(first, others));
   }
 
+  /**
+   * Queue the provided entity in the background {@link WriteBehindFlusher}, which sends it with
+   * other entities once the configured size or delay limits are reached. Depending on the
+   * configured overflow policy, this blocks or throws a <code>RejectedExecutionException</code>
+   * when the flusher's queue is full.
+   *
+   * @param entity to persist
+   * @return a future of the entity returned from the server after it was persisted
+   */
+  public CompletableFuture<T> persistAsync(T entity) {
+    return getWriteBehind().submit(entity);
+  }
+
+  /**
+   * Take the results of the entities sent for {@link #persist} by the write-behind flusher, oldest
+   * first.
+   *
+   * @param wait whether to wait for entities still in flight rather than stop at the first one
+   * @return the entities returned from the server
+   * @throws RuntimeException the first batch failure, with any later ones suppressed
+   */
+  private List<T> takeWriteBehindResults(boolean wait) {
+    List<T> persisted = new ArrayList<>();
+    RuntimeException failure = null;
+    synchronized (writeBehindResults) {
+      for (CompletableFuture<T> next = writeBehindResults.peek();
+          next != null && (wait || next.isDone());
+          next = writeBehindResults.peek()) {
+        writeBehindResults.remove();
+        try {
+          persisted.add(next.join());
+        } catch (CompletionException exception) {
+          RuntimeException cause =
+              exception.getCause() instanceof RuntimeException
+                  ? (RuntimeException) exception.getCause()
+                  : exception;
+          if (failure == null) {
+            failure = cause;
+          } else if (failure != cause) {
+            failure.addSuppressed(cause);
+          }
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return persisted;
+  }
+
+  /**
+   * Get the background flusher used by {@link #persistAsync}, starting it on first use.
+   *
+   * @return the flusher
+   */
+  public synchronized WriteBehindFlusher<T> getWriteBehind() {
+    if (writeBehind == null) {
+      ObjectMapper objectMapper = client.getObjectMapper();
+      writeBehind =
+          new WriteBehindFlusher<>(
+              entityClass.getSimpleName(),
+              writeBehindSettings,
+              this::send,
+              entity -> {
+                try {
+                  return objectMapper.writeValueAsBytes(entity).length;
+                } catch (JsonProcessingException exception) {
+                  throw new IllegalArgumentException(exception);
+                }
+              });
+    }
+    return writeBehind;
+  }
+
+  /**
+   * Send any entities queued by {@link #persistAsync}, stop the background flusher and the page
+   * fetching threads.
+   *
+   * @throws RuntimeException if a write-behind batch of entities passed to {@link #persist} failed
+   *     since they were last collected
+   */
+  @Override
+  public synchronized void close() {
+    if (writeBehind != null) {
+      writeBehind.close();
+      writeBehind = null;
+    }
+    if (pageExecutor != null) {
+      pageExecutor.shutdownNow();
+      pageExecutor = null;
+    }
+    takeWriteBehindResults(true);
+  }
+
   public List<T> clear() {
     List<T> copy = new ArrayList<>();
     copy.addAll(queue.getEntities());
@@ -337,24 +583,88 @@ public class RepoClient<T extends IdClass<ID>, ID> extends FunctionalClient {
   /**
    * Sends any buffered entities to the database.
    *
+   * <p>If write-behind is enabled, waits for the flusher to send every entity passed to {@link
+   * #persist} and rethrows the first batch failure.
+   *
    * @return a list of entities returned by the database after persisting them
    */
   public List<T> flush() {
-    CollectionModel<EntityModel<T>> result = client.saveAll(queue);
+    if (writeBehindSettings.isEnabled()) {
+      WriteBehindFlusher<T> flusher;
+      synchronized (this) {
+        flusher = writeBehind;
+      }
+      if (flusher != null) {
+        flusher.flush().join();
+      }
+      return takeWriteBehindResults(true);
+    }
+    List<T> result = send(queue.getEntities());
     queue.clear();
+    return result;
+  }
+
+  private List<T> send(List<T> entities) {
+    CollectionModel<EntityModel<T>> result = client.saveAll(CollectionDTO.create(entities));
     return result.getContent().stream()
         .map(entityModel -> entityModel.getContent())
         .collect(Collectors.toList());
   }
 
+  /**
+   * Sends any buffered entities to the database without waiting for the response. The queue is
+   * emptied immediately, so entities persisted while the request is in flight are sent by the next
+   * flush.
+   *
+   * @return a future of the entities returned by the database after persisting them
+   */
+  public CompletableFuture<List<T>> flushAsync() {
+    CollectionDTO<T> batch = CollectionDTO.create();
+    batch.addAll(queue.getEntities());
+    queue.clear();
+    return saveAllAsync(batch);
+  }
+
+  /**
+   * Persist the provided entities in the database without waiting for the response. The in-memory
+   * queue used by {@link #persist} is not affected.
+   *
+   * @param entities to persist
+   * @return a future of the entities returned from the server after they were persisted
+   */
+  public CompletableFuture<List<T>> saveAllAsync(Collection<T> entities) {
+    CollectionDTO<T> batch = CollectionDTO.create();
+    batch.addAll(entities);
+    return saveAllAsync(batch);
+  }
+
+  private CompletableFuture<List<T>> saveAllAsync(CollectionDTO<T> batch) {
+    return getAsyncClient()
+        .saveAll(batch)
+        .thenApply(
+            result ->
+                result.getContent().stream()
+                    .map(entityModel -> entityModel.getContent())
+                    .collect(Collectors.toList()));
+  }
+
   /**
    * Persist the provided entities in the database. Unlike {@link #persist}, this method doesn't
    * buffer the entities. It flushes them immediately.
    *
+   * <p>If the configured pipeline depth is greater than 1, the entities are sent in batches with
+   * {@link #saveAllPipelined}.
+   *
    * @param entities to persist
    * @return a list of entities returned from the server after they were persisted.
    */
   public List<T> saveAll(Collection<T> entities) {
+    if (pipelineDepth > 1) {
+      return saveAllPipelined(entities, pipelineBatchSize, pipelineDepth);
+    }
+    if (writeBehindSettings.isEnabled()) {
+      return send(new ArrayList<>(entities));
+    }
     final int maxSize = getMaxSize();
     setMaxSize(entities.size());
     List<T> flushed = persist(entities);
@@ -363,6 +673,26 @@ public class RepoClient<T extends IdClass<ID>, ID> extends FunctionalClient {
     return flushed;
   }
 
+  /**
+   * Persist the provided entities in batches of {@code batchSize}, keeping up to {@code depth}
+   * batch requests in flight over the asynchronous client's connections. The results are returned
+   * in the order of the entities, whatever order the responses arrive in.
+   *
+   * <p>If a batch fails, no further batches are sent. Batches already in flight are allowed to
+   * finish, and a {@link PipelinedFlushException} reports the failed batch and the entities
+   * persisted by the batches before it.
+   *
+   * @param entities to persist
+   * @param batchSize the number of entities per request
+   * @param depth the maximum number of requests in flight
+   * @return a list of entities returned from the server after they were persisted
+   * @throws PipelinedFlushException if a batch fails
+   */
+  public List<T> saveAllPipelined(Collection<T> entities, int batchSize, int depth) {
+    List<List<T>> batches = Lists.partition(new ArrayList<>(entities), batchSize);
+    return BatchPipeline.run(batches, depth, this::saveAllAsync);
+  }
+
   /**
    * Persist the provided entities
    *
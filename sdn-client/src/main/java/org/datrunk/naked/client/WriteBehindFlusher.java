@@ -0,0 +1,256 @@
+package org.datrunk.naked.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Batches entities in the background and sends them with a single call per batch, so that producers
+ * don't wait on network round trips.
+ *
+ * <p>A batch is sent when it holds {@link ClientProperties.WriteBehind#getMaxEntities()} entities,
+ * when its entities add up to {@link ClientProperties.WriteBehind#getMaxBytes()}, or when its
+ * oldest entity has waited {@link ClientProperties.WriteBehind#getMaxDelayMillis()}, whichever
+ * comes first. Batches are sent one at a time from a single daemon thread, in submission order.
+ *
+ * <p>At most {@link ClientProperties.WriteBehind#getCapacity()} entities wait to be batched. When
+ * the queue is full, {@link #submit} blocks or throws a {@link RejectedExecutionException}
+ * according to the {@link OverflowPolicy}.
+ *
+ * @param <T> the entity type
+ */
+@Log4j2
+public class WriteBehindFlusher<T> implements AutoCloseable {
+
+  /** What {@link WriteBehindFlusher#submit} does when the queue is full. */
+  public enum OverflowPolicy {
+    /** Wait for the flusher to make room. */
+    BLOCK,
+    /** Throw a {@link RejectedExecutionException}. */
+    REJECT
+  }
+
+  private static final class Entry<T> {
+    private final T entity;
+    private final long size;
+    private final CompletableFuture<T> result;
+
+    Entry(T entity, long size, CompletableFuture<T> result) {
+      this.entity = entity;
+      this.size = size;
+      this.result = result;
+    }
+
+    boolean isMarker() {
+      return entity == null;
+    }
+  }
+
+  private final ClientProperties.WriteBehind settings;
+  private final Function<List<T>, List<T>> sender;
+  private final ToLongFunction<T> sizer;
+  private final BlockingQueue<Entry<T>> queue = new LinkedBlockingQueue<>();
+  private final Semaphore slots;
+  private final Thread worker;
+  /** Guards {@link #closed} so that nothing is queued once {@link #close} has queued its flush. */
+  private final Object lock = new Object();
+
+  private final CompletableFuture<Void> terminated = new CompletableFuture<>();
+  private volatile boolean closed;
+
+  /**
+   * Create and start a flusher.
+   *
+   * @param name used to name the background thread
+   * @param settings the batching limits
+   * @param sender persists a batch and returns the persisted entities in the same order
+   * @param sizer estimates the serialized size of an entity; only called when a byte limit is set
+   */
+  public WriteBehindFlusher(
+      String name,
+      ClientProperties.WriteBehind settings,
+      Function<List<T>, List<T>> sender,
+      ToLongFunction<T> sizer) {
+    if (settings.getMaxEntities() < 1 || settings.getCapacity() < 1) {
+      throw new IllegalArgumentException("maxEntities and capacity must be positive");
+    }
+    this.settings = settings;
+    this.sender = sender;
+    this.sizer = sizer;
+    this.slots = new Semaphore(settings.getCapacity());
+    this.worker = new Thread(this::run, "write-behind-" + name);
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Queue an entity to be sent with the next batch.
+   *
+   * @param entity to persist
+   * @return a future of the entity returned by the server, completed exceptionally if its batch
+   *     fails
+   * @throws RejectedExecutionException if the flusher is closed, or the queue is full and the
+   *     policy is {@link OverflowPolicy#REJECT}
+   */
+  public CompletableFuture<T> submit(T entity) {
+    if (entity == null) {
+      throw new IllegalArgumentException("entity must not be null");
+    }
+    acquireSlot();
+    long size;
+    try {
+      size = settings.getMaxBytes() > 0 ? sizer.applyAsLong(entity) : 0;
+    } catch (RuntimeException exception) {
+      slots.release();
+      throw exception;
+    }
+    CompletableFuture<T> result = new CompletableFuture<>();
+    synchronized (lock) {
+      if (closed) {
+        slots.release();
+        throw new RejectedExecutionException("write-behind flusher is closed");
+      }
+      queue.add(new Entry<>(entity, size, result));
+    }
+    return result;
+  }
+
+  /**
+   * Send everything queued so far without waiting for the batch limits.
+   *
+   * @return a future completed once every entity submitted before this call has been sent; once the
+   *     flusher is closed, completed when {@link #close} has sent the remaining entities
+   */
+  public CompletableFuture<Void> flush() {
+    CompletableFuture<T> marker = new CompletableFuture<>();
+    synchronized (lock) {
+      if (closed) {
+        return terminated.thenApply(ignored -> null);
+      }
+      queue.add(new Entry<>(null, 0, marker));
+    }
+    return marker.thenApply(ignored -> null);
+  }
+
+  /** @return the number of entities waiting to be batched */
+  public int getQueued() {
+    return settings.getCapacity() - slots.availablePermits();
+  }
+
+  /**
+   * Stop accepting entities, send the ones already queued and wait for the background thread to
+   * finish.
+   */
+  @Override
+  public void close() {
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      // wakes the worker, which stops once it has sent everything before this marker
+      queue.add(new Entry<>(null, 0, new CompletableFuture<>()));
+    }
+    try {
+      worker.join();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    } finally {
+      terminated.complete(null);
+    }
+  }
+
+  private void acquireSlot() {
+    if (settings.getOverflowPolicy() == OverflowPolicy.REJECT) {
+      if (!slots.tryAcquire()) {
+        throw new RejectedExecutionException(
+            String.format("write-behind queue is full (%d entities)", settings.getCapacity()));
+      }
+      return;
+    }
+    try {
+      slots.acquire();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("interrupted waiting for write-behind queue", exception);
+    }
+  }
+
+  private void run() {
+    try {
+      while (!closed || !queue.isEmpty()) {
+        collectAndSend(queue.take());
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void collectAndSend(Entry<T> first) throws InterruptedException {
+    List<Entry<T>> batch = new ArrayList<>();
+    Entry<T> marker = null;
+    long bytes = 0;
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getMaxDelayMillis());
+
+    Entry<T> next = first;
+    while (next != null) {
+      if (next.isMarker()) {
+        marker = next;
+        break;
+      }
+      slots.release();
+      batch.add(next);
+      bytes += next.size;
+      if (batch.size() >= settings.getMaxEntities()
+          || (settings.getMaxBytes() > 0 && bytes >= settings.getMaxBytes())) {
+        break;
+      }
+      long remaining = deadline - System.nanoTime();
+      next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+    }
+
+    if (!batch.isEmpty()) {
+      send(batch);
+    }
+    if (marker != null) {
+      marker.result.complete(null);
+    }
+  }
+
+  private void send(List<Entry<T>> batch) {
+    List<T> entities = new ArrayList<>(batch.size());
+    for (Entry<T> entry : batch) {
+      entities.add(entry.entity);
+    }
+
+    final List<T> persisted;
+    try {
+      persisted = sender.apply(entities);
+    } catch (RuntimeException exception) {
+      log.warn("Write-behind batch of {} entities failed: {}", batch.size(), exception.toString());
+      batch.forEach(entry -> entry.result.completeExceptionally(exception));
+      return;
+    }
+
+    if (persisted == null || persisted.size() != batch.size()) {
+      IllegalStateException exception =
+          new IllegalStateException(
+              String.format(
+                  "Sent %d entities but the server returned %d",
+                  batch.size(), persisted == null ? 0 : persisted.size()));
+      batch.forEach(entry -> entry.result.completeExceptionally(exception));
+      return;
+    }
+    for (int index = 0; index < batch.size(); index++) {
+      batch.get(index).result.complete(persisted.get(index));
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package org.datrunk.naked.client.error;
+
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Thrown when a batch of a pipelined save fails. No batch after the failed one is sent; batches
+ * that were already in flight are allowed to finish, and the entities of the leading run of
+ * successful batches are available from {@link #getPersisted()}.
+ */
+@Getter
+public class PipelinedFlushException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  /** Index of the first failed batch. */
+  private final int failedBatch;
+  /** Number of batches the entities were split into. */
+  private final int batchCount;
+  /** Persisted entities of the batches before {@link #failedBatch}, in order. */
+  private final transient List<?> persisted;
+
+  public PipelinedFlushException(
+      int failedBatch, int batchCount, List<?> persisted, Throwable cause) {
+    super(
+        String.format(
+            "Batch %d of %d failed: %s; %d entities in earlier batches were persisted",
+            failedBatch + 1, batchCount, cause.getMessage(), persisted.size()),
+        cause);
+    this.failedBatch = failedBatch;
+    this.batchCount = batchCount;
+    this.persisted = persisted;
+  }
+}
@@ -0,0 +1,92 @@
+package org.datrunk.naked.client;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.datrunk.naked.client.error.PipelinedFlushException;
+import org.junit.jupiter.api.Test;
+
+public class BatchPipelineTest {
+
+  private final List<CompletableFuture<List<String>>> inFlight =
+      Collections.synchronizedList(new ArrayList<>());
+
+  private final List<List<String>> sent = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  public void keepsDepthBatchesInFlightAndPreservesOrder() throws Exception {
+    AtomicInteger maxInFlight = new AtomicInteger();
+    List<List<String>> batches = asList(asList("a", "b"), asList("c"), asList("d"), asList("e"));
+
+    CompletableFuture<List<String>> result =
+        CompletableFuture.supplyAsync(
+            () ->
+                BatchPipeline.run(
+                    batches,
+                    2,
+                    batch -> {
+                      sent.add(batch);
+                      CompletableFuture<List<String>> response = new CompletableFuture<>();
+                      inFlight.add(response);
+                      maxInFlight.accumulateAndGet(
+                          (int) inFlight.stream().filter(f -> !f.isDone()).count(), Math::max);
+                      return response;
+                    }));
+
+    // Complete responses in reverse order of sending
+    awaitSent(2);
+    inFlight.get(1).complete(upperCase(sent.get(1)));
+    awaitSent(3);
+    inFlight.get(2).complete(upperCase(sent.get(2)));
+    awaitSent(4);
+    inFlight.get(3).complete(upperCase(sent.get(3)));
+    inFlight.get(0).complete(upperCase(sent.get(0)));
+
+    assertThat(result.get()).containsExactly("A", "B", "C", "D", "E");
+    assertThat(maxInFlight.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void stopsSendingAfterFirstFailure() {
+    List<List<String>> batches = asList(asList("a"), asList("b"), asList("c"), asList("d"));
+
+    assertThatThrownBy(
+            () ->
+                BatchPipeline.run(
+                    batches,
+                    1,
+                    batch -> {
+                      sent.add(batch);
+                      if (batch.contains("b")) {
+                        throw new IllegalStateException("server down");
+                      }
+                      return CompletableFuture.completedFuture(upperCase(batch));
+                    }))
+        .isInstanceOfSatisfying(
+            PipelinedFlushException.class,
+            exception -> {
+              assertThat(exception.getFailedBatch()).isEqualTo(1);
+              assertThat(exception.getBatchCount()).isEqualTo(4);
+              assertThat(exception.getPersisted()).isEqualTo(asList("A"));
+              assertThat(exception.getCause()).isInstanceOf(IllegalStateException.class);
+            });
+    assertThat(sent).containsExactly(asList("a"), asList("b"));
+  }
+
+  private void awaitSent(int count) throws InterruptedException {
+    while (sent.size() < count) {
+      Thread.sleep(5);
+    }
+  }
+
+  private static List<String> upperCase(List<String> batch) {
+    return batch.stream().map(String::toUpperCase).collect(Collectors.toList());
+  }
+}
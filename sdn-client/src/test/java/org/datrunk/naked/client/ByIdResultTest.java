@@ -0,0 +1,38 @@
+package org.datrunk.naked.client;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+public class ByIdResultTest {
+
+  @Test
+  public void returnsEntitiesInRequestOrderAndReportsMissingIds() {
+    ByIdResult<String, Integer> result =
+        ByIdResult.of(asList(3, 1, 4, 2), asList("1", "2", "3"), entity -> entity);
+
+    assertThat(result.getFound()).isEqualTo(asList("3", "1", "2"));
+    assertThat(result.getMissing()).isEqualTo(asList(4));
+    assertThat(result.isComplete()).isFalse();
+  }
+
+  @Test
+  public void isCompleteWhenEveryIdIsFound() {
+    ByIdResult<String, Long> result =
+        ByIdResult.of(asList(2L, 1L), asList("1", "2"), entity -> entity);
+
+    assertThat(result.getFound()).isEqualTo(asList("2", "1"));
+    assertThat(result.isComplete()).isTrue();
+  }
+
+  @Test
+  public void reportsEveryIdMissingWhenNothingIsFound() {
+    ByIdResult<String, Integer> result =
+        ByIdResult.of(asList(1, 2), Collections.<String>emptyList(), entity -> entity);
+
+    assertThat(result.getFound()).isEmpty();
+    assertThat(result.getMissing()).isEqualTo(asList(1, 2));
+  }
+}
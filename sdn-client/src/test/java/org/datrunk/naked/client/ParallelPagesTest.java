@@ -0,0 +1,82 @@
+package org.datrunk.naked.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ParallelPagesTest {
+
+  private final List<Runnable> tasks = new ArrayList<>();
+
+  @Test
+  public void yieldsPagesInOrderWithBoundedParallelism() {
+    ParallelPages<Integer> pages = new ParallelPages<>(1, 5, number -> number, 2, true, tasks::add);
+
+    assertThat(pages.hasNext()).isTrue();
+    assertThat(tasks).hasSize(2);
+    tasks.get(1).run();
+    tasks.get(0).run();
+    assertThat(pages.next()).isEqualTo(1);
+
+    assertThat(pages.hasNext()).isTrue();
+    assertThat(tasks).hasSize(3);
+    assertThat(pages.next()).isEqualTo(2);
+    tasks.get(2).run();
+    assertThat(pages.next()).isEqualTo(3);
+    tasks.get(3).run();
+    assertThat(pages.next()).isEqualTo(4);
+    assertThat(pages.hasNext()).isFalse();
+  }
+
+  @Test
+  public void yieldsPagesAsTheyArriveWhenUnordered() {
+    ParallelPages<Integer> pages =
+        new ParallelPages<>(0, 3, number -> number, 3, false, tasks::add);
+
+    assertThat(pages.hasNext()).isTrue();
+    tasks.get(2).run();
+    assertThat(pages.next()).isEqualTo(2);
+    tasks.get(0).run();
+    assertThat(pages.next()).isEqualTo(0);
+    tasks.get(1).run();
+    assertThat(pages.next()).isEqualTo(1);
+    assertThat(pages.hasNext()).isFalse();
+  }
+
+  @Test
+  public void failedPageStopsIteration() {
+    IllegalStateException failure = new IllegalStateException("page 1");
+    ParallelPages<Integer> pages =
+        new ParallelPages<>(
+            0,
+            4,
+            number -> {
+              if (number == 1) {
+                throw failure;
+              }
+              return number;
+            },
+            2,
+            true,
+            Runnable::run);
+
+    assertThat(pages.next()).isEqualTo(0);
+    assertThatThrownBy(pages::next).isSameAs(failure);
+    assertThat(pages.hasNext()).isFalse();
+  }
+
+  @Test
+  public void closeStopsRequestingPages() {
+    ParallelPages<Integer> pages =
+        new ParallelPages<>(0, 10, number -> number, 2, true, tasks::add);
+
+    pages.hasNext();
+    pages.close();
+
+    assertThat(pages.hasNext()).isFalse();
+    assertThat(tasks).hasSize(2);
+  }
+}
@@ -27,5 +27,7 @@ public class TestProperties {
   public void testClientProperties() {
     assertThat(clientProperties).isNotNull();
     assertThat(clientProperties.getRetrySleepDurations()).containsExactly("0");
+    assertThat(clientProperties.isCompressRequests()).isTrue();
+    assertThat(clientProperties.getCompressionThreshold()).isEqualTo(1024);
   }
 }
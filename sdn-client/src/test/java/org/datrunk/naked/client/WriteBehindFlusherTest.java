@@ -0,0 +1,196 @@
+package org.datrunk.naked.client;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class WriteBehindFlusherTest {
+
+  private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+  private WriteBehindFlusher<String> flusher;
+
+  @AfterEach
+  public void tearDown() {
+    if (flusher != null) {
+      flusher.close();
+    }
+  }
+
+  @Test
+  public void sendsBatchWhenEntityLimitIsReached() throws Exception {
+    flusher = flusher(settings(3, 0, 60_000), this::upperCase);
+
+    CompletableFuture<String> a = flusher.submit("a");
+    flusher.submit("b");
+    CompletableFuture<String> c = flusher.submit("c");
+
+    assertThat(c.get(5, TimeUnit.SECONDS)).isEqualTo("C");
+    assertThat(a.get()).isEqualTo("A");
+    assertThat(batches).containsExactly(asList("a", "b", "c"));
+  }
+
+  @Test
+  public void sendsBatchWhenByteLimitIsReached() throws Exception {
+    flusher = flusher(settings(100, 10, 60_000), this::upperCase);
+
+    flusher.submit("aaaa");
+    flusher.submit("bbbb");
+    CompletableFuture<String> c = flusher.submit("cccc");
+
+    assertThat(c.get(5, TimeUnit.SECONDS)).isEqualTo("CCCC");
+    assertThat(batches).containsExactly(asList("aaaa", "bbbb", "cccc"));
+  }
+
+  @Test
+  public void sendsBatchWhenDelayExpires() throws Exception {
+    flusher = flusher(settings(100, 0, 50), this::upperCase);
+
+    CompletableFuture<String> a = flusher.submit("a");
+
+    assertThat(a.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+    assertThat(batches).containsExactly(asList("a"));
+  }
+
+  @Test
+  public void flushSendsQueuedEntities() throws Exception {
+    flusher = flusher(settings(100, 0, 60_000), this::upperCase);
+    CompletableFuture<String> a = flusher.submit("a");
+
+    flusher.flush().get(5, TimeUnit.SECONDS);
+
+    assertThat(a.isDone()).isTrue();
+    assertThat(batches).containsExactly(asList("a"));
+  }
+
+  @Test
+  public void failedBatchCompletesFuturesExceptionally() {
+    flusher =
+        flusher(
+            settings(2, 0, 60_000),
+            batch -> {
+              throw new IllegalStateException("server down");
+            });
+
+    CompletableFuture<String> a = flusher.submit("a");
+    flusher.submit("b");
+
+    assertThatThrownBy(() -> a.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void rejectsWhenQueueIsFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    ClientProperties.WriteBehind settings = settings(1, 0, 60_000);
+    settings.setCapacity(1);
+    settings.setOverflowPolicy(WriteBehindFlusher.OverflowPolicy.REJECT);
+    flusher =
+        flusher(
+            settings,
+            batch -> {
+              try {
+                release.await(5, TimeUnit.SECONDS);
+              } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+              }
+              return upperCase(batch);
+            });
+
+    CompletableFuture<String> a = flusher.submit("a");
+    while (flusher.getQueued() > 0) {
+      Thread.sleep(5);
+    }
+    CompletableFuture<String> b = flusher.submit("b");
+
+    assertThatThrownBy(() -> flusher.submit("c")).isInstanceOf(RejectedExecutionException.class);
+    release.countDown();
+    assertThat(a.get(5, TimeUnit.SECONDS)).isEqualTo("A");
+    assertThat(b.get(5, TimeUnit.SECONDS)).isEqualTo("B");
+  }
+
+  @Test
+  public void closeSendsQueuedEntitiesAndRejectsNewOnes() throws Exception {
+    flusher = flusher(settings(100, 0, 60_000), this::upperCase);
+    CompletableFuture<String> a = flusher.submit("a");
+
+    flusher.close();
+
+    assertThat(a.getNow(null)).isEqualTo("A");
+    assertThatThrownBy(() -> flusher.submit("b")).isInstanceOf(RejectedExecutionException.class);
+  }
+
+  @Test
+  public void flushAfterCloseCompletes() throws Exception {
+    flusher = flusher(settings(100, 0, 60_000), this::upperCase);
+
+    flusher.close();
+
+    assertThat(flusher.flush()).succeedsWithin(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void submitRacingCloseIsEitherSentOrRejected() throws Exception {
+    flusher = flusher(settings(10, 0, 60_000), this::upperCase);
+    List<CompletableFuture<String>> accepted = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch started = new CountDownLatch(4);
+    List<Thread> producers = new ArrayList<>();
+    for (int producer = 0; producer < 4; producer++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                started.countDown();
+                try {
+                  while (true) {
+                    accepted.add(flusher.submit("x"));
+                  }
+                } catch (RejectedExecutionException expected) {
+                  // closed
+                }
+              });
+      thread.start();
+      producers.add(thread);
+    }
+    started.await(5, TimeUnit.SECONDS);
+
+    flusher.close();
+    for (Thread thread : producers) {
+      thread.join(5_000);
+    }
+
+    assertThat(accepted).isNotEmpty().allMatch(result -> "X".equals(result.getNow(null)));
+  }
+
+  private WriteBehindFlusher<String> flusher(
+      ClientProperties.WriteBehind settings, Function<List<String>, List<String>> sender) {
+    return new WriteBehindFlusher<>("test", settings, sender, String::length);
+  }
+
+  private List<String> upperCase(List<String> batch) {
+    batches.add(new ArrayList<>(batch));
+    return batch.stream().map(String::toUpperCase).collect(Collectors.toList());
+  }
+
+  private static ClientProperties.WriteBehind settings(
+      int maxEntities, long maxBytes, long maxDelayMillis) {
+    ClientProperties.WriteBehind settings = new ClientProperties.WriteBehind();
+    settings.setMaxEntities(maxEntities);
+    settings.setMaxBytes(maxBytes);
+    settings.setMaxDelayMillis(maxDelayMillis);
+    return settings;
+  }
+}
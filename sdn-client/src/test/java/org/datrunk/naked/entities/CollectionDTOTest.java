@@ -68,6 +68,7 @@ import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.support.HttpRequestWrapper;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.lang.NonNull;
@@ -272,7 +273,7 @@ public class CollectionDTOTest {
       objectMapper.registerModule(new JacksonClientModule());
       objectMapper.setHandlerInstantiator(this);
 
-      restTemplate = new RestTemplate(configuration.getClientHttpRequestFactory());
+      restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory());
       restTemplate
           .getMessageConverters()
           .add(0, new MappingJackson2HttpMessageConverter(objectMapper));
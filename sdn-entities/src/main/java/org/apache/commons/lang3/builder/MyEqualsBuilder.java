@@ -1,8 +1,6 @@
 package org.apache.commons.lang3.builder;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -10,6 +8,7 @@ import java.util.Set;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.datrunk.naked.entities.GetterAccessor;
 import org.datrunk.naked.entities.IdClass;
 
 /**
@@ -432,17 +431,11 @@ public class MyEqualsBuilder implements org.apache.commons.lang3.builder.Builder
 
     try {
       register(parent, child);
-      for (Method method : clazz.getDeclaredMethods()) {
-        int modifiers = method.getModifiers();
-        if (method.getName().startsWith("get")
-            && method.getParameterCount() == 0
-            && !method.getReturnType().equals(Void.TYPE)
-            && !ArrayUtils.contains(excludeFields, method.getName())
-            && !Modifier.isTransient(modifiers)
-            && (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers))) {
+      for (GetterAccessor getter : GetterAccessor.declaredBy(clazz)) {
+        if (!ArrayUtils.contains(excludeFields, getter.getName())) {
           if (!isEquals) return;
-          Object parentVal = method.invoke(parent);
-          Object childVal = method.invoke(child);
+          Object parentVal = getter.get(parent);
+          Object childVal = getter.get(child);
           append(parentVal, childVal);
         }
       }
@@ -0,0 +1,107 @@
+package org.datrunk.naked.entities;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.lang3.builder.MyEqualsBuilder;
+
+/**
+ * A getter that {@link IdClass#hashCode}, {@link IdClass#equals} and {@link MyEqualsBuilder} read
+ * when an entity has no id. The getters of each class are found once, in the order of {@link
+ * Class#getDeclaredMethods}, rather than on every comparison.
+ *
+ * <p>A getter is a method declared by the class whose name starts with <code>get</code>, that takes
+ * no parameters, returns a value, and is public or protected.
+ */
+public final class GetterAccessor {
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private static final ClassValue<List<GetterAccessor>> DECLARED_GETTERS =
+      new ClassValue<List<GetterAccessor>>() {
+        @Override
+        protected List<GetterAccessor> computeValue(Class<?> type) {
+          List<GetterAccessor> getters = new ArrayList<>();
+          for (Method method : type.getDeclaredMethods()) {
+            if (isGetter(method)) {
+              getters.add(new GetterAccessor(method));
+            }
+          }
+          return Collections.unmodifiableList(getters);
+        }
+      };
+
+  private final Method method;
+  private final MethodHandle handle;
+
+  private GetterAccessor(Method method) {
+    this.method = method;
+    this.handle = unreflect(method);
+  }
+
+  /**
+   * @param type the class to inspect
+   * @return the getters declared by <code>type</code>, not by its superclasses
+   */
+  public static List<GetterAccessor> declaredBy(Class<?> type) {
+    return DECLARED_GETTERS.get(type);
+  }
+
+  public String getName() {
+    return method.getName();
+  }
+
+  public Method getMethod() {
+    return method;
+  }
+
+  /**
+   * @return a handle of type <code>(Object)Object</code> for {@link MethodHandle#invokeExact}, or
+   *     <code>null</code> if the getter is not publicly accessible
+   */
+  public MethodHandle getHandle() {
+    return handle;
+  }
+
+  /**
+   * Invoke the getter, through its handle when it is publicly accessible and reflectively
+   * otherwise.
+   *
+   * @param target the object to read
+   * @return the getter's result
+   * @throws IllegalAccessException if the getter is not accessible
+   * @throws InvocationTargetException if the getter throws
+   */
+  public Object get(Object target) throws IllegalAccessException, InvocationTargetException {
+    if (handle == null) {
+      return method.invoke(target);
+    }
+    try {
+      return handle.invokeExact(target);
+    } catch (Throwable e) {
+      throw new InvocationTargetException(e);
+    }
+  }
+
+  private static boolean isGetter(Method method) {
+    int modifiers = method.getModifiers();
+    return method.getName().startsWith("get")
+        && method.getParameterCount() == 0
+        && !method.getReturnType().equals(Void.TYPE)
+        && !Modifier.isTransient(modifiers)
+        && (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers));
+  }
+
+  private static MethodHandle unreflect(Method method) {
+    try {
+      return MethodHandles.publicLookup().unreflect(method).asType(GETTER_TYPE);
+    } catch (IllegalAccessException e) {
+      return null;
+    }
+  }
+}
@@ -7,6 +7,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.net.URI;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -35,6 +36,19 @@ import org.datrunk.naked.entities.bowman.annotation.ResourceId;
  * @param <ID>
  */
 public abstract class IdClass<ID> implements WithId<ID>, WithUri {
+  /** The getters of each class that {@link #hashCode} reads when there is no id or uri. */
+  private static final ClassValue<List<GetterAccessor>> HASHED_GETTERS =
+      new ClassValue<List<GetterAccessor>>() {
+        @Override
+        protected List<GetterAccessor> computeValue(Class<?> type) {
+          return GetterAccessor.declaredBy(type).stream()
+              .filter(
+                  getter ->
+                      !ImmutableSet.of("getId", "getUri", "getTypeId").contains(getter.getName()))
+              .collect(Collectors.toList());
+        }
+      };
+
   @Transient @JsonIgnore private transient URI uri;
 
   @Override
@@ -71,24 +85,14 @@ public abstract class IdClass<ID> implements WithId<ID>, WithUri {
       final int prime = 31;
       int result = super.hashCode();
 
-      for (Method method : getClass().getDeclaredMethods()) {
-        int modifiers = method.getModifiers();
-        if (method.getName().startsWith("get")
-            && method.getParameterCount() == 0
-            && !method.getReturnType().equals(Void.TYPE)
-            && !ImmutableSet.of("getId", "getUri", "getTypeId").contains(method.getName())
-            && !Modifier.isTransient(modifiers)
-            && (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers))) {
-          try {
-            final Object val = method.invoke(this);
-            if (val != null) {
-              result = prime * result + val.hashCode();
-            }
-          } catch (IllegalAccessException
-              | IllegalArgumentException
-              | InvocationTargetException e) {
-            throw new RuntimeException(e);
+      for (GetterAccessor getter : HASHED_GETTERS.get(getClass())) {
+        try {
+          final Object val = getter.get(this);
+          if (val != null) {
+            result = prime * result + val.hashCode();
           }
+        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+          throw new RuntimeException(e);
         }
       }
       return result;
@@ -0,0 +1,20 @@
+package org.datrunk.naked.entities.bowman.proxy;
+
+/**
+ * Implemented by the client proxy subclasses that {@code bowman-client-processor} generates for
+ * each {@code @RemoteResource} entity. A generated proxy delegates bean properties to the
+ * deserialized content and resolves {@code @LinkedResource} methods through a {@link
+ * ProxyLinkResolver}.
+ *
+ * @param <T> the entity type
+ */
+public interface GeneratedProxy<T> {
+
+  /**
+   * Binds this proxy to a deserialized entity. Called once, before the proxy is published.
+   *
+   * @param content the entity that bean properties are delegated to
+   * @param links resolves linked resources and the resource id for this proxy
+   */
+  void bindProxy(T content, ProxyLinkResolver links);
+}
@@ -0,0 +1,71 @@
+package org.datrunk.naked.entities.bowman.proxy;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Static metadata of a generated proxy class, published by the generated class as {@code public
+ * static final GeneratedProxyType<E> TYPE}. The generated class for entity {@code com.x.Outer$E} is
+ * {@code com.x.Outer_E_BowmanProxy}.
+ *
+ * @param <T> the entity type
+ */
+public final class GeneratedProxyType<T> {
+
+  /** Suffix appended to the entity's flattened class name. */
+  public static final String CLASS_SUFFIX = "_BowmanProxy";
+
+  /** Name of the static field holding the {@link GeneratedProxyType}. */
+  public static final String TYPE_FIELD = "TYPE";
+
+  private final Class<T> entityType;
+
+  private final Supplier<? extends T> constructor;
+
+  private final List<String> propertyNames;
+
+  private final List<LinkDescriptor> links;
+
+  public GeneratedProxyType(
+      Class<T> entityType,
+      Supplier<? extends T> constructor,
+      List<String> propertyNames,
+      List<LinkDescriptor> links) {
+    this.entityType = entityType;
+    this.constructor = constructor;
+    this.propertyNames = Collections.unmodifiableList(propertyNames);
+    this.links = Collections.unmodifiableList(links);
+  }
+
+  /**
+   * @param entityType an entity class
+   * @return the binary name of the proxy class generated for {@code entityType}
+   */
+  public static String proxyClassName(Class<?> entityType) {
+    String name = entityType.getName();
+    int packageEnd = name.lastIndexOf('.') + 1;
+    return name.substring(0, packageEnd)
+        + name.substring(packageEnd).replace('$', '_')
+        + CLASS_SUFFIX;
+  }
+
+  public Class<T> getEntityType() {
+    return entityType;
+  }
+
+  /** @return the bean property names delegated to the proxied content */
+  public List<String> getPropertyNames() {
+    return propertyNames;
+  }
+
+  /** @return the linked resources, in link index order */
+  public List<LinkDescriptor> getLinks() {
+    return links;
+  }
+
+  /** @return a new, unbound proxy */
+  public T newInstance() {
+    return constructor.get();
+  }
+}
@@ -0,0 +1,60 @@
+package org.datrunk.naked.entities.bowman.proxy;
+
+/** Compile-time description of a {@code @LinkedResource} method of a generated proxy. */
+public final class LinkDescriptor {
+
+  private final String methodName;
+
+  private final String rel;
+
+  private final boolean optional;
+
+  private final Class<?> type;
+
+  private final Class<?> elementType;
+
+  /**
+   * @param methodName the name of the annotated method
+   * @param rel the link relation, with the default from the method name already applied
+   * @param optional whether a missing link resolves to {@code null} or an empty collection
+   * @param type the erased return type of the method
+   * @param elementType the element type when {@code type} is a collection, otherwise {@code null}
+   */
+  public LinkDescriptor(
+      String methodName, String rel, boolean optional, Class<?> type, Class<?> elementType) {
+    this.methodName = methodName;
+    this.rel = rel;
+    this.optional = optional;
+    this.type = type;
+    this.elementType = elementType;
+  }
+
+  public String getMethodName() {
+    return methodName;
+  }
+
+  public String getRel() {
+    return rel;
+  }
+
+  public boolean isOptional() {
+    return optional;
+  }
+
+  public Class<?> getType() {
+    return type;
+  }
+
+  public Class<?> getElementType() {
+    return elementType;
+  }
+
+  public boolean isCollection() {
+    return elementType != null;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s -> %s%s", methodName, rel, optional ? " (optional)" : "");
+  }
+}
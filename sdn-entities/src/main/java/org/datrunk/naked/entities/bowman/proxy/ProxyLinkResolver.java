@@ -0,0 +1,36 @@
+package org.datrunk.naked.entities.bowman.proxy;
+
+import java.net.URI;
+import java.util.function.Supplier;
+
+/**
+ * Per-proxy callback that a {@link GeneratedProxy} uses for the methods it cannot answer from its
+ * content. Link indexes refer to {@link GeneratedProxyType#getLinks()}.
+ */
+public interface ProxyLinkResolver {
+
+  /**
+   * @param self the proxy
+   * @return the self link of the proxied resource
+   */
+  URI resourceId(Object self);
+
+  /**
+   * Resolves (and memoizes) a linked resource.
+   *
+   * @param self the proxy
+   * @param index the link index
+   * @param args the arguments of the annotated method, used to expand templated links
+   * @param original supplies the collection returned by the overridden method, or {@code null}
+   * @return the linked resource, or collection of linked resources
+   */
+  Object resolveLink(Object self, int index, Object[] args, Supplier<?> original);
+
+  /**
+   * Replaces the memoized value of a linked resource.
+   *
+   * @param index the link index
+   * @param value the new value
+   */
+  void setLink(int index, Object value);
+}
@@ -0,0 +1,237 @@
+package org.datrunk.naked.entities;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.commons.lang3.builder.MyEqualsBuilder;
+import org.junit.jupiter.api.Test;
+
+public class IdClassTest {
+
+  @Getter
+  @Setter
+  public static class Entity extends IdClass<Integer> {
+    private Integer id;
+    private String name;
+    private int size;
+    private Entity parent;
+    private String secret;
+
+    Entity(Integer id, String name, int size) {
+      this.id = id;
+      this.name = name;
+      this.size = size;
+    }
+
+    String getSecret() {
+      return secret;
+    }
+
+    public String getName(String prefix) {
+      return prefix + name;
+    }
+  }
+
+  public static class Described extends IdClass<Integer> {
+    private final String description;
+
+    Described(String description) {
+      this.description = description;
+    }
+
+    @Override
+    public Integer getId() {
+      return null;
+    }
+
+    @Override
+    public void setId(Integer id) {}
+
+    protected String getDescription() {
+      return description;
+    }
+  }
+
+  public static class Failing extends IdClass<Integer> {
+    @Override
+    public Integer getId() {
+      return null;
+    }
+
+    @Override
+    public void setId(Integer id) {}
+
+    public String getValue() {
+      throw new IllegalStateException("value");
+    }
+  }
+
+  /** getId is found twice, as itself and as the bridge method for {@link WithId#getId}. */
+  @Test
+  public void declaredGettersAreFoundOnce() {
+    List<GetterAccessor> getters = GetterAccessor.declaredBy(Entity.class);
+
+    assertThat(getters)
+        .extracting(GetterAccessor::getName)
+        .containsExactlyInAnyOrder("getId", "getId", "getName", "getSize", "getParent");
+    assertThat(GetterAccessor.declaredBy(Entity.class)).isSameAs(getters);
+  }
+
+  @Test
+  public void gettersFollowDeclaredMethodOrder() {
+    List<Method> getters =
+        GetterAccessor.declaredBy(Entity.class).stream()
+            .map(GetterAccessor::getMethod)
+            .collect(Collectors.toList());
+
+    assertThat(Entity.class.getDeclaredMethods())
+        .filteredOn(getters::contains)
+        .containsExactlyElementsOf(getters);
+  }
+
+  @Test
+  public void onlyPublicGettersHaveHandles() {
+    assertThat(GetterAccessor.declaredBy(Entity.class))
+        .allMatch(getter -> getter.getHandle() != null);
+    assertThat(GetterAccessor.declaredBy(Described.class))
+        .filteredOn(getter -> getter.getName().equals("getDescription"))
+        .singleElement()
+        .matches(getter -> getter.getHandle() == null);
+  }
+
+  @Test
+  public void getReadsThroughHandleOrReflectively() throws Exception {
+    Described described = new Described("x");
+
+    assertThat(getter(Described.class, "getDescription").get(described)).isEqualTo("x");
+    assertThat(getter(Described.class, "getId").get(described)).isNull();
+  }
+
+  @Test
+  public void hashCodeWithIdIsHashCodeOfId() {
+    assertThat(new Entity(7, "a", 1).hashCode()).isEqualTo(Integer.valueOf(7).hashCode());
+  }
+
+  @Test
+  public void hashCodeWithoutIdReadsGetters() {
+    Entity entity = new Entity(null, "a", 1);
+
+    int expected = System.identityHashCode(entity);
+    for (Method method : Entity.class.getDeclaredMethods()) {
+      if (method.getName().startsWith("get")
+          && method.getParameterCount() == 0
+          && Modifier.isPublic(method.getModifiers())
+          && !method.getName().equals("getId")) {
+        Object value = invoke(method, entity);
+        if (value != null) {
+          expected = 31 * expected + value.hashCode();
+        }
+      }
+    }
+
+    assertThat(entity.hashCode()).isEqualTo(expected);
+    entity.setName("b");
+    assertThat(entity.hashCode()).isNotEqualTo(expected);
+  }
+
+  @Test
+  public void hashCodeReadsProtectedGetters() {
+    Described described = new Described("a");
+
+    assertThat(described.hashCode())
+        .isEqualTo(31 * System.identityHashCode(described) + "a".hashCode());
+  }
+
+  @Test
+  public void hashCodeWrapsGetterFailures() {
+    assertThatThrownBy(() -> new Failing().hashCode())
+        .isInstanceOf(RuntimeException.class)
+        .hasCauseInstanceOf(InvocationTargetException.class)
+        .hasRootCauseMessage("value");
+  }
+
+  @Test
+  public void equalsWithIdsComparesIds() {
+    assertThat(new Entity(1, "a", 1)).isEqualTo(new Entity(1, "b", 2));
+    assertThat(new Entity(1, "a", 1)).isNotEqualTo(new Entity(2, "a", 1));
+  }
+
+  @Test
+  public void equalsWithUrisComparesUris() {
+    Entity entity = new Entity(null, "a", 1);
+    entity.setUri(URI.create("http://localhost/entities/1"));
+    Entity other = new Entity(null, "b", 2);
+    other.setUri(URI.create("http://localhost/entities/1"));
+
+    assertThat(entity).isEqualTo(other);
+  }
+
+  @Test
+  public void equalsWithoutIdsComparesGetters() {
+    assertThat(new Entity(null, "a", 1)).isEqualTo(new Entity(null, "a", 1));
+    assertThat(new Entity(null, "a", 1)).isEqualTo(new Entity(1, "a", 1));
+    assertThat(new Entity(null, "a", 1)).isNotEqualTo(new Entity(null, "a", 2));
+    assertThat(new Entity(null, "a", 1)).isNotEqualTo(new Entity(null, "b", 1));
+  }
+
+  @Test
+  public void equalsIgnoresPackagePrivateGetters() {
+    Entity entity = new Entity(null, "a", 1);
+    entity.setSecret("x");
+
+    assertThat(entity).isEqualTo(new Entity(null, "a", 1));
+  }
+
+  @Test
+  public void reflectionEqualsRecursesIntoProperties() throws Exception {
+    Entity entity = new Entity(null, "a", 1);
+    entity.setParent(new Entity(null, "p", 1));
+    Entity other = new Entity(null, "a", 1);
+    other.setParent(new Entity(null, "p", 1));
+
+    assertThat(MyEqualsBuilder.reflectionEquals(entity, other, IdClass.class, true, "getUri"))
+        .isTrue();
+    other.getParent().setSize(2);
+    assertThat(MyEqualsBuilder.reflectionEquals(entity, other, IdClass.class, true, "getUri"))
+        .isFalse();
+  }
+
+  @Test
+  public void hashSetOfUnsavedEntitiesFindsEachEntity() {
+    List<Entity> entities =
+        IntStream.range(0, 100)
+            .mapToObj(i -> new Entity(null, "e" + i, i))
+            .collect(Collectors.toList());
+
+    Set<Entity> set = new HashSet<>(entities);
+
+    assertThat(set).hasSize(100);
+    assertThat(entities).allMatch(set::contains);
+  }
+
+  private static Object invoke(Method method, Object target) {
+    try {
+      return method.invoke(target);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static GetterAccessor getter(Class<?> type, String name) {
+    return GetterAccessor.declaredBy(type).stream()
+        .filter(getter -> getter.getName().equals(name))
+        .findFirst()
+        .orElseThrow(AssertionError::new);
+  }
+}
@@ -0,0 +1,35 @@
+package org.datrunk.naked.server.bulk;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import org.springframework.boot.jdbc.DatabaseDriver;
+
+/**
+ * Inserts entities with a database's native bulk loading mechanism instead of one ORM insert per
+ * entity. Implementations are Spring beans; {@link BulkPersister} picks the first one that {@link
+ * #supports supports} the {@link DatabaseDriver} of the current connection.
+ *
+ * <p>Loaders write straight to the table described by an {@link EntityTableMapping}. They bypass
+ * the persistence context entirely: loaded entities are not managed, do not receive generated ids
+ * and trigger no JPA callbacks.
+ */
+public interface BulkLoader {
+
+  /**
+   * @param driver the driver of the database being loaded
+   * @return true if this loader can load into that database
+   */
+  boolean supports(DatabaseDriver driver);
+
+  /**
+   * Insert every entity into the mapped table, within the connection's current transaction.
+   *
+   * @param connection the connection to load through. It must not be closed.
+   * @param mapping the table and columns of the entities' type
+   * @param entities instances of {@link EntityTableMapping#getEntityType()}
+   * @throws SQLException if the load fails
+   */
+  void load(Connection connection, EntityTableMapping mapping, List<?> entities)
+      throws SQLException;
+}
@@ -0,0 +1,101 @@
+package org.datrunk.naked.server.bulk;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists entities with the {@link BulkLoader} for the current database, when every entity is
+ * simple enough to be written straight to its table (see {@link EntityTableMapping}).
+ *
+ * <p>This is all or nothing: if there is no loader for the database, or any entity type is not
+ * eligible, nothing is written and {@link #persist} returns false so that the caller can fall back
+ * to {@link EntityManager#persist}. Loading runs in the caller's transaction.
+ */
+@Component
+@Log4j2
+public class BulkPersister {
+  @PersistenceContext private EntityManager em;
+  private final List<BulkLoader> loaders;
+  private final Map<Class<?>, Optional<EntityTableMapping>> mappings = new ConcurrentHashMap<>();
+  private volatile DatabaseDriver driver;
+
+  @Autowired
+  public BulkPersister(List<BulkLoader> loaders) {
+    this.loaders = loaders;
+  }
+
+  /**
+   * Bulk load {@code entities}, grouped by type in order of first appearance.
+   *
+   * @param entities the entities to insert
+   * @return true if they were loaded, false if nothing was written and they must be persisted
+   *     normally
+   */
+  public boolean persist(List<?> entities) {
+    if (entities.isEmpty()) {
+      return true;
+    }
+    Optional<BulkLoader> loader = getLoader();
+    if (!loader.isPresent()) {
+      log.debug("No bulk loader for {}", driver);
+      return false;
+    }
+    Map<EntityTableMapping, List<Object>> groups = new LinkedHashMap<>();
+    for (Object entity : entities) {
+      Optional<EntityTableMapping> mapping = getMapping(entity.getClass());
+      if (!mapping.isPresent()) {
+        return false;
+      }
+      groups.computeIfAbsent(mapping.get(), key -> new ArrayList<>()).add(entity);
+    }
+    em.flush();
+    em.unwrap(Session.class)
+        .doWork(
+            connection -> {
+              for (Map.Entry<EntityTableMapping, List<Object>> group : groups.entrySet()) {
+                log.debug("Bulk loading {} rows into {}", group.getValue().size(), group.getKey());
+                loader.get().load(connection, group.getKey(), group.getValue());
+              }
+            });
+    return true;
+  }
+
+  private Optional<EntityTableMapping> getMapping(Class<?> type) {
+    return mappings.computeIfAbsent(
+        type,
+        key -> {
+          try {
+            return Optional.of(EntityTableMapping.create(em.getEntityManagerFactory(), key));
+          } catch (IllegalArgumentException e) {
+            log.info(e.getMessage());
+            return Optional.empty();
+          }
+        });
+  }
+
+  private Optional<BulkLoader> getLoader() {
+    if (driver == null) {
+      driver =
+          em.unwrap(Session.class)
+              .doReturningWork(connection -> fromJdbcUrl(connection.getMetaData().getURL()));
+    }
+    return loaders.stream().filter(loader -> loader.supports(driver)).findFirst();
+  }
+
+  static DatabaseDriver fromJdbcUrl(String url) {
+    // p6spy and similar wrappers prefix the real URL
+    return DatabaseDriver.fromJdbcUrl(
+        url == null ? null : url.replaceFirst("^jdbc:p6spy:", "jdbc:"));
+  }
+}
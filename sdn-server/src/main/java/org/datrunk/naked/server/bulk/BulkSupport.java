@@ -0,0 +1,75 @@
+package org.datrunk.naked.server.bulk;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import org.datrunk.naked.server.bulk.EntityTableMapping.Column;
+
+/** Helpers shared by the {@link BulkLoader} implementations. */
+final class BulkSupport {
+
+  private BulkSupport() {}
+
+  /**
+   * Bind every column of one entity, starting at {@code offset + 1}.
+   *
+   * @return the next unused parameter offset
+   */
+  static int bind(
+      PreparedStatement statement, int offset, EntityTableMapping mapping, Object entity)
+      throws SQLException {
+    List<Column> columns = mapping.getColumns();
+    for (int i = 0; i < columns.size(); i++) {
+      Column column = columns.get(i);
+      Object value = column.getValue(entity);
+      if (value == null) {
+        statement.setNull(offset + i + 1, column.getSqlType());
+      } else {
+        statement.setObject(offset + i + 1, value, column.getSqlType());
+      }
+    }
+    return offset + columns.size();
+  }
+
+  /** @return {@code INSERT INTO table (columns) VALUES (?, ...)}, with {@code rows} value rows */
+  static String insert(EntityTableMapping mapping, int rows) {
+    StringBuilder row = new StringBuilder("(");
+    for (int i = 0; i < mapping.getColumns().size(); i++) {
+      row.append(i == 0 ? "?" : ", ?");
+    }
+    row.append(')');
+    StringBuilder sql =
+        new StringBuilder("INSERT INTO ")
+            .append(mapping.getTable())
+            .append(" (")
+            .append(mapping.getColumnList())
+            .append(") VALUES ");
+    for (int i = 0; i < rows; i++) {
+      sql.append(i == 0 ? "" : ", ").append(row);
+    }
+    return sql.toString();
+  }
+
+  /**
+   * Append one entity as a CSV record. Every value is quoted, so an unquoted empty field is
+   * unambiguously {@code NULL} for both PostgreSQL {@code COPY} and H2 {@code CSVREAD}.
+   */
+  static void appendCsv(Appendable out, EntityTableMapping mapping, Object entity)
+      throws IOException {
+    Object[] values = mapping.getValues(entity);
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      Object value = values[i];
+      if (value != null) {
+        String text =
+            value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+        out.append('"').append(text.replace("\"", "\"\"")).append('"');
+      }
+    }
+    out.append('\n');
+  }
+}
@@ -0,0 +1,351 @@
+package org.datrunk.naked.server.bulk;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.persistence.Convert;
+import javax.persistence.EntityListeners;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.PostPersist;
+import javax.persistence.PrePersist;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.Attribute.PersistentAttributeType;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.Assigned;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PostInsertIdentifierGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * The table and insertable columns of an entity type, derived from the JPA metamodel, with the
+ * physical names Hibernate uses for them.
+ *
+ * <p>Only simple entities can be mapped: a single table with no inheritance, a single id that is
+ * either assigned or generated by the database on insert, no version, only basic attributes (no
+ * associations, embeddables or {@link Convert converters}), and no {@link PrePersist} or {@link
+ * PostPersist} callbacks or listeners. {@link #create} throws for anything else, which tells the
+ * caller to fall back to {@link javax.persistence.EntityManager#persist}.
+ *
+ * <p>Column values are converted to JDBC-friendly types: enums to their name or ordinal, and
+ * temporal values to {@link java.sql.Timestamp}, {@link java.sql.Date} or {@link java.sql.Time},
+ * shifted to {@code hibernate.jdbc.time_zone} when it is set, as Hibernate would.
+ */
+public final class EntityTableMapping {
+
+  /** A column of the mapped table, and how to read its value from an entity. */
+  public static final class Column {
+    private final String name;
+    private final int sqlType;
+    private final Function<Object, Object> accessor;
+
+    Column(String name, int sqlType, Function<Object, Object> accessor) {
+      this.name = name;
+      this.sqlType = sqlType;
+      this.accessor = accessor;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    /** @return the {@link java.sql.Types} code of the column */
+    public int getSqlType() {
+      return sqlType;
+    }
+
+    /**
+     * @param entity an instance of the mapped type
+     * @return the JDBC value of this column, or null
+     */
+    public Object getValue(Object entity) {
+      return accessor.apply(entity);
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+
+  private final Class<?> entityType;
+  private final String table;
+  private final List<Column> columns;
+
+  private EntityTableMapping(Class<?> entityType, String table, List<Column> columns) {
+    this.entityType = entityType;
+    this.table = table;
+    this.columns = Collections.unmodifiableList(columns);
+  }
+
+  public Class<?> getEntityType() {
+    return entityType;
+  }
+
+  public String getTable() {
+    return table;
+  }
+
+  public List<Column> getColumns() {
+    return columns;
+  }
+
+  /** @return the column names, comma separated, in {@link #getColumns()} order */
+  public String getColumnList() {
+    return columns.stream().map(Column::getName).collect(Collectors.joining(", "));
+  }
+
+  /**
+   * @param entity an instance of the mapped type
+   * @return the values of every column, in {@link #getColumns()} order
+   */
+  public Object[] getValues(Object entity) {
+    Object[] values = new Object[columns.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = columns.get(i).getValue(entity);
+    }
+    return values;
+  }
+
+  @Override
+  public String toString() {
+    return table + " (" + getColumnList() + ")";
+  }
+
+  /**
+   * Map an entity type to its table.
+   *
+   * @param emf the Hibernate backed entity manager factory
+   * @param entityType the entity class
+   * @return the mapping
+   * @throws IllegalArgumentException if the entity cannot be bulk loaded; the message says why
+   */
+  public static EntityTableMapping create(EntityManagerFactory emf, Class<?> entityType) {
+    SessionFactoryImplementor sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+    EntityType<?> metamodel = emf.getMetamodel().entity(entityType);
+    EntityPersister entityPersister = sessionFactory.getMetamodel().entityPersister(entityType);
+    if (!(entityPersister instanceof AbstractEntityPersister)) {
+      throw ineligible(entityType, "unsupported persister %s", entityPersister.getClass());
+    }
+    AbstractEntityPersister persister = (AbstractEntityPersister) entityPersister;
+    if (persister.isInherited() || persister.hasSubclasses() || persister.getTableSpan() != 1) {
+      throw ineligible(entityType, "it is part of an inheritance hierarchy");
+    }
+    if (persister.isVersioned()) {
+      throw ineligible(entityType, "it is versioned");
+    }
+    if (!metamodel.hasSingleIdAttribute()) {
+      throw ineligible(entityType, "it has a composite id");
+    }
+    checkCallbacks(entityType);
+
+    TimeZone jdbcTimeZone = sessionFactory.getSessionFactoryOptions().getJdbcTimeZone();
+    ZoneId zone = jdbcTimeZone == null ? null : jdbcTimeZone.toZoneId();
+    List<Column> columns = new ArrayList<>();
+
+    SingularAttribute<?, ?> id =
+        metamodel.getSingularAttributes().stream()
+            .filter(SingularAttribute::isId)
+            .findFirst()
+            .orElseThrow(() -> ineligible(entityType, "it has no id attribute"));
+    IdentifierGenerator generator = persister.getIdentifierGenerator();
+    if (generator instanceof Assigned) {
+      columns.add(
+          new Column(
+              persister.getIdentifierColumnNames()[0],
+              persister.getIdentifierType().sqlTypes(sessionFactory)[0],
+              accessor(entityType, id, zone)));
+    } else if (!(generator instanceof PostInsertIdentifierGenerator)) {
+      // Sequence and table generators would have to be called per row.
+      throw ineligible(
+          entityType, "its id generator %s is not assigned or identity", generator.getClass());
+    }
+
+    boolean[] insertable = persister.getPropertyInsertability();
+    for (Attribute<?, ?> attribute : metamodel.getAttributes()) {
+      if (attribute instanceof SingularAttribute && ((SingularAttribute<?, ?>) attribute).isId()) {
+        continue;
+      }
+      if (attribute.getPersistentAttributeType() != PersistentAttributeType.BASIC) {
+        throw ineligible(
+            entityType,
+            "attribute %s is %s",
+            attribute.getName(),
+            attribute.getPersistentAttributeType());
+      }
+      if (!insertable[persister.getPropertyIndex(attribute.getName())]) {
+        continue;
+      }
+      String[] columnNames = persister.getPropertyColumnNames(attribute.getName());
+      if (columnNames.length != 1 || columnNames[0] == null) {
+        throw ineligible(entityType, "attribute %s is not a single column", attribute.getName());
+      }
+      columns.add(
+          new Column(
+              columnNames[0],
+              persister.getPropertyType(attribute.getName()).sqlTypes(sessionFactory)[0],
+              accessor(entityType, attribute, zone)));
+    }
+    return new EntityTableMapping(entityType, persister.getTableName(0), columns);
+  }
+
+  private static void checkCallbacks(Class<?> entityType) {
+    for (Class<?> type = entityType; type != Object.class; type = type.getSuperclass()) {
+      if (hasPersistCallback(type)) {
+        throw ineligible(entityType, "%s has a persist callback", type.getSimpleName());
+      }
+      EntityListeners listeners = type.getAnnotation(EntityListeners.class);
+      if (listeners != null) {
+        for (Class<?> listener : listeners.value()) {
+          if (hasPersistCallback(listener)) {
+            throw ineligible(entityType, "listener %s has a persist callback", listener.getName());
+          }
+        }
+      }
+    }
+  }
+
+  private static boolean hasPersistCallback(Class<?> type) {
+    for (Method method : type.getDeclaredMethods()) {
+      if (method.isAnnotationPresent(PrePersist.class)
+          || method.isAnnotationPresent(PostPersist.class)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Function<Object, Object> accessor(
+      Class<?> entityType, Attribute<?, ?> attribute, ZoneId zone) {
+    Member member = attribute.getJavaMember();
+    AnnotatedElement annotated = (AnnotatedElement) member;
+    if (annotated.isAnnotationPresent(Convert.class)) {
+      throw ineligible(entityType, "attribute %s has a converter", attribute.getName());
+    }
+    Function<Object, Object> getter = getter(member);
+    Function<Object, Object> converter =
+        converter(entityType, attribute.getName(), attribute.getJavaType(), annotated, zone);
+    return entity -> {
+      Object value = getter.apply(entity);
+      return value == null ? null : converter.apply(value);
+    };
+  }
+
+  private static Function<Object, Object> getter(Member member) {
+    if (member instanceof Field) {
+      Field field = (Field) member;
+      field.setAccessible(true);
+      return entity -> {
+        try {
+          return field.get(entity);
+        } catch (IllegalAccessException e) {
+          throw new IllegalStateException(e);
+        }
+      };
+    }
+    Method method = (Method) member;
+    method.setAccessible(true);
+    return entity -> {
+      try {
+        return method.invoke(entity);
+      } catch (IllegalAccessException | InvocationTargetException e) {
+        throw new IllegalStateException(e);
+      }
+    };
+  }
+
+  private static Function<Object, Object> converter(
+      Class<?> entityType, String name, Class<?> type, AnnotatedElement annotated, ZoneId zone) {
+    if (type == char.class || type == Character.class) {
+      return String::valueOf;
+    }
+    if (type.isPrimitive()
+        || isSimpleNumber(type)
+        || type == String.class
+        || type == Boolean.class
+        || type == java.sql.Date.class
+        || type == java.sql.Time.class) {
+      return Function.identity();
+    }
+    if (type.isEnum()) {
+      Enumerated enumerated = annotated.getAnnotation(Enumerated.class);
+      return enumerated != null && enumerated.value() == EnumType.STRING
+          ? value -> ((Enum<?>) value).name()
+          : value -> ((Enum<?>) value).ordinal();
+    }
+    if (type == LocalDate.class) {
+      return value -> java.sql.Date.valueOf((LocalDate) value);
+    }
+    if (type == LocalTime.class) {
+      return value -> java.sql.Time.valueOf((LocalTime) value);
+    }
+    if (type == LocalDateTime.class) {
+      return value -> toTimestamp((LocalDateTime) value, zone);
+    }
+    if (type == Instant.class) {
+      return value -> toTimestamp(Timestamp.from((Instant) value).toLocalDateTime(), zone);
+    }
+    if (Date.class.isAssignableFrom(type)) {
+      Temporal temporal = annotated.getAnnotation(Temporal.class);
+      TemporalType temporalType = temporal == null ? TemporalType.TIMESTAMP : temporal.value();
+      switch (temporalType) {
+        case DATE:
+          return value -> new java.sql.Date(((Date) value).getTime());
+        case TIME:
+          return value -> new java.sql.Time(((Date) value).getTime());
+        default:
+          return value ->
+              toTimestamp(new Timestamp(((Date) value).getTime()).toLocalDateTime(), zone);
+      }
+    }
+    throw ineligible(entityType, "attribute %s has unsupported type %s", name, type.getName());
+  }
+
+  private static boolean isSimpleNumber(Class<?> type) {
+    return type == Integer.class
+        || type == Long.class
+        || type == Short.class
+        || type == Byte.class
+        || type == Double.class
+        || type == Float.class
+        || type == BigDecimal.class
+        || type == BigInteger.class;
+  }
+
+  private static Timestamp toTimestamp(LocalDateTime value, ZoneId zone) {
+    if (zone == null) {
+      return Timestamp.valueOf(value);
+    }
+    return Timestamp.valueOf(
+        value.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone).toLocalDateTime());
+  }
+
+  private static IllegalArgumentException ineligible(
+      Class<?> entityType, String reason, Object... args) {
+    return new IllegalArgumentException(
+        entityType.getName() + " cannot be bulk loaded: " + String.format(reason, args));
+  }
+}
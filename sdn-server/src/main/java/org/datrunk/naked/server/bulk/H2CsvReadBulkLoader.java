@@ -0,0 +1,74 @@
+package org.datrunk.naked.server.bulk;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads H2 with {@code INSERT INTO ... SELECT * FROM CSVREAD(...)} from a temporary file. The file
+ * is written on this host, so the database must be embedded or share the file system.
+ */
+@Component
+public class H2CsvReadBulkLoader implements BulkLoader {
+
+  @Override
+  public boolean supports(DatabaseDriver driver) {
+    return driver == DatabaseDriver.H2;
+  }
+
+  @Override
+  public void load(Connection connection, EntityTableMapping mapping, List<?> entities)
+      throws SQLException {
+    if (entities.isEmpty()) {
+      return;
+    }
+    Path file = null;
+    try {
+      file = Files.createTempFile("sdn-bulk-", ".csv");
+      try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+        for (Object entity : entities) {
+          BulkSupport.appendCsv(out, mapping, entity);
+        }
+      }
+      // CSVREAD names its columns itself; these are only placeholders in insert order.
+      String header =
+          IntStream.range(0, mapping.getColumns().size())
+              .mapToObj(i -> "C" + i)
+              .collect(Collectors.joining(","));
+      try (Statement statement = connection.createStatement()) {
+        statement.executeUpdate(
+            String.format(
+                "INSERT INTO %s (%s) SELECT * FROM CSVREAD(%s, %s, 'charset=UTF-8')",
+                mapping.getTable(),
+                mapping.getColumnList(),
+                literal(file.toAbsolutePath().toString()),
+                literal(header)));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      if (file != null) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException e) {
+          file.toFile().deleteOnExit();
+        }
+      }
+    }
+  }
+
+  private static String literal(String value) {
+    return "'" + value.replace("'", "''") + "'";
+  }
+}
@@ -0,0 +1,56 @@
+package org.datrunk.naked.server.bulk;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads MySQL and MariaDB with multi-row {@code INSERT ... VALUES (...), (...)} statements. This is
+ * what Connector/J's {@code rewriteBatchedStatements=true} does to a JDBC batch, done here so that
+ * it works whatever the connection URL says.
+ */
+@Component
+public class MySqlMultiRowInsertBulkLoader implements BulkLoader {
+  /** MySQL rejects statements with more than 65535 placeholders. */
+  static final int MAX_PARAMETERS = 65535;
+
+  static final int MAX_ROWS = 1000;
+
+  @Override
+  public boolean supports(DatabaseDriver driver) {
+    return driver == DatabaseDriver.MYSQL || driver == DatabaseDriver.MARIADB;
+  }
+
+  @Override
+  public void load(Connection connection, EntityTableMapping mapping, List<?> entities)
+      throws SQLException {
+    int rowsPerStatement =
+        Math.max(1, Math.min(MAX_ROWS, MAX_PARAMETERS / Math.max(1, mapping.getColumns().size())));
+    try (PreparedStatement full =
+        connection.prepareStatement(BulkSupport.insert(mapping, rowsPerStatement))) {
+      int start = 0;
+      for (; start + rowsPerStatement <= entities.size(); start += rowsPerStatement) {
+        execute(full, mapping, entities.subList(start, start + rowsPerStatement));
+      }
+      if (start < entities.size()) {
+        List<?> rest = entities.subList(start, entities.size());
+        try (PreparedStatement partial =
+            connection.prepareStatement(BulkSupport.insert(mapping, rest.size()))) {
+          execute(partial, mapping, rest);
+        }
+      }
+    }
+  }
+
+  private static void execute(PreparedStatement statement, EntityTableMapping mapping, List<?> rows)
+      throws SQLException {
+    int offset = 0;
+    for (Object entity : rows) {
+      offset = BulkSupport.bind(statement, offset, mapping, entity);
+    }
+    statement.executeUpdate();
+  }
+}
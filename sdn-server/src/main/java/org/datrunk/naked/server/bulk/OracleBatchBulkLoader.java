@@ -0,0 +1,43 @@
+package org.datrunk.naked.server.bulk;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads Oracle with a JDBC batch of single-row inserts. The Oracle driver sends a batch as one
+ * array-bound execution per {@link #BATCH_SIZE} rows, so this avoids the round trip per row without
+ * any Oracle specific API.
+ */
+@Component
+public class OracleBatchBulkLoader implements BulkLoader {
+  static final int BATCH_SIZE = 1000;
+
+  @Override
+  public boolean supports(DatabaseDriver driver) {
+    return driver == DatabaseDriver.ORACLE;
+  }
+
+  @Override
+  public void load(Connection connection, EntityTableMapping mapping, List<?> entities)
+      throws SQLException {
+    try (PreparedStatement statement =
+        connection.prepareStatement(BulkSupport.insert(mapping, 1))) {
+      int pending = 0;
+      for (Object entity : entities) {
+        BulkSupport.bind(statement, 0, mapping, entity);
+        statement.addBatch();
+        if (++pending == BATCH_SIZE) {
+          statement.executeBatch();
+          pending = 0;
+        }
+      }
+      if (pending > 0) {
+        statement.executeBatch();
+      }
+    }
+  }
+}
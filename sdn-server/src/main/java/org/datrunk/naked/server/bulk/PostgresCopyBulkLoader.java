@@ -0,0 +1,68 @@
+package org.datrunk.naked.server.bulk;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads PostgreSQL with {@code COPY ... FROM STDIN} through the driver's {@link CopyManager},
+ * streaming CSV in chunks of about {@link #CHUNK_CHARS} characters.
+ */
+@Component
+@ConditionalOnClass(name = "org.postgresql.copy.CopyManager")
+public class PostgresCopyBulkLoader implements BulkLoader {
+  static final int CHUNK_CHARS = 64 * 1024;
+
+  @Override
+  public boolean supports(DatabaseDriver driver) {
+    return driver == DatabaseDriver.POSTGRESQL;
+  }
+
+  @Override
+  public void load(Connection connection, EntityTableMapping mapping, List<?> entities)
+      throws SQLException {
+    CopyManager copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
+    CopyIn copy = copyManager.copyIn(copy(mapping));
+    try {
+      StringBuilder chunk = new StringBuilder(CHUNK_CHARS + 1024);
+      for (Object entity : entities) {
+        BulkSupport.appendCsv(chunk, mapping, entity);
+        if (chunk.length() >= CHUNK_CHARS) {
+          write(copy, chunk);
+        }
+      }
+      write(copy, chunk);
+      copy.endCopy();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      if (copy.isActive()) {
+        copy.cancelCopy();
+      }
+    }
+  }
+
+  /**
+   * @return {@code COPY table (columns) FROM STDIN}, reading the CSV that {@link BulkSupport}
+   *     writes
+   */
+  static String copy(EntityTableMapping mapping) {
+    return String.format(
+        "COPY %s (%s) FROM STDIN WITH (FORMAT csv)", mapping.getTable(), mapping.getColumnList());
+  }
+
+  private static void write(CopyIn copy, StringBuilder chunk) throws SQLException {
+    byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+    copy.writeToCopy(bytes, 0, bytes.length);
+    chunk.setLength(0);
+  }
+}
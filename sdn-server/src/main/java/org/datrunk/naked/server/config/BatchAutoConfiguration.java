@@ -0,0 +1,146 @@
+package org.datrunk.naked.server.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import javax.persistence.EntityManagerFactory;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies {@link BatchProperties} ({@code sdn.batch.*}) to Hibernate and the connection pool, and
+ * publishes a {@link BatchabilityReport} of the entities whose statements still cannot be batched.
+ * The report is logged at startup and, with the actuator, available at {@code
+ * /actuator/batchability}.
+ */
+@AutoConfiguration(after = HibernateJpaAutoConfiguration.class)
+@ConditionalOnClass({EntityManagerFactory.class, SessionFactoryImplementor.class})
+@ConditionalOnProperty(prefix = "sdn.batch", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(BatchProperties.class)
+@Log4j2
+public class BatchAutoConfiguration {
+
+  @Bean
+  public HibernatePropertiesCustomizer batchHibernatePropertiesCustomizer(
+      BatchProperties properties) {
+    return hibernateProperties -> applyDefaults(hibernateProperties, properties);
+  }
+
+  static void applyDefaults(Map<String, Object> hibernateProperties, BatchProperties properties) {
+    hibernateProperties.putIfAbsent(
+        AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(properties.getSize()));
+    hibernateProperties.putIfAbsent(
+        AvailableSettings.ORDER_INSERTS, String.valueOf(properties.isOrderInserts()));
+    hibernateProperties.putIfAbsent(
+        AvailableSettings.ORDER_UPDATES, String.valueOf(properties.isOrderUpdates()));
+    hibernateProperties.putIfAbsent(
+        AvailableSettings.BATCH_VERSIONED_DATA, String.valueOf(properties.isVersionedData()));
+  }
+
+  @Bean
+  @ConditionalOnBean(EntityManagerFactory.class)
+  public BatchabilityReport batchabilityReport(EntityManagerFactory emf) {
+    BatchabilityReport report = new BatchabilityReport(emf);
+    report.log();
+    return report;
+  }
+
+  static boolean isMySql(String url) {
+    if (url == null) {
+      return false;
+    }
+    DatabaseDriver driver = DatabaseDriver.fromJdbcUrl(url);
+    return driver == DatabaseDriver.MYSQL || driver == DatabaseDriver.MARIADB;
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(HikariDataSource.class)
+  @ConditionalOnProperty(
+      prefix = "sdn.batch",
+      name = "rewrite-batched-statements",
+      matchIfMissing = true)
+  static class HikariRewriteBatchedStatements {
+    @Bean
+    static BeanPostProcessor hikariRewriteBatchedStatementsPostProcessor() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+          if (bean instanceof HikariDataSource) {
+            HikariDataSource dataSource = (HikariDataSource) bean;
+            if (isMySql(dataSource.getJdbcUrl())
+                && !dataSource.getDataSourceProperties().containsKey("rewriteBatchedStatements")) {
+              log.debug("Enabling rewriteBatchedStatements on {}", beanName);
+              dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+            }
+          }
+          return bean;
+        }
+      };
+    }
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(org.apache.tomcat.jdbc.pool.DataSource.class)
+  @ConditionalOnProperty(
+      prefix = "sdn.batch",
+      name = "rewrite-batched-statements",
+      matchIfMissing = true)
+  static class TomcatRewriteBatchedStatements {
+    @Bean
+    static BeanPostProcessor tomcatRewriteBatchedStatementsPostProcessor() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) {
+          if (bean instanceof org.apache.tomcat.jdbc.pool.DataSource) {
+            org.apache.tomcat.jdbc.pool.DataSource dataSource =
+                (org.apache.tomcat.jdbc.pool.DataSource) bean;
+            if (isMySql(dataSource.getUrl())
+                && !dataSource.getDbProperties().containsKey("rewriteBatchedStatements")) {
+              log.debug("Enabling rewriteBatchedStatements on {}", beanName);
+              dataSource.getDbProperties().setProperty("rewriteBatchedStatements", "true");
+            }
+          }
+          return bean;
+        }
+      };
+    }
+  }
+
+  @Configuration(proxyBeanMethods = false)
+  @ConditionalOnClass(Endpoint.class)
+  static class BatchabilityEndpointConfiguration {
+    @Bean
+    @ConditionalOnBean(BatchabilityReport.class)
+    public BatchabilityEndpoint batchabilityEndpoint(BatchabilityReport report) {
+      return new BatchabilityEndpoint(report);
+    }
+  }
+
+  /** Exposes the {@link BatchabilityReport} as {@code /actuator/batchability}. */
+  @Endpoint(id = "batchability")
+  public static class BatchabilityEndpoint {
+    private final BatchabilityReport report;
+
+    BatchabilityEndpoint(BatchabilityReport report) {
+      this.report = report;
+    }
+
+    @ReadOperation
+    public BatchabilityReport report() {
+      return report;
+    }
+  }
+}
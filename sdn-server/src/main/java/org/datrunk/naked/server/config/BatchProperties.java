@@ -0,0 +1,33 @@
+package org.datrunk.naked.server.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * JDBC batching defaults applied by {@link BatchAutoConfiguration}. Each Hibernate setting is only
+ * applied when {@code spring.jpa.properties} does not already set it.
+ */
+@Data
+@ConfigurationProperties("sdn.batch")
+public class BatchProperties {
+  /** Whether to apply these defaults and report entities that cannot be insert-batched. */
+  private boolean enabled = true;
+
+  /** {@code hibernate.jdbc.batch_size}. */
+  private int size = 50;
+
+  /** {@code hibernate.order_inserts}, which groups inserts by entity so they batch together. */
+  private boolean orderInserts = true;
+
+  /** {@code hibernate.order_updates}. */
+  private boolean orderUpdates = true;
+
+  /** {@code hibernate.jdbc.batch_versioned_data}, needed to batch updates of versioned entities. */
+  private boolean versionedData = true;
+
+  /**
+   * Add {@code rewriteBatchedStatements=true} to MySQL Hikari and Tomcat connection pools, without
+   * which Connector/J sends a batch one statement at a time.
+   */
+  private boolean rewriteBatchedStatements = true;
+}
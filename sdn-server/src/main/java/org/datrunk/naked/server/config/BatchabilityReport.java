@@ -0,0 +1,151 @@
+package org.datrunk.naked.server.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.id.PostInsertIdentifierGenerator;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Which entities Hibernate cannot insert, update or delete in JDBC batches, and why. Built from the
+ * JPA metamodel and the effective Hibernate settings when the application starts, and logged then.
+ * Without this, the only way to find out is reading SQL logs.
+ */
+@Log4j2
+public class BatchabilityReport {
+
+  /** A kind of statement Hibernate can send in JDBC batches. */
+  public enum Operation {
+    INSERT,
+    UPDATE,
+    DELETE
+  }
+
+  /** One reason some of an entity's statements are not batched. */
+  @Value
+  public static class Entry {
+    String entity;
+    String reason;
+    /** The statements that run one at a time for this reason. */
+    Set<Operation> operations;
+  }
+
+  private final int batchSize;
+  private final List<String> warnings;
+  private final List<Entry> entries;
+
+  BatchabilityReport(EntityManagerFactory emf) {
+    SessionFactoryImplementor sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+    SessionFactoryOptions options = sessionFactory.getSessionFactoryOptions();
+    batchSize = options.getJdbcBatchSize();
+
+    List<String> warnings = new ArrayList<>();
+    if (batchSize < 2) {
+      warnings.add("hibernate.jdbc.batch_size is " + batchSize + ", so nothing is batched");
+    }
+    if (!options.isOrderInsertsEnabled()) {
+      warnings.add("hibernate.order_inserts is off, so interleaved inserts break batches");
+    }
+    if (!options.isOrderUpdatesEnabled()) {
+      warnings.add("hibernate.order_updates is off, so interleaved updates break batches");
+    }
+
+    List<Entry> entries = new ArrayList<>();
+    for (EntityType<?> entity : emf.getMetamodel().getEntities()) {
+      Class<?> type = entity.getJavaType();
+      if (type == null) {
+        continue;
+      }
+      EntityPersister persister = sessionFactory.getMetamodel().entityPersister(type);
+      IdentifierGenerator generator = persister.getIdentifierGenerator();
+      if (generator instanceof IdentityGenerator) {
+        entries.add(
+            new Entry(
+                type.getName(),
+                "IDENTITY id: each insert must run alone to return its generated key",
+                EnumSet.of(Operation.INSERT)));
+      } else if (generator instanceof PostInsertIdentifierGenerator) {
+        entries.add(
+            new Entry(
+                type.getName(),
+                String.format(
+                    "%s assigns the id on insert (e.g. by trigger), so inserts run one at a time",
+                    generator.getClass().getSimpleName()),
+                EnumSet.of(Operation.INSERT)));
+      }
+      if (persister.isVersioned() && !options.isJdbcBatchVersionedData()) {
+        entries.add(
+            new Entry(
+                type.getName(),
+                "versioned, and hibernate.jdbc.batch_versioned_data is off: updates and deletes"
+                    + " run one at a time",
+                EnumSet.of(Operation.UPDATE, Operation.DELETE)));
+      }
+    }
+    entries.sort(Comparator.comparing(Entry::getEntity));
+
+    this.warnings = Collections.unmodifiableList(warnings);
+    this.entries = Collections.unmodifiableList(entries);
+  }
+
+  /** @return the effective {@code hibernate.jdbc.batch_size} */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /** @return problems with the global settings, which affect every entity */
+  public List<String> getWarnings() {
+    return warnings;
+  }
+
+  /** @return every entity specific problem, ordered by entity name */
+  public List<Entry> getEntries() {
+    return entries;
+  }
+
+  /**
+   * @param type an entity class
+   * @return true if inserts of that entity can be batched
+   */
+  public boolean isBatchable(Class<?> type) {
+    return isBatchable(type, Operation.INSERT);
+  }
+
+  /**
+   * @param type an entity class
+   * @param operation the kind of statement
+   * @return true if that kind of statement for that entity can be batched
+   */
+  public boolean isBatchable(Class<?> type, Operation operation) {
+    return batchSize > 1
+        && entries.stream()
+            .noneMatch(
+                e -> e.getEntity().equals(type.getName()) && e.getOperations().contains(operation));
+  }
+
+  void log() {
+    warnings.forEach(log::warn);
+    if (entries.isEmpty()) {
+      log.info("Every entity can be batched (hibernate.jdbc.batch_size={})", batchSize);
+      return;
+    }
+    log.warn(
+        "These entities cannot be fully batched (hibernate.jdbc.batch_size={}):\n  {}",
+        batchSize,
+        entries.stream()
+            .map(e -> e.getEntity() + ": " + e.getReason())
+            .collect(Collectors.joining("\n  ")));
+  }
+}
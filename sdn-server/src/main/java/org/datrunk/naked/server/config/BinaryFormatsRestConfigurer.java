@@ -0,0 +1,87 @@
+package org.datrunk.naked.server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.datrunk.naked.formats.JacksonBinaryHttpMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
+import org.springframework.data.rest.webmvc.config.RepositoryRestConfigurer;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+/**
+ * Adds Smile and CBOR to the content types Spring Data REST (and so {@link
+ * org.datrunk.naked.server.repo.BatchRestRepo}) can read and write. Both formats are handled by a
+ * {@link JacksonBinaryHttpMessageConverter} driving the HAL object mapper, the same converter
+ * bowman-client uses, so documents are identical to HAL JSON apart from their encoding. Clients opt
+ * in with an {@code Accept} or {@code Content-Type} of {@link
+ * JacksonBinaryHttpMessageConverter#SMILE} or {@link JacksonBinaryHttpMessageConverter#CBOR}; JSON
+ * remains the default.
+ *
+ * <p>Spring Data REST limits what its repository controllers produce to HAL and JSON, so {@link
+ * #binaryFormatsInterceptor} adds both formats wherever HAL is producible under the Spring Data
+ * REST base path.
+ */
+@Configuration
+@Log4j2
+public class BinaryFormatsRestConfigurer implements RepositoryRestConfigurer {
+  /** Lets handlers under the base path that produce HAL produce it as Smile or CBOR too. */
+  @Bean
+  public MappedInterceptor binaryFormatsInterceptor(RepositoryRestConfiguration config) {
+    return new MappedInterceptor(
+        new String[] {config.getBasePath().toString() + "/**"},
+        new HandlerInterceptor() {
+          @Override
+          public boolean preHandle(
+              HttpServletRequest request, HttpServletResponse response, Object handler) {
+            @SuppressWarnings("unchecked")
+            Set<MediaType> producible =
+                (Set<MediaType>)
+                    request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+            if (producible != null && producible.contains(MediaTypes.HAL_JSON)) {
+              Set<MediaType> withBinary = new LinkedHashSet<>(producible);
+              withBinary.add(JacksonBinaryHttpMessageConverter.SMILE);
+              withBinary.add(JacksonBinaryHttpMessageConverter.CBOR);
+              request.setAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, withBinary);
+            }
+            return true;
+          }
+        });
+  }
+
+  @Override
+  public void configureHttpMessageConverters(List<HttpMessageConverter<?>> messageConverters) {
+    ObjectMapper halMapper =
+        messageConverters.stream()
+            .filter(AbstractJackson2HttpMessageConverter.class::isInstance)
+            .map(AbstractJackson2HttpMessageConverter.class::cast)
+            .filter(converter -> converter.getSupportedMediaTypes().contains(MediaTypes.HAL_JSON))
+            .map(AbstractJackson2HttpMessageConverter::getObjectMapper)
+            .findFirst()
+            .orElse(null);
+    if (halMapper == null) {
+      log.warn("No HAL JSON converter registered; Smile and CBOR will not be available");
+      return;
+    }
+    // Appended, so JSON stays the default when a client accepts anything.
+    messageConverters.add(
+        new JacksonBinaryHttpMessageConverter(
+            halMapper, new SmileFactory(), JacksonBinaryHttpMessageConverter.SMILE));
+    messageConverters.add(
+        new JacksonBinaryHttpMessageConverter(
+            halMapper, new CBORFactory(), JacksonBinaryHttpMessageConverter.CBOR));
+  }
+}
@@ -0,0 +1,256 @@
+package org.datrunk.naked.server.config;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+import javax.annotation.Nonnull;
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Transparently decompresses request bodies sent with a {@code Content-Encoding} of {@code gzip} or
+ * {@code deflate}, so that controllers such as {@link org.datrunk.naked.server.repo.BatchRestRepo}
+ * read plain JSON. Requests with any other content encoding are rejected with {@code 415
+ * Unsupported Media Type}.
+ *
+ * <p>A body that inflates beyond {@code sdn.request-decompression.max-bytes} (64 MiB by default) is
+ * rejected with {@code 413 Payload Too Large}, and one that is not valid gzip or deflate data with
+ * {@code 400 Bad Request}. Both are detected while the body is read, so they surface as a {@link
+ * ResponseStatusException} from the controller's read.
+ *
+ * <p>Servlet containers only compress responses, so this is the server half of the client's {@code
+ * Configuration.Builder#setRequestCompression(boolean)}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Log4j2
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+  /** The default limit on the size of a decompressed request body. */
+  public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+  private final long maxBytes;
+
+  /** @param maxBytes the largest decompressed request body accepted */
+  public RequestDecompressionFilter(
+      @Value("${sdn.request-decompression.max-bytes:" + DEFAULT_MAX_BYTES + "}") long maxBytes) {
+    if (maxBytes < 1) {
+      throw new IllegalArgumentException("max-bytes must be positive");
+    }
+    this.maxBytes = maxBytes;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @Nonnull HttpServletRequest request,
+      @Nonnull HttpServletResponse response,
+      @Nonnull FilterChain filterChain)
+      throws ServletException, IOException {
+    String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+    if (encoding == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    final InputStream decompressed;
+    try {
+      switch (encoding.trim().toLowerCase(Locale.ROOT)) {
+        case "identity":
+          filterChain.doFilter(request, response);
+          return;
+        case "gzip":
+        case "x-gzip":
+          // Reads the gzip header, so a body that isn't gzip fails here
+          decompressed = new GZIPInputStream(request.getInputStream());
+          break;
+        case "deflate":
+          decompressed = new InflaterInputStream(request.getInputStream());
+          break;
+        default:
+          log.debug("Rejecting request with unsupported Content-Encoding '{}'", encoding);
+          response.setHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+          response.sendError(
+              HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE,
+              "Unsupported Content-Encoding: " + encoding);
+          return;
+      }
+    } catch (ZipException | EOFException e) {
+      log.debug("Rejecting malformed {} request body: {}", encoding, e.toString());
+      response.sendError(
+          HttpServletResponse.SC_BAD_REQUEST, "Malformed " + encoding + " request body");
+      return;
+    }
+
+    try {
+      filterChain.doFilter(
+          new DecompressedRequest(request, new DecompressedInputStream(decompressed, maxBytes)),
+          response);
+    } catch (ResponseStatusException e) {
+      // Thrown while reading the body outside Spring MVC, which would otherwise resolve it
+      if (response.isCommitted()) {
+        throw e;
+      }
+      response.sendError(e.getRawStatusCode(), e.getReason());
+    }
+  }
+
+  /** Exposes the decompressed body and hides the headers that described the compressed one. */
+  private static class DecompressedRequest extends HttpServletRequestWrapper {
+    private final ServletInputStream inputStream;
+
+    DecompressedRequest(HttpServletRequest request, ServletInputStream decompressed) {
+      super(request);
+      this.inputStream = decompressed;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      return inputStream;
+    }
+
+    @Override
+    public int getContentLength() {
+      return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+      return -1;
+    }
+
+    @Override
+    public String getHeader(String name) {
+      return isHidden(name) ? null : super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+      return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+      return Collections.enumeration(
+          Collections.list(super.getHeaderNames()).stream()
+              .filter(name -> !isHidden(name))
+              .collect(Collectors.toList()));
+    }
+
+    private static boolean isHidden(String name) {
+      return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+          || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+    }
+  }
+
+  /**
+   * Counts the decompressed bytes, and turns a decompression failure or an oversized body into a
+   * {@link ResponseStatusException}, which message converters pass through rather than wrapping as
+   * an unreadable message.
+   */
+  private static class DecompressedInputStream extends ServletInputStream {
+    private final InputStream delegate;
+    private final long maxBytes;
+    private long count;
+    private boolean finished;
+
+    DecompressedInputStream(InputStream delegate, long maxBytes) {
+      this.delegate = delegate;
+      this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b;
+      try {
+        b = delegate.read();
+      } catch (ZipException | EOFException e) {
+        throw malformed(e);
+      }
+      finished = b < 0;
+      if (!finished) {
+        count(1);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(@Nonnull byte[] b, int off, int len) throws IOException {
+      int read;
+      try {
+        read = delegate.read(b, off, len);
+      } catch (ZipException | EOFException e) {
+        throw malformed(e);
+      }
+      finished = read < 0;
+      if (read > 0) {
+        count(read);
+      }
+      return read;
+    }
+
+    private void count(int read) {
+      count += read;
+      if (count > maxBytes) {
+        throw new ResponseStatusException(
+            HttpStatus.PAYLOAD_TOO_LARGE,
+            String.format("Decompressed request body exceeds %d bytes", maxBytes));
+      }
+    }
+
+    private static ResponseStatusException malformed(IOException cause) {
+      return new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Malformed compressed request body", cause);
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+
+    @Override
+    public boolean isFinished() {
+      return finished;
+    }
+
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+
+    /**
+     * Reads never wait for data that isn't there yet: they block on the compressed stream instead.
+     * So the listener is told at once that data is available, and that all of it has been read as
+     * soon as it has consumed the body.
+     */
+    @Override
+    public void setReadListener(ReadListener readListener) {
+      try {
+        readListener.onDataAvailable();
+        if (finished) {
+          readListener.onAllDataRead();
+        }
+      } catch (IOException | RuntimeException e) {
+        readListener.onError(e);
+      }
+    }
+  }
+}
@@ -1,6 +1,11 @@
 package org.datrunk.naked.server.repo;
 
+import com.google.common.collect.Iterables;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import javax.persistence.EntityManager;
 import org.datrunk.naked.entities.CollectionDTO;
 import org.datrunk.naked.entities.WithId;
@@ -11,6 +16,9 @@ import org.springframework.transaction.annotation.Transactional;
 public class BaseRepositoryImpl<T extends WithId<ID>, ID extends Serializable>
     extends SimpleJpaRepository<T, ID> implements BaseRepository<T, ID> {
 
+  /** The largest <code>IN</code> list sent to the database; Oracle rejects more than 1000. */
+  public static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
   protected final EntityManager entityManager;
 
   public BaseRepositoryImpl(
@@ -24,6 +32,25 @@ public class BaseRepositoryImpl<T extends WithId<ID>, ID extends Serializable>
     return super.getDomainClass();
   }
 
+  /**
+   * Unlike {@link SimpleJpaRepository#findAllById}, this splits the ids into <code>IN</code>
+   * queries of at most {@link #IN_CLAUSE_CHUNK_SIZE} distinct ids, so that arbitrarily long lists
+   * can be looked up.
+   */
+  @Override
+  public List<T> findAllById(Iterable<ID> ids) {
+    Set<ID> distinct = new LinkedHashSet<>();
+    ids.forEach(distinct::add);
+    if (distinct.size() <= IN_CLAUSE_CHUNK_SIZE) {
+      return super.findAllById(distinct);
+    }
+    List<T> result = new ArrayList<>(distinct.size());
+    for (List<ID> chunk : Iterables.partition(distinct, IN_CLAUSE_CHUNK_SIZE)) {
+      result.addAll(super.findAllById(chunk));
+    }
+    return result;
+  }
+
   /**
    * Query the DB and re-populate the entity. This will fail if the entity hasn't been persisted (id
    * = null) or doesn't exist in the DB. Call this after updating tables which could fire triggers
@@ -20,6 +20,7 @@ import javax.transaction.Transactional.TxType;
 import lombok.extern.log4j.Log4j2;
 import org.datrunk.naked.entities.CollectionDTO;
 import org.datrunk.naked.entities.WithId;
+import org.datrunk.naked.server.bulk.BulkPersister;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.BasePathAwareController;
 import org.springframework.hateoas.CollectionModel;
@@ -31,6 +32,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 @BasePathAwareController // Why does @RepositoryRestController not work?
@@ -41,10 +43,12 @@ import org.springframework.web.bind.annotation.ResponseBody;
 public class BatchRestRepo {
   @PersistenceContext private EntityManager em;
   private final EntityLinks entityLinks;
+  private final BulkPersister bulkPersister;
 
   @Autowired
-  public BatchRestRepo(EntityLinks entityLinks) {
+  public BatchRestRepo(EntityLinks entityLinks, BulkPersister bulkPersister) {
     this.entityLinks = entityLinks;
+    this.bulkPersister = bulkPersister;
   }
 
   /**
@@ -162,13 +166,24 @@ public class BatchRestRepo {
   /**
    * {@link EntityManager#persist persist} every object in the provided collection.
    *
+   * <p>With {@code bulk=true}, the entities are written with the database's native {@link
+   * org.datrunk.naked.server.bulk.BulkLoader bulk loader} instead, when there is one and every
+   * entity is simple enough (see {@link BulkPersister}). Otherwise this falls back to {@link
+   * EntityManager#persist}.
+   *
    * @param dto the collection to persist, wrapped in {@link CollectionDTO}.
+   * @param bulk whether to try the native bulk loader first.
    * @return the persisted collection, wrapped in {@link CollectionModel}.
    */
   @PostMapping(value = "/persist")
-  public ResponseEntity<List<?>> persist(@RequestBody EntityModel<CollectionDTO<?>> dto)
+  public ResponseEntity<List<?>> persist(
+      @RequestBody EntityModel<CollectionDTO<?>> dto,
+      @RequestParam(value = "bulk", defaultValue = "false") boolean bulk)
       throws IOException {
     List<?> entities = Objects.requireNonNull(dto.getContent()).getEntities();
+    if (bulk && bulkPersister.persist(entities)) {
+      return new ResponseEntity<>(HttpStatus.CREATED);
+    }
     entities.stream().forEach(em::persist);
     em.flush();
     return new ResponseEntity<>(HttpStatus.CREATED);
@@ -0,0 +1,84 @@
+package org.datrunk.naked.server.repo;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.rest.webmvc.PersistentEntityResource;
+import org.springframework.data.rest.webmvc.PersistentEntityResourceAssembler;
+import org.springframework.data.rest.webmvc.RepositoryRestController;
+import org.springframework.data.rest.webmvc.ResourceNotFoundException;
+import org.springframework.data.rest.webmvc.RootResourceInformation;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Adds a <code>search/byIds</code> resource to every repository extending {@link BaseRepository},
+ * so that clients can fetch many known entities with one request instead of one request per id.
+ *
+ * <p>Spring Data REST only exposes query methods as search resources, not methods implemented by
+ * the repository base class, so this resource is served by a controller which delegates to {@link
+ * BaseRepositoryImpl#findAllById}. That method splits long id lists into several <code>IN</code>
+ * queries.
+ */
+@RepositoryRestController
+@ResponseBody
+public class ByIdsRestRepo {
+  private final Repositories repositories;
+  private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+  @Autowired
+  public ByIdsRestRepo(Repositories repositories) {
+    this.repositories = repositories;
+  }
+
+  /**
+   * Find the entities with the given ids, for example <code>GET /users/search/byIds?ids=1,2,3
+   * </code>. Ids which don't exist are skipped, and the entities are returned in no particular
+   * order.
+   *
+   * @param resourceInformation the repository addressed by the request
+   * @param ids the ids to look up, either comma-separated or as repeated parameters
+   * @param assembler builds the entity resources
+   * @return the entities found, wrapped in {@link CollectionModel}
+   */
+  @GetMapping("/{repository}/search/byIds")
+  @Transactional(readOnly = true)
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public ResponseEntity<CollectionModel<PersistentEntityResource>> findAllById(
+      RootResourceInformation resourceInformation,
+      @RequestParam("ids") List<String> ids,
+      PersistentEntityResourceAssembler assembler) {
+    Class<?> domainType = resourceInformation.getDomainType();
+    Object repository =
+        repositories.getRepositoryFor(domainType).orElseThrow(ResourceNotFoundException::new);
+    if (!(repository instanceof BaseRepository)) {
+      throw new ResourceNotFoundException();
+    }
+    Class<?> idType = repositories.getRequiredRepositoryInformation(domainType).getIdType();
+    List<Object> typedIds = ids.stream().map(id -> toId(id, idType)).collect(Collectors.toList());
+
+    List<?> entities = ((BaseRepository) repository).findAllById(typedIds);
+    List<PersistentEntityResource> resources =
+        entities.stream().map(assembler::toFullResource).collect(Collectors.toList());
+    return ResponseEntity.ok(CollectionModel.of(resources));
+  }
+
+  /** Convert an id parameter, rejecting ids of the wrong type with <code>400 Bad Request</code>. */
+  private Object toId(String id, Class<?> idType) {
+    try {
+      return conversionService.convert(id, idType);
+    } catch (ConversionFailedException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid id: " + id, e);
+    }
+  }
+}
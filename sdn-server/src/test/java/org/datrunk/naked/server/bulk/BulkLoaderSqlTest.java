@@ -0,0 +1,171 @@
+package org.datrunk.naked.server.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Id;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * The SQL, {@code COPY} text and CSV that the database specific loaders send, checked without a
+ * database of that kind; the mappings come from an in-memory H2 bootstrap.
+ */
+public class BulkLoaderSqlTest {
+  @Entity(name = "SqlItem")
+  @NoArgsConstructor(access = AccessLevel.PROTECTED)
+  public static class SqlItem {
+    @Id private String code;
+    private String name;
+
+    SqlItem(String code, String name) {
+      this.code = code;
+      this.name = name;
+    }
+  }
+
+  @Entity(name = "PricedItem")
+  @NoArgsConstructor(access = AccessLevel.PROTECTED)
+  public static class PricedItem {
+    @Id private String code;
+    private BigDecimal price;
+
+    PricedItem(String code, BigDecimal price) {
+      this.code = code;
+      this.price = price;
+    }
+  }
+
+  private static LocalContainerEntityManagerFactoryBean factoryBean;
+  private static EntityManagerFactory emf;
+
+  @BeforeAll
+  public static void createEntityManagerFactory() {
+    factoryBean = new LocalContainerEntityManagerFactoryBean();
+    factoryBean.setDataSource(
+        new DriverManagerDataSource("jdbc:h2:mem:bulksql;DB_CLOSE_DELAY=-1", "sa", ""));
+    factoryBean.setPackagesToScan(BulkLoaderSqlTest.class.getPackage().getName());
+    factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("hibernate.hbm2ddl.auto", "create-drop");
+    factoryBean.setJpaPropertyMap(properties);
+    factoryBean.afterPropertiesSet();
+    emf = factoryBean.getObject();
+  }
+
+  @AfterAll
+  public static void closeEntityManagerFactory() {
+    factoryBean.destroy();
+  }
+
+  @Test
+  public void postgresCopyNamesTableAndColumns() {
+    EntityTableMapping mapping = EntityTableMapping.create(emf, SqlItem.class);
+
+    assertThat(PostgresCopyBulkLoader.copy(mapping))
+        .isEqualTo("COPY SqlItem (code, name) FROM STDIN WITH (FORMAT csv)");
+  }
+
+  @Test
+  public void insertHasOnePlaceholderRowPerEntity() {
+    EntityTableMapping mapping = EntityTableMapping.create(emf, SqlItem.class);
+
+    assertThat(BulkSupport.insert(mapping, 1))
+        .isEqualTo("INSERT INTO SqlItem (code, name) VALUES (?, ?)");
+    assertThat(BulkSupport.insert(mapping, 3))
+        .isEqualTo("INSERT INTO SqlItem (code, name) VALUES (?, ?), (?, ?), (?, ?)");
+  }
+
+  @Test
+  public void csvQuotesEveryValueAndDoublesQuotes() throws Exception {
+    EntityTableMapping mapping = EntityTableMapping.create(emf, SqlItem.class);
+    StringBuilder csv = new StringBuilder();
+
+    BulkSupport.appendCsv(csv, mapping, new SqlItem("a", "say \"hi\", then\nleave \\ now"));
+
+    assertThat(csv.toString()).isEqualTo("\"a\",\"say \"\"hi\"\", then\nleave \\ now\"\n");
+  }
+
+  @Test
+  public void csvLeavesNullUnquotedAndEmptyStringQuoted() throws Exception {
+    EntityTableMapping mapping = EntityTableMapping.create(emf, SqlItem.class);
+    StringBuilder csv = new StringBuilder();
+
+    BulkSupport.appendCsv(csv, mapping, new SqlItem("a", null));
+    BulkSupport.appendCsv(csv, mapping, new SqlItem("b", ""));
+
+    assertThat(csv.toString()).isEqualTo("\"a\",\n\"b\",\"\"\n");
+  }
+
+  @Test
+  public void csvWritesDecimalsWithoutExponent() throws Exception {
+    EntityTableMapping mapping = EntityTableMapping.create(emf, PricedItem.class);
+    StringBuilder csv = new StringBuilder();
+
+    BulkSupport.appendCsv(csv, mapping, new PricedItem("a", new BigDecimal("1E+3")));
+
+    assertThat(csv.toString()).isEqualTo("\"a\",\"1000\"\n");
+  }
+
+  @Test
+  public void mySqlSendsFullStatementsThenTheRest() throws Exception {
+    EntityTableMapping mapping = EntityTableMapping.create(emf, SqlItem.class);
+    Connection connection = mock(Connection.class);
+    PreparedStatement full = mock(PreparedStatement.class);
+    PreparedStatement partial = mock(PreparedStatement.class);
+    when(connection.prepareStatement(BulkSupport.insert(mapping, 1000))).thenReturn(full);
+    when(connection.prepareStatement(BulkSupport.insert(mapping, 1))).thenReturn(partial);
+
+    new MySqlMultiRowInsertBulkLoader().load(connection, mapping, items(2001));
+
+    verify(connection, times(2)).prepareStatement(anyString());
+    verify(full, times(2)).executeUpdate();
+    verify(full).setObject(1, "0", Types.VARCHAR);
+    verify(full).setObject(2000, "name 999", Types.VARCHAR);
+    verify(partial).setObject(1, "2000", Types.VARCHAR);
+    verify(partial).setObject(2, "name 2000", Types.VARCHAR);
+    verify(partial).executeUpdate();
+  }
+
+  @Test
+  public void oracleBindsSingleRowInsertsInBatches() throws Exception {
+    EntityTableMapping mapping = EntityTableMapping.create(emf, SqlItem.class);
+    Connection connection = mock(Connection.class);
+    PreparedStatement statement = mock(PreparedStatement.class);
+    when(connection.prepareStatement(BulkSupport.insert(mapping, 1))).thenReturn(statement);
+
+    new OracleBatchBulkLoader().load(connection, mapping, items(1001));
+
+    verify(statement, times(1001)).addBatch();
+    verify(statement, times(2)).executeBatch();
+    verify(statement).setObject(1, "1000", Types.VARCHAR);
+  }
+
+  private static List<SqlItem> items(int count) {
+    List<SqlItem> items = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      items.add(new SqlItem(String.valueOf(i), "name " + i));
+    }
+    return items;
+  }
+}
@@ -0,0 +1,187 @@
+package org.datrunk.naked.server.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.PrePersist;
+import javax.persistence.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/** Bulk loads an in-memory H2 database through a plain JPA bootstrap, so no server is needed. */
+public class H2CsvReadBulkLoaderTest {
+  public enum Colour {
+    RED,
+    GREEN
+  }
+
+  @Entity(name = "BulkItem")
+  @Getter
+  @NoArgsConstructor(access = AccessLevel.PROTECTED)
+  public static class BulkItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    private Colour colour;
+
+    private Colour ordinalColour;
+    private BigDecimal price;
+    private Integer quantity;
+    private LocalDateTime created;
+
+    BulkItem(String name, Colour colour, BigDecimal price, Integer quantity) {
+      this.name = name;
+      this.colour = colour;
+      this.ordinalColour = colour;
+      this.price = price;
+      this.quantity = quantity;
+      this.created = LocalDateTime.of(2022, 6, 1, 12, 30, 15);
+    }
+  }
+
+  @Entity
+  @NoArgsConstructor(access = AccessLevel.PROTECTED)
+  public static class AssignedItem {
+    @Id private String code;
+    private String name;
+
+    AssignedItem(String code, String name) {
+      this.code = code;
+      this.name = name;
+    }
+  }
+
+  @Entity
+  public static class CallbackItem {
+    @Id @GeneratedValue private Long id;
+
+    @PrePersist
+    void prePersist() {}
+  }
+
+  @Entity
+  public static class VersionedItem {
+    @Id private Long id;
+    @Version private int version;
+  }
+
+  private static LocalContainerEntityManagerFactoryBean factoryBean;
+  private static EntityManagerFactory emf;
+  private final H2CsvReadBulkLoader loader = new H2CsvReadBulkLoader();
+
+  @BeforeAll
+  public static void createEntityManagerFactory() {
+    factoryBean = new LocalContainerEntityManagerFactoryBean();
+    factoryBean.setDataSource(
+        new DriverManagerDataSource("jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1", "sa", ""));
+    factoryBean.setPackagesToScan(H2CsvReadBulkLoaderTest.class.getPackage().getName());
+    factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("hibernate.hbm2ddl.auto", "create-drop");
+    factoryBean.setJpaPropertyMap(properties);
+    factoryBean.afterPropertiesSet();
+    emf = factoryBean.getObject();
+  }
+
+  @AfterAll
+  public static void closeEntityManagerFactory() {
+    factoryBean.destroy();
+  }
+
+  @Test
+  public void mappingOmitsIdentityColumn() {
+    EntityTableMapping mapping = EntityTableMapping.create(emf, BulkItem.class);
+
+    assertThat(mapping.getColumns().stream().map(EntityTableMapping.Column::getName))
+        .doesNotContain("id")
+        .contains("name", "colour", "price", "quantity", "created");
+  }
+
+  @Test
+  public void mappingIncludesAssignedId() {
+    EntityTableMapping mapping = EntityTableMapping.create(emf, AssignedItem.class);
+
+    assertThat(mapping.getColumns().stream().map(EntityTableMapping.Column::getName))
+        .containsExactlyInAnyOrder("code", "name");
+  }
+
+  @Test
+  public void mappingRejectsEntitiesWithCallbacks() {
+    assertThatThrownBy(() -> EntityTableMapping.create(emf, CallbackItem.class))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("persist callback");
+  }
+
+  @Test
+  public void mappingRejectsVersionedEntities() {
+    assertThatThrownBy(() -> EntityTableMapping.create(emf, VersionedItem.class))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("versioned");
+  }
+
+  @Test
+  public void loadInsertsEveryRow() {
+    List<BulkItem> items =
+        Arrays.asList(
+            new BulkItem("plain", Colour.RED, new BigDecimal("1.50"), 3),
+            new BulkItem("with \"quotes\", commas\nand newline", Colour.GREEN, null, null),
+            new BulkItem("", Colour.RED, new BigDecimal("1E+3"), 0));
+    EntityTableMapping mapping = EntityTableMapping.create(emf, BulkItem.class);
+
+    EntityManager em = emf.createEntityManager();
+    try {
+      em.getTransaction().begin();
+      em.unwrap(Session.class).doWork(connection -> loader.load(connection, mapping, items));
+      em.getTransaction().commit();
+
+      List<BulkItem> loaded =
+          em.createQuery("select i from BulkItem i order by i.id", BulkItem.class).getResultList();
+      assertThat(loaded.stream().map(BulkItem::getName).collect(Collectors.toList()))
+          .containsExactly("plain", "with \"quotes\", commas\nand newline", "");
+      assertThat(loaded.get(0).getColour()).isEqualTo(Colour.RED);
+      assertThat(loaded.get(1).getOrdinalColour()).isEqualTo(Colour.GREEN);
+      assertThat(loaded.get(0).getPrice()).isEqualByComparingTo("1.50");
+      assertThat(loaded.get(1).getPrice()).isNull();
+      assertThat(loaded.get(1).getQuantity()).isNull();
+      assertThat(loaded.get(2).getPrice()).isEqualByComparingTo("1000");
+      assertThat(loaded.get(2).getCreated()).isEqualTo(LocalDateTime.of(2022, 6, 1, 12, 30, 15));
+    } finally {
+      em.close();
+    }
+  }
+
+  @Test
+  public void loaderSupportsOnlyH2() {
+    assertThat(loader.supports(DatabaseDriver.H2)).isTrue();
+    assertThat(loader.supports(DatabaseDriver.POSTGRESQL)).isFalse();
+    assertThat(BulkPersister.fromJdbcUrl("jdbc:p6spy:h2:mem:test")).isEqualTo(DatabaseDriver.H2);
+  }
+}
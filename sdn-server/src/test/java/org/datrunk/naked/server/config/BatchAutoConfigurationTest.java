@@ -0,0 +1,146 @@
+package org.datrunk.naked.server.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Version;
+import org.datrunk.naked.server.config.BatchabilityReport.Operation;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+public class BatchAutoConfigurationTest {
+  @Entity
+  public static class IdentityEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+  }
+
+  @Entity
+  public static class SequenceEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+  }
+
+  @Entity
+  public static class VersionedEntity {
+    @Id private Long id;
+    @Version private int version;
+  }
+
+  private final ApplicationContextRunner contextRunner =
+      new ApplicationContextRunner()
+          .withConfiguration(AutoConfigurations.of(BatchAutoConfiguration.class));
+
+  @Test
+  public void customizerAppliesDefaultsWithoutOverridingExplicitSettings() {
+    contextRunner
+        .withPropertyValues("sdn.batch.size=100")
+        .run(
+            context -> {
+              Map<String, Object> hibernateProperties = new HashMap<>();
+              hibernateProperties.put("hibernate.order_updates", "false");
+              context.getBean(HibernatePropertiesCustomizer.class).customize(hibernateProperties);
+
+              assertThat(hibernateProperties)
+                  .containsEntry("hibernate.jdbc.batch_size", "100")
+                  .containsEntry("hibernate.order_inserts", "true")
+                  .containsEntry("hibernate.order_updates", "false")
+                  .containsEntry("hibernate.jdbc.batch_versioned_data", "true");
+            });
+  }
+
+  @Test
+  public void disabledByProperty() {
+    contextRunner
+        .withPropertyValues("sdn.batch.enabled=false")
+        .run(context -> assertThat(context).doesNotHaveBean(HibernatePropertiesCustomizer.class));
+  }
+
+  @Test
+  public void reportListsEntitiesThatCannotBeBatched() {
+    Map<String, Object> properties = new HashMap<>();
+    BatchAutoConfiguration.applyDefaults(properties, new BatchProperties());
+    properties.put("hibernate.jdbc.batch_versioned_data", "false");
+    LocalContainerEntityManagerFactoryBean factoryBean = createFactoryBean(properties);
+    try {
+      BatchabilityReport report = new BatchabilityReport(factoryBean.getObject());
+
+      assertThat(report.getBatchSize()).isEqualTo(50);
+      assertThat(report.getWarnings()).isEmpty();
+      assertThat(report.getEntries())
+          .extracting(BatchabilityReport.Entry::getEntity)
+          .containsExactly(IdentityEntity.class.getName(), VersionedEntity.class.getName());
+      assertThat(report.getEntries().get(0).getReason()).contains("IDENTITY");
+      assertThat(report.isBatchable(SequenceEntity.class)).isTrue();
+      assertThat(report.isBatchable(IdentityEntity.class)).isFalse();
+      assertThat(report.isBatchable(IdentityEntity.class, Operation.UPDATE)).isTrue();
+    } finally {
+      factoryBean.destroy();
+    }
+  }
+
+  @Test
+  public void versionedEntityStillBatchesInserts() {
+    Map<String, Object> properties = new HashMap<>();
+    BatchAutoConfiguration.applyDefaults(properties, new BatchProperties());
+    properties.put("hibernate.jdbc.batch_versioned_data", "false");
+    LocalContainerEntityManagerFactoryBean factoryBean = createFactoryBean(properties);
+    try {
+      BatchabilityReport report = new BatchabilityReport(factoryBean.getObject());
+
+      assertThat(report.getEntries())
+          .filteredOn(entry -> entry.getEntity().equals(VersionedEntity.class.getName()))
+          .singleElement()
+          .extracting(BatchabilityReport.Entry::getOperations)
+          .isEqualTo(EnumSet.of(Operation.UPDATE, Operation.DELETE));
+      assertThat(report.isBatchable(VersionedEntity.class)).isTrue();
+      assertThat(report.isBatchable(VersionedEntity.class, Operation.INSERT)).isTrue();
+      assertThat(report.isBatchable(VersionedEntity.class, Operation.UPDATE)).isFalse();
+      assertThat(report.isBatchable(VersionedEntity.class, Operation.DELETE)).isFalse();
+    } finally {
+      factoryBean.destroy();
+    }
+  }
+
+  @Test
+  public void reportWarnsWhenBatchingIsOff() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("hibernate.jdbc.batch_size", "1");
+    LocalContainerEntityManagerFactoryBean factoryBean = createFactoryBean(properties);
+    try {
+      BatchabilityReport report = new BatchabilityReport(factoryBean.getObject());
+
+      assertThat(report.getWarnings()).anyMatch(warning -> warning.contains("batch_size"));
+      assertThat(report.isBatchable(SequenceEntity.class)).isFalse();
+    } finally {
+      factoryBean.destroy();
+    }
+  }
+
+  private static LocalContainerEntityManagerFactoryBean createFactoryBean(
+      Map<String, Object> properties) {
+    LocalContainerEntityManagerFactoryBean factoryBean =
+        new LocalContainerEntityManagerFactoryBean();
+    factoryBean.setDataSource(
+        new DriverManagerDataSource("jdbc:h2:mem:batchability;DB_CLOSE_DELAY=-1", "sa", ""));
+    factoryBean.setPackagesToScan(BatchAutoConfigurationTest.class.getPackage().getName());
+    factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+    properties.put("hibernate.hbm2ddl.auto", "create-drop");
+    factoryBean.setJpaPropertyMap(properties);
+    factoryBean.afterPropertiesSet();
+    return factoryBean;
+  }
+}
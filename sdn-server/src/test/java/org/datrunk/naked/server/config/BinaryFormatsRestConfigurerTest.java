@@ -0,0 +1,114 @@
+package org.datrunk.naked.server.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.Collections;
+import org.datrunk.naked.formats.JacksonBinaryHttpMessageConverter;
+import org.datrunk.naked.server.rest.RestTestApplication;
+import org.datrunk.naked.server.rest.RestTestApplication.Item;
+import org.datrunk.naked.server.rest.RestTestApplication.ItemRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+@SpringBootTest(
+    classes = RestTestApplication.class,
+    properties = "logging.level.org.springframework.web=trace")
+@ActiveProfiles("server")
+@AutoConfigureMockMvc
+public class BinaryFormatsRestConfigurerTest {
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ItemRepo itemRepo;
+
+  @Autowired private MappedInterceptor binaryFormatsInterceptor;
+
+  @Test
+  public void writesHalAsSmile() throws Exception {
+    assertHalItem(JacksonBinaryHttpMessageConverter.SMILE, new SmileFactory());
+  }
+
+  @Test
+  public void writesHalAsCbor() throws Exception {
+    assertHalItem(JacksonBinaryHttpMessageConverter.CBOR, new CBORFactory());
+  }
+
+  @Test
+  public void jsonRemainsTheDefault() throws Exception {
+    Item item = itemRepo.save(new Item("json"));
+
+    mockMvc
+        .perform(get("/api/items/{id}", item.getId()).accept(MediaType.ALL))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaTypes.HAL_JSON));
+  }
+
+  @Test
+  public void readsSmile() throws Exception {
+    byte[] body =
+        new ObjectMapper(new SmileFactory())
+            .writeValueAsBytes(Collections.singletonMap("name", "posted"));
+
+    byte[] response =
+        mockMvc
+            .perform(
+                post("/api/items")
+                    .contentType(JacksonBinaryHttpMessageConverter.SMILE)
+                    .accept(JacksonBinaryHttpMessageConverter.SMILE)
+                    .content(body))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    JsonNode item = new ObjectMapper(new SmileFactory()).readTree(response);
+    assertThat(item.path("name").asText()).isEqualTo("posted");
+  }
+
+  @Test
+  public void interceptorOnlyAppliesUnderBasePath() {
+    assertThat(binaryFormatsInterceptor.matches(request("/api/items/1"))).isTrue();
+    assertThat(binaryFormatsInterceptor.matches(request("/actuator/health"))).isFalse();
+  }
+
+  private static MockHttpServletRequest request(String uri) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+    ServletRequestPathUtils.parseAndCache(request);
+    return request;
+  }
+
+  private void assertHalItem(MediaType mediaType, JsonFactory factory) throws Exception {
+    Item item = itemRepo.save(new Item("binary"));
+
+    byte[] response =
+        mockMvc
+            .perform(get("/api/items/{id}", item.getId()).accept(mediaType))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(mediaType))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    JsonNode node = new ObjectMapper(factory).readTree(response);
+    assertThat(node.path("name").asText()).isEqualTo("binary");
+    assertThat(node.path("_links").path("self").path("href").asText())
+        .isEqualTo("http://localhost/api/items/" + item.getId());
+  }
+}
@@ -0,0 +1,133 @@
+package org.datrunk.naked.server.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+public class RequestDecompressionFilterTest {
+  private static final String BODY = "[\"a\",\"b\",\"c\"]";
+
+  @RestController
+  public static class EchoController {
+    @PostMapping("/echo")
+    public List<String> echo(@RequestBody List<String> values) {
+      return values;
+    }
+  }
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  public void setUp() {
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(new EchoController())
+            .addFilters(new RequestDecompressionFilter(1024))
+            .build();
+  }
+
+  @Test
+  public void inflatesGzip() throws Exception {
+    post("gzip", gzip(BODY.getBytes(StandardCharsets.UTF_8)))
+        .andExpect(status().isOk())
+        .andExpect(content().json(BODY));
+  }
+
+  @Test
+  public void inflatesDeflate() throws Exception {
+    post("deflate", deflate(BODY.getBytes(StandardCharsets.UTF_8)))
+        .andExpect(status().isOk())
+        .andExpect(content().json(BODY));
+  }
+
+  @Test
+  public void passesIdentityThrough() throws Exception {
+    post("identity", BODY.getBytes(StandardCharsets.UTF_8))
+        .andExpect(status().isOk())
+        .andExpect(content().json(BODY));
+  }
+
+  @Test
+  public void rejectsUnsupportedEncoding() throws Exception {
+    post("br", BODY.getBytes(StandardCharsets.UTF_8))
+        .andExpect(status().isUnsupportedMediaType())
+        .andExpect(header().string(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+  }
+
+  @Test
+  public void rejectsBodyThatIsNotGzip() throws Exception {
+    post("gzip", BODY.getBytes(StandardCharsets.UTF_8)).andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void rejectsEmptyGzipBody() throws Exception {
+    post("gzip", new byte[0]).andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void rejectsTruncatedGzip() throws Exception {
+    byte[] compressed = gzip(BODY.getBytes(StandardCharsets.UTF_8));
+
+    post("gzip", Arrays.copyOf(compressed, compressed.length - 12))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void rejectsMalformedDeflate() throws Exception {
+    post("deflate", BODY.getBytes(StandardCharsets.UTF_8)).andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void rejectsBodyThatInflatesBeyondTheLimit() throws Exception {
+    byte[] bomb = new byte[1024 * 1024];
+    Arrays.fill(bomb, (byte) ' ');
+    byte[] compressed = gzip(bomb);
+    assertThat(compressed.length).isLessThan(2048);
+
+    post("gzip", compressed).andExpect(status().isPayloadTooLarge());
+  }
+
+  private ResultActions post(String encoding, byte[] body) throws Exception {
+    return mockMvc.perform(
+        MockMvcRequestBuilders.post("/echo")
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.CONTENT_ENCODING, encoding)
+            .content(body));
+  }
+
+  private static byte[] gzip(byte[] body) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(body);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static byte[] deflate(byte[] body) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new DeflaterOutputStream(bytes)) {
+      out.write(body);
+    }
+    return bytes.toByteArray();
+  }
+}
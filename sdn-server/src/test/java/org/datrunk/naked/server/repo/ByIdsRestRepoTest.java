@@ -0,0 +1,46 @@
+package org.datrunk.naked.server.repo;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.datrunk.naked.server.rest.RestTestApplication;
+import org.datrunk.naked.server.rest.RestTestApplication.Item;
+import org.datrunk.naked.server.rest.RestTestApplication.ItemRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(classes = RestTestApplication.class)
+@ActiveProfiles("server")
+@AutoConfigureMockMvc
+public class ByIdsRestRepoTest {
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ItemRepo itemRepo;
+
+  @Test
+  public void findsEntitiesByIds() throws Exception {
+    Item first = itemRepo.save(new Item("first"));
+    Item second = itemRepo.save(new Item("second"));
+
+    mockMvc
+        .perform(
+            get("/api/items/search/byIds")
+                .param("ids", first.getId() + "," + second.getId())
+                .accept(MediaTypes.HAL_JSON))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$._embedded.items.length()").value(2));
+  }
+
+  @Test
+  public void rejectsIdsOfTheWrongTypeAsBadRequest() throws Exception {
+    mockMvc
+        .perform(get("/api/items/search/byIds").param("ids", "1,abc").accept(MediaTypes.HAL_JSON))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,52 @@
+package org.datrunk.naked.server.rest;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.datrunk.naked.entities.WithId;
+import org.datrunk.naked.server.config.BinaryFormatsRestConfigurer;
+import org.datrunk.naked.server.repo.BaseRepository;
+import org.datrunk.naked.server.repo.BaseRepositoryImpl;
+import org.datrunk.naked.server.repo.ByIdsRestRepo;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * A Spring Data REST server over an in-memory H2 database, exposing one repository at <code>
+ * /api/items</code> with the <code>server</code> profile, for MockMvc tests of the server's REST
+ * extensions.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan(basePackageClasses = RestTestApplication.class)
+@EnableJpaRepositories(
+    basePackageClasses = RestTestApplication.class,
+    repositoryBaseClass = BaseRepositoryImpl.class,
+    considerNestedRepositories = true)
+@Import({BinaryFormatsRestConfigurer.class, ByIdsRestRepo.class})
+public class RestTestApplication {
+  @Entity
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  public static class Item implements WithId<Integer> {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    private String name;
+
+    public Item(String name) {
+      this.name = name;
+    }
+  }
+
+  public interface ItemRepo extends BaseRepository<Item, Integer> {}
+}
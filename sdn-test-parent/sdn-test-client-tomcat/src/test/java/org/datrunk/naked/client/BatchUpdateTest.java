@@ -6,6 +6,8 @@ import com.google.common.collect.ImmutableList;
 import java.sql.SQLException;
 import java.time.Duration;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.sql.DataSource;
 import liquibase.exception.LiquibaseException;
 import lombok.extern.log4j.Log4j2;
@@ -134,6 +136,49 @@ public class BatchUpdateTest {
     assertThat(actual).hasSize(2);
   }
 
+  @Test
+  void testSaveAllPipelined() throws Exception {
+    List<User> expected = randomizer.getAll().subList(0, 20);
+    List<User> persisted = client.saveAllPipelined(expected, 3, 4);
+    assertThat(persisted).hasSize(expected.size());
+    assertThat(persisted.stream().map(User::getId)).allSatisfy(id -> assertThat(id).isNotNull());
+    assertThat(persisted).containsExactlyElementsOf(expected);
+    assertThat(client.getAll()).hasSize(expected.size());
+  }
+
+  @Test
+  void testGetAllByIds() throws Exception {
+    List<User> saved = client.saveAll(randomizer.getAll().subList(0, 5));
+    Integer missing = saved.stream().mapToInt(User::getId).max().getAsInt() + 1000;
+    List<Integer> ids =
+        ImmutableList.of(saved.get(3).getId(), missing, saved.get(0).getId(), saved.get(3).getId());
+    ByIdResult<User, Integer> result = client.getAll(ids);
+    assertThat(result.getFound()).containsExactly(saved.get(3), saved.get(0));
+    assertThat(result.getMissing()).containsExactly(missing);
+  }
+
+  @Test
+  void testStream() throws Exception {
+    List<User> saved = client.saveAll(randomizer.getAll().subList(0, 45));
+    try (Stream<User> users = client.stream()) {
+      assertThat(users.map(User::getId))
+          .containsExactlyInAnyOrderElementsOf(
+              saved.stream().map(User::getId).collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  void testStreamParallel() throws Exception {
+    List<User> saved = client.saveAll(randomizer.getAll().subList(0, 45));
+    List<Integer> expected = saved.stream().map(User::getId).collect(Collectors.toList());
+    try (Stream<User> users = client.streamParallel(3, true)) {
+      assertThat(users.map(User::getId)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+    try (Stream<User> users = client.streamParallel(3, false)) {
+      assertThat(users.map(User::getId)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+  }
+
   @Disabled("redundant")
   @Test
   void testCreate() throws Randomizer.Exception {
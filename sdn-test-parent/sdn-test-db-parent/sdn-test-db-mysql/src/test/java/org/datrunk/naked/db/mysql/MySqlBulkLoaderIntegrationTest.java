@@ -0,0 +1,135 @@
+package org.datrunk.naked.db.mysql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.sql.DataSource;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.datrunk.naked.server.bulk.EntityTableMapping;
+import org.datrunk.naked.server.bulk.MySqlMultiRowInsertBulkLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Loads a MySQL container with {@link MySqlMultiRowInsertBulkLoader}, enough rows for a full and a
+ * partial multi-row statement, and reads them back through JPA.
+ */
+@SpringBootTest(
+    webEnvironment = WebEnvironment.NONE,
+    properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@ExtendWith({SpringExtension.class})
+@TestInstance(Lifecycle.PER_CLASS)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(
+    initializers = {MySqlTestContainer.Factory.class},
+    classes = {MySqlBulkLoaderIntegrationTest.Config.class})
+@EnableConfigurationProperties(DataSourceProperties.class)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class MySqlBulkLoaderIntegrationTest {
+  @Configuration
+  @EnableAutoConfiguration
+  public static class Config {
+    @Bean
+    DataSource dataSource(MySqlTestContainer db) {
+      return db.getDataSource();
+    }
+  }
+
+  public enum Colour {
+    RED,
+    GREEN
+  }
+
+  @Entity(name = "MySqlBulkItem")
+  @Getter
+  @NoArgsConstructor(access = AccessLevel.PROTECTED)
+  public static class MySqlBulkItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    private Colour colour;
+
+    private BigDecimal price;
+    private LocalDateTime created;
+
+    MySqlBulkItem(String name, Colour colour, BigDecimal price) {
+      this.name = name;
+      this.colour = colour;
+      this.price = price;
+      this.created = LocalDateTime.of(2022, 6, 1, 12, 30, 15);
+    }
+  }
+
+  @Autowired private DataSource dataSource;
+
+  @Autowired private EntityManagerFactory emf;
+
+  private final MySqlMultiRowInsertBulkLoader loader = new MySqlMultiRowInsertBulkLoader();
+
+  @Test
+  void loadInsertsEveryRow() throws Exception {
+    List<MySqlBulkItem> items = new ArrayList<>();
+    items.add(new MySqlBulkItem("with 'quotes', \"commas\"\nand \\ backslash", Colour.GREEN, null));
+    items.add(new MySqlBulkItem("", Colour.RED, new BigDecimal("1E+3")));
+    for (int i = items.size(); i < 1001; i++) {
+      items.add(new MySqlBulkItem("item " + i, Colour.RED, new BigDecimal("1.50")));
+    }
+    EntityTableMapping mapping = EntityTableMapping.create(emf, MySqlBulkItem.class);
+
+    try (Connection connection = dataSource.getConnection()) {
+      loader.load(connection, mapping, items);
+    }
+
+    EntityManager em = emf.createEntityManager();
+    try {
+      List<MySqlBulkItem> loaded =
+          em.createQuery("select i from MySqlBulkItem i order by i.id", MySqlBulkItem.class)
+              .getResultList();
+      assertThat(loaded).hasSize(1001);
+      assertThat(loaded.stream().map(MySqlBulkItem::getName).limit(3).collect(Collectors.toList()))
+          .containsExactly("with 'quotes', \"commas\"\nand \\ backslash", "", "item 2");
+      assertThat(loaded.get(0).getColour()).isEqualTo(Colour.GREEN);
+      assertThat(loaded.get(0).getPrice()).isNull();
+      assertThat(loaded.get(1).getPrice()).isEqualByComparingTo("1000");
+      assertThat(loaded.get(1000).getName()).isEqualTo("item 1000");
+      assertThat(loaded.get(1000).getCreated()).isEqualTo(LocalDateTime.of(2022, 6, 1, 12, 30, 15));
+    } finally {
+      em.close();
+    }
+  }
+}
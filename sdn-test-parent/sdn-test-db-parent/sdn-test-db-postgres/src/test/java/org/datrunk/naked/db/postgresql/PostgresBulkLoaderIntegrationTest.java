@@ -0,0 +1,137 @@
+package org.datrunk.naked.db.postgresql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.Entity;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.sql.DataSource;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.datrunk.naked.server.bulk.EntityTableMapping;
+import org.datrunk.naked.server.bulk.PostgresCopyBulkLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Loads a PostgreSQL container with {@link PostgresCopyBulkLoader}, enough rows for the CSV to be
+ * streamed in several chunks, and reads them back through JPA.
+ */
+@SpringBootTest(
+    webEnvironment = WebEnvironment.NONE,
+    properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@ExtendWith({SpringExtension.class})
+@TestInstance(Lifecycle.PER_CLASS)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(
+    initializers = {PostgresTestContainer.Factory.class},
+    classes = {PostgresBulkLoaderIntegrationTest.Config.class})
+@EnableConfigurationProperties(DataSourceProperties.class)
+@ActiveProfiles("container")
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresBulkLoaderIntegrationTest {
+  @Configuration
+  @EnableAutoConfiguration
+  public static class Config {
+    @Bean
+    DataSource dataSource(PostgresTestContainer db) {
+      return db.getDataSource();
+    }
+  }
+
+  public enum Colour {
+    RED,
+    GREEN
+  }
+
+  @Entity(name = "PostgresBulkItem")
+  @Getter
+  @NoArgsConstructor(access = AccessLevel.PROTECTED)
+  public static class PostgresBulkItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    private Colour colour;
+
+    private BigDecimal price;
+    private LocalDateTime created;
+
+    PostgresBulkItem(String name, Colour colour, BigDecimal price) {
+      this.name = name;
+      this.colour = colour;
+      this.price = price;
+      this.created = LocalDateTime.of(2022, 6, 1, 12, 30, 15);
+    }
+  }
+
+  @Autowired private DataSource dataSource;
+
+  @Autowired private EntityManagerFactory emf;
+
+  private final PostgresCopyBulkLoader loader = new PostgresCopyBulkLoader();
+
+  @Test
+  void loadInsertsEveryRow() throws Exception {
+    List<PostgresBulkItem> items = new ArrayList<>();
+    items.add(
+        new PostgresBulkItem("with 'quotes', \"commas\"\nand \\ backslash", Colour.GREEN, null));
+    items.add(new PostgresBulkItem("", Colour.RED, new BigDecimal("1E+3")));
+    for (int i = items.size(); i < 3000; i++) {
+      items.add(new PostgresBulkItem("item " + i, Colour.RED, new BigDecimal("1.50")));
+    }
+    EntityTableMapping mapping = EntityTableMapping.create(emf, PostgresBulkItem.class);
+
+    try (Connection connection = dataSource.getConnection()) {
+      loader.load(connection, mapping, items);
+    }
+
+    EntityManager em = emf.createEntityManager();
+    try {
+      List<PostgresBulkItem> loaded =
+          em.createQuery("select i from PostgresBulkItem i order by i.id", PostgresBulkItem.class)
+              .getResultList();
+      assertThat(loaded).hasSize(3000);
+      assertThat(
+              loaded.stream().map(PostgresBulkItem::getName).limit(3).collect(Collectors.toList()))
+          .containsExactly("with 'quotes', \"commas\"\nand \\ backslash", "", "item 2");
+      assertThat(loaded.get(0).getColour()).isEqualTo(Colour.GREEN);
+      assertThat(loaded.get(0).getPrice()).isNull();
+      assertThat(loaded.get(1).getPrice()).isEqualByComparingTo("1000");
+      assertThat(loaded.get(2999).getName()).isEqualTo("item 2999");
+      assertThat(loaded.get(2999).getCreated()).isEqualTo(LocalDateTime.of(2022, 6, 1, 12, 30, 15));
+    } finally {
+      em.close();
+    }
+  }
+}